@@ -0,0 +1,78 @@
+package com.investory.backend.benchmark;
+
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.portfolio.entity.Holding;
+import com.investory.backend.domain.stock.entity.Stock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문·체결 트랜잭션 안에서 도는 엔티티 계산. DB 없이 엔티티 메서드만 잰다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityBenchmark {
+
+    private static final BigDecimal LOW = new BigDecimal("64900.00");
+    private static final BigDecimal HIGH = new BigDecimal("65100.00");
+
+    private Order buyOrder;
+    private Order sellOrder;
+    private Holding holding;
+    private Stock stock;
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        buyOrder = Order.builder()
+                .orderType(Order.OrderType.LIMIT).side(Order.OrderSide.BUY)
+                .quantity(10).price(new BigDecimal("65000.00")).build();
+        sellOrder = Order.builder()
+                .orderType(Order.OrderType.LIMIT).side(Order.OrderSide.SELL)
+                .quantity(10).price(new BigDecimal("65000.00")).build();
+        holding = Holding.builder()
+                .quantity(100).averagePrice(new BigDecimal("65000.00"))
+                .totalInvestment(new BigDecimal("6500000.00")).build();
+        stock = Stock.builder()
+                .id(1L).code("005930").name("삼성전자").market(Stock.Market.KOSPI)
+                .currentPrice(new BigDecimal("65000.00")).previousClose(new BigDecimal("64000.00"))
+                .build();
+    }
+
+    /** 지정가 체결 판정. 매수·매도 한 번씩, 현재가는 지정가 위아래를 번갈아 준다. */
+    @Benchmark
+    public boolean orderIsMatchable() {
+        BigDecimal currentPrice = (flip = !flip) ? LOW : HIGH;
+        return buyOrder.isMatchable(currentPrice) & sellOrder.isMatchable(currentPrice);
+    }
+
+    /** 매수 체결의 평균 단가 재계산과 매도 체결. 수량이 쌓이지 않도록 한 쌍으로 잰다. */
+    @Benchmark
+    public Holding holdingAddThenReduce() {
+        holding.addQuantity(3, (flip = !flip) ? LOW : HIGH);
+        holding.reduceQuantity(3);
+        return holding;
+    }
+
+    /** 틱 한 번의 종목 시세 갱신(변동폭·변동률·52주 고저). */
+    @Benchmark
+    public Stock stockUpdatePrice() {
+        stock.updatePrice((flip = !flip) ? LOW : HIGH, 17L);
+        return stock;
+    }
+}
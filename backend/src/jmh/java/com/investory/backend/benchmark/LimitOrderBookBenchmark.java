@@ -0,0 +1,82 @@
+package com.investory.backend.benchmark;
+
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.LimitOrderBook;
+import com.investory.backend.domain.stock.entity.Stock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매처가 틱마다 종목별로 부르는 호가창 조회와 호가 잔량.
+ * <p>
+ * 매수는 현재가 아래, 매도는 위에 {@code orders} 건을 깔아 둔다. {@code noCrossing} 은 체결될 주문이 없는
+ * 대부분의 틱이고, {@code crossing} 은 현재가가 매수 최우선 호가 아래로 내려가 앞쪽 주문이 걸리는 틱이다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LimitOrderBookBenchmark {
+
+    private static final long STOCK_ID = 1L;
+    private static final long MID = 65_000L;
+    /** 매칭기의 틱당 상한과 같은 역할. 걸리는 주문을 이만큼만 꺼낸다. */
+    private static final int LIMIT = 100;
+
+    @Param({"10000"})
+    public int orders;
+
+    private LimitOrderBook book;
+    private BigDecimal quietPrice;
+    private BigDecimal crossingPrice;
+
+    @Setup
+    public void setUp() {
+        book = new LimitOrderBook(null);
+        Stock stock = Stock.builder().id(STOCK_ID).build();
+        for (int i = 0; i < orders; i++) {
+            boolean buy = i % 2 == 0;
+            // 가격대 100 개에 고르게 나눈다
+            long offset = 10L + (i / 2) % 100 * 10L;
+            book.add(Order.builder()
+                    .id((long) i + 1).stock(stock)
+                    .orderType(Order.OrderType.LIMIT)
+                    .side(buy ? Order.OrderSide.BUY : Order.OrderSide.SELL)
+                    .quantity(1 + i % 7)
+                    .price(BigDecimal.valueOf(buy ? MID - offset : MID + offset))
+                    .build());
+        }
+        quietPrice = BigDecimal.valueOf(MID);
+        crossingPrice = BigDecimal.valueOf(MID - 20);
+    }
+
+    @Benchmark
+    public List<LimitOrderBook.RestingOrder> noCrossing() {
+        return book.findCrossing(STOCK_ID, quietPrice, LIMIT);
+    }
+
+    @Benchmark
+    public List<LimitOrderBook.RestingOrder> crossing() {
+        return book.findCrossing(STOCK_ID, crossingPrice, LIMIT);
+    }
+
+    @Benchmark
+    public LimitOrderBook.Depth depth() {
+        return book.depth(STOCK_ID, 5);
+    }
+}
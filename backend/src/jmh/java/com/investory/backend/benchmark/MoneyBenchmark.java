@@ -0,0 +1,120 @@
+package com.investory.backend.benchmark;
+
+import com.investory.backend.global.common.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 틱 한 번의 금액 계산을 BigDecimal 과 정수화 금액({@link Money})으로 비교한다.
+ * <p>
+ * 한 연산이 종목 {@code stocks} 개를 한 바퀴 돈다. 세 단계는 시뮬레이터·{@code Stock#updatePrice}·포트폴리오 평가가
+ * 틱마다 하는 계산을 그대로 옮긴 것이다. {@code -prof gc} 의 {@code gc.alloc.rate.norm} 이 연산당 할당 바이트다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final double VOLATILITY = 0.02;
+    private static final int QUANTITY = 37;
+
+    @Param({"2000"})
+    public int stocks;
+
+    private BigDecimal[] decimalPrices;
+    private BigDecimal[] decimalPreviousCloses;
+    private long[] scaledPrices;
+    private long[] scaledPreviousCloses;
+    private double[] factors;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimalPrices = new BigDecimal[stocks];
+        decimalPreviousCloses = new BigDecimal[stocks];
+        scaledPrices = new long[stocks];
+        scaledPreviousCloses = new long[stocks];
+        factors = new double[stocks];
+        for (int i = 0; i < stocks; i++) {
+            long won = random.nextLong(1_000, 500_000);
+            decimalPrices[i] = BigDecimal.valueOf(won);
+            decimalPreviousCloses[i] = BigDecimal.valueOf(won);
+            scaledPrices[i] = Money.won(won);
+            scaledPreviousCloses[i] = Money.won(won);
+            factors[i] = 1 + (random.nextDouble() * 2 - 1) * VOLATILITY;
+        }
+    }
+
+    /** 기존 계산: 다음 가격 → 변동폭·변동률 → 보유 평가 차이. */
+    @Benchmark
+    public void bigDecimalTick(Blackhole blackhole) {
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal quantity = BigDecimal.valueOf(QUANTITY);
+        for (int i = 0; i < stocks; i++) {
+            BigDecimal current = decimalPrices[i];
+            BigDecimal next = current.multiply(BigDecimal.valueOf(factors[i])).setScale(0, RoundingMode.HALF_UP);
+            if (next.compareTo(BigDecimal.ONE) < 0) {
+                next = BigDecimal.ONE;
+            }
+            BigDecimal change = next.subtract(decimalPreviousCloses[i]);
+            BigDecimal rate = change.divide(decimalPreviousCloses[i], 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100))
+                    .setScale(2, RoundingMode.HALF_UP);
+            totalValue = totalValue.add(next.subtract(current).multiply(quantity));
+            blackhole.consume(rate);
+            decimalPrices[i] = next;
+        }
+        blackhole.consume(totalValue);
+    }
+
+    /** 같은 계산을 정수화 금액으로. 엔티티에 넣는 BigDecimal 변환 두 번(현재가·변동률)은 포함한다. */
+    @Benchmark
+    public void scaledTick(Blackhole blackhole) {
+        long totalValue = 0L;
+        for (int i = 0; i < stocks; i++) {
+            long current = scaledPrices[i];
+            long next = Math.max(Money.timesToWon(current, factors[i]), Money.ONE_WON);
+            long change = Money.minus(next, scaledPreviousCloses[i]);
+            long rate = Money.percentOf(change, scaledPreviousCloses[i]);
+            totalValue = Money.plus(totalValue, Money.times(Money.minus(next, current), QUANTITY));
+            blackhole.consume(Money.toBigDecimal(next));
+            blackhole.consume(Money.toBigDecimal(rate));
+            scaledPrices[i] = next;
+        }
+        blackhole.consume(totalValue);
+    }
+
+    /** 정수화 금액 계산만. 경계 변환을 뺀 하한이다. */
+    @Benchmark
+    public void scaledTickWithoutBoundary(Blackhole blackhole) {
+        long totalValue = 0L;
+        for (int i = 0; i < stocks; i++) {
+            long current = scaledPrices[i];
+            long next = Math.max(Money.timesToWon(current, factors[i]), Money.ONE_WON);
+            long change = Money.minus(next, scaledPreviousCloses[i]);
+            blackhole.consume(Money.percentOf(change, scaledPreviousCloses[i]));
+            totalValue = Money.plus(totalValue, Money.times(Money.minus(next, current), QUANTITY));
+            scaledPrices[i] = next;
+        }
+        blackhole.consume(totalValue);
+    }
+}
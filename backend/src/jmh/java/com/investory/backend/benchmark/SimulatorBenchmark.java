@@ -0,0 +1,64 @@
+package com.investory.backend.benchmark;
+
+import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.feed.PriceFeeds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 랜덤워크 피드 한 틱(다음 가격 계산 → {@code Stock#updatePrice} → {@code PriceTick}).
+ * 시뮬레이터의 DB 쓰기를 뺀 CPU 부분이다. {@code shards} 를 올리면 공용 ForkJoin 풀에서 병렬로 돈다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulatorBenchmark {
+
+    @Param({"2000"})
+    public int stocks;
+
+    @Param({"1", "4"})
+    public int shards;
+
+    private PriceFeeds.RandomWalk feed;
+    private List<Stock> snapshot;
+
+    @Setup
+    public void setUp() {
+        StockSimulatorProperties properties = new StockSimulatorProperties();
+        properties.setSeed(42L);
+        properties.setShards(shards);
+        feed = new PriceFeeds.RandomWalk(properties);
+        snapshot = new ArrayList<>(stocks);
+        for (int i = 0; i < stocks; i++) {
+            BigDecimal price = BigDecimal.valueOf(10_000L + i * 37L);
+            snapshot.add(Stock.builder()
+                    .id((long) i + 1).code(String.format("%06d", i)).name("종목" + i).market(Stock.Market.KOSPI)
+                    .currentPrice(price).previousClose(price).build());
+        }
+    }
+
+    @Benchmark
+    public List<PriceTick> randomWalkTick() {
+        return feed.advance(snapshot);
+    }
+}
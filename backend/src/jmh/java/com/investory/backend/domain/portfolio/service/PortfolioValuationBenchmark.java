@@ -0,0 +1,97 @@
+package com.investory.backend.domain.portfolio.service;
+
+import com.investory.backend.domain.portfolio.dto.PortfolioResponse;
+import com.investory.backend.domain.portfolio.entity.Holding;
+import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.service.MarketState;
+import com.investory.backend.global.common.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포트폴리오 평가 집계. {@code PortfolioService} 가 조회 때 하는 일을 DB 없이 잰다.
+ * <ul>
+ *   <li>{@code rebuild}: 보유 목록에서 평가를 새로 만들어 응답까지. 평가 집계를 끈 경우의 조회 한 번이다.</li>
+ *   <li>{@code applyTick}: 평가 집계가 켜진 경우 틱 하나가 보유자 한 명에게 하는 일.</li>
+ *   <li>{@code applyTickThenSummary}: 틱 반영 뒤 응답을 다시 만드는 경우(평가 스트림이 매 주기 하는 일).</li>
+ * </ul>
+ * {@link PortfolioValuation} 이 패키지 전용이라 같은 패키지에 둔다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PortfolioValuationBenchmark {
+
+    @Param({"20"})
+    public int holdings;
+
+    private List<Holding> holdingList;
+    private MarketState marketState;
+    private PortfolioValuation valuation;
+    private long[] prices;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        // 시뮬레이터 기본 설정(entity 모드)이라 MarketState 는 엔티티 값을 그대로 돌려준다
+        marketState = new MarketState(null, null, new StockSimulatorProperties());
+        holdingList = new ArrayList<>(holdings);
+        prices = new long[holdings * 2];
+        for (int i = 0; i < holdings; i++) {
+            BigDecimal price = BigDecimal.valueOf(10_000L + i * 1_000L);
+            Stock stock = Stock.builder()
+                    .id((long) i + 1).code(String.format("%06d", i)).name("종목" + i).market(Stock.Market.KOSPI)
+                    .currentPrice(price).previousClose(price).build();
+            holdingList.add(Holding.builder()
+                    .id((long) i + 1).stock(stock).quantity(10 + i)
+                    .averagePrice(price).totalInvestment(price.multiply(BigDecimal.valueOf(10 + i)))
+                    .build());
+            prices[i * 2] = Money.of(price) + Money.won(50);
+            prices[i * 2 + 1] = Money.of(price) - Money.won(50);
+        }
+        valuation = PortfolioValuation.of(holdingList, marketState);
+    }
+
+    @Benchmark
+    public PortfolioResponse.Summary rebuild() {
+        return PortfolioValuation.of(holdingList, marketState).summary();
+    }
+
+    @Benchmark
+    public boolean applyTick() {
+        return applyNext();
+    }
+
+    @Benchmark
+    public PortfolioResponse.Summary applyTickThenSummary() {
+        applyNext();
+        return valuation.summary();
+    }
+
+    /** 보유 종목을 돌아가며 위아래로 번갈아 움직인다. 값이 매번 바뀌므로 "그대로면 건너뛰기" 경로를 타지 않는다. */
+    private boolean applyNext() {
+        int index = cursor;
+        cursor = (cursor + 1) % prices.length;
+        long price = prices[index];
+        long previousClose = prices[index & ~1] - Money.won(50);
+        return valuation.apply((long) index / 2 + 1, price, price - previousClose);
+    }
+}
@@ -0,0 +1,72 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시세 브로드캐스트 한 번의 직렬화. 스냅샷 채널({@code price-update})이 틱마다 전 종목 {@code PriceTick} 을
+ * 프레임 하나로 만드는 비용이다. 연결 수와 상관없이 브로드캐스트당 한 번 든다({@link SseFrameEncoder}).
+ * {@link SseFrameEncoder} 가 패키지 전용이라 같은 패키지에 둔다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SseSerializationBenchmark {
+
+    @Param({"100", "2000"})
+    public int stocks;
+
+    private ObjectMapper objectMapper;
+    private List<PriceTick> ticks;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper();
+        ticks = new ArrayList<>(stocks);
+        for (int i = 0; i < stocks; i++) {
+            BigDecimal previousClose = BigDecimal.valueOf(10_000L + i * 37L);
+            Stock stock = Stock.builder()
+                    .id((long) i + 1).code(String.format("%06d", i)).name("종목" + i).market(Stock.Market.KOSPI)
+                    .currentPrice(previousClose).previousClose(previousClose).build();
+            stock.updatePrice(previousClose.add(BigDecimal.valueOf(i % 50 - 25)), 1_000L + i);
+            ticks.add(PriceTick.from(stock, 1_000L + i));
+        }
+        json = objectMapper.writeValueAsString(ticks);
+    }
+
+    /** 객체 → JSON → 프레임 바이트. 이 인스턴스에서 바로 보내는 경로. */
+    @Benchmark
+    public Set<ResponseBodyEmitter.DataWithMediaType> encodeTicks() throws JsonProcessingException {
+        return SseFrameEncoder.encode(objectMapper, "price-update", ticks);
+    }
+
+    /** 이미 직렬화된 JSON → 프레임 바이트. Redis 로 건너온 이벤트를 받는 경로. */
+    @Benchmark
+    public Set<ResponseBodyEmitter.DataWithMediaType> encodeJson() {
+        return SseFrameEncoder.encodeJson("price-update", null, json);
+    }
+}
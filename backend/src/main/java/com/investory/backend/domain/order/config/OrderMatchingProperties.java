@@ -0,0 +1,41 @@
+package com.investory.backend.domain.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지정가 매칭 설정.
+ * <p>
+ * 부분 체결을 켜면 틱마다 시뮬레이터가 만든 거래량의 일부만 지정가 주문에 배정된다.
+ * 끄면(기본) 기존처럼 조건을 만족한 주문은 한 번에 전량 체결된다.
+ * 테스트와 기존 데모 동작을 바꾸지 않으려고 기본값을 off 로 둔다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "investory.order.matching")
+public class OrderMatchingProperties {
+
+    /** 틱 거래량 기반 부분 체결 사용 여부. */
+    private boolean partialFill = false;
+
+    /**
+     * 틱 거래량 중 지정가 주문이 가져갈 수 있는 비율 (0.1 = 10%).
+     * 매수/매도 방향 각각에 같은 양이 배정된다.
+     */
+    private double liquidityRatio = 0.1d;
+
+    /**
+     * 체결 트랜잭션 하나에 묶을 주문 수. 1 이하면 주문 1건당 트랜잭션(배치 이전 동작)으로 돈다.
+     * {@code hibernate.jdbc.batch_size} 와 맞춰 두면 UPDATE 가 한 번의 왕복으로 나간다.
+     */
+    private int batchSize = 50;
+
+    /**
+     * 틱 하나의 종목들을 몇 갈래로 나눠 동시에 매칭할지. 1(기본)이면 이벤트 스레드에서 종목 순서대로 돈다.
+     * 갈래마다 DB 커넥션을 하나씩 쓰므로 커넥션 풀 크기보다 작게 둔다.
+     */
+    private int parallelism = 1;
+}
@@ -0,0 +1,25 @@
+package com.investory.backend.domain.order.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 시퀀서 설정. {@code investory.order.lock-mode=sequenced} 일 때만 쓰인다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "investory.order.sequencer")
+public class OrderSequencerProperties {
+
+    /**
+     * 단일 스레드 작업자 수. 사용자는 loginId 해시로 작업자 하나에 고정된다.
+     * 늘리면 서로 다른 사용자의 주문이 더 많이 병렬로 돌지만, DB 커넥션 풀보다 크게 잡을 이유는 없다.
+     */
+    private int shards = 4;
+
+    /** 작업자별 대기열 용량. 가득 차면 기다리지 않고 ORDER_QUEUE_FULL 로 즉시 거절한다. */
+    private int queueCapacity = 1024;
+}
@@ -3,6 +3,7 @@ package com.investory.backend.domain.order.controller;
 import com.investory.backend.domain.order.dto.OrderRequest;
 import com.investory.backend.domain.order.dto.OrderResponse;
 import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.order.service.OrderSubmitter;
 import com.investory.backend.global.common.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,6 +19,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "주문", description = "주문 관련 API")
 @RestController
@@ -26,14 +28,20 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderSubmitter orderSubmitter;
 
+    /**
+     * sequenced 모드에서는 주문이 시퀀서 스레드에서 처리되므로 HTTP 스레드는 future 만 들고 먼저 반환된다.
+     * 실패한 future 의 예외는 스프링 MVC 가 꺼내 {@code GlobalExceptionHandler} 로 넘긴다.
+     */
     @Operation(summary = "주문 생성", description = "매수/매도 주문을 생성합니다.")
     @PostMapping
-    public ResponseEntity<ApiResponse<OrderResponse.Detail>> createOrder(
+    public CompletableFuture<ResponseEntity<ApiResponse<OrderResponse.Detail>>> createOrder(
             @AuthenticationPrincipal UserDetails userDetails,
             @Valid @RequestBody OrderRequest.Create request) {
-        OrderResponse.Detail order = orderService.createOrder(userDetails.getUsername(), request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("주문이 접수되었습니다.", order));
+        return orderSubmitter.submit(userDetails.getUsername(), request)
+                .thenApply(order -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("주문이 접수되었습니다.", order)));
     }
 
     @Operation(summary = "주문 취소", description = "대기 중인 주문을 취소합니다.")
@@ -7,7 +7,9 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "orders", indexes = {
@@ -71,10 +73,30 @@ public class Order extends BaseEntity {
     @Column(length = 200)
     private String cancelReason;
 
+    /**
+     * 접수 시 증거금(매수: 현금, 매도: 보유 수량)을 묶었는지 여부.
+     * 시장가는 null 이다. 예약 도입 이전에 접수된 미체결 지정가는 마이그레이션에서 false 로 채워지며
+     * (docs/DATABASE_DESIGN.md 7.1), 그런 주문은 체결 시점에 잔액을 확인하는 기존 경로를 탄다.
+     */
+    private Boolean reserved;
+
+    /**
+     * 체결을 반영한다. 부분 체결이면 여러 번 호출된다.
+     * <p>
+     * {@code totalAmount} 는 누적 체결 금액, {@code filledPrice} 는 누적 기준 평균 체결가(VWAP)다.
+     * 한 번에 전량 체결되면 기존과 똑같이 체결가 × 수량이 된다.
+     */
     public void fill(BigDecimal executionPrice, int executedQuantity) {
+        if (executedQuantity <= 0 || executedQuantity > getRemainingQuantity()) {
+            throw new IllegalArgumentException("체결 수량이 미체결 잔량을 벗어났습니다.");
+        }
+        BigDecimal executedAmount = executionPrice.multiply(BigDecimal.valueOf(executedQuantity));
+
         this.filledQuantity += executedQuantity;
-        this.filledPrice = executionPrice;
-        this.totalAmount = executionPrice.multiply(BigDecimal.valueOf(executedQuantity));
+        this.totalAmount = this.totalAmount == null ? executedAmount : this.totalAmount.add(executedAmount);
+        this.filledPrice = this.filledQuantity.equals(executedQuantity)
+                ? executionPrice
+                : this.totalAmount.divide(BigDecimal.valueOf(this.filledQuantity), 2, RoundingMode.HALF_UP);
         this.filledAt = LocalDateTime.now();
         
         if (this.filledQuantity.equals(this.quantity)) {
@@ -102,11 +124,34 @@ public class Order extends BaseEntity {
         this.cancelReason = reason;
     }
 
-    /** 아직 체결을 기다리는 상태인지 여부. */
+    /** 아직 한 주도 체결되지 않고 대기 중인 상태인지 여부. */
     public boolean isPending() {
         return this.status == OrderStatus.PENDING;
     }
 
+    /**
+     * 잔량이 남아 추가 체결·취소가 가능한 상태인지 여부.
+     * 부분 체결된 주문도 잔량은 계속 호가창에 걸려 있으므로 PENDING 과 같이 취급한다.
+     */
+    public boolean isOpen() {
+        return this.status == OrderStatus.PENDING || this.status == OrderStatus.PARTIALLY_FILLED;
+    }
+
+    /** 미체결 잔량. */
+    public int getRemainingQuantity() {
+        return this.quantity - this.filledQuantity;
+    }
+
+    /** 접수 시 증거금을 묶은 주문인지 여부. */
+    public boolean isReserved() {
+        return Boolean.TRUE.equals(this.reserved);
+    }
+
+    /** 지정가 기준으로 {@code quantity} 주에 묶이는 금액. 매수 예약·해제·체결 정산이 같은 기준을 쓴다. */
+    public BigDecimal reservationFor(int quantity) {
+        return this.price.multiply(BigDecimal.valueOf(quantity));
+    }
+
     /**
      * 지정가 주문이 현재가 기준으로 체결 조건을 만족하는지 판단한다.
      * <p>
@@ -131,6 +176,9 @@ public class Order extends BaseEntity {
     }
 
     public enum OrderStatus {
-        PENDING, PARTIALLY_FILLED, FILLED, CANCELLED, REJECTED
+        PENDING, PARTIALLY_FILLED, FILLED, CANCELLED, REJECTED;
+
+        /** 잔량이 남아 호가창에 걸려 있을 수 있는 상태들. */
+        public static final List<OrderStatus> OPEN = List.of(PENDING, PARTIALLY_FILLED);
     }
 }
@@ -21,6 +21,8 @@ import java.math.BigDecimal;
  * @param quantity    체결 수량
  * @param price       체결 단가
  * @param totalAmount 체결 총액
+ * @param completed   이번 체결로 주문 전량이 체결됐는지 여부. 부분 체결이면 주문 하나에 이벤트가 여러 번 오므로,
+ *                    주문 단위로 한 번만 반응해야 하는 리스너는 이 값을 본다.
  */
 public record OrderFilledEvent(
         Long orderId,
@@ -31,7 +33,8 @@ public record OrderFilledEvent(
         Order.OrderSide side,
         int quantity,
         BigDecimal price,
-        BigDecimal totalAmount
+        BigDecimal totalAmount,
+        boolean completed
 ) {
 
     public static OrderFilledEvent from(Order order, BigDecimal executionPrice, int executedQuantity) {
@@ -44,7 +47,8 @@ public record OrderFilledEvent(
                 order.getSide(),
                 executedQuantity,
                 executionPrice,
-                executionPrice.multiply(BigDecimal.valueOf(executedQuantity))
+                executionPrice.multiply(BigDecimal.valueOf(executedQuantity)),
+                order.getStatus() == Order.OrderStatus.FILLED
         );
     }
 }
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -31,27 +32,31 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     long countByUserIdAndStatus(Long userId, Order.OrderStatus status);
 
     /**
-     * 특정 종목의 미체결 지정가 주문을 ID 오름차순으로 조회한다. (지정가 매칭용)
+     * 전 종목의 미체결(대기·부분 체결) 지정가 주문을 ID 오름차순으로 조회한다. (기동 시 인메모리 호가창 복원용)
      * <p>
      * <b>왜 offset 페이징이 아니라 keyset 페이징인가</b><br>
-     * 매칭이 진행되면 체결된 주문은 PENDING 에서 빠져나간다. offset 방식이면 그만큼
-     * 뒤 페이지가 앞으로 당겨져 <b>주문을 건너뛰는</b> 버그가 생긴다.
+     * 복원하는 동안에도 주문 접수·취소가 들어와 PENDING 목록이 변할 수 있다. offset 방식이면
+     * 앞쪽 주문이 빠질 때 뒤 페이지가 당겨져 <b>주문을 건너뛰는</b> 버그가 생긴다.
      * 마지막으로 본 ID 기준으로 잘라 읽으면 목록이 줄어도 누락이 없다.
      * <p>
-     * 체결 순서는 ID 오름차순 = 접수 순서(FIFO)다. 실제 거래소의 가격-시간 우선 원칙 중
-     * 시간 우선만 구현한 형태이며, 모의 거래에서는 이 정도로 충분하다.
+     * ID 오름차순 = 접수 순서(FIFO)라, 이 순서대로 호가창에 넣으면 같은 가격대 안의 시간 우선이 보존된다.
      */
     @Query("""
             SELECT o FROM Order o
-            WHERE o.stock.id = :stockId
-              AND o.status = :status
+            WHERE o.status IN :statuses
               AND o.orderType = :orderType
               AND o.id > :lastSeenId
             ORDER BY o.id ASC
             """)
-    List<Order> findMatchableOrders(@Param("stockId") Long stockId,
-                                    @Param("status") Order.OrderStatus status,
+    List<Order> findOpenLimitOrders(@Param("statuses") List<Order.OrderStatus> statuses,
                                     @Param("orderType") Order.OrderType orderType,
                                     @Param("lastSeenId") Long lastSeenId,
                                     Pageable pageable);
+
+    /**
+     * 배치 체결용: 주문을 주문자·종목과 함께 한 번에 읽는다.
+     * 주문마다 {@code findById} 후 지연 로딩으로 사용자를 따로 읽으면 배치로 묶은 의미가 없다.
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.user JOIN FETCH o.stock WHERE o.id IN :ids")
+    List<Order> findAllForFill(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,405 @@
+package com.investory.backend.domain.order.service;
+
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.repository.OrderRepository;
+import com.investory.backend.global.common.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 미체결 지정가 주문 인메모리 호가창.
+ * <p>
+ * <b>왜 DB 스캔을 걷어냈는가</b><br>
+ * 기존 매처는 틱마다 종목별로 PENDING 지정가 주문을 keyset 페이지(100건)로 전부 읽은 뒤
+ * 자바에서 {@code isMatchable} 을 돌렸다. 체결될 주문이 하나도 없는 틱에도 종목당 수십 번의
+ * 조회가 나간다. 매수는 지정가 내림차순, 매도는 지정가 오름차순으로 정렬해 두면
+ * "현재가를 넘어선 가격대"만 잘라 읽으면 되므로, 틱 하나가 건드리는 건 실제로 체결될 주문뿐이다.
+ * <p>
+ * <b>DB 와의 동기화</b><br>
+ * 진실은 여전히 DB 다. 이 호가창은 "누구를 체결 시도할지"를 고르는 인덱스일 뿐이고,
+ * 실제 체결 여부는 {@link OrderExecutor} 가 트랜잭션 안에서 주문을 다시 읽어 판단한다.
+ * 등록/제거는 트랜잭션이 <b>커밋된 뒤에만</b> 반영한다. 커밋 전에 넣으면 롤백된 주문(낙관적 락 재시도 등)이
+ * 유령처럼 남고, 커밋 전에 빼면 롤백된 체결 때문에 멀쩡한 주문이 호가창에서 사라진다.
+ * 그래도 어긋난 항목(예: 재시작 사이에 지워진 주문)은 체결 시도 시점에 걸러져 제거된다.
+ * <p>
+ * <b>동시성</b><br>
+ * 등록/취소는 HTTP 스레드, 매칭은 스케줄러 스레드에서 일어난다. 종목 단위로 잠그면 종목 간에는
+ * 서로 막지 않으므로 종목별 {@link StockBook} 에 {@code synchronized} 를 건다.
+ * <p>
+ * <b>호가 잔량</b><br>
+ * 가격대마다 잔량 합계를 같이 들고 있다가 등록·체결·취소 때 그 가격대만 고친다. 그래서 호가 조회({@link #depth})는
+ * 주문 수와 상관없이 보여 줄 가격대 수만큼만 읽는다. 바뀐 종목은 {@link #drainChanged} 로 모아 호가 스트림이 가져간다.
+ * <p>
+ * <b>가격 키</b><br>
+ * 가격대는 정수화한 금액({@link Money}, 원 × 100)으로 찾는다. 매칭은 틱마다 전 종목에서 도므로, 비교 한 번이
+ * 자릿수 맞춤을 거치는 {@code BigDecimal#compareTo} 보다 {@code long} 비교가 싸다. 호가를 내보낼 때만 BigDecimal 로 바꾼다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LimitOrderBook {
+
+    /** 기동 시 미체결 주문을 읽어올 페이지 크기. */
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+
+    /** 종목 ID → 종목별 호가창. */
+    private final Map<Long, StockBook> books = new ConcurrentHashMap<>();
+    /** 마지막 {@link #drainChanged} 뒤로 호가가 바뀐 종목 ID. */
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 기동 시 DB 의 미체결(PENDING·PARTIALLY_FILLED) 지정가 주문으로 호가창을 복원한다.
+     * <p>
+     * ID 오름차순으로 넣어야 같은 가격대 안의 시간 우선 순서가 접수 순서와 일치한다.
+     * 페이징이 keyset 인 이유는 {@link OrderRepository#findOpenLimitOrders} 주석 참고.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingOrders() {
+        Pageable page = PageRequest.of(0, LOAD_BATCH_SIZE);
+        long lastSeenId = 0L;
+        int loaded = 0;
+
+        while (true) {
+            List<Order> orders = orderRepository.findOpenLimitOrders(
+                    Order.OrderStatus.OPEN, Order.OrderType.LIMIT, lastSeenId, page);
+            for (Order order : orders) {
+                lastSeenId = order.getId();
+                add(order);
+                loaded++;
+            }
+            if (orders.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+        }
+        log.info("지정가 호가창 복원 완료: {}건 / {}종목", loaded, books.size());
+    }
+
+    /** 지정가 주문을 즉시 호가창에 올린다. 시장가 주문이나 잔량이 없는 주문은 무시한다. */
+    public void add(Order order) {
+        if (order.getOrderType() != Order.OrderType.LIMIT || order.getPrice() == null
+                || order.getRemainingQuantity() <= 0) {
+            return;
+        }
+        RestingOrder resting = RestingOrder.from(order);
+        Long stockId = order.getStock().getId();
+        if (books.computeIfAbsent(stockId, id -> new StockBook()).add(resting)) {
+            changed.add(stockId);
+        }
+    }
+
+    /** 현재 트랜잭션이 커밋되면 호가창에 올린다. 트랜잭션 밖이면 즉시 반영한다. */
+    public void addAfterCommit(Order order) {
+        runAfterCommit(() -> add(order));
+    }
+
+    /** 호가창에서 즉시 제거한다. 없는 주문이면 아무 일도 하지 않는다. */
+    public void remove(Long stockId, Long orderId) {
+        StockBook book = books.get(stockId);
+        if (book != null && book.remove(orderId)) {
+            changed.add(stockId);
+        }
+    }
+
+    /** 현재 트랜잭션이 커밋되면 호가창에서 제거한다. 트랜잭션 밖이면 즉시 반영한다. */
+    public void removeAfterCommit(Long stockId, Long orderId) {
+        runAfterCommit(() -> remove(stockId, orderId));
+    }
+
+    /**
+     * 부분 체결을 반영한다. 현재 트랜잭션이 커밋되면 잔량을 줄이고, 잔량이 0 이 되면 내린다.
+     * 가격대 안의 자리(시간 우선 순위)는 그대로 유지된다.
+     */
+    public void reduceAfterCommit(Long stockId, Long orderId, int filledQuantity) {
+        runAfterCommit(() -> {
+            StockBook book = books.get(stockId);
+            if (book != null && book.reduce(orderId, filledQuantity)) {
+                changed.add(stockId);
+            }
+        });
+    }
+
+    /**
+     * 현재가에서 체결 조건을 만족하는 주문을 우선순위 순서로 돌려준다.
+     * <p>
+     * 매수는 지정가 ≥ 현재가, 매도는 지정가 ≤ 현재가인 가격대만 잘라 읽는다
+     * ({@link Order#isMatchable} 과 같은 조건). 가격 우선 → 시간 우선 순서다.
+     * 즉 매수는 더 비싸게 사겠다는 주문이, 매도는 더 싸게 팔겠다는 주문이 먼저 나오고,
+     * 같은 가격대 안에서는 먼저 들어온 주문이 앞선다.
+     *
+     * @param limit 한 틱에서 돌려줄 최대 건수 (폭주 방어용 상한). 방향별로 반씩 나누고, 남는 몫은 다른 방향이 쓴다.
+     */
+    public List<RestingOrder> findCrossing(Long stockId, BigDecimal currentPrice, int limit) {
+        if (currentPrice == null) {
+            return Collections.emptyList();
+        }
+        return findCrossing(stockId, Money.of(currentPrice), limit);
+    }
+
+    /** {@link #findCrossing(Long, BigDecimal, int)} 의 정수화한 현재가({@link Money}) 판. 매처가 쓴다. */
+    public List<RestingOrder> findCrossing(Long stockId, long currentPrice, int limit) {
+        StockBook book = books.get(stockId);
+        if (book == null) {
+            return Collections.emptyList();
+        }
+        return book.crossing(currentPrice, limit);
+    }
+
+    /**
+     * 가격대별 잔량. 매도·매수 모두 현재가에 가까운 가격대부터 최대 {@code levels} 개씩이다.
+     * 주문이 없는 종목은 빈 호가를 준다.
+     */
+    public Depth depth(Long stockId, int levels) {
+        StockBook book = books.get(stockId);
+        return book == null ? Depth.EMPTY : book.depth(levels);
+    }
+
+    /** 마지막 호출 뒤로 호가가 바뀐 종목 ID 를 꺼내 간다. 꺼낸 종목은 다시 바뀔 때까지 나오지 않는다. */
+    public List<Long> drainChanged() {
+        List<Long> drained = new ArrayList<>();
+        for (Iterator<Long> iterator = changed.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    /** 모니터링/테스트용: 특정 종목에 걸려 있는 주문 수. */
+    public int size(Long stockId) {
+        StockBook book = books.get(stockId);
+        return book == null ? 0 : book.size();
+    }
+
+    /** 테스트용: 호가창 전체 초기화. DB 를 직접 비우는 통합 테스트 정리 단계에서 호출한다. */
+    public void clear() {
+        books.clear();
+        changed.clear();
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 호가창에 걸린 주문 한 건의 스냅샷 (엔티티가 아닌 값).
+     *
+     * @param orderId           주문 ID
+     * @param side              매수/매도
+     * @param price             지정가 (정수화한 금액, {@link Money})
+     * @param remainingQuantity 미체결 잔량
+     */
+    public record RestingOrder(Long orderId, Order.OrderSide side, long price, int remainingQuantity) {
+
+        public static RestingOrder from(Order order) {
+            return new RestingOrder(order.getId(), order.getSide(), Money.of(order.getPrice()),
+                    order.getRemainingQuantity());
+        }
+
+        RestingOrder reduce(int filledQuantity) {
+            return new RestingOrder(orderId, side, price, remainingQuantity - filledQuantity);
+        }
+    }
+
+    /**
+     * 한 가격대의 잔량 합계와 주문 수.
+     *
+     * @param price    지정가
+     * @param quantity 그 가격대 미체결 잔량 합계
+     * @param count    그 가격대 주문 수
+     */
+    public record DepthLevel(BigDecimal price, long quantity, int count) {
+    }
+
+    /**
+     * 한 종목의 호가 잔량. 둘 다 현재가에 가까운 가격대가 앞이다.
+     *
+     * @param asks 매도 호가 (낮은 가격부터)
+     * @param bids 매수 호가 (높은 가격부터)
+     */
+    public record Depth(List<DepthLevel> asks, List<DepthLevel> bids) {
+
+        static final Depth EMPTY = new Depth(List.of(), List.of());
+    }
+
+    /**
+     * 한 종목의 호가창.
+     * <p>
+     * 가격대 키는 정수화한 금액이라 65000 과 65000.00 이 같은 키다. {@link TreeMap} 으로 가격 순서를 유지하고,
+     * 가격대 안은 {@link LinkedHashMap} 으로 삽입 순서(시간 우선)를 유지한다.
+     * <p>
+     * 변경 메서드는 호가가 실제로 바뀌었는지를 돌려준다. 이미 있는 주문의 재등록이나 없는 주문의 제거는 false 다.
+     */
+    private static final class StockBook {
+
+        /** 매수 호가: 높은 가격이 먼저. */
+        private final NavigableMap<Long, Level> bids = new TreeMap<>(Comparator.reverseOrder());
+        /** 매도 호가: 낮은 가격이 먼저. */
+        private final NavigableMap<Long, Level> asks = new TreeMap<>();
+        /** 주문 ID → 항목. 취소/체결 시 가격대를 찾아가기 위한 역인덱스. */
+        private final Map<Long, RestingOrder> byId = new HashMap<>();
+
+        synchronized boolean add(RestingOrder order) {
+            if (byId.putIfAbsent(order.orderId(), order) != null) {
+                return false;
+            }
+            levels(order.side())
+                    .computeIfAbsent(order.price(), p -> new Level())
+                    .put(order);
+            return true;
+        }
+
+        synchronized boolean remove(Long orderId) {
+            RestingOrder order = byId.remove(orderId);
+            if (order == null) {
+                return false;
+            }
+            NavigableMap<Long, Level> levels = levels(order.side());
+            Level level = levels.get(order.price());
+            if (level == null) {
+                return true;
+            }
+            level.remove(order);
+            // 빈 가격대를 남겨 두면 범위 탐색이 빈 노드를 계속 지나간다.
+            if (level.orders.isEmpty()) {
+                levels.remove(order.price());
+            }
+            return true;
+        }
+
+        synchronized boolean reduce(Long orderId, int filledQuantity) {
+            RestingOrder order = byId.get(orderId);
+            if (order == null) {
+                return false;
+            }
+            RestingOrder reduced = order.reduce(filledQuantity);
+            if (reduced.remainingQuantity() <= 0) {
+                return remove(orderId);
+            }
+            byId.put(orderId, reduced);
+            // LinkedHashMap 은 기존 키에 put 하면 순서를 바꾸지 않는다. 부분 체결돼도 줄 선 자리는 유지된다.
+            levels(order.side()).get(order.price()).replace(order, reduced);
+            return true;
+        }
+
+        /**
+         * 체결 가능한 주문 목록. 매수 쪽을 먼저, 그다음 매도 쪽을 담는다.
+         * <p>
+         * {@code limit} 은 방향별로 반씩 나눈다. 한쪽에 몰아 주면 교차 매수가 많은 틱에 교차 매도가 아예 후보에 오르지 못한다.
+         * 한쪽이 제 몫을 다 쓰지 않으면 남은 자리는 다른 쪽이 쓴다. 매도 몫을 먼저 잡아 두고 매수를 채운 뒤,
+         * 매수가 남긴 자리가 있으면 매도를 그만큼 더 담는다.
+         * <p>
+         * 매수 맵은 내림차순이라 {@code headMap(현재가, inclusive)} 가 "현재가 이상" 가격대가 된다.
+         * 대부분의 틱은 체결될 주문이 없으므로, 양쪽 최우선 호가만 보고 건너뛸 수 있으면 목록도 뷰도 만들지 않는다.
+         */
+        synchronized List<RestingOrder> crossing(long currentPrice, int limit) {
+            boolean bidCrosses = !bids.isEmpty() && bids.firstKey() >= currentPrice;
+            boolean askCrosses = !asks.isEmpty() && asks.firstKey() <= currentPrice;
+            if (!bidCrosses && !askCrosses) {
+                return Collections.emptyList();
+            }
+            NavigableMap<Long, Level> crossingAsks = asks.headMap(currentPrice, true);
+            int askShare = limit / 2;
+            List<RestingOrder> askSide = new ArrayList<>();
+            collect(crossingAsks, askSide, askShare);
+            List<RestingOrder> result = new ArrayList<>();
+            collect(bids.headMap(currentPrice, true), result, limit - askSide.size());
+            if (askSide.size() == askShare && result.size() + askSide.size() < limit) {
+                // 매수가 남긴 자리만큼 매도를 더 담는다
+                askSide.clear();
+                collect(crossingAsks, askSide, limit - result.size());
+            }
+            result.addAll(askSide);
+            return result;
+        }
+
+        synchronized int size() {
+            return byId.size();
+        }
+
+        synchronized Depth depth(int levels) {
+            return new Depth(top(asks, levels), top(bids, levels));
+        }
+
+        private static List<DepthLevel> top(NavigableMap<Long, Level> levels, int limit) {
+            List<DepthLevel> top = new ArrayList<>(Math.min(limit, levels.size()));
+            for (Map.Entry<Long, Level> entry : levels.entrySet()) {
+                if (top.size() >= limit) {
+                    break;
+                }
+                Level level = entry.getValue();
+                top.add(new DepthLevel(Money.toBigDecimal(entry.getKey()), level.quantity, level.orders.size()));
+            }
+            return top;
+        }
+
+        private void collect(NavigableMap<Long, Level> levels,
+                             List<RestingOrder> sink, int limit) {
+            for (Level level : levels.values()) {
+                for (RestingOrder order : level.orders.values()) {
+                    if (sink.size() >= limit) {
+                        return;
+                    }
+                    sink.add(order);
+                }
+            }
+        }
+
+        private NavigableMap<Long, Level> levels(Order.OrderSide side) {
+            return side == Order.OrderSide.BUY ? bids : asks;
+        }
+    }
+
+    /** 한 가격대. 주문 목록과 잔량 합계를 같이 고친다. 잠금은 {@link StockBook} 이 잡는다. */
+    private static final class Level {
+
+        private final Map<Long, RestingOrder> orders = new LinkedHashMap<>();
+        private long quantity;
+
+        void put(RestingOrder order) {
+            orders.put(order.orderId(), order);
+            quantity += order.remainingQuantity();
+        }
+
+        void remove(RestingOrder order) {
+            if (orders.remove(order.orderId()) != null) {
+                quantity -= order.remainingQuantity();
+            }
+        }
+
+        void replace(RestingOrder previous, RestingOrder next) {
+            orders.put(next.orderId(), next);
+            quantity += next.remainingQuantity() - previous.remainingQuantity();
+        }
+    }
+}
@@ -1,132 +1,326 @@
 package com.investory.backend.domain.order.service;
 
+import com.investory.backend.domain.order.config.OrderMatchingProperties;
 import com.investory.backend.domain.order.entity.Order;
-import com.investory.backend.domain.order.repository.OrderRepository;
 import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
-import lombok.RequiredArgsConstructor;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 지정가(LIMIT) 주문 매칭기.
  * <p>
- * 시세가 갱신될 때마다 해당 종목의 미체결 지정가 주문을 훑어, 체결 조건을 만족하는 주문을
- * {@link OrderExecutor} 로 넘긴다.
+ * 시세가 갱신될 때마다 {@link LimitOrderBook} 에서 현재가를 넘어선 가격대의 주문만 꺼내
+ * {@link OrderExecutor} 로 넘긴다. 틱마다 DB 를 스캔하지 않으므로, 체결될 주문이 없는 틱의 비용은
+ * 종목당 정렬 맵 조회 한 번이다.
  * <p>
  * <b>이 클래스에 @Transactional 이 없는 이유</b><br>
  * 매처가 트랜잭션을 열면 100건을 체결하다 마지막 1건이 실패했을 때 앞의 99건이 전부 롤백된다.
- * 매처는 트랜잭션 밖에서 돌고, 체결 1건당 {@code OrderExecutor} 가 트랜잭션을 연다.
- * 실패는 그 주문 하나로 격리된다.
+ * 매처는 트랜잭션 밖에서 돌고, {@code OrderExecutor} 가 {@code batch-size} 건씩 묶어 트랜잭션을 연다.
+ * 배치가 실패하면 그 배치만 주문 1건당 트랜잭션으로 다시 돌려 실패를 그 주문 하나로 격리한다.
+ * <p>
+ * <b>가격-시간 우선과 부분 체결</b><br>
+ * 호가창이 돌려주는 순서(가격 우선 → 시간 우선) 그대로 체결을 시도한다.
+ * 부분 체결이 켜져 있으면 틱 거래량 × {@code liquidityRatio} 만큼을 매수/매도 방향별 유동성으로 보고,
+ * 앞선 주문부터 유동성을 소진한다. 유동성이 바닥나면 뒤의 주문은 이번 틱에 체결되지 않고,
+ * 유동성보다 큰 주문은 남는 만큼만 체결된 뒤 PARTIALLY_FILLED 로 자리를 지킨다.
+ * <p>
+ * <b>지표</b><br>
+ * 누적 체결·배치·배치 실패 전환 수는 카운터로, 틱 하나의 매칭 시간과 틱당 체결·배치 수는 타이머와 분포로 나간다.
+ * 틱당 값은 그 틱에서 호출한 종목 매칭 결과를 더해 구하므로, 샤드 병렬 매칭이나 틱 밖의 {@link #match} 호출과 섞이지 않는다.
+ * 체결 처리량은 {@code investory.matching.fills} 를 후보가 있던 종목 매칭 시간({@code investory.matching.match})의
+ * 합으로 나눠 본다. 배치 크기 비교 실험도 같은 지표를 쓴다.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class LimitOrderMatcher {
 
-    /** 한 번에 읽어올 주문 수. 대량 주문 상황에서 메모리를 폭발시키지 않기 위한 상한. */
-    private static final int BATCH_SIZE = 100;
+    /** 한 틱에서 종목당 체결 시도할 최대 주문 수. 급변 시세에 한 틱이 끝나지 않는 것을 막는 안전장치. */
+    private static final int MAX_FILLS_PER_TICK = 5_000;
 
-    /** 한 틱에서 종목당 처리할 최대 배치 수. 무한 루프 방어용 안전장치. */
-    private static final int MAX_BATCHES_PER_TICK = 50;
+    /** 유동성 제한 없음. 조건을 만족한 주문은 전량 체결된다. */
+    public static final long UNLIMITED_LIQUIDITY = Long.MAX_VALUE;
 
-    private final OrderRepository orderRepository;
+    private final LimitOrderBook limitOrderBook;
     private final OrderExecutor orderExecutor;
+    private final OrderMatchingProperties matchingProperties;
+
+    private final Counter fills;
+    private final Counter batches;
+    private final Counter batchFallbacks;
+    private final Timer matchTimer;
+    private final Timer tickTimer;
+    private final DistributionSummary fillsPerTick;
+    private final DistributionSummary batchesPerTick;
+
+    public LimitOrderMatcher(LimitOrderBook limitOrderBook, OrderExecutor orderExecutor,
+                             OrderMatchingProperties matchingProperties, MeterRegistry meterRegistry) {
+        this.limitOrderBook = limitOrderBook;
+        this.orderExecutor = orderExecutor;
+        this.matchingProperties = matchingProperties;
+        this.fills = Counter.builder("investory.matching.fills")
+                .description("체결(부분 체결 포함)된 지정가 주문").register(meterRegistry);
+        this.batches = Counter.builder("investory.matching.batches")
+                .description("체결 트랜잭션 배치").register(meterRegistry);
+        this.batchFallbacks = Counter.builder("investory.matching.batch.fallbacks")
+                .description("배치가 실패해 주문별 트랜잭션으로 다시 돈 배치").register(meterRegistry);
+        this.matchTimer = Timer.builder("investory.matching.match")
+                .description("후보가 있던 종목 하나의 매칭 시간").register(meterRegistry);
+        this.tickTimer = Timer.builder("investory.matching.tick")
+                .description("시세 틱 하나의 매칭 시간 (전 종목)").register(meterRegistry);
+        this.fillsPerTick = DistributionSummary.builder("investory.matching.tick.fills")
+                .description("틱당 체결 수").register(meterRegistry);
+        this.batchesPerTick = DistributionSummary.builder("investory.matching.tick.batches")
+                .description("틱당 체결 배치 수").register(meterRegistry);
+    }
 
     /**
      * 시세 갱신 커밋 이후에 매칭을 시작한다.
      * <p>
      * {@code AFTER_COMMIT} 이라 이 메서드 진입 시점에는 활성 트랜잭션이 없다.
-     * 조회는 {@code readOnly} 트랜잭션을 별도로 열고, 체결은 주문별 트랜잭션에서 처리한다.
+     * 체결은 주문별 트랜잭션에서 처리한다.
+     * 시뮬레이터가 write-behind 모드면 틱에 트랜잭션이 없으므로 {@code fallbackExecution} 으로 바로 실행된다.
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onPriceUpdated(StockPriceUpdatedEvent event) {
-        for (StockPriceUpdatedEvent.PriceTick tick : event.ticks()) {
+        long startedAt = System.nanoTime();
+        int parallelism = Math.max(1, matchingProperties.getParallelism());
+        MatchResult result = parallelism == 1
+                ? matchAll(event.ticks())
+                : matchInParallel(event.ticks(), parallelism);
+        tickTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        fillsPerTick.record(result.fills());
+        batchesPerTick.record(result.batches());
+    }
+
+    /**
+     * 종목을 ID 로 {@code parallelism} 개 샤드에 나눠 가상 스레드에서 동시에 매칭한다.
+     * <p>
+     * 한 종목은 항상 한 샤드에서 차례로 처리되므로 종목 안의 가격-시간 우선은 그대로다.
+     * 서로 다른 종목의 주문이 같은 계좌/보유를 건드리면 낙관적 락 충돌이 날 수 있는데,
+     * 이는 사용자 주문과 부딪힐 때와 같이 배치 → 건별 재처리 → 다음 틱 재시도로 흡수된다.
+     * 샤드마다 커넥션을 하나씩 쥐므로 {@code parallelism} 은 커넥션 풀 크기보다 작게 둔다.
+     * 모든 샤드가 끝나야 반환하므로 다음 틱의 매칭과 겹치지 않는다.
+     */
+    private MatchResult matchInParallel(List<StockPriceUpdatedEvent.PriceTick> ticks, int parallelism) {
+        List<List<StockPriceUpdatedEvent.PriceTick>> shards = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (StockPriceUpdatedEvent.PriceTick tick : ticks) {
+            shards.get((int) Math.floorMod(tick.stockId(), (long) parallelism)).add(tick);
+        }
+        List<Future<MatchResult>> results = new ArrayList<>(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<StockPriceUpdatedEvent.PriceTick> shard : shards) {
+                if (!shard.isEmpty()) {
+                    results.add(executor.submit(() -> matchAll(shard)));
+                }
+            }
+        }
+        // 실행기가 닫히며 모든 샤드가 끝났다. matchAll 은 종목별 예외를 삼키므로 future 는 실패하지 않는다.
+        MatchResult total = MatchResult.NONE;
+        for (Future<MatchResult> result : results) {
+            total = total.plus(result.resultNow());
+        }
+        return total;
+    }
+
+    private MatchResult matchAll(List<StockPriceUpdatedEvent.PriceTick> ticks) {
+        MatchResult total = MatchResult.NONE;
+        for (StockPriceUpdatedEvent.PriceTick tick : ticks) {
             try {
-                match(tick.stockId(), tick.currentPrice());
+                total = total.plus(matchStock(tick.stockId(), tick.currentPrice(), liquidityOf(tick)));
             } catch (Exception e) {
                 // 한 종목의 매칭 실패가 나머지 종목 매칭을 막으면 안 된다.
                 log.error("지정가 매칭 실패: stockCode={}", tick.code(), e);
             }
         }
+        return total;
     }
 
     /**
-     * 특정 종목의 미체결 지정가 주문을 현재가 기준으로 매칭한다.
+     * 특정 종목의 미체결 지정가 주문을 현재가 기준으로 유동성 제한 없이 매칭한다.
      *
-     * @return 체결된 주문 수
+     * @return 체결(부분 체결 포함)된 주문 수
      */
     public int match(Long stockId, BigDecimal currentPrice) {
-        Pageable batch = PageRequest.of(0, BATCH_SIZE);
-        long lastSeenId = 0L;
-        int filled = 0;
+        return match(stockId, currentPrice, UNLIMITED_LIQUIDITY);
+    }
 
-        for (int i = 0; i < MAX_BATCHES_PER_TICK; i++) {
-            List<Order> candidates = loadCandidates(stockId, lastSeenId, batch);
-            if (candidates.isEmpty()) {
-                break;
-            }
+    /**
+     * 특정 종목의 미체결 지정가 주문을 현재가 기준으로 매칭한다.
+     *
+     * @param liquidityPerSide 이번 틱에 매수/매도 방향별로 체결 가능한 총 수량
+     * @return 체결(부분 체결 포함)된 주문 수
+     */
+    public int match(Long stockId, BigDecimal currentPrice, long liquidityPerSide) {
+        return matchStock(stockId, currentPrice, liquidityPerSide).fills();
+    }
+
+    private MatchResult matchStock(Long stockId, BigDecimal currentPrice, long liquidityPerSide) {
+        // 호가창은 "누구를 볼지"만 정한다. "체결되는지"는 체결 트랜잭션 안에서
+        // 다시 읽은 엔티티가 답한다(Order#isMatchable).
+        List<LimitOrderBook.RestingOrder> candidates =
+                limitOrderBook.findCrossing(stockId, currentPrice, MAX_FILLS_PER_TICK);
+        if (candidates.isEmpty()) {
+            return MatchResult.NONE;
+        }
+
+        long startedAt = System.nanoTime();
+        int batchSize = Math.max(1, matchingProperties.getBatchSize());
+        long buyLiquidity = liquidityPerSide;
+        long sellLiquidity = liquidityPerSide;
+        int filled = 0;
+        int batchCount = 0;
 
-            for (Order candidate : candidates) {
-                lastSeenId = candidate.getId();
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            List<LimitOrderBook.RestingOrder> chunk =
+                    candidates.subList(from, Math.min(from + batchSize, candidates.size()));
 
-                // 체결 조건 판정은 엔티티가 갖고 있다(Order#isMatchable).
-                // 매처는 "누구를 볼지"만 정하고 "체결되는지"는 도메인이 답한다.
-                if (!candidate.isMatchable(currentPrice)) {
+            // 유동성은 우선순위 순서로 미리 배정한다. 실제 체결량이 배정량보다 적으면(거부, 잔량 변동)
+            // 남은 몫은 다음 배치로 넘어간다.
+            Map<Long, Order.OrderSide> sides = new HashMap<>();
+            List<OrderExecutor.FillRequest> requests = new ArrayList<>();
+            long buyPlanned = 0;
+            long sellPlanned = 0;
+            for (LimitOrderBook.RestingOrder candidate : chunk) {
+                boolean buy = candidate.side() == Order.OrderSide.BUY;
+                long available = buy ? buyLiquidity - buyPlanned : sellLiquidity - sellPlanned;
+                if (available <= 0) {
                     continue;
                 }
-
-                if (executeSafely(candidate.getId(), currentPrice)) {
-                    filled++;
+                int maxQuantity = (int) Math.min(candidate.remainingQuantity(), available);
+                if (buy) {
+                    buyPlanned += maxQuantity;
+                } else {
+                    sellPlanned += maxQuantity;
                 }
+                sides.put(candidate.orderId(), candidate.side());
+                requests.add(new OrderExecutor.FillRequest(candidate.orderId(), maxQuantity));
+            }
+            if (requests.isEmpty()) {
+                // 이 배치의 방향만 유동성이 바닥났다. 후보는 매수 뒤에 매도가 오므로
+                // 여기서 멈추면 뒤 배치의 교차 매도가 이번 틱에 한 번도 시도되지 않는다.
+                if (buyLiquidity <= 0 && sellLiquidity <= 0) {
+                    break;
+                }
+                continue;
             }
 
-            if (candidates.size() < BATCH_SIZE) {
-                break;
+            batchCount++;
+            Map<Long, Integer> results = batchSize == 1
+                    ? executeOneByOne(stockId, currentPrice, requests)
+                    : executeBatchSafely(stockId, currentPrice, requests);
+            for (Map.Entry<Long, Integer> result : results.entrySet()) {
+                filled++;
+                if (sides.get(result.getKey()) == Order.OrderSide.BUY) {
+                    buyLiquidity -= result.getValue();
+                } else {
+                    sellLiquidity -= result.getValue();
+                }
             }
         }
 
+        long elapsedNanos = System.nanoTime() - startedAt;
+        matchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        fills.increment(filled);
+        batches.increment(batchCount);
         if (filled > 0) {
-            log.info("지정가 체결: stockId={}, price={}, 체결건수={}", stockId, currentPrice, filled);
+            log.info("지정가 체결: stockId={}, price={}, 체결건수={}, 소요={}ms, 처리량={}건/s",
+                    stockId, currentPrice, filled, elapsedNanos / 1_000_000, fillsPerSecond(filled, elapsedNanos));
         }
-        return filled;
+        return new MatchResult(filled, batchCount);
+    }
+
+    private static double fillsPerSecond(long fills, long nanos) {
+        return nanos == 0 ? 0d : fills * 1_000_000_000d / nanos;
     }
 
     /**
-     * 후보 조회.
-     * <p>
-     * 이 메서드에 {@code @Transactional} 을 붙이고 같은 클래스에서 호출하면
-     * 이번 리팩토링에서 걷어낸 셀프 인보케이션을 그대로 재현하게 된다(프록시를 안 타므로 무효).
-     * Spring Data 리포지토리 구현({@code SimpleJpaRepository})은 이미 클래스 레벨에
-     * {@code @Transactional(readOnly = true)} 가 걸려 있어, 트랜잭션 밖에서 호출하면
-     * 조회 단위로 읽기 전용 트랜잭션이 알아서 열린다. 별도 래핑이 필요 없다.
-     * <p>
-     * 여기서 읽은 엔티티는 메서드 종료와 함께 준영속 상태가 되지만, 체결 시
-     * {@code executeById} 가 트랜잭션 안에서 다시 읽으므로 문제되지 않는다.
+     * 배치 트랜잭션으로 체결하고, 배치가 통째로 실패하면 같은 요청을 한 건씩 다시 처리한다.
+     * 배치는 전부 롤백됐으므로 재처리가 이중 체결을 만들지 않는다.
      */
-    private List<Order> loadCandidates(Long stockId, Long lastSeenId, Pageable pageable) {
-        return orderRepository.findMatchableOrders(
-                stockId, Order.OrderStatus.PENDING, Order.OrderType.LIMIT, lastSeenId, pageable);
+    private Map<Long, Integer> executeBatchSafely(Long stockId, BigDecimal currentPrice,
+                                                  List<OrderExecutor.FillRequest> requests) {
+        try {
+            return orderExecutor.executeBatch(stockId, currentPrice, requests);
+        } catch (Exception e) {
+            log.warn("지정가 배치 체결 실패 - 주문별 처리로 전환: stockId={}, 건수={}, cause={}",
+                    stockId, requests.size(), e.toString());
+            batchFallbacks.increment();
+            return executeOneByOne(stockId, currentPrice, requests);
+        }
     }
 
-    private boolean executeSafely(Long orderId, BigDecimal currentPrice) {
+    private Map<Long, Integer> executeOneByOne(Long stockId, BigDecimal currentPrice,
+                                               List<OrderExecutor.FillRequest> requests) {
+        Map<Long, Integer> results = new LinkedHashMap<>();
+        for (OrderExecutor.FillRequest request : requests) {
+            int quantity = executeSafely(stockId, request.orderId(), currentPrice, request.maxQuantity());
+            if (quantity > 0) {
+                results.put(request.orderId(), quantity);
+            }
+        }
+        return results;
+    }
+
+    /** 부분 체결이 꺼져 있으면 무제한, 켜져 있으면 틱 거래량의 일정 비율. */
+    private long liquidityOf(StockPriceUpdatedEvent.PriceTick tick) {
+        if (!matchingProperties.isPartialFill()) {
+            return UNLIMITED_LIQUIDITY;
+        }
+        return (long) (tick.tradedVolume() * matchingProperties.getLiquidityRatio());
+    }
+
+    private int executeSafely(Long stockId, Long orderId, BigDecimal currentPrice, int maxQuantity) {
         try {
-            return orderExecutor.executeById(orderId, currentPrice);
+            return orderExecutor.executeById(orderId, currentPrice, maxQuantity);
         } catch (ObjectOptimisticLockingFailureException e) {
             // 사용자가 같은 순간에 취소했거나 다른 주문이 잔액을 건드린 경우다.
-            // 다음 틱에서 다시 후보로 잡히므로 여기서는 넘어간다.
+            // 호가창에 그대로 남아 있으므로 다음 틱에서 다시 후보로 잡힌다.
             log.debug("지정가 체결 충돌 - 다음 틱에 재시도: orderId={}", orderId);
-            return false;
+            return 0;
+        } catch (BusinessException e) {
+            if (e.getErrorCode() == ErrorCode.ORDER_NOT_FOUND) {
+                // DB 에서 사라진 주문이 호가창에 남아 있던 경우. 다시 볼 일이 없도록 걷어낸다.
+                limitOrderBook.remove(stockId, orderId);
+                return 0;
+            }
+            log.error("지정가 체결 중 예외: orderId={}", orderId, e);
+            return 0;
         } catch (Exception e) {
             log.error("지정가 체결 중 예외: orderId={}", orderId, e);
-            return false;
+            return 0;
+        }
+    }
+
+    /** 종목 매칭 한 번(또는 그 합)의 체결 수와 배치 수. 틱당 분포를 전역 카운터의 차이가 아니라 이 값의 합으로 잰다. */
+    private record MatchResult(int fills, int batches) {
+
+        static final MatchResult NONE = new MatchResult(0, 0);
+
+        MatchResult plus(MatchResult other) {
+            return new MatchResult(fills + other.fills, batches + other.batches);
         }
     }
 }
@@ -0,0 +1,73 @@
+package com.investory.backend.domain.order.service;
+
+import com.investory.backend.domain.order.dto.OrderResponse;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.repository.OrderRepository;
+import com.investory.backend.domain.portfolio.repository.HoldingRepository;
+import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.domain.user.service.CashService;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 주문 취소 트랜잭션.
+ * <p>
+ * 증거금 예약이 생기면서 취소도 주문 행만이 아니라 주문자의 현금(User 행)이나 보유(Holding 행)의
+ * 예약을 푼다. 같은 행을 접수·체결도 고치므로 취소도 접수와 같은 락 전략을 탄다.
+ * 주문자는 {@link OrderUserFinder} 로 조회하고(lock-mode 에 따라 행 락),
+ * 낙관적 락 충돌은 {@link OrderService} 의 재시도가 새 트랜잭션으로 다시 시도한다.
+ * 재시도 경계와 트랜잭션 경계를 나눈 이유는 {@link OrderPlacer} 와 같다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderCanceller {
+
+    private final OrderRepository orderRepository;
+    private final HoldingRepository holdingRepository;
+    private final OrderUserFinder orderUserFinder;
+    private final LimitOrderBook limitOrderBook;
+    private final CashService cashService;
+
+    @Transactional
+    public OrderResponse.Detail cancel(String loginId, Long orderId, String reason) {
+        User user = orderUserFinder.findForOrder(loginId);
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND));
+
+        // 권한 확인
+        if (!order.getUser().getId().equals(user.getId())) {
+            throw new BusinessException(ErrorCode.ACCESS_DENIED);
+        }
+
+        // 취소 가능 여부 확인 (부분 체결된 주문은 남은 잔량만 취소된다)
+        if (!order.isOpen()) {
+            throw new BusinessException(ErrorCode.ORDER_CANNOT_CANCEL);
+        }
+
+        int remaining = order.getRemainingQuantity();
+        order.cancel(reason != null ? reason : "사용자 취소");
+        releaseReservation(user, order, remaining);
+        limitOrderBook.removeAfterCommit(order.getStock().getId(), order.getId());
+        log.info("주문 취소: {} - 주문ID {}", loginId, orderId);
+
+        return OrderResponse.Detail.from(order);
+    }
+
+    /** 취소된 주문의 남은 잔량에 묶여 있던 증거금을 푼다. 체결된 부분은 이미 정산되었다. */
+    private void releaseReservation(User user, Order order, int remaining) {
+        if (!order.isReserved() || remaining <= 0) {
+            return;
+        }
+        if (order.getSide() == Order.OrderSide.BUY) {
+            cashService.releaseForBuy(user, order.reservationFor(remaining), order.getId());
+            return;
+        }
+        holdingRepository.findByUserIdAndStockId(user.getId(), order.getStock().getId())
+                .ifPresent(holding -> holding.releaseQuantity(remaining));
+    }
+}
@@ -6,6 +6,7 @@ import com.investory.backend.domain.order.repository.OrderRepository;
 import com.investory.backend.domain.portfolio.entity.Holding;
 import com.investory.backend.domain.portfolio.repository.HoldingRepository;
 import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.user.entity.CashHistory;
 import com.investory.backend.domain.user.entity.User;
 import com.investory.backend.domain.user.service.CashService;
 import com.investory.backend.global.exception.BusinessException;
@@ -18,6 +19,14 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * 주문 체결 처리 전담 컴포넌트.
@@ -30,11 +39,10 @@ import java.math.BigDecimal;
  * 별도 빈으로 빼면 호출이 반드시 프록시를 경유하므로 트랜잭션 경계가 코드에 적힌 그대로 동작한다.
  * <p>
  * <b>전파 속성</b><br>
- * 두 진입점 모두 {@code REQUIRED} 다.
  * <ul>
- *   <li>시장가 주문: {@link OrderPlacer} 트랜잭션에 참여 → 주문 저장과 체결이 원자적으로 묶인다.</li>
- *   <li>지정가 매칭: {@link LimitOrderMatcher} 가 트랜잭션 없이 호출 → 주문 1건당 트랜잭션이 열린다.
- *       한 건이 실패해도 나머지 체결은 롤백되지 않는다.</li>
+ *   <li>시장가 주문({@code REQUIRED}): {@link OrderPlacer} 트랜잭션에 참여 → 주문 저장과 체결이 원자적으로 묶인다.</li>
+ *   <li>지정가 매칭({@code REQUIRES_NEW}): 배치 1개 또는 주문 1건당 새 트랜잭션이 열린다.
+ *       배치가 실패하면 한 건씩 다시 시도하므로, 한 건의 실패가 다른 주문의 체결을 되돌리지 않는다.</li>
  * </ul>
  */
 @Slf4j
@@ -45,6 +53,7 @@ public class OrderExecutor {
     private final OrderRepository orderRepository;
     private final HoldingRepository holdingRepository;
     private final CashService cashService;
+    private final LimitOrderBook limitOrderBook;
     private final ApplicationEventPublisher eventPublisher;
 
     /**
@@ -53,7 +62,7 @@ public class OrderExecutor {
      */
     @Transactional(propagation = Propagation.REQUIRED)
     public void execute(Order order, BigDecimal executionPrice) {
-        doExecute(order, executionPrice);
+        doExecute(order, executionPrice, order.getRemainingQuantity(), null);
     }
 
     /**
@@ -70,50 +79,153 @@ public class OrderExecutor {
      * 그러면 여기서 바꾼 잔액과 주문 상태가 flush 되지 않고 조용히 사라진다.
      * 새 트랜잭션을 명시적으로 열어야 실제로 저장되며, 덤으로 주문 1건당 실패가 격리된다.
      *
-     * @return 체결 성공 여부 (잔액 부족 등으로 거부되면 false)
+     * <p>
+     * <b>부분 체결</b><br>
+     * {@code maxQuantity} 는 이번 틱에 이 주문에 배정된 유동성이다. 잔량보다 작으면 그만큼만 체결하고
+     * 주문은 PARTIALLY_FILLED 로 호가창에 남는다. 줄 선 자리(시간 우선)는 잃지 않는다.
+     *
+     * @param maxQuantity 이번에 체결할 수 있는 최대 수량
+     * @return 실제 체결 수량 (체결 조건 불충족·거부·이미 끝난 주문이면 0)
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public boolean executeById(Long orderId, BigDecimal executionPrice) {
+    public int executeById(Long orderId, BigDecimal executionPrice, int maxQuantity) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND));
+        return fillOpenOrder(order, executionPrice, maxQuantity, null);
+    }
+
+    /**
+     * 여러 지정가 주문을 트랜잭션 하나로 체결한다. (지정가 매칭 배치 경로)
+     * <p>
+     * <b>왜 묶는가</b><br>
+     * 주문 1건 = 트랜잭션 1개면 시세 급변으로 5,000건이 한꺼번에 걸렸을 때 커밋도 5,000번이다.
+     * 주문·사용자·보유를 IN 조회 두 번으로 읽고, 상태 변경은 Hibernate JDBC 배치로,
+     * 현금 이력은 {@link CashService#saveAllHistories} 의 JDBC 배치로 내보내 커밋 한 번에 끝낸다.
+     * <p>
+     * <b>실패 격리</b><br>
+     * 잔액/보유 부족은 실패가 아니라 "거부"라는 정상 결과라 배치 안에서 그대로 REJECTED 처리한다.
+     * (예외가 엔티티를 바꾸기 전에 던져지므로 배치의 다른 주문에 영향이 없다.)
+     * 그 밖의 예외나 커밋 시점의 낙관적 락 충돌은 배치 전체를 롤백시키고, 호출자({@link LimitOrderMatcher})가
+     * 같은 요청을 {@link #executeById} 로 한 건씩 다시 시도한다. 결과적으로 "한 주문의 실패가 다른 주문의
+     * 체결을 되돌리지 않는다"는 기존 보장은 그대로다.
+     *
+     * @return 주문 ID → 실제 체결 수량 (체결된 주문만 담긴다)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<Long, Integer> executeBatch(Long stockId, BigDecimal executionPrice, List<FillRequest> requests) {
+        List<Long> orderIds = requests.stream().map(FillRequest::orderId).toList();
+        Map<Long, Order> orders = new HashMap<>();
+        for (Order order : orderRepository.findAllForFill(orderIds)) {
+            orders.put(order.getId(), order);
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        orders.values().forEach(order -> userIds.add(order.getUser().getId()));
+        BatchContext context = new BatchContext();
+        if (!userIds.isEmpty()) {
+            for (Holding holding : holdingRepository.findByStockIdAndUserIdIn(stockId, userIds)) {
+                context.holdings.put(holding.getUser().getId(), holding);
+            }
+        }
 
-        // 매처가 목록을 뽑은 뒤 체결까지의 사이에 사용자가 취소했을 수 있다. 반드시 재확인한다.
-        if (!order.isPending()) {
+        Map<Long, Integer> filled = new LinkedHashMap<>();
+        for (FillRequest request : requests) {
+            Order order = orders.get(request.orderId());
+            if (order == null) {
+                // DB 에서 사라진 주문이 호가창에 남아 있던 경우
+                limitOrderBook.remove(stockId, request.orderId());
+                continue;
+            }
+            int quantity = fillOpenOrder(order, executionPrice, request.maxQuantity(), context);
+            if (quantity > 0) {
+                filled.put(order.getId(), quantity);
+            }
+        }
+
+        cashService.saveAllHistories(context.histories);
+        return filled;
+    }
+
+    /**
+     * 열린 지정가 주문 한 건의 체결을 시도한다. 단건/배치 경로가 공유한다.
+     *
+     * @param context 배치 경로면 미리 읽어 둔 보유와 이력 버퍼, 단건 경로면 null
+     */
+    private int fillOpenOrder(Order order, BigDecimal executionPrice, int maxQuantity, BatchContext context) {
+        Long orderId = order.getId();
+        Long stockId = order.getStock().getId();
+
+        // 매처가 호가창에서 후보를 꺼낸 뒤 체결까지의 사이에 사용자가 취소했을 수 있다. 반드시 재확인한다.
+        // 이미 끝난 주문이 호가창에 남아 있었다면 DB 가 진실이므로 호가창 쪽을 바로잡는다.
+        if (!order.isOpen()) {
             log.debug("체결 스킵 - 이미 처리된 주문: orderId={}, status={}", orderId, order.getStatus());
-            return false;
+            limitOrderBook.remove(stockId, orderId);
+            return 0;
         }
 
+        // 호가창은 후보를 고르는 인덱스일 뿐이고, 체결 조건의 최종 판정은 도메인이 한다.
+        if (!order.isMatchable(executionPrice) || maxQuantity <= 0) {
+            return 0;
+        }
+
+        int quantity = Math.min(order.getRemainingQuantity(), maxQuantity);
         try {
-            doExecute(order, executionPrice);
-            return true;
+            doExecute(order, executionPrice, quantity, context);
+            if (order.isOpen()) {
+                limitOrderBook.reduceAfterCommit(stockId, orderId, quantity);
+            } else {
+                limitOrderBook.removeAfterCommit(stockId, orderId);
+            }
+            return quantity;
         } catch (BusinessException e) {
             // 잔액/보유 부족으로 체결 불가한 지정가 주문은 계속 대기시키지 않고 REJECTED 로 종료한다.
             // (대안: PENDING 유지 후 재시도 → 영원히 체결 안 되는 좀비 주문이 쌓인다)
+            // 증거금을 묶은 주문은 여기까지 오지 않는다. 예약 도입 전에 접수된 주문만 해당한다.
             if (isRejectable(e.getErrorCode())) {
+                releaseRemaining(order, context);
                 order.reject(e.getErrorCode().getMessage());
+                limitOrderBook.removeAfterCommit(stockId, orderId);
                 log.info("지정가 주문 거부: orderId={}, reason={}", orderId, e.getErrorCode().getMessage());
-                return false;
+                return 0;
             }
             throw e;
         }
     }
 
+    /** 종료되는 예약 주문의 남은 잔량에 묶인 증거금을 푼다. */
+    private void releaseRemaining(Order order, BatchContext context) {
+        int remaining = order.getRemainingQuantity();
+        if (!order.isReserved() || remaining <= 0) {
+            return;
+        }
+        User user = order.getUser();
+        if (order.getSide() == Order.OrderSide.BUY) {
+            BigDecimal amount = order.reservationFor(remaining);
+            if (context == null) {
+                cashService.releaseForBuy(user, amount, order.getId());
+            } else {
+                context.histories.add(cashService.releaseForBuyDeferred(user, amount, order.getId()));
+            }
+            return;
+        }
+        findHolding(user, order.getStock(), context).ifPresent(holding -> holding.releaseQuantity(remaining));
+    }
+
     private boolean isRejectable(ErrorCode errorCode) {
         return errorCode == ErrorCode.INSUFFICIENT_CASH
                 || errorCode == ErrorCode.INSUFFICIENT_HOLDING
                 || errorCode == ErrorCode.HOLDING_NOT_FOUND;
     }
 
-    private void doExecute(Order order, BigDecimal executionPrice) {
+    private void doExecute(Order order, BigDecimal executionPrice, int quantity, BatchContext context) {
         User user = order.getUser();
         Stock stock = order.getStock();
-        int quantity = order.getQuantity();
         BigDecimal totalAmount = executionPrice.multiply(BigDecimal.valueOf(quantity));
 
         if (order.getSide() == Order.OrderSide.BUY) {
-            executeBuy(order, user, stock, quantity, executionPrice, totalAmount);
+            executeBuy(order, user, stock, quantity, executionPrice, totalAmount, context);
         } else {
-            executeSell(order, user, stock, quantity, totalAmount);
+            executeSell(order, user, stock, quantity, totalAmount, context);
         }
 
         order.fill(executionPrice, quantity);
@@ -127,12 +239,25 @@ public class OrderExecutor {
     }
 
     private void executeBuy(Order order, User user, Stock stock, int quantity,
-                            BigDecimal executionPrice, BigDecimal totalAmount) {
+                            BigDecimal executionPrice, BigDecimal totalAmount, BatchContext context) {
         // 1) 현금 차감이 먼저다. 잔액이 모자라면 여기서 예외가 나고 보유 수량은 손대지 않는다.
-        cashService.withdrawForBuy(user, totalAmount, order.getId());
+        //    증거금을 묶은 지정가 주문은 묶어 둔 금액에서 정산하므로 잔액 부족이 일어나지 않는다.
+        if (order.isReserved()) {
+            BigDecimal reservedAmount = order.reservationFor(quantity);
+            if (context == null) {
+                cashService.settleReservedBuy(user, reservedAmount, totalAmount, order.getId());
+            } else {
+                context.histories.add(
+                        cashService.settleReservedBuyDeferred(user, reservedAmount, totalAmount, order.getId()));
+            }
+        } else if (context == null) {
+            cashService.withdrawForBuy(user, totalAmount, order.getId());
+        } else {
+            context.histories.add(cashService.withdrawForBuyDeferred(user, totalAmount, order.getId()));
+        }
 
         // 2) 보유 종목 신규 생성 또는 수량 증가
-        Holding holding = holdingRepository.findByUserIdAndStockId(user.getId(), stock.getId())
+        Holding holding = findHolding(user, stock, context)
                 .orElseGet(() -> Holding.builder()
                         .user(user)
                         .stock(stock)
@@ -143,23 +268,61 @@ public class OrderExecutor {
 
         holding.addQuantity(quantity, executionPrice);
         holdingRepository.save(holding);
+        if (context != null) {
+            context.holdings.put(user.getId(), holding);
+        }
     }
 
-    private void executeSell(Order order, User user, Stock stock, int quantity, BigDecimal totalAmount) {
-        Holding holding = holdingRepository.findByUserIdAndStockId(user.getId(), stock.getId())
+    private void executeSell(Order order, User user, Stock stock, int quantity, BigDecimal totalAmount,
+                             BatchContext context) {
+        Holding holding = findHolding(user, stock, context)
                 .orElseThrow(() -> new BusinessException(ErrorCode.HOLDING_NOT_FOUND));
 
-        if (holding.getQuantity() < quantity) {
-            throw new BusinessException(ErrorCode.INSUFFICIENT_HOLDING);
+        if (order.isReserved()) {
+            holding.settleReservedQuantity(quantity);
+        } else {
+            // 다른 지정가 매도에 묶인 수량은 팔 수 없다
+            if (holding.getAvailableQuantity() < quantity) {
+                throw new BusinessException(ErrorCode.INSUFFICIENT_HOLDING);
+            }
+            holding.reduceQuantity(quantity);
         }
-
-        holding.reduceQuantity(quantity);
         if (holding.getQuantity() == 0) {
             holdingRepository.delete(holding);
+            if (context != null) {
+                context.holdings.remove(user.getId());
+            }
         } else {
             holdingRepository.save(holding);
         }
 
-        cashService.depositForSell(user, totalAmount, order.getId());
+        if (context == null) {
+            cashService.depositForSell(user, totalAmount, order.getId());
+        } else {
+            context.histories.add(cashService.depositForSellDeferred(user, totalAmount, order.getId()));
+        }
+    }
+
+    /** 배치 경로는 미리 읽어 둔 보유를 쓴다. 같은 배치 안의 앞선 체결 결과도 여기에 반영돼 있다. */
+    private Optional<Holding> findHolding(User user, Stock stock, BatchContext context) {
+        if (context == null) {
+            return holdingRepository.findByUserIdAndStockId(user.getId(), stock.getId());
+        }
+        return Optional.ofNullable(context.holdings.get(user.getId()));
+    }
+
+    /**
+     * 배치 체결 요청 한 건.
+     *
+     * @param orderId     주문 ID
+     * @param maxQuantity 이번에 체결할 수 있는 최대 수량
+     */
+    public record FillRequest(Long orderId, int maxQuantity) {
+    }
+
+    /** 배치 트랜잭션 하나 동안만 사는 작업 공간: 종목 보유(사용자 ID → 보유)와 저장 대기 중인 현금 이력. */
+    private static final class BatchContext {
+        private final Map<Long, Holding> holdings = new HashMap<>();
+        private final List<CashHistory> histories = new ArrayList<>();
     }
 }
@@ -0,0 +1,75 @@
+package com.investory.backend.domain.order.service;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.global.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 주문 접수 경로의 지표.
+ * <p>
+ * <b>접수 지연은 왜 {@link OrderSubmitter} 에서 재는가</b><br>
+ * {@link OrderService#createOrder} 안에서 재면 재시도 프록시 안쪽이라 시도 한 번씩만 잡히고,
+ * sequenced 모드에서는 대기열에서 기다린 시간이 빠진다. 클라이언트가 겪는 시간은 제출부터 future 가 끝날 때까지다.
+ * <p>
+ * {@code result} 태그는 성공이면 {@code success}, 도메인 예외면 그 {@link com.investory.backend.global.exception.ErrorCode}
+ * 이름, 나머지는 {@code error} 다. 값의 종류가 에러 코드 수를 넘지 않는다.
+ */
+@Component
+public class OrderMetrics {
+
+    private static final String PLACEMENT = "investory.order.placement";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.retries = Counter.builder("investory.order.retries")
+                .description("낙관적 락 충돌로 다시 시도한 주문 생성").register(meterRegistry);
+        this.exhausted = Counter.builder("investory.order.retries.exhausted")
+                .description("재시도를 모두 소진해 ORDER_CONFLICT 로 끝난 주문 생성").register(meterRegistry);
+    }
+
+    /** 제출부터 future 가 끝날 때까지를 주문 유형·매매 구분·결과별로 잰다. */
+    public <T> CompletableFuture<T> timePlacement(OrderRequest.Create request, Supplier<CompletableFuture<T>> submit) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future = submit.get();
+        future.whenComplete((result, error) -> sample.stop(Timer.builder(PLACEMENT)
+                .description("주문 접수부터 처리 완료까지 (재시도·대기열 대기 포함)")
+                .tag("type", tagOf(request.getOrderType()))
+                .tag("side", tagOf(request.getSide()))
+                .tag("result", resultOf(error))
+                .register(meterRegistry)));
+        return future;
+    }
+
+    /** 재시도로 다시 들어온 시도. */
+    void retried() {
+        retries.increment();
+    }
+
+    /** {@code @Recover} 까지 간 주문. */
+    void exhausted() {
+        exhausted.increment();
+    }
+
+    private static String tagOf(Enum<?> value) {
+        return value != null ? value.name() : "unknown";
+    }
+
+    private static String resultOf(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof BusinessException e ? e.getErrorCode().name() : "error";
+    }
+}
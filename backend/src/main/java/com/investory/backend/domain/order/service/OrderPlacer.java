@@ -8,7 +8,9 @@ import com.investory.backend.domain.portfolio.entity.Holding;
 import com.investory.backend.domain.portfolio.repository.HoldingRepository;
 import com.investory.backend.domain.stock.entity.Stock;
 import com.investory.backend.domain.stock.repository.StockRepository;
+import com.investory.backend.domain.stock.service.MarketState;
 import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.domain.user.service.CashService;
 import com.investory.backend.global.exception.BusinessException;
 import com.investory.backend.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +41,9 @@ public class OrderPlacer {
     private final HoldingRepository holdingRepository;
     private final OrderUserFinder orderUserFinder;
     private final OrderExecutor orderExecutor;
+    private final LimitOrderBook limitOrderBook;
+    private final CashService cashService;
+    private final MarketState marketState;
 
     @Transactional
     public OrderResponse.Detail place(String loginId, OrderRequest.Create request) {
@@ -55,23 +60,43 @@ public class OrderPlacer {
                 .side(request.getSide())
                 .quantity(request.getQuantity())
                 .price(orderPrice)
+                .reserved(request.getOrderType() == Order.OrderType.LIMIT ? Boolean.TRUE : null)
                 .build());
 
         log.info("주문 생성: {} - {} {} {} {}주 @{} (lockMode={})",
                 loginId, stock.getCode(), request.getSide(), request.getOrderType(),
                 request.getQuantity(), orderPrice, orderUserFinder.strategyName());
 
-        // 시장가는 즉시 체결. 지정가는 PENDING 으로 남아 LimitOrderMatcher 가 처리한다.
+        // 시장가는 즉시 체결. 지정가는 증거금을 묶고 PENDING 으로 남아 LimitOrderMatcher 가 처리한다.
+        // 호가창 등록은 커밋 뒤에 한다. 낙관적 락 충돌로 이 트랜잭션이 롤백·재시도되면
+        // 롤백된 시도의 주문이 호가창에 유령처럼 남기 때문이다.
         if (request.getOrderType() == Order.OrderType.MARKET) {
             orderExecutor.execute(order, orderPrice);
+        } else {
+            reserve(user, stock, order);
+            limitOrderBook.addAfterCommit(order);
         }
 
         return OrderResponse.Detail.from(order);
     }
 
+    /**
+     * 지정가 주문의 증거금을 묶는다. 매수는 지정가 × 수량만큼 현금을, 매도는 수량만큼 보유를 묶는다.
+     * 같은 트랜잭션에서 방금 검증을 통과했으므로 여기서 부족 예외가 나는 일은 없다.
+     */
+    private void reserve(User user, Stock stock, Order order) {
+        if (order.getSide() == Order.OrderSide.BUY) {
+            cashService.reserveForBuy(user, order.reservationFor(order.getQuantity()), order.getId());
+            return;
+        }
+        holdingRepository.findByUserIdAndStockId(user.getId(), stock.getId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.HOLDING_NOT_FOUND))
+                .reserveQuantity(order.getQuantity());
+    }
+
     private BigDecimal resolveOrderPrice(OrderRequest.Create request, Stock stock) {
         BigDecimal orderPrice = request.getOrderType() == Order.OrderType.MARKET
-                ? stock.getCurrentPrice()
+                ? marketState.currentPriceOf(stock)
                 : request.getPrice();
 
         if (orderPrice == null || orderPrice.compareTo(BigDecimal.ZERO) <= 0) {
@@ -83,9 +108,8 @@ public class OrderPlacer {
     /**
      * 접수 단계 사전 검증.
      * <p>
-     * 여기서 잔액을 확인해도 실제 차감은 체결 시점에 일어난다. 지정가 주문은 접수와 체결 사이에
-     * 시간 간격이 있어 그 사이 잔액이 줄 수 있고, 그 경우는 체결 시점에 REJECTED 로 처리된다.
-     * (증거금을 미리 묶는 예약(reserve) 방식은 별도 이슈로 분리 — README 로드맵 참고)
+     * 잔액·보유는 다른 지정가 주문에 묶인 부분을 뺀 주문 가능 금액·매도 가능 수량과 비교한다.
+     * 지정가 주문은 통과하면 곧바로 증거금이 묶이므로, 체결 시점에 다시 잔액을 확인할 필요가 없다.
      */
     private void validateOrderable(User user, Stock stock, OrderRequest.Create request, BigDecimal orderPrice) {
         if (request.getSide() == Order.OrderSide.BUY) {
@@ -99,7 +123,7 @@ public class OrderPlacer {
         Holding holding = holdingRepository.findByUserIdAndStockId(user.getId(), stock.getId())
                 .orElseThrow(() -> new BusinessException(ErrorCode.HOLDING_NOT_FOUND));
 
-        if (holding.getQuantity() < request.getQuantity()) {
+        if (holding.getAvailableQuantity() < request.getQuantity()) {
             throw new BusinessException(ErrorCode.INSUFFICIENT_HOLDING);
         }
     }
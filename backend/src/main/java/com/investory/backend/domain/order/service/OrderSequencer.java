@@ -0,0 +1,158 @@
+package com.investory.backend.domain.order.service;
+
+import com.investory.backend.domain.order.config.OrderSequencerProperties;
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.dto.OrderResponse;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 단일 작업자(single-writer) 주문 시퀀서. {@code investory.order.lock-mode=sequenced} 일 때만 등록된다.
+ * <p>
+ * <b>발상</b><br>
+ * 낙관적 락은 충돌 후 재시도로, 비관적 락은 행 락 대기로 경합 비용을 치른다. 어느 쪽이든
+ * "같은 유저 행을 여러 스레드가 동시에 고친다"는 전제가 비용의 원인이다. 같은 유저의 주문을
+ * 처음부터 한 스레드에 줄 세우면 그 전제가 사라져 락도 재시도도 필요 없다. (LMAX 의 single writer 원칙)
+ * <p>
+ * <b>왜 종목이 아니라 사용자 단위로 나누는가</b><br>
+ * 주문 트랜잭션이 경합하는 자원은 주문자의 현금(User 행)과 보유(Holding 행)다. 둘 다 사용자에 속한다.
+ * 종목 단위로 나누면 한 사용자가 두 종목을 동시에 사면 서로 다른 작업자가 같은 User 행을 고치게 된다.
+ * <p>
+ * <b>구현</b><br>
+ * 작업자마다 스레드 1개짜리 {@link ThreadPoolExecutor} 와 고정 크기 {@link ArrayBlockingQueue} 를 둔다.
+ * Disruptor 같은 링 버퍼 라이브러리를 들이지 않은 이유는, 병목이 큐가 아니라 작업 하나하나의
+ * DB 트랜잭션이라 큐 구현 차이가 측정에 드러나지 않기 때문이다. 대기열이 차면 기다리게 하지 않고
+ * 즉시 {@link ErrorCode#ORDER_QUEUE_FULL} 로 거절해 HTTP 스레드가 묶이지 않게 한다.
+ * <p>
+ * 작업자는 {@link OrderService#createOrder} 를 그대로 호출한다. 재시도 래퍼가 남아 있지만
+ * 이 모드에서는 충돌이 나지 않으므로 시도 횟수 = 주문 수가 된다. (실험에서 확인할 지점)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "investory.order.lock-mode", havingValue = "sequenced")
+public class OrderSequencer {
+
+    private final OrderService orderService;
+    private final ThreadPoolExecutor[] shards;
+
+    /** 실험 계측용 카운터. {@link OrderService} 의 시도 카운터와 같은 이유로 LongAdder 다. */
+    private final LongAdder submittedCounter = new LongAdder();
+    private final LongAdder completedCounter = new LongAdder();
+    private final LongAdder rejectedCounter = new LongAdder();
+    /** 관측된 최대 대기열 깊이 (전 작업자 합). */
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0L);
+    private volatile long countingSince = System.nanoTime();
+
+    public OrderSequencer(OrderService orderService, OrderSequencerProperties properties) {
+        this.orderService = orderService;
+        this.shards = new ThreadPoolExecutor[Math.max(1, properties.getShards())];
+        for (int i = 0; i < shards.length; i++) {
+            String threadName = "order-seq-" + i;
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        log.info("주문 시퀀서 기동: 작업자 {}개, 작업자당 대기열 {}", shards.length, properties.getQueueCapacity());
+    }
+
+    /**
+     * 주문을 주문자의 작업자 대기열에 넣는다. 결과는 작업자가 처리를 마치면 future 로 돌아간다.
+     * 대기열이 가득 차 있으면 이미 실패한 future 를 돌려준다.
+     */
+    public CompletableFuture<OrderResponse.Detail> submit(String loginId, OrderRequest.Create request) {
+        CompletableFuture<OrderResponse.Detail> future = new CompletableFuture<>();
+        ThreadPoolExecutor shard = shards[Math.floorMod(loginId.hashCode(), shards.length)];
+        submittedCounter.increment();
+        try {
+            shard.execute(() -> {
+                try {
+                    future.complete(orderService.createOrder(loginId, request));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    completedCounter.increment();
+                }
+            });
+            maxQueueDepth.accumulate(getQueueDepth());
+        } catch (RejectedExecutionException e) {
+            submittedCounter.decrement();
+            rejectedCounter.increment();
+            future.completeExceptionally(new BusinessException(ErrorCode.ORDER_QUEUE_FULL));
+        }
+        return future;
+    }
+
+    /** 실험용: 지금 대기열에 쌓인 주문 수 (전 작업자 합). */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor shard : shards) {
+            depth += shard.getQueue().size();
+        }
+        return depth;
+    }
+
+    /** 실험용: 카운터 초기화 이후 관측된 최대 대기열 깊이. */
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /** 실험용: 대기열에 들어간 주문 수. */
+    public long getSubmittedCount() {
+        return submittedCounter.sum();
+    }
+
+    /** 실험용: 작업자가 처리를 끝낸 주문 수 (성공·실패 포함). */
+    public long getCompletedCount() {
+        return completedCounter.sum();
+    }
+
+    /** 실험용: 대기열이 가득 차 거절된 주문 수. */
+    public long getRejectedCount() {
+        return rejectedCounter.sum();
+    }
+
+    /** 실험용: 카운터 초기화 이후 처리량(건/초). */
+    public double getThroughputPerSecond() {
+        long elapsedNanos = System.nanoTime() - countingSince;
+        return elapsedNanos == 0 ? 0d : completedCounter.sum() * 1_000_000_000d / elapsedNanos;
+    }
+
+    /** 실험용: 카운터 초기화. */
+    public void resetCounters() {
+        submittedCounter.reset();
+        completedCounter.reset();
+        rejectedCounter.reset();
+        maxQueueDepth.reset();
+        countingSince = System.nanoTime();
+    }
+
+    /** 대기 중인 주문은 끝까지 처리하고 내려간다. */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+        for (ThreadPoolExecutor shard : shards) {
+            if (!shard.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("주문 시퀀서 종료 대기 초과: 남은 주문 {}건", shard.getQueue().size());
+                shard.shutdownNow();
+            }
+        }
+    }
+}
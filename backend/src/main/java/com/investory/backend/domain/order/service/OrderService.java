@@ -13,9 +13,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.RetryContext;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Recover;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +28,9 @@ import java.util.stream.Collectors;
 /**
  * 주문 유스케이스 진입점.
  * <p>
- * 이 클래스의 쓰기 경로({@link #createOrder})는 <b>트랜잭션을 열지 않는다</b>.
+ * 이 클래스의 쓰기 경로({@link #createOrder}, {@link #cancelOrder})는 <b>트랜잭션을 열지 않는다</b>.
  * 낙관적 락 충돌 재시도는 트랜잭션 바깥에서 수행해야 하며, 실제 트랜잭션은
- * {@link OrderPlacer} 가 연다. 자세한 근거는 {@code OrderPlacer} 클래스 주석 참고.
+ * {@link OrderPlacer} 와 {@link OrderCanceller} 가 연다. 자세한 근거는 {@code OrderPlacer} 클래스 주석 참고.
  */
 @Slf4j
 @Service
@@ -38,11 +40,13 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final OrderPlacer orderPlacer;
+    private final OrderCanceller orderCanceller;
+    private final OrderMetrics orderMetrics;
 
     /**
      * 주문 시도 횟수 카운터 (최초 시도 + 재시도).
      * 낙관적 락 vs 비관적 락 비교 실험에서 재시도 횟수를 측정하기 위한 계측용이다.
-     * 운영이라면 Micrometer Counter 가 정석이지만, 의존성 추가 없이 쓰려고 LongAdder 를 택했다.
+     * 실험마다 0 으로 되돌려야 해서 LongAdder 로 둔다. 운영 지표(재시도·소진)는 {@link OrderMetrics} 로 나간다.
      */
     private final LongAdder attemptCounter = new LongAdder();
 
@@ -58,10 +62,15 @@ public class OrderService {
     @Retryable(
             retryFor = ObjectOptimisticLockingFailureException.class,
             maxAttempts = 3,
-            backoff = @Backoff(delay = 50, multiplier = 2.0, maxDelay = 300, random = true)
+            backoff = @Backoff(delay = 50, multiplier = 2.0, maxDelay = 300, random = true),
+            recover = "recoverCreateOrder"
     )
     public OrderResponse.Detail createOrder(String loginId, OrderRequest.Create request) {
         attemptCounter.increment();
+        RetryContext retryContext = RetrySynchronizationManager.getContext();
+        if (retryContext != null && retryContext.getRetryCount() > 0) {
+            orderMetrics.retried();
+        }
         return orderPlacer.place(loginId, request);
     }
 
@@ -76,6 +85,7 @@ public class OrderService {
     public OrderResponse.Detail recoverCreateOrder(ObjectOptimisticLockingFailureException e,
                                                    String loginId, OrderRequest.Create request) {
         log.warn("주문 생성 재시도 소진: loginId={}, stockCode={}", loginId, request.getStockCode(), e);
+        orderMetrics.exhausted();
         throw new BusinessException(ErrorCode.ORDER_CONFLICT);
     }
 
@@ -89,25 +99,30 @@ public class OrderService {
         attemptCounter.reset();
     }
 
-    @Transactional
+    /**
+     * 주문 취소.
+     * <p>
+     * 취소도 증거금 예약을 풀며 주문자의 현금·보유 행을 고치므로, 같은 순간의 체결이나 다른 주문과
+     * 낙관적 락으로 부딪힐 수 있다. {@link #createOrder} 와 같은 기준으로 재시도하고,
+     * 트랜잭션은 {@link OrderCanceller} 가 시도마다 새로 연다.
+     * 재시도 중 체결이 먼저 끝나 잔량이 없어졌다면 다시 읽은 주문 기준으로 ORDER_CANNOT_CANCEL 이 된다.
+     */
+    @Retryable(
+            retryFor = ObjectOptimisticLockingFailureException.class,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 50, multiplier = 2.0, maxDelay = 300, random = true),
+            recover = "recoverCancelOrder"
+    )
     public OrderResponse.Detail cancelOrder(String loginId, Long orderId, String reason) {
-        User user = getUserByLoginId(loginId);
-        Order order = getOrderById(orderId);
-
-        // 권한 확인
-        if (!order.getUser().getId().equals(user.getId())) {
-            throw new BusinessException(ErrorCode.ACCESS_DENIED);
-        }
-
-        // 취소 가능 여부 확인
-        if (!order.isPending()) {
-            throw new BusinessException(ErrorCode.ORDER_CANNOT_CANCEL);
-        }
-
-        order.cancel(reason != null ? reason : "사용자 취소");
-        log.info("주문 취소: {} - 주문ID {}", loginId, orderId);
+        return orderCanceller.cancel(loginId, orderId, reason);
+    }
 
-        return OrderResponse.Detail.from(order);
+    /** 취소 재시도를 모두 소진했을 때의 최종 처리. 생성과 같이 409 Conflict 로 번역한다. */
+    @Recover
+    public OrderResponse.Detail recoverCancelOrder(ObjectOptimisticLockingFailureException e,
+                                                   String loginId, Long orderId, String reason) {
+        log.warn("주문 취소 재시도 소진: loginId={}, orderId={}", loginId, orderId, e);
+        throw new BusinessException(ErrorCode.ORDER_CONFLICT);
     }
 
     @Transactional(readOnly = true)
@@ -132,7 +147,7 @@ public class OrderService {
     @Transactional(readOnly = true)
     public List<OrderResponse.Summary> getPendingOrders(String loginId) {
         User user = getUserByLoginId(loginId);
-        return orderRepository.findByUserIdAndStatus(user.getId(), Order.OrderStatus.PENDING).stream()
+        return orderRepository.findByUserIdAndStatusIn(user.getId(), Order.OrderStatus.OPEN).stream()
                 .map(OrderResponse.Summary::from)
                 .collect(Collectors.toList());
     }
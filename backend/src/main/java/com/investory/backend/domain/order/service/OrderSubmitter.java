@@ -0,0 +1,22 @@
+package com.investory.backend.domain.order.service;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.dto.OrderResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP 주문 접수 경로.
+ * <p>
+ * 락 전략에 따라 주문이 호출 스레드에서 바로 처리되기도 하고(optimistic/pessimistic),
+ * 시퀀서 대기열을 거쳐 다른 스레드에서 처리되기도 한다(sequenced). 컨트롤러가 그 차이를 모르도록
+ * 결과를 항상 {@link CompletableFuture} 로 돌려준다. {@link OrderUserFinder} 와 마찬가지로
+ * {@code investory.order.lock-mode} 값으로 구현 하나만 빈으로 등록된다.
+ */
+public interface OrderSubmitter {
+
+    /**
+     * 주문을 접수한다. 실패는 예외를 던지지 않고 실패한 future 로 돌려준다.
+     */
+    CompletableFuture<OrderResponse.Detail> submit(String loginId, OrderRequest.Create request);
+}
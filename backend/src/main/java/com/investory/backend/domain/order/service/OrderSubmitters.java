@@ -0,0 +1,60 @@
+package com.investory.backend.domain.order.service;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.dto.OrderResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link OrderSubmitter} 구현 모음. 구성은 {@link OrderUserFinders} 와 같다.
+ * 두 구현 모두 접수 지연을 {@link OrderMetrics} 로 잰다.
+ */
+public final class OrderSubmitters {
+
+    private OrderSubmitters() {
+    }
+
+    /**
+     * optimistic / pessimistic 모드: 호출 스레드에서 바로 처리하고 완료된 future 를 돌려준다.
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnExpression("'${investory.order.lock-mode:optimistic}' != 'sequenced'")
+    public static class Direct implements OrderSubmitter {
+
+        private final OrderService orderService;
+        private final OrderMetrics orderMetrics;
+
+        @Override
+        public CompletableFuture<OrderResponse.Detail> submit(String loginId, OrderRequest.Create request) {
+            return orderMetrics.timePlacement(request, () -> {
+                try {
+                    return CompletableFuture.completedFuture(orderService.createOrder(loginId, request));
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * sequenced 모드: 주문자의 시퀀서 대기열에 넣고, HTTP 스레드는 결과를 기다리지 않고 반환된다.
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "investory.order.lock-mode", havingValue = "sequenced")
+    public static class Sequenced implements OrderSubmitter {
+
+        private final OrderSequencer orderSequencer;
+        private final OrderMetrics orderMetrics;
+
+        @Override
+        public CompletableFuture<OrderResponse.Detail> submit(String loginId, OrderRequest.Create request) {
+            return orderMetrics.timePlacement(request, () -> orderSequencer.submit(loginId, request));
+        }
+    }
+}
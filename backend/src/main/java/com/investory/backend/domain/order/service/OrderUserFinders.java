@@ -11,7 +11,7 @@ import org.springframework.stereotype.Component;
 /**
  * {@link OrderUserFinder} 구현 모음.
  * <p>
- * 두 구현이 서로의 대조군이라 한 파일에 모아 두면 차이를 눈으로 바로 비교할 수 있다.
+ * 구현들이 서로의 대조군이라 한 파일에 모아 두면 차이를 눈으로 바로 비교할 수 있다.
  * {@code investory.order.lock-mode} 값으로 정확히 하나만 빈으로 등록된다.
  */
 public final class OrderUserFinders {
@@ -65,4 +65,29 @@ public final class OrderUserFinders {
             return "PESSIMISTIC_WRITE_LOCK";
         }
     }
+
+    /**
+     * 비교군: 같은 사용자의 주문은 {@link OrderSequencer} 의 한 스레드가 순서대로 처리한다.
+     * 동시에 같은 유저 행을 건드리는 주문 트랜잭션이 없으므로 조회 시 락을 잡지 않고,
+     * 충돌도 나지 않아 재시도가 일어나지 않는다. (지정가 체결이나 주문 취소가 같은 유저를 동시에 갱신하는
+     * 경우만 {@code @Version} 과 재시도가 안전망으로 남는다.)
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "investory.order.lock-mode", havingValue = "sequenced")
+    public static class Sequenced implements OrderUserFinder {
+
+        private final UserRepository userRepository;
+
+        @Override
+        public User findForOrder(String loginId) {
+            return userRepository.findByLoginId(loginId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        }
+
+        @Override
+        public String strategyName() {
+            return "SINGLE_WRITER_SEQUENCER";
+        }
+    }
 }
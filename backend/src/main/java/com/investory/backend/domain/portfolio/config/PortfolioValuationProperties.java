@@ -0,0 +1,28 @@
+package com.investory.backend.domain.portfolio.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포트폴리오 평가 집계 설정.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "investory.portfolio.valuation")
+public class PortfolioValuationProperties {
+
+    /** 사용자별 평가를 메모리에 두고 틱·체결로 고칠지. 끄면 조회마다 보유를 읽어 계산한다. 테스트 프로파일에서는 false. */
+    private boolean enabled = true;
+
+    /** 메모리에 둘 사용자 수 상한. 넘으면 오래 안 본 사용자부터 내린다. */
+    private long maximumUsers = 10_000L;
+
+    /** 이 시간(분) 동안 조회·구독이 없으면 내린다. 틱 반영은 조회로 치지 않는다. */
+    private long idleMinutes = 30L;
+
+    /** 평가 스트림({@code /portfolio/stream}) 전송 주기(ms). 그사이 여러 번 바뀐 평가는 마지막 값 하나로 나간다. */
+    private long pushIntervalMs = 1_000L;
+}
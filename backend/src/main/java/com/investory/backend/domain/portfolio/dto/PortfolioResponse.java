@@ -47,24 +47,39 @@ public class PortfolioResponse {
         private BigDecimal weight;
 
         public static HoldingItem from(Holding holding, BigDecimal totalPortfolioValue) {
+            return from(holding, holding.getStock().getCurrentPrice(), totalPortfolioValue);
+        }
+
+        public static HoldingItem from(Holding holding, BigDecimal currentPrice, BigDecimal totalPortfolioValue) {
             Stock stock = holding.getStock();
-            BigDecimal currentValue = holding.getCurrentValue(stock.getCurrentPrice());
-            BigDecimal profitLoss = holding.getProfitLoss(stock.getCurrentPrice());
-            BigDecimal profitLossRate = holding.getProfitLossRate(stock.getCurrentPrice());
+            return of(holding.getId(), stock.getCode(), stock.getName(), stock.getMarket().name(), stock.getLogoUrl(),
+                    holding.getQuantity(), holding.getAveragePrice(), holding.getTotalInvestment(),
+                    currentPrice, totalPortfolioValue);
+        }
+
+        /** 엔티티 없이 값으로 만든다. 평가금액·손익·비중 계산은 {@link Holding} 의 계산과 같다. */
+        public static HoldingItem of(Long holdingId, String stockCode, String stockName, String market, String logoUrl,
+                                     int quantity, BigDecimal averagePrice, BigDecimal totalInvestment,
+                                     BigDecimal currentPrice, BigDecimal totalPortfolioValue) {
+            BigDecimal currentValue = currentPrice.multiply(BigDecimal.valueOf(quantity));
+            BigDecimal profitLoss = currentValue.subtract(totalInvestment);
+            BigDecimal profitLossRate = totalInvestment.compareTo(BigDecimal.ZERO) == 0
+                    ? BigDecimal.ZERO
+                    : profitLoss.divide(totalInvestment, 4, java.math.RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
             BigDecimal weight = totalPortfolioValue.compareTo(BigDecimal.ZERO) > 0
                     ? currentValue.divide(totalPortfolioValue, 4, java.math.RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
                     : BigDecimal.ZERO;
 
             return HoldingItem.builder()
-                    .id(holding.getId())
-                    .stockCode(stock.getCode())
-                    .stockName(stock.getName())
-                    .market(stock.getMarket().name())
-                    .logoUrl(stock.getLogoUrl())
-                    .quantity(holding.getQuantity())
-                    .averagePrice(holding.getAveragePrice())
-                    .currentPrice(stock.getCurrentPrice())
-                    .totalInvestment(holding.getTotalInvestment())
+                    .id(holdingId)
+                    .stockCode(stockCode)
+                    .stockName(stockName)
+                    .market(market)
+                    .logoUrl(logoUrl)
+                    .quantity(quantity)
+                    .averagePrice(averagePrice)
+                    .currentPrice(currentPrice)
+                    .totalInvestment(totalInvestment)
                     .currentValue(currentValue)
                     .profitLoss(profitLoss)
                     .profitLossRate(profitLossRate)
@@ -3,6 +3,8 @@ package com.investory.backend.domain.portfolio.entity;
 import com.investory.backend.domain.stock.entity.Stock;
 import com.investory.backend.domain.user.entity.User;
 import com.investory.backend.global.common.dto.BaseEntity;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -38,6 +40,14 @@ public class Holding extends BaseEntity {
     @Column(nullable = false)
     private Integer quantity;
 
+    /**
+     * 미체결 지정가 매도에 묶인 수량. {@code quantity} 중 이미 팔기로 한 부분이다.
+     * 매도 가능 수량은 {@code quantity - reservedQuantity} 다.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer reservedQuantity = 0;
+
     @Column(nullable = false, precision = 20, scale = 2)
     private BigDecimal averagePrice;
 
@@ -64,6 +74,33 @@ public class Holding extends BaseEntity {
         }
     }
 
+    /** 매도 가능 수량 (보유 - 미체결 지정가 매도에 묶인 수량). */
+    public int getAvailableQuantity() {
+        return this.quantity - this.reservedQuantity;
+    }
+
+    /** 지정가 매도 접수 시 수량을 묶는다. */
+    public void reserveQuantity(int qty) {
+        if (getAvailableQuantity() < qty) {
+            throw new BusinessException(ErrorCode.INSUFFICIENT_HOLDING);
+        }
+        this.reservedQuantity += qty;
+    }
+
+    /** 묶어 둔 수량을 푼다. (주문 취소 / 거부) */
+    public void releaseQuantity(int qty) {
+        if (this.reservedQuantity < qty) {
+            throw new IllegalStateException("예약 수량보다 많이 해제할 수 없습니다.");
+        }
+        this.reservedQuantity -= qty;
+    }
+
+    /** 예약된 지정가 매도의 체결. 묶어 둔 수량을 풀면서 같은 만큼 보유에서 뺀다. */
+    public void settleReservedQuantity(int qty) {
+        releaseQuantity(qty);
+        reduceQuantity(qty);
+    }
+
     public BigDecimal getCurrentValue(BigDecimal currentPrice) {
         return currentPrice.multiply(BigDecimal.valueOf(this.quantity));
     }
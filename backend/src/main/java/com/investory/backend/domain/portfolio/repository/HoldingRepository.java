@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,10 @@ public interface HoldingRepository extends JpaRepository<Holding, Long> {
     @Query("SELECT h FROM Holding h JOIN FETCH h.stock WHERE h.user.id = :userId AND h.stock.market IN :markets")
     List<Holding> findByUserIdAndMarkets(@Param("userId") Long userId, @Param("markets") List<com.investory.backend.domain.stock.entity.Stock.Market> markets);
     
+    /** 배치 체결용: 한 종목에 대해 여러 사용자의 보유를 한 번에 읽는다. */
+    @Query("SELECT h FROM Holding h WHERE h.stock.id = :stockId AND h.user.id IN :userIds")
+    List<Holding> findByStockIdAndUserIdIn(@Param("stockId") Long stockId, @Param("userIds") Collection<Long> userIds);
+    
     void deleteByUserIdAndStockId(Long userId, Long stockId);
     
     long countByUserId(Long userId);
@@ -1,9 +1,9 @@
 package com.investory.backend.domain.portfolio.service;
 
 import com.investory.backend.domain.portfolio.dto.PortfolioResponse;
-import com.investory.backend.domain.portfolio.entity.Holding;
 import com.investory.backend.domain.portfolio.repository.HoldingRepository;
 import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.service.MarketState;
 import com.investory.backend.domain.user.entity.User;
 import com.investory.backend.domain.user.repository.UserRepository;
 import com.investory.backend.global.exception.BusinessException;
@@ -11,11 +11,8 @@ import com.investory.backend.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,100 +21,34 @@ public class PortfolioService {
 
     private final HoldingRepository holdingRepository;
     private final UserRepository userRepository;
-
-    @Transactional(readOnly = true)
+    /** 평가 시세. write-behind 모드면 DB 보다 최신인 메모리 시세를, 아니면 엔티티 값을 준다. */
+    private final MarketState marketState;
+    private final PortfolioValuations portfolioValuations;
+
+    /**
+     * 포트폴리오 조회. 평가 집계({@link PortfolioValuations})를 쓰면 틱·체결로 고쳐 둔 값을 준다.
+     * 적중하면 DB 커넥션을 잡지 않도록 트랜잭션을 걸지 않는다. 보유는 종목과 함께 한 번에 읽으므로 지연 로딩이 없다.
+     */
     public PortfolioResponse.Summary getPortfolio(String loginId) {
+        if (portfolioValuations.isEnabled()) {
+            return portfolioValuations.summary(loginId);
+        }
         User user = getUserByLoginId(loginId);
-        List<Holding> holdings = holdingRepository.findByUserIdWithStock(user.getId());
-
-        // 총 평가금액 계산
-        BigDecimal totalValue = holdings.stream()
-                .map(h -> h.getCurrentValue(h.getStock().getCurrentPrice()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // 총 투자금액
-        BigDecimal totalInvestment = holdings.stream()
-                .map(Holding::getTotalInvestment)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // 총 수익금
-        BigDecimal totalProfitLoss = totalValue.subtract(totalInvestment);
-
-        // 총 수익률
-        BigDecimal totalProfitLossRate = totalInvestment.compareTo(BigDecimal.ZERO) > 0
-                ? totalProfitLoss.divide(totalInvestment, 4, java.math.RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
-
-        // 일일 수익금 (전일 대비)
-        BigDecimal dailyProfitLoss = holdings.stream()
-                .map(h -> {
-                    Stock stock = h.getStock();
-                    BigDecimal priceChange = stock.getCurrentPrice().subtract(stock.getPreviousClose());
-                    return priceChange.multiply(BigDecimal.valueOf(h.getQuantity()));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // 일일 수익률
-        BigDecimal previousTotalValue = totalValue.subtract(dailyProfitLoss);
-        BigDecimal dailyProfitLossRate = previousTotalValue.compareTo(BigDecimal.ZERO) > 0
-                ? dailyProfitLoss.divide(previousTotalValue, 4, java.math.RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
-
-        // 보유 종목 리스트
-        List<PortfolioResponse.HoldingItem> holdingItems = holdings.stream()
-                .map(h -> PortfolioResponse.HoldingItem.from(h, totalValue))
-                .collect(Collectors.toList());
-
-        return PortfolioResponse.Summary.builder()
-                .totalValue(totalValue)
-                .totalInvestment(totalInvestment)
-                .totalProfitLoss(totalProfitLoss)
-                .totalProfitLossRate(totalProfitLossRate)
-                .dailyProfitLoss(dailyProfitLoss)
-                .dailyProfitLossRate(dailyProfitLossRate)
-                .holdingCount(holdings.size())
-                .holdings(holdingItems)
-                .build();
+        return PortfolioValuation.of(holdingRepository.findByUserIdWithStock(user.getId()), marketState).summary();
     }
 
-    @Transactional(readOnly = true)
     public PortfolioResponse.Summary getPortfolioByMarket(String loginId, String marketType) {
-        User user = getUserByLoginId(loginId);
-
         List<Stock.Market> markets = switch (marketType.toLowerCase()) {
             case "domestic" -> List.of(Stock.Market.KOSPI, Stock.Market.KOSDAQ);
             case "foreign" -> List.of(Stock.Market.NASDAQ, Stock.Market.NYSE, Stock.Market.AMEX);
             default -> throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
         };
-
-        List<Holding> holdings = holdingRepository.findByUserIdAndMarkets(user.getId(), markets);
-
-        BigDecimal totalValue = holdings.stream()
-                .map(h -> h.getCurrentValue(h.getStock().getCurrentPrice()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalInvestment = holdings.stream()
-                .map(Holding::getTotalInvestment)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalProfitLoss = totalValue.subtract(totalInvestment);
-
-        BigDecimal totalProfitLossRate = totalInvestment.compareTo(BigDecimal.ZERO) > 0
-                ? totalProfitLoss.divide(totalInvestment, 4, java.math.RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                : BigDecimal.ZERO;
-
-        List<PortfolioResponse.HoldingItem> holdingItems = holdings.stream()
-                .map(h -> PortfolioResponse.HoldingItem.from(h, totalValue))
-                .collect(Collectors.toList());
-
-        return PortfolioResponse.Summary.builder()
-                .totalValue(totalValue)
-                .totalInvestment(totalInvestment)
-                .totalProfitLoss(totalProfitLoss)
-                .totalProfitLossRate(totalProfitLossRate)
-                .holdingCount(holdings.size())
-                .holdings(holdingItems)
-                .build();
+        if (portfolioValuations.isEnabled()) {
+            return portfolioValuations.summary(loginId, markets);
+        }
+        User user = getUserByLoginId(loginId);
+        return PortfolioValuation.of(holdingRepository.findByUserIdAndMarkets(user.getId(), markets), marketState)
+                .summary(markets);
     }
 
     private User getUserByLoginId(String loginId) {
@@ -0,0 +1,189 @@
+package com.investory.backend.domain.portfolio.service;
+
+import com.investory.backend.domain.portfolio.dto.PortfolioResponse;
+import com.investory.backend.domain.portfolio.entity.Holding;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.service.MarketState;
+import com.investory.backend.global.common.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한 사용자의 포트폴리오 평가.
+ * <p>
+ * 보유 종목마다 수량·투자금과 마지막 시세를 들고, 총 평가금액·일일 손익은 합계로 따로 든다.
+ * 틱이 오면 그 종목의 (새 값 - 옛 값) × 수량만 합계에 더하므로 보유 종목 수와 상관없이 O(1) 이다.
+ * 보유 자체(수량·투자금)는 체결로만 바뀌고, 그때는 {@link PortfolioValuations} 가 새로 만든다.
+ * <p>
+ * 금액은 모두 정수화한 금액({@link Money})으로 든다. 틱 반영이 보유자 수만큼 불리므로 더하기·곱하기에 객체를 만들지 않고,
+ * 응답을 만들 때만 {@link BigDecimal} 로 바꾼다.
+ * <p>
+ * 응답 객체는 만든 뒤 값이 바뀔 때까지 재사용한다. 틱 스레드와 조회 스레드가 같이 쓰므로 이 객체에 잠근다.
+ */
+final class PortfolioValuation {
+
+    /** 종목 ID → 보유. 보유 조회 순서를 유지한다. */
+    private final Map<Long, Position> positions;
+    private final long totalInvestment;
+    private long totalValue;
+    private long dailyProfitLoss;
+    /** 마지막으로 만든 응답. 시세가 바뀌면 비운다. */
+    private PortfolioResponse.Summary summary;
+
+    private PortfolioValuation(Map<Long, Position> positions) {
+        this.positions = positions;
+        long investment = 0L;
+        long value = 0L;
+        long daily = 0L;
+        for (Position position : positions.values()) {
+            investment = Money.plus(investment, position.totalInvestment);
+            value = Money.plus(value, position.currentValue());
+            daily = Money.plus(daily, position.dailyProfitLoss());
+        }
+        this.totalInvestment = investment;
+        this.totalValue = value;
+        this.dailyProfitLoss = daily;
+    }
+
+    /** 보유 목록과 현재 시세로 만든다. 시세는 write-behind 모드면 메모리 시세다. */
+    static PortfolioValuation of(List<Holding> holdings, MarketState marketState) {
+        Map<Long, Position> positions = new LinkedHashMap<>();
+        for (Holding holding : holdings) {
+            Stock stock = holding.getStock();
+            long currentPrice = Money.of(marketState.currentPriceOf(stock));
+            long previousClose = Money.of(marketState.previousCloseOf(stock));
+            positions.put(stock.getId(), new Position(holding.getId(), stock.getCode(), stock.getName(),
+                    stock.getMarket(), stock.getLogoUrl(), holding.getQuantity(), holding.getAveragePrice(),
+                    Money.of(holding.getTotalInvestment()), currentPrice, Money.minus(currentPrice, previousClose)));
+        }
+        return new PortfolioValuation(positions);
+    }
+
+    /** 보유 종목 ID. 만든 뒤에는 바뀌지 않는다. */
+    Set<Long> stockIds() {
+        return positions.keySet();
+    }
+
+    /**
+     * 틱을 반영한다. 보유하지 않은 종목이거나 값이 그대로면 false.
+     * 틱 하나를 여러 보유자에게 나눠 주므로 정수화는 부르는 쪽이 한 번만 한다.
+     *
+     * @param currentPrice 현재가 (정수화한 금액)
+     * @param changeAmount 현재가 - 전일 종가 (정수화한 금액)
+     */
+    synchronized boolean apply(Long stockId, long currentPrice, long changeAmount) {
+        Position position = positions.get(stockId);
+        if (position == null || position.currentPrice == currentPrice && position.changeAmount == changeAmount) {
+            return false;
+        }
+        totalValue = Money.plus(totalValue,
+                Money.times(Money.minus(currentPrice, position.currentPrice), position.quantity));
+        dailyProfitLoss = Money.plus(dailyProfitLoss,
+                Money.times(Money.minus(changeAmount, position.changeAmount), position.quantity));
+        position.currentPrice = currentPrice;
+        position.changeAmount = changeAmount;
+        summary = null;
+        return true;
+    }
+
+    /** 전체 평가. 값이 바뀌지 않았으면 지난 응답을 그대로 준다. */
+    synchronized PortfolioResponse.Summary summary() {
+        if (summary == null) {
+            summary = build(List.copyOf(positions.values()), Money.toBigDecimal(totalValue),
+                    Money.toBigDecimal(totalInvestment), Money.toBigDecimal(dailyProfitLoss));
+        }
+        return summary;
+    }
+
+    /** 시장별 평가. 일부만 합산하므로 새로 계산하고, 일일 손익은 싣지 않는다(기존 응답과 같다). */
+    synchronized PortfolioResponse.Summary summary(Collection<Stock.Market> markets) {
+        List<Position> selected = new ArrayList<>();
+        long value = 0L;
+        long investment = 0L;
+        for (Position position : positions.values()) {
+            if (markets.contains(position.market)) {
+                selected.add(position);
+                value = Money.plus(value, position.currentValue());
+                investment = Money.plus(investment, position.totalInvestment);
+            }
+        }
+        return build(selected, Money.toBigDecimal(value), Money.toBigDecimal(investment), null);
+    }
+
+    private static PortfolioResponse.Summary build(List<Position> selected, BigDecimal value, BigDecimal investment,
+                                                   BigDecimal daily) {
+        BigDecimal profitLoss = value.subtract(investment);
+        List<PortfolioResponse.HoldingItem> items = new ArrayList<>(selected.size());
+        for (Position position : selected) {
+            items.add(position.toItem(value));
+        }
+        return PortfolioResponse.Summary.builder()
+                .totalValue(value)
+                .totalInvestment(investment)
+                .totalProfitLoss(profitLoss)
+                .totalProfitLossRate(rate(profitLoss, investment))
+                .dailyProfitLoss(daily)
+                .dailyProfitLossRate(daily == null ? null : rate(daily, value.subtract(daily)))
+                .holdingCount(selected.size())
+                .holdings(items)
+                .build();
+    }
+
+    /** 백분율. 기준이 0 이하면 0. */
+    private static BigDecimal rate(BigDecimal part, BigDecimal base) {
+        return base.compareTo(BigDecimal.ZERO) > 0
+                ? part.divide(base, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
+                : BigDecimal.ZERO;
+    }
+
+    /** 보유 한 종목. 시세 필드만 틱으로 바뀐다. */
+    private static final class Position {
+
+        private final Long holdingId;
+        private final String code;
+        private final String name;
+        private final Stock.Market market;
+        private final String logoUrl;
+        private final int quantity;
+        private final BigDecimal averagePrice;
+        private final long totalInvestment;
+        private long currentPrice;
+        /** 현재가 - 전일 종가. */
+        private long changeAmount;
+
+        Position(Long holdingId, String code, String name, Stock.Market market, String logoUrl, int quantity,
+                 BigDecimal averagePrice, long totalInvestment, long currentPrice, long changeAmount) {
+            this.holdingId = holdingId;
+            this.code = code;
+            this.name = name;
+            this.market = market;
+            this.logoUrl = logoUrl;
+            this.quantity = quantity;
+            this.averagePrice = averagePrice;
+            this.totalInvestment = totalInvestment;
+            this.currentPrice = currentPrice;
+            this.changeAmount = changeAmount;
+        }
+
+        long currentValue() {
+            return Money.times(currentPrice, quantity);
+        }
+
+        long dailyProfitLoss() {
+            return Money.times(changeAmount, quantity);
+        }
+
+        PortfolioResponse.HoldingItem toItem(BigDecimal totalPortfolioValue) {
+            return PortfolioResponse.HoldingItem.of(holdingId, code, name, market.name(), logoUrl, quantity,
+                    averagePrice, Money.toBigDecimal(totalInvestment), Money.toBigDecimal(currentPrice),
+                    totalPortfolioValue);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.investory.backend.domain.portfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.investory.backend.domain.order.event.OrderFilledEvent;
+import com.investory.backend.domain.portfolio.config.PortfolioValuationProperties;
+import com.investory.backend.domain.portfolio.dto.PortfolioResponse;
+import com.investory.backend.domain.portfolio.repository.HoldingRepository;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.service.MarketState;
+import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.domain.user.repository.UserRepository;
+import com.investory.backend.global.common.Money;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용자별 포트폴리오 평가({@link PortfolioValuation})를 메모리에 두고 틱·체결로 고친다.
+ * <p>
+ * <b>왜 필요한가</b><br>
+ * 포트폴리오 조회는 매번 보유를 종목과 함께 읽어 평가금액·손익을 다시 더했다. 값은 시세가 움직이거나 체결이 날 때만
+ * 바뀌므로, 바뀔 때 고쳐 두고 조회는 만들어 둔 값을 준다.
+ * <p>
+ * <b>틱</b><br>
+ * 종목 ID → 그 종목을 든 사용자 색인을 둔다. 틱이 오면 움직인 종목의 보유자만 찾아 그 사용자의 합계에 차이만 더한다.
+ * 틱 하나의 비용은 전체 사용자 수가 아니라 그 종목 보유자 수에 비례한다.
+ * <p>
+ * <b>체결</b><br>
+ * 체결은 수량·평균 단가·투자금을 바꾸고 평균 단가의 반올림은 엔티티가 정하므로, 차이를 따라 계산하지 않고
+ * 커밋 뒤 그 사용자의 보유를 다시 읽어 통째로 바꾼다. 지정가 배치 체결은 한 트랜잭션에서 같은 사용자의 주문을
+ * 여러 건 체결하므로, 트랜잭션 동안 체결된 사용자를 모아 두고 커밋 뒤 사용자마다 한 번만 읽는다.
+ * <p>
+ * <b>메모리</b><br>
+ * 조회하거나 평가 스트림을 구독한 사용자만 올라온다. {@code maximum-users} 를 넘거나 {@code idle-minutes} 동안
+ * 조회가 없으면 내리고, 색인에서도 뺀다. 색인은 그 사용자 키의 계산 안에서만 고치므로 올리기·내리기가 엇갈리지 않는다.
+ * <p>
+ * 보유를 읽은 뒤 색인에 오르기 전 사이의 틱은 놓칠 수 있다. 그 종목의 다음 틱이 오면 맞춰진다.
+ */
+@Slf4j
+@Component
+public class PortfolioValuations {
+
+    private final HoldingRepository holdingRepository;
+    private final UserRepository userRepository;
+    private final MarketState marketState;
+    private final boolean enabled;
+
+    /** 로그인 ID → 평가. */
+    private final Cache<String, PortfolioValuation> valuations;
+    /** 종목 ID → 그 종목을 든 (메모리에 올라온) 사용자의 로그인 ID. */
+    private final Map<Long, Set<String>> holders = new ConcurrentHashMap<>();
+    /** 마지막 {@link #drainChanged} 뒤로 평가가 바뀐 사용자. */
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+    /** 실험용: 틱으로 고친 사용자 평가 수. {@code OrderService} 의 시도 카운터와 같은 이유로 LongAdder 다. */
+    private final LongAdder appliedTicks = new LongAdder();
+    /** 실험용: 체결로 보유를 다시 읽은 횟수. */
+    private final LongAdder reloads = new LongAdder();
+
+    public PortfolioValuations(HoldingRepository holdingRepository, UserRepository userRepository,
+                               MarketState marketState, PortfolioValuationProperties properties) {
+        this.holdingRepository = holdingRepository;
+        this.userRepository = userRepository;
+        this.marketState = marketState;
+        this.enabled = properties.isEnabled();
+        this.valuations = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumUsers())
+                .expireAfterAccess(Duration.ofMinutes(properties.getIdleMinutes()))
+                // evictionListener 는 내리는 계산 안에서 바로 불린다. 같은 사용자를 다시 올리는 계산과 엇갈리지 않는다.
+                .<String, PortfolioValuation>evictionListener((loginId, valuation, cause) -> {
+                    if (loginId != null && valuation != null) {
+                        reindex(loginId, valuation.stockIds(), Set.of());
+                    }
+                })
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 전체 평가. 메모리에 없으면 보유를 읽어 올린다. */
+    public PortfolioResponse.Summary summary(String loginId) {
+        return get(loginId).summary();
+    }
+
+    /** 시장별 평가. */
+    public PortfolioResponse.Summary summary(String loginId, Collection<Stock.Market> markets) {
+        return get(loginId).summary(markets);
+    }
+
+    /** 메모리에 있는 사용자의 평가만. 없으면 읽어 오지 않는다. */
+    public Optional<PortfolioResponse.Summary> peek(String loginId) {
+        return Optional.ofNullable(valuations.getIfPresent(loginId)).map(PortfolioValuation::summary);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceUpdated(StockPriceUpdatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (PriceTick tick : event.ticks()) {
+            Set<String> users = holders.get(tick.stockId());
+            if (users == null) {
+                continue;
+            }
+            long currentPrice = Money.of(tick.currentPrice());
+            long changeAmount = Money.of(tick.changeAmount());
+            for (String loginId : users) {
+                // 틱 반영은 조회가 아니므로 만료 시계를 건드리지 않는다
+                PortfolioValuation valuation = valuations.policy().getIfPresentQuietly(loginId);
+                if (valuation != null && valuation.apply(tick.stockId(), currentPrice, changeAmount)) {
+                    changed.add(loginId);
+                    appliedTicks.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 체결된 사용자를 트랜잭션에 모아 두고, 커밋 뒤 사용자마다 한 번 보유를 다시 읽는다.
+     * 롤백되면 읽지 않는다. 트랜잭션 밖에서 발행된 체결은 바로 읽는다.
+     */
+    @EventListener
+    public void onOrderFilled(OrderFilledEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload(event.loginId(), event.userId());
+            return;
+        }
+        pendingReloads().put(event.loginId(), event.userId());
+    }
+
+    /** 현재 트랜잭션에서 체결된 사용자(로그인 ID → 사용자 ID). 처음 부를 때 커밋 뒤 읽기를 건다. */
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> pendingReloads() {
+        Map<String, Long> pending = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<String, Long> users = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, users);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                users.forEach(PortfolioValuations.this::reload);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PortfolioValuations.this);
+            }
+        });
+        return users;
+    }
+
+    /** 그 사용자의 보유를 다시 읽는다. 메모리에 없는 사용자면 다음 조회 때 읽으므로 하지 않는다. */
+    private void reload(String loginId, Long userId) {
+        try {
+            PortfolioValuation reloaded = valuations.asMap().computeIfPresent(loginId, (key, previous) -> {
+                reloads.increment();
+                PortfolioValuation next = PortfolioValuation.of(
+                        holdingRepository.findByUserIdWithStock(userId), marketState);
+                reindex(key, previous.stockIds(), next.stockIds());
+                return next;
+            });
+            if (reloaded != null) {
+                changed.add(loginId);
+            }
+        } catch (RuntimeException e) {
+            // 다시 읽지 못했으면 옛 평가를 믿을 수 없다. 내리고 다음 조회에서 새로 읽게 한다.
+            log.warn("포트폴리오 평가 갱신 실패: loginId={}, cause={}", loginId, e.getMessage());
+            evict(loginId);
+        }
+    }
+
+    /** 마지막 호출 뒤로 평가가 바뀐 사용자를 꺼내 간다. */
+    public List<String> drainChanged() {
+        List<String> drained = new ArrayList<>();
+        for (Iterator<String> iterator = changed.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    /** 테스트용: 모든 평가와 색인을 비운다. */
+    public void invalidateAll() {
+        valuations.invalidateAll();
+        holders.clear();
+        changed.clear();
+    }
+
+    /** 실험용: 틱으로 고친 사용자 평가 수. */
+    public long getAppliedTicks() {
+        return appliedTicks.sum();
+    }
+
+    /** 실험용: 체결로 보유를 다시 읽은 횟수. */
+    public long getReloadCount() {
+        return reloads.sum();
+    }
+
+    private PortfolioValuation get(String loginId) {
+        return valuations.get(loginId, this::load);
+    }
+
+    private PortfolioValuation load(String loginId) {
+        User user = userRepository.findByLoginId(loginId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+        PortfolioValuation valuation = PortfolioValuation.of(
+                holdingRepository.findByUserIdWithStock(user.getId()), marketState);
+        reindex(loginId, Set.of(), valuation.stockIds());
+        return valuation;
+    }
+
+    private void evict(String loginId) {
+        valuations.asMap().computeIfPresent(loginId, (key, valuation) -> {
+            reindex(key, valuation.stockIds(), Set.of());
+            return null;
+        });
+    }
+
+    /** 사용자의 보유 종목이 바뀐 만큼 색인을 고친다. 그 사용자 키의 계산 안에서만 부른다. */
+    private void reindex(String loginId, Set<Long> before, Set<Long> after) {
+        for (Long stockId : before) {
+            if (!after.contains(stockId)) {
+                holders.computeIfPresent(stockId, (id, users) -> {
+                    users.remove(loginId);
+                    return users.isEmpty() ? null : users;
+                });
+            }
+        }
+        for (Long stockId : after) {
+            // 꺼낸 뒤에 넣으면 그사이 다른 사용자가 빠지며 비운 집합을 지운 경우 고아 집합에 들어간다
+            holders.compute(stockId, (id, users) -> {
+                Set<String> next = users != null ? users : ConcurrentHashMap.newKeySet();
+                next.add(loginId);
+                return next;
+            });
+        }
+    }
+}
@@ -20,19 +20,27 @@ import org.springframework.transaction.event.TransactionalEventListener;
  * 체결 트랜잭션이 롤백되면 경험치도 없던 일이 되어야 한다. 커밋 확정 후에만 반응하도록
  * {@code AFTER_COMMIT} 을 쓴다. 일반 {@code @EventListener} 나 {@code BEFORE_COMMIT} 이면
  * 롤백된 주문에 대해서도 경험치가 올라갈 수 있다.
+ * <p>
+ * <b>왜 전량 체결 때만 주는가</b><br>
+ * 부분 체결이 생기면서 주문 하나가 여러 틱에 나뉘어 체결되고, 체결마다 이벤트가 온다.
+ * 이벤트마다 주면 같은 주문이 N번 나뉘면 N배를 받으니, 주문이 FILLED 가 된 마지막 체결에서만 준다.
+ * 잔량이 취소·거부된 부분 체결 주문은 경험치를 받지 않는다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderFilledEventListener {
 
-    /** 주문 체결 1건당 지급 경험치. */
+    /** 전량 체결된 주문 1건당 지급 경험치. */
     private static final int EXP_PER_FILLED_ORDER = 20;
 
     private final ExperienceGranter experienceGranter;
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleOrderFilled(OrderFilledEvent event) {
+        if (!event.completed()) {
+            return;
+        }
         try {
             experienceGranter.grant(event.userId(), EXP_PER_FILLED_ORDER);
             log.debug("체결 경험치 적립: userId={}, orderId={}, exp=+{}",
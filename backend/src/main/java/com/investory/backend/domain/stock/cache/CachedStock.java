@@ -0,0 +1,19 @@
+package com.investory.backend.domain.stock.cache;
+
+import com.investory.backend.domain.stock.dto.StockQuote;
+import com.investory.backend.domain.stock.entity.Stock;
+
+/**
+ * 캐시에서 꺼낸 종목 하나. 정적 필드와 시세 필드를 각자의 캐시에서 모아 붙인 값이다.
+ */
+public record CachedStock(StockProfile profile, StockQuote quote) {
+
+    /** 캐시를 거치지 않고 엔티티에서 바로 만든다. */
+    public static CachedStock from(Stock stock) {
+        return new CachedStock(StockProfile.from(stock), StockQuote.from(stock));
+    }
+
+    public Long id() {
+        return profile.id();
+    }
+}
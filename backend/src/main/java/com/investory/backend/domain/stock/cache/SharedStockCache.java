@@ -0,0 +1,32 @@
+package com.investory.backend.domain.stock.cache;
+
+import com.investory.backend.domain.stock.dto.StockQuote;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * near-cache 뒤의 공유 캐시 (2단계).
+ * <p>
+ * {@code investory.stock.cache.shared} 값으로 구현 하나만 빈으로 등록된다. ({@link SharedStockCaches} 참고)
+ * 공유 캐시 장애는 조회를 막지 않는다. 구현은 실패를 삼키고 적중 실패로 돌려준다.
+ */
+public interface SharedStockCache {
+
+    /** 전 종목 정적 필드 목록. 없으면 비어 있다. */
+    Optional<List<StockProfile>> getProfiles();
+
+    void putProfiles(List<StockProfile> profiles);
+
+    /** 종목 ID 로 시세를 읽는다. 없는 종목은 결과에서 빠진다. */
+    Map<Long, StockQuote> getQuotes(Collection<Long> stockIds);
+
+    void putQuotes(Collection<StockQuote> quotes);
+
+    void evictQuotes(Collection<Long> stockIds);
+
+    /** 공유 캐시를 실제로 쓰는지. 쓰지 않으면 호출자는 적중률 계측을 건너뛴다. */
+    boolean isActive();
+}
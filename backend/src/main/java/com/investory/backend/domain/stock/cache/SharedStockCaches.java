@@ -0,0 +1,182 @@
+package com.investory.backend.domain.stock.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investory.backend.domain.stock.config.StockCacheProperties;
+import com.investory.backend.domain.stock.dto.StockQuote;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link SharedStockCache} 구현 모음.
+ * {@code SseBroadcasters} 와 같은 구성으로, 설정값 하나에 구현 하나만 등록된다.
+ */
+public final class SharedStockCaches {
+
+    private SharedStockCaches() {
+    }
+
+    /**
+     * none 모드 (기본): 공유 캐시 없이 near-cache 에서 놓치면 바로 DB 로 간다. 단일 인스턴스 배포 전제.
+     */
+    @Component
+    @ConditionalOnExpression("'${investory.stock.cache.shared:none}' != 'redis'")
+    public static class None implements SharedStockCache {
+
+        @Override
+        public Optional<List<StockProfile>> getProfiles() {
+            return Optional.empty();
+        }
+
+        @Override
+        public void putProfiles(List<StockProfile> profiles) {
+        }
+
+        @Override
+        public Map<Long, StockQuote> getQuotes(Collection<Long> stockIds) {
+            return Map.of();
+        }
+
+        @Override
+        public void putQuotes(Collection<StockQuote> quotes) {
+        }
+
+        @Override
+        public void evictQuotes(Collection<Long> stockIds) {
+        }
+
+        @Override
+        public boolean isActive() {
+            return false;
+        }
+    }
+
+    /**
+     * redis 모드: 인스턴스끼리 Redis 를 공유 캐시로 쓴다.
+     * <p>
+     * <b>배치</b><br>
+     * 정적 필드는 {@code {prefix}profiles} 문자열 하나에 전 종목 목록을, 시세는 {@code {prefix}quotes} 해시에
+     * 종목 ID 별로 둔다. 시뮬레이터가 도는 인스턴스가 틱마다 해시를 갈아 끼우고, 나머지 인스턴스는 near-cache 시세가
+     * 만료되면 여기서 다시 읽는다. DB 는 Redis 에도 없을 때만 간다.
+     * <p>
+     * <b>직렬화</b><br>
+     * 공용 {@code RedisTemplate<String, Object>} 의 JSON 직렬화기는 타입 정보 없이 쓰므로 되읽으면 맵이 되고,
+     * 가격이 double 을 거치며 {@code 70000.00} 의 소수 자릿수가 바뀐다. 그래서 {@code SseBroadcasters.Redis} 처럼
+     * 같은 연결 위에 문자열 템플릿을 두고, 직렬화는 애플리케이션 {@link ObjectMapper} 로 한다.
+     * <p>
+     * Redis 가 죽으면 읽기는 적중 실패, 쓰기는 버려진다. 조회는 DB 로 이어지므로 느려질 뿐 틀리지 않는다.
+     */
+    @Slf4j
+    @Component
+    @ConditionalOnProperty(name = "investory.stock.cache.shared", havingValue = "redis")
+    public static class Redis implements SharedStockCache {
+
+        private static final TypeReference<List<StockProfile>> PROFILES = new TypeReference<>() {
+        };
+
+        private final StringRedisTemplate redisTemplate;
+        private final ObjectMapper objectMapper;
+        private final String profilesKey;
+        private final String quotesKey;
+        private final Duration ttl;
+
+        public Redis(RedisConnectionFactory redisConnectionFactory, ObjectMapper objectMapper,
+                     StockCacheProperties properties) {
+            this.redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+            this.objectMapper = objectMapper;
+            this.profilesKey = properties.getKeyPrefix() + "profiles";
+            this.quotesKey = properties.getKeyPrefix() + "quotes";
+            this.ttl = Duration.ofSeconds(properties.getSharedTtlSeconds());
+        }
+
+        @Override
+        public Optional<List<StockProfile>> getProfiles() {
+            try {
+                String json = redisTemplate.opsForValue().get(profilesKey);
+                return json == null ? Optional.empty() : Optional.of(objectMapper.readValue(json, PROFILES));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("공유 캐시 종목 목록 읽기 실패: {}", e.getMessage());
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public void putProfiles(List<StockProfile> profiles) {
+            try {
+                redisTemplate.opsForValue().set(profilesKey, objectMapper.writeValueAsString(profiles), ttl);
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("공유 캐시 종목 목록 쓰기 실패: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public Map<Long, StockQuote> getQuotes(Collection<Long> stockIds) {
+            if (stockIds.isEmpty()) {
+                return Map.of();
+            }
+            List<Object> fields = new ArrayList<>(stockIds.size());
+            stockIds.forEach(id -> fields.add(String.valueOf(id)));
+            try {
+                List<Object> values = redisTemplate.opsForHash().multiGet(quotesKey, fields);
+                Map<Long, StockQuote> quotes = new HashMap<>();
+                for (Object value : values) {
+                    if (value != null) {
+                        StockQuote quote = objectMapper.readValue((String) value, StockQuote.class);
+                        quotes.put(quote.stockId(), quote);
+                    }
+                }
+                return quotes;
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("공유 캐시 시세 읽기 실패: {}종목, cause={}", stockIds.size(), e.getMessage());
+                return Map.of();
+            }
+        }
+
+        @Override
+        public void putQuotes(Collection<StockQuote> quotes) {
+            if (quotes.isEmpty()) {
+                return;
+            }
+            try {
+                Map<String, String> entries = new HashMap<>();
+                for (StockQuote quote : quotes) {
+                    entries.put(String.valueOf(quote.stockId()), objectMapper.writeValueAsString(quote));
+                }
+                redisTemplate.opsForHash().putAll(quotesKey, entries);
+                redisTemplate.expire(quotesKey, ttl);
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("공유 캐시 시세 쓰기 실패: {}종목, cause={}", quotes.size(), e.getMessage());
+            }
+        }
+
+        @Override
+        public void evictQuotes(Collection<Long> stockIds) {
+            if (stockIds.isEmpty()) {
+                return;
+            }
+            try {
+                redisTemplate.opsForHash().delete(quotesKey, stockIds.stream().map(String::valueOf).toArray());
+            } catch (RuntimeException e) {
+                log.warn("공유 캐시 시세 무효화 실패: {}종목, cause={}", stockIds.size(), e.getMessage());
+            }
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+    }
+}
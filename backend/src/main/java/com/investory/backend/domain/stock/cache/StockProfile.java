@@ -0,0 +1,33 @@
+package com.investory.backend.domain.stock.cache;
+
+import com.investory.backend.domain.stock.entity.Stock;
+
+/**
+ * 종목의 정적 필드 (틱으로 바뀌지 않는 값).
+ * <p>
+ * 시세 필드는 {@link com.investory.backend.domain.stock.dto.StockQuote} 가 따로 든다.
+ * 둘을 나눠 두어야 틱마다 시세만 갈아 끼우고, 이름·로고 같은 긴 문자열은 목록 캐시에 한 번만 둔다.
+ */
+public record StockProfile(
+        Long id,
+        String code,
+        String name,
+        String englishName,
+        Stock.Market market,
+        String sector,
+        Long marketCap,
+        String logoUrl
+) {
+    public static StockProfile from(Stock stock) {
+        return new StockProfile(
+                stock.getId(),
+                stock.getCode(),
+                stock.getName(),
+                stock.getEnglishName(),
+                stock.getMarket(),
+                stock.getSector(),
+                stock.getMarketCap(),
+                stock.getLogoUrl()
+        );
+    }
+}
@@ -0,0 +1,263 @@
+package com.investory.backend.domain.stock.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.investory.backend.domain.stock.config.StockCacheProperties;
+import com.investory.backend.domain.stock.dto.StockQuote;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.repository.StockRepository;
+import com.investory.backend.domain.stock.service.MarketState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 종목 조회 2단계 캐시: 인스턴스 near-cache(Caffeine) → 공유 캐시({@link SharedStockCache}) → DB.
+ * <p>
+ * <b>정적 필드와 시세 필드를 나눈 이유</b><br>
+ * 종목 목록·섹터·코드 조회는 종목이 추가될 때만 바뀌는 값이라 목록 하나({@link Catalog})로 길게 둔다.
+ * 시세는 틱마다 바뀌므로 종목 ID 별 {@link StockQuote} 로 따로 둔다. 틱이 와도 목록은 건드리지 않고
+ * 움직인 종목의 시세 항목만 갈아 끼운다.
+ * <p>
+ * <b>시세 갱신</b><br>
+ * 시세 커밋 뒤 {@link StockPriceUpdatedEvent} 로 near-cache 에 든 종목의 시세를 틱 값으로 고친다(DB 를 다시 읽지 않는다).
+ * 공유 캐시를 쓰면 같은 값을 공유 캐시에도 쓴다. near-cache 에 없던 종목은 공유 캐시에서 지워, 다른 인스턴스가
+ * 다음 조회 때 DB 에서 새로 읽게 한다. 이벤트를 받지 못하는 인스턴스는 시세 TTL 이 지나면 공유 캐시에서 다시 읽는다.
+ * <p>
+ * <b>메모리 시세</b><br>
+ * write-behind 모드에서는 {@link MarketState} 가 시세 원본이다. 그때는 시세 캐시를 쓰지 않고 메모리 시세를 붙인다.
+ * <p>
+ * <b>계측</b><br>
+ * near-cache 적중률은 {@code cache.gets{cache=stock.profiles|stock.quotes}}, 공유 캐시 적중은
+ * {@code investory.stock.cache.shared}, 적중 실패 시 로드 시간은 {@code investory.stock.cache.load{source}} 로
+ * {@code /actuator/metrics} 에 나간다.
+ * <p>
+ * 캐시를 끄면({@code enabled=false}) 모든 조회가 예전처럼 엔티티를 읽는다.
+ */
+@Slf4j
+@Component
+public class StockReadCache {
+
+    private static final String CATALOG = "all";
+
+    private final StockRepository stockRepository;
+    private final MarketState marketState;
+    private final SharedStockCache sharedCache;
+    private final boolean enabled;
+
+    private final LoadingCache<String, Catalog> catalog;
+    private final Cache<Long, StockQuote> quotes;
+
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+    private final Timer sharedLoads;
+    private final Timer dbLoads;
+
+    public StockReadCache(StockRepository stockRepository, MarketState marketState, SharedStockCache sharedCache,
+                          StockCacheProperties properties, MeterRegistry meterRegistry) {
+        this.stockRepository = stockRepository;
+        this.marketState = marketState;
+        this.sharedCache = sharedCache;
+        this.enabled = properties.isEnabled();
+        this.catalog = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(properties.getProfileTtlSeconds()))
+                .recordStats()
+                .build(key -> loadCatalog());
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getPriceTtlMs()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, catalog, "stock.profiles");
+        CaffeineCacheMetrics.monitor(meterRegistry, quotes, "stock.quotes");
+        this.sharedHits = Counter.builder("investory.stock.cache.shared")
+                .description("공유 캐시에서 찾은 항목").tag("result", "hit").register(meterRegistry);
+        this.sharedMisses = Counter.builder("investory.stock.cache.shared")
+                .description("공유 캐시에 없어 DB 로 간 항목").tag("result", "miss").register(meterRegistry);
+        this.sharedLoads = Timer.builder("investory.stock.cache.load")
+                .description("near-cache 적중 실패 시 로드 시간").tag("source", "shared").register(meterRegistry);
+        this.dbLoads = Timer.builder("investory.stock.cache.load")
+                .description("near-cache 적중 실패 시 로드 시간").tag("source", "db").register(meterRegistry);
+    }
+
+    /** 종목 코드로 찾는다. 목록에 없는 코드는 새로 추가된 종목일 수 있으므로 DB 를 한 번 확인한다. */
+    public Optional<CachedStock> find(String code) {
+        if (!enabled) {
+            return stockRepository.findByCode(code).map(this::fromEntity);
+        }
+        StockProfile profile = catalog.get(CATALOG).byCode().get(code);
+        if (profile == null) {
+            Optional<Stock> added = stockRepository.findByCode(code);
+            // 목록이 이 종목보다 먼저 만들어졌다. 다음 목록 조회가 새로 읽도록 비운다.
+            added.ifPresent(stock -> catalog.invalidate(CATALOG));
+            return added.map(this::fromEntity);
+        }
+        return Optional.ofNullable(quotesOf(List.of(profile.id())).get(profile.id()))
+                .map(quote -> new CachedStock(profile, quote));
+    }
+
+    /** 전 종목. ID 순. */
+    public List<CachedStock> findAll() {
+        if (!enabled) {
+            return stockRepository.findAll().stream()
+                    .sorted(Comparator.comparing(Stock::getId))
+                    .map(this::fromEntity)
+                    .collect(Collectors.toList());
+        }
+        List<StockProfile> profiles = catalog.get(CATALOG).profiles();
+        Map<Long, StockQuote> found = quotesOf(profiles.stream().map(StockProfile::id).toList());
+        // 시세가 없는 종목은 그사이 지워진 종목이다
+        return profiles.stream()
+                .filter(profile -> found.containsKey(profile.id()))
+                .map(profile -> new CachedStock(profile, found.get(profile.id())))
+                .collect(Collectors.toList());
+    }
+
+    /** 주어진 종목들에 현재 시세를 붙인다. 순서를 유지하고, 그사이 지워진 종목은 뺀다. */
+    public List<CachedStock> withQuotes(List<StockProfile> profiles) {
+        List<Long> stockIds = profiles.stream().map(StockProfile::id).toList();
+        Map<Long, StockQuote> found;
+        if (enabled) {
+            found = quotesOf(stockIds);
+        } else {
+            found = new HashMap<>();
+            stockRepository.findAllById(stockIds).forEach(stock -> found.put(stock.getId(),
+                    marketState.find(stock.getId()).orElseGet(() -> StockQuote.from(stock))));
+        }
+        return profiles.stream()
+                .filter(profile -> found.containsKey(profile.id()))
+                .map(profile -> new CachedStock(profile, found.get(profile.id())))
+                .collect(Collectors.toList());
+    }
+
+    /** 섹터 목록. 가나다순. */
+    public List<String> sectors() {
+        if (!enabled) {
+            return stockRepository.findAllSectors().stream().sorted().toList();
+        }
+        return catalog.get(CATALOG).sectors();
+    }
+
+    /** 목록과 시세를 모두 비운다. 종목을 관리 경로로 지웠을 때나 테스트에서 쓴다. */
+    public void invalidateAll() {
+        catalog.invalidateAll();
+        quotes.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceUpdated(StockPriceUpdatedEvent event) {
+        if (!enabled || marketState.isAuthoritative()) {
+            return;
+        }
+        List<StockQuote> refreshed = new ArrayList<>();
+        List<Long> uncached = new ArrayList<>();
+        Map<Long, StockQuote> cached = quotes.asMap();
+        for (PriceTick tick : event.ticks()) {
+            StockQuote next = cached.computeIfPresent(tick.stockId(), (id, quote) -> quote.withTick(tick));
+            if (next != null) {
+                refreshed.add(next);
+            } else {
+                uncached.add(tick.stockId());
+            }
+        }
+        sharedCache.putQuotes(refreshed);
+        sharedCache.evictQuotes(uncached);
+    }
+
+    private CachedStock fromEntity(Stock stock) {
+        return new CachedStock(StockProfile.from(stock),
+                marketState.find(stock.getId()).orElseGet(() -> StockQuote.from(stock)));
+    }
+
+    /** 메모리 시세가 원본이면 그것을, 아니면 시세 캐시를 쓴다. */
+    private Map<Long, StockQuote> quotesOf(Collection<Long> stockIds) {
+        if (!marketState.isAuthoritative()) {
+            return quotes.getAll(stockIds, this::loadQuotes);
+        }
+        Map<Long, StockQuote> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long stockId : stockIds) {
+            marketState.find(stockId).ifPresentOrElse(quote -> found.put(stockId, quote), () -> missing.add(stockId));
+        }
+        if (!missing.isEmpty()) {
+            found.putAll(quotes.getAll(missing, this::loadQuotes));
+        }
+        return found;
+    }
+
+    private Map<Long, StockQuote> loadQuotes(Set<? extends Long> stockIds) {
+        Map<Long, StockQuote> loaded = new HashMap<>();
+        if (sharedCache.isActive()) {
+            loaded.putAll(sharedLoads.record(() -> sharedCache.getQuotes(List.copyOf(stockIds))));
+            sharedHits.increment(loaded.size());
+            sharedMisses.increment(stockIds.size() - loaded.size());
+        }
+        Set<Long> missing = new HashSet<>(stockIds);
+        missing.removeAll(loaded.keySet());
+        if (!missing.isEmpty()) {
+            List<StockQuote> fromDb = dbLoads.record(() -> stockRepository.findAllById(missing).stream()
+                    .map(StockQuote::from)
+                    .toList());
+            fromDb.forEach(quote -> loaded.put(quote.stockId(), quote));
+            sharedCache.putQuotes(fromDb);
+        }
+        return loaded;
+    }
+
+    /** 전 종목 목록을 만든다. DB 에서 읽었으면 같은 행으로 시세 캐시도 채운다. */
+    private Catalog loadCatalog() {
+        if (sharedCache.isActive()) {
+            Optional<List<StockProfile>> shared = sharedLoads.record(sharedCache::getProfiles);
+            if (shared.isPresent()) {
+                sharedHits.increment();
+                return Catalog.of(shared.get());
+            }
+            sharedMisses.increment();
+        }
+        List<Stock> stocks = dbLoads.record(() -> stockRepository.findAll());
+        List<StockProfile> profiles = stocks.stream()
+                .sorted(Comparator.comparing(Stock::getId))
+                .map(StockProfile::from)
+                .toList();
+        if (!marketState.isAuthoritative()) {
+            quotes.putAll(stocks.stream().collect(Collectors.toMap(Stock::getId, StockQuote::from)));
+        }
+        sharedCache.putProfiles(profiles);
+        log.debug("종목 목록 캐시 적재: {}종목", profiles.size());
+        return Catalog.of(profiles);
+    }
+
+    /** 전 종목 정적 필드와 그 색인. 만든 뒤에는 바뀌지 않는다. */
+    private record Catalog(List<StockProfile> profiles, Map<String, StockProfile> byCode, List<String> sectors) {
+
+        static Catalog of(List<StockProfile> profiles) {
+            return new Catalog(
+                    profiles,
+                    profiles.stream().collect(Collectors.toUnmodifiableMap(StockProfile::code, Function.identity())),
+                    profiles.stream().map(StockProfile::sector).filter(Objects::nonNull).distinct().sorted().toList());
+        }
+    }
+}
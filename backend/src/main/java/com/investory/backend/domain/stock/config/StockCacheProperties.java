@@ -0,0 +1,46 @@
+package com.investory.backend.domain.stock.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 종목 조회 캐시 설정.
+ * <p>
+ * 정적 필드(이름·섹터·시장·로고)는 종목이 추가될 때만 바뀌므로 길게, 시세 필드는 틱마다 바뀌므로 짧게 둔다.
+ * 시세는 TTL 을 기다리지 않고 시세 이벤트로 갈아 끼우므로, 시세 TTL 은 이벤트를 못 받는 인스턴스를 위한 상한이다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "investory.stock.cache")
+public class StockCacheProperties {
+
+    /** 캐시 사용 여부. 끄면 모든 조회가 DB 로 간다. 테스트 프로파일에서는 false. */
+    private boolean enabled = true;
+
+    /**
+     * near-cache 뒤의 공유 캐시.
+     * <ul>
+     *   <li>{@code none}: 인스턴스 메모리만 쓴다. (기본)</li>
+     *   <li>{@code redis}: 공용 {@code RedisTemplate} 으로 인스턴스끼리 나눠 쓴다.</li>
+     * </ul>
+     */
+    private String shared = "none";
+
+    /** near-cache 의 시세 최대 항목 수. */
+    private long maximumSize = 10_000L;
+
+    /** 정적 필드(종목 목록) near-cache 유지 시간(초). 새 종목은 코드 조회에는 바로, 목록에는 이 시간 안에 보인다. */
+    private long profileTtlSeconds = 600L;
+
+    /** 시세 near-cache 유지 시간(ms). 시뮬레이터 주기 정도가 적당하다. */
+    private long priceTtlMs = 5_000L;
+
+    /** 공유 캐시 항목 유지 시간(초). */
+    private long sharedTtlSeconds = 600L;
+
+    /** 공유 캐시 키 접두어. */
+    private String keyPrefix = "investory:stock:";
+}
@@ -0,0 +1,39 @@
+package com.investory.backend.domain.stock.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시세 이력(틱 원장·캔들) 설정.
+ * <p>
+ * 캔들은 한 번 닫히면 지우지 않는다. 원장은 행이 종목 수 × 틱 수만큼 늘어나므로 보존 기간을 두고 정리한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "investory.stock.history")
+public class StockHistoryProperties {
+
+    /** 틱 원장 기록 여부. 끄면 캔들은 그대로 집계하되 원장 INSERT 만 건너뛴다. */
+    private boolean recordTicks = true;
+
+    /** 틱 원장 보존 기간(일). 열린 1분봉 복원에는 최근 1분만 쓰이므로 나머지는 사후 분석용이다. */
+    private int tickRetentionDays = 7;
+
+    /** 차트 조회 한 번에 돌려줄 최대 캔들 수. 틱 다운샘플 조회의 막대 수에도 같은 한도를 쓴다. */
+    private int maxCandles = 1000;
+
+    /**
+     * 틱 원장 저장소. {@code jdbc} (기본, {@code stock_ticks} 테이블) / {@code columnar} (메모리 매핑 세그먼트 파일).
+     * columnar 는 {@link #columnarDir} 가 재기동 뒤에도 남는 볼륨이어야 한다.
+     */
+    private String tickStore = "jdbc";
+
+    /** columnar 모드의 세그먼트 파일 디렉터리. */
+    private String columnarDir = "./data/ticks";
+
+    /** columnar 세그먼트의 컬럼 영역 크기(바이트). 파일 하나는 헤더 + 이 값 × 3 이다. */
+    private int columnarRegionBytes = 65536;
+}
@@ -0,0 +1,22 @@
+package com.investory.backend.domain.stock.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 종목 검색 색인 설정.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "investory.stock.search")
+public class StockSearchProperties {
+
+    /** 메모리 색인 사용 여부. 끄면 예전처럼 DB {@code LIKE} 로 찾는다. 테스트 프로파일에서는 false. */
+    private boolean enabled = true;
+
+    /** 색인을 DB 에서 다시 만드는 주기(ms). 관리 경로로 추가·수정된 종목이 검색에 보이기까지의 상한이다. */
+    private long refreshIntervalMs = 60_000L;
+}
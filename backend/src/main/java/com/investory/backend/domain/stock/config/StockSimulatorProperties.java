@@ -23,6 +23,24 @@ public class StockSimulatorProperties {
     /** 갱신 주기(ms). fixedDelay 기준이라 이전 실행이 끝난 뒤부터 센다. */
     private long intervalMs = 5000L;
 
+    /**
+     * 시세를 정하는 피드.
+     * <ul>
+     *   <li>{@code random-walk}: 전 종목을 매 틱 랜덤워크로 움직인다. (기본)</li>
+     *   <li>{@code replay}: {@link #replayFile} 의 녹화 틱을 {@link #replaySpeed} 배속으로 다시 튼다.</li>
+     * </ul>
+     */
+    private String feed = "random-walk";
+
+    /** replay 피드의 녹화 틱 파일 경로 (CSV: {@code epochMillis,code,price,volume}). */
+    private String replayFile;
+
+    /** replay 피드의 배속. 100 이면 녹화 100초를 1초에 재생한다. */
+    private double replaySpeed = 1.0d;
+
+    /** replay 피드가 파일 끝에 닿으면 처음부터 다시 틀지 여부. */
+    private boolean replayLoop = false;
+
     /** 틱당 최대 변동률 (0.005 = ±0.5%). */
     private double volatility = 0.005d;
 
@@ -32,6 +50,38 @@ public class StockSimulatorProperties {
      */
     private Long seed;
 
+    /**
+     * 가격 계산 샤드 수. 종목은 ID 로 샤드에 고정되고 샤드마다 시드에서 갈라진 난수 스트림을 쓴다.
+     * 2 이상이면 샤드를 병렬로 계산한다. 코어 수 정도가 적당하다. 1(기본)이면 스케줄러 스레드에서 순차 계산한다.
+     */
+    private int shards = 1;
+
+    /** 틱마다 미리 매겨 두는 인기 종목 순위의 길이(범위·유형마다). 인기 종목 API 의 limit 상한이기도 하다. */
+    private int leaderboardSize = 100;
+
     /** 틱당 추가되는 거래량의 상한. */
     private long maxVolumePerTick = 100_000L;
+
+    /**
+     * 시세를 DB 에 쓰는 방식.
+     * <ul>
+     *   <li>{@code entity}: 틱마다 전 종목 엔티티를 읽어 고치고 dirty checking 으로 행마다 UPDATE 한다. (기본)</li>
+     *   <li>{@code bulk}: 가격을 메모리에 들고 있다가 틱마다 JDBC 배치 UPDATE 한 번으로 쓴다.
+     *       종목이 수천 개 이상일 때 틱 지연이 종목 수에 덜 민감하다.</li>
+     *   <li>{@code write-behind}: 메모리의 {@code MarketState} 가 시세의 원본이다. 틱은 DB 를 건드리지 않고,
+     *       바뀐 종목만 {@link #flushIntervalMs} 마다 배치로 내려 쓴다. 조회·시장가 주문도 메모리 시세를 쓴다.</li>
+     * </ul>
+     */
+    private String writeMode = "entity";
+
+    /** write-behind 모드에서 메모리 시세를 DB 로 내려 쓰는 주기(ms). 비정상 종료 시 잃을 수 있는 시세 구간이다. */
+    private long flushIntervalMs = 1000L;
+
+    public boolean isBulkWrite() {
+        return "bulk".equalsIgnoreCase(writeMode);
+    }
+
+    public boolean isWriteBehind() {
+        return "write-behind".equalsIgnoreCase(writeMode);
+    }
 }
@@ -12,12 +12,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -53,12 +55,13 @@ public class StockController {
         return ResponseEntity.ok(ApiResponse.success(stocks));
     }
 
-    @Operation(summary = "인기 종목 조회", description = "거래량/상승률/하락률 기준 인기 종목을 조회합니다.")
+    @Operation(summary = "인기 종목 조회", description = "거래량/상승률/하락률 기준 인기 종목을 전체 또는 시장별로 조회합니다.")
     @GetMapping("/top")
     public ResponseEntity<ApiResponse<List<StockResponse.Summary>>> getTopStocks(
             @RequestParam(defaultValue = "volume") String type,
+            @RequestParam(required = false) Stock.Market market,
             @RequestParam(defaultValue = "10") int limit) {
-        List<StockResponse.Summary> stocks = stockService.getTopStocks(type, limit);
+        List<StockResponse.Summary> stocks = stockService.getTopStocks(type, market, limit);
         return ResponseEntity.ok(ApiResponse.success(stocks));
     }
 
@@ -83,6 +86,28 @@ public class StockController {
         return ResponseEntity.ok(ApiResponse.success(orderbook));
     }
 
+    @Operation(summary = "캔들 조회", description = "종목의 OHLCV 캔들(1m/5m/1h/1d)을 기간으로 조회합니다.")
+    @GetMapping("/{code}/candles")
+    public ResponseEntity<ApiResponse<List<StockResponse.Candle>>> getCandles(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "1m") String interval,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<StockResponse.Candle> candles = stockService.getCandles(code, interval, from, to);
+        return ResponseEntity.ok(ApiResponse.success(candles));
+    }
+
+    @Operation(summary = "틱 다운샘플 조회", description = "종목의 틱 원장을 step 초 폭의 OHLCV 막대로 줄여 조회합니다.")
+    @GetMapping("/{code}/ticks")
+    public ResponseEntity<ApiResponse<List<StockResponse.Candle>>> getTickBars(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "60") long step,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<StockResponse.Candle> bars = stockService.getTickBars(code, from, to, step);
+        return ResponseEntity.ok(ApiResponse.success(bars));
+    }
+
     @Operation(summary = "관심 종목 조회", description = "내 관심 종목 목록을 조회합니다.")
     @GetMapping("/watchlist")
     public ResponseEntity<ApiResponse<List<StockResponse.WatchlistItem>>> getWatchlist(
@@ -0,0 +1,73 @@
+package com.investory.backend.domain.stock.dto;
+
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+
+import java.math.BigDecimal;
+
+/**
+ * 한 종목의 시세 스냅샷 (엔티티가 아닌 불변 값).
+ * <p>
+ * {@code MarketState} 가 종목별로 하나씩 들고 있다가 틱마다 통째로 갈아 끼운다. 값이 불변이라
+ * 조회 스레드는 락 없이 읽어도 현재가와 변동률이 서로 다른 틱에서 온 조합을 보지 않는다.
+ */
+public record StockQuote(
+        Long stockId,
+        String code,
+        String name,
+        BigDecimal currentPrice,
+        BigDecimal previousClose,
+        BigDecimal changeAmount,
+        BigDecimal changeRate,
+        BigDecimal high52Week,
+        BigDecimal low52Week,
+        Long volume
+) {
+    public static StockQuote from(Stock stock) {
+        return new StockQuote(
+                stock.getId(),
+                stock.getCode(),
+                stock.getName(),
+                stock.getCurrentPrice(),
+                stock.getPreviousClose(),
+                stock.getChangeAmount(),
+                stock.getChangeRate(),
+                stock.getHigh52Week(),
+                stock.getLow52Week(),
+                stock.getVolume()
+        );
+    }
+
+    /** 틱 하나를 반영한 다음 값. 52주 고가·저가는 {@link Stock#updatePrice(BigDecimal, long)} 와 같은 규칙으로 넓힌다. */
+    public StockQuote withTick(PriceTick tick) {
+        BigDecimal price = tick.currentPrice();
+        return new StockQuote(
+                stockId,
+                code,
+                name,
+                price,
+                previousClose,
+                tick.changeAmount(),
+                tick.changeRate(),
+                high52Week.max(price),
+                low52Week.signum() == 0 ? price : low52Week.min(price),
+                tick.volume()
+        );
+    }
+
+    /** 시뮬레이터가 다음 틱을 계산할 영속성 컨텍스트 밖의 {@link Stock}. */
+    public Stock toDetachedStock() {
+        return Stock.builder()
+                .id(stockId)
+                .code(code)
+                .name(name)
+                .currentPrice(currentPrice)
+                .previousClose(previousClose)
+                .changeAmount(changeAmount)
+                .changeRate(changeRate)
+                .high52Week(high52Week)
+                .low52Week(low52Week)
+                .volume(volume)
+                .build();
+    }
+}
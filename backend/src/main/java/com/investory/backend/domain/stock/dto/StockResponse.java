@@ -1,12 +1,18 @@
 package com.investory.backend.domain.stock.dto;
 
+import com.investory.backend.domain.order.service.LimitOrderBook;
+import com.investory.backend.domain.stock.cache.CachedStock;
+import com.investory.backend.domain.stock.cache.StockProfile;
 import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.entity.StockCandle;
+import com.investory.backend.domain.stock.tickstore.TickSeries;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class StockResponse {
 
@@ -38,6 +44,41 @@ public class StockResponse {
                     .logoUrl(stock.getLogoUrl())
                     .build();
         }
+
+        /** 시세 필드만 메모리 시세({@link StockQuote})로 덮는다. quote 가 null 이면 엔티티 값 그대로. */
+        public static Summary from(Stock stock, StockQuote quote) {
+            if (quote == null) {
+                return from(stock);
+            }
+            return Summary.builder()
+                    .id(stock.getId())
+                    .code(stock.getCode())
+                    .name(stock.getName())
+                    .market(stock.getMarket().name())
+                    .currentPrice(quote.currentPrice())
+                    .changeRate(quote.changeRate())
+                    .changeAmount(quote.changeAmount())
+                    .volume(quote.volume())
+                    .logoUrl(stock.getLogoUrl())
+                    .build();
+        }
+
+        /** 캐시에서 모은 정적 필드와 시세 필드로 만든다. */
+        public static Summary from(CachedStock cached) {
+            StockProfile profile = cached.profile();
+            StockQuote quote = cached.quote();
+            return Summary.builder()
+                    .id(profile.id())
+                    .code(profile.code())
+                    .name(profile.name())
+                    .market(profile.market().name())
+                    .currentPrice(quote.currentPrice())
+                    .changeRate(quote.changeRate())
+                    .changeAmount(quote.changeAmount())
+                    .volume(quote.volume())
+                    .logoUrl(profile.logoUrl())
+                    .build();
+        }
     }
 
     @Getter
@@ -80,6 +121,53 @@ public class StockResponse {
                     .logoUrl(stock.getLogoUrl())
                     .build();
         }
+
+        /** 시세 필드만 메모리 시세({@link StockQuote})로 덮는다. quote 가 null 이면 엔티티 값 그대로. */
+        public static Detail from(Stock stock, StockQuote quote) {
+            if (quote == null) {
+                return from(stock);
+            }
+            return Detail.builder()
+                    .id(stock.getId())
+                    .code(stock.getCode())
+                    .name(stock.getName())
+                    .englishName(stock.getEnglishName())
+                    .market(stock.getMarket().name())
+                    .sector(stock.getSector())
+                    .currentPrice(quote.currentPrice())
+                    .previousClose(quote.previousClose())
+                    .changeRate(quote.changeRate())
+                    .changeAmount(quote.changeAmount())
+                    .high52Week(quote.high52Week())
+                    .low52Week(quote.low52Week())
+                    .volume(quote.volume())
+                    .marketCap(stock.getMarketCap())
+                    .logoUrl(stock.getLogoUrl())
+                    .build();
+        }
+
+        /** 캐시에서 모은 정적 필드와 시세 필드로 만든다. */
+        public static Detail from(CachedStock cached) {
+            StockProfile profile = cached.profile();
+            StockQuote quote = cached.quote();
+            return Detail.builder()
+                    .id(profile.id())
+                    .code(profile.code())
+                    .name(profile.name())
+                    .englishName(profile.englishName())
+                    .market(profile.market().name())
+                    .sector(profile.sector())
+                    .currentPrice(quote.currentPrice())
+                    .previousClose(quote.previousClose())
+                    .changeRate(quote.changeRate())
+                    .changeAmount(quote.changeAmount())
+                    .high52Week(quote.high52Week())
+                    .low52Week(quote.low52Week())
+                    .volume(quote.volume())
+                    .marketCap(profile.marketCap())
+                    .logoUrl(profile.logoUrl())
+                    .build();
+        }
     }
 
     @Getter
@@ -93,10 +181,14 @@ public class StockResponse {
         private Integer sortOrder;
 
         public static WatchlistItem from(com.investory.backend.domain.stock.entity.Watchlist watchlist) {
+            return from(watchlist, Summary.from(watchlist.getStock()));
+        }
+
+        public static WatchlistItem from(com.investory.backend.domain.stock.entity.Watchlist watchlist, Summary stock) {
             return WatchlistItem.builder()
                     .id(watchlist.getId())
                     .groupName(watchlist.getGroupName())
-                    .stock(Summary.from(watchlist.getStock()))
+                    .stock(stock)
                     .sortOrder(watchlist.getSortOrder())
                     .build();
         }
@@ -110,6 +202,10 @@ public class StockResponse {
         private BigDecimal price;
         private Long quantity;
         private Integer count;
+
+        public static OrderbookEntry from(LimitOrderBook.DepthLevel level) {
+            return new OrderbookEntry(level.price(), level.quantity(), level.count());
+        }
     }
 
     @Getter
@@ -120,5 +216,57 @@ public class StockResponse {
         private String stockCode;
         private java.util.List<OrderbookEntry> asks;
         private java.util.List<OrderbookEntry> bids;
+
+        /** 화면에 위에서 아래로 그리는 순서다. 매도는 높은 가격부터, 매수는 높은 가격부터. */
+        public static Orderbook from(String stockCode, LimitOrderBook.Depth depth) {
+            java.util.List<OrderbookEntry> asks = new java.util.ArrayList<>(depth.asks().size());
+            for (int i = depth.asks().size() - 1; i >= 0; i--) {
+                asks.add(OrderbookEntry.from(depth.asks().get(i)));
+            }
+            return Orderbook.builder()
+                    .stockCode(stockCode)
+                    .asks(asks)
+                    .bids(depth.bids().stream().map(OrderbookEntry::from).toList())
+                    .build();
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Candle {
+        private LocalDateTime openTime;
+        private BigDecimal open;
+        private BigDecimal high;
+        private BigDecimal low;
+        private BigDecimal close;
+        private Long volume;
+        /** 구간이 끝나 더는 바뀌지 않으면 true. 지금 열린 캔들은 false 이고 다음 틱에 값이 바뀔 수 있다. */
+        private boolean closed;
+
+        public static Candle from(StockCandle candle, boolean closed) {
+            return Candle.builder()
+                    .openTime(candle.getOpenTime())
+                    .open(candle.getOpenPrice())
+                    .high(candle.getHighPrice())
+                    .low(candle.getLowPrice())
+                    .close(candle.getClosePrice())
+                    .volume(candle.getVolume())
+                    .closed(closed)
+                    .build();
+        }
+
+        public static Candle from(TickSeries.Bars bars, int index, LocalDateTime openTime, boolean closed) {
+            return Candle.builder()
+                    .openTime(openTime)
+                    .open(bars.openAt(index))
+                    .high(bars.highAt(index))
+                    .low(bars.lowAt(index))
+                    .close(bars.closeAt(index))
+                    .volume(bars.volumeAt(index))
+                    .closed(closed)
+                    .build();
+        }
     }
 }
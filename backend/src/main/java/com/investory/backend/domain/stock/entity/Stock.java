@@ -1,5 +1,6 @@
 package com.investory.backend.domain.stock.entity;
 
+import com.investory.backend.global.common.Money;
 import com.investory.backend.global.common.dto.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -87,19 +88,22 @@ public class Stock extends BaseEntity {
      * "전일 대비"가 아니라 "직전 틱 대비"가 되어 있었다. 시세가 초 단위로 갱신되는 시뮬레이터를
      * 붙이면 변동률이 항상 ±0.5% 언저리에 머물러 화면상 의미가 사라진다.
      * previousClose 는 장 마감/일자 롤오버 시점에만 바뀌어야 하는 값이므로 여기서는 건드리지 않는다.
+     * <p>
+     * 시뮬레이터가 틱마다 전 종목에 부르므로 변동폭/변동률은 정수화한 금액({@link Money})으로 계산하고
+     * 필드에 넣을 때만 {@link BigDecimal} 로 바꾼다. 반올림 결과는 BigDecimal 나눗셈과 같다.
      *
      * @param newPrice    새 현재가
      * @param addedVolume 이번 틱에서 추가된 거래량 (누적)
      */
     public void updatePrice(BigDecimal newPrice, long addedVolume) {
+        long price = Money.of(newPrice);
+        long previous = Money.of(this.previousClose);
+        long change = Money.minus(price, previous);
         this.currentPrice = newPrice;
-        this.changeAmount = newPrice.subtract(this.previousClose);
+        this.changeAmount = Money.toBigDecimal(change);
 
-        if (this.previousClose.compareTo(BigDecimal.ZERO) > 0) {
-            this.changeRate = this.changeAmount
-                    .divide(this.previousClose, 4, java.math.RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-                    .setScale(2, java.math.RoundingMode.HALF_UP);
+        if (previous > 0) {
+            this.changeRate = Money.toBigDecimal(Money.percentOf(change, previous));
         }
 
         this.volume += addedVolume;
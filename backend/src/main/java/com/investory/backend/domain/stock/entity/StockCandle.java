@@ -0,0 +1,93 @@
+package com.investory.backend.domain.stock.entity;
+
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 닫힌 OHLCV 캔들.
+ * <p>
+ * 구간이 끝난 캔들만 한 번 INSERT 되고 다시 고쳐지지 않는다. 아직 열린 캔들은 {@code CandleAggregator} 메모리에만 있다.
+ * 종목은 {@link StockTick} 과 같은 이유로 FK 없이 ID 만 든다.
+ */
+@Entity
+@Table(name = "stock_candles", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_stock_candle", columnNames = {"stock_id", "candle_interval", "open_time"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class StockCandle {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stock_id", nullable = false)
+    private Long stockId;
+
+    /** {@code interval} 은 MySQL 예약어라 컬럼명을 바꿨다. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "candle_interval", nullable = false, length = 10)
+    private Interval interval;
+
+    @Column(name = "open_time", nullable = false)
+    private LocalDateTime openTime;
+
+    @Column(name = "open_price", nullable = false, precision = 20, scale = 2)
+    private BigDecimal openPrice;
+
+    @Column(name = "high_price", nullable = false, precision = 20, scale = 2)
+    private BigDecimal highPrice;
+
+    @Column(name = "low_price", nullable = false, precision = 20, scale = 2)
+    private BigDecimal lowPrice;
+
+    @Column(name = "close_price", nullable = false, precision = 20, scale = 2)
+    private BigDecimal closePrice;
+
+    @Column(nullable = false)
+    private Long volume;
+
+    /**
+     * 캔들 구간. 선언 순서가 작은 구간 → 큰 구간이고, 각 구간은 바로 앞 구간의 배수다.
+     * 구간 경계는 서버 시간대(LocalDateTime) 기준이라 일봉은 자정에 나뉜다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Interval {
+        ONE_MINUTE("1m", Duration.ofMinutes(1)),
+        FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+        ONE_HOUR("1h", Duration.ofHours(1)),
+        ONE_DAY("1d", Duration.ofDays(1));
+
+        private final String code;
+        private final Duration duration;
+
+        /** 시각이 속한 구간의 시작 시각. */
+        public LocalDateTime openTimeOf(LocalDateTime time) {
+            return switch (this) {
+                case ONE_MINUTE -> time.truncatedTo(ChronoUnit.MINUTES);
+                case FIVE_MINUTES -> time.truncatedTo(ChronoUnit.MINUTES).withMinute(time.getMinute() / 5 * 5);
+                case ONE_HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+                case ONE_DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            };
+        }
+
+        public static Interval fromCode(String code) {
+            for (Interval interval : values()) {
+                if (interval.code.equalsIgnoreCase(code)) {
+                    return interval;
+                }
+            }
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+}
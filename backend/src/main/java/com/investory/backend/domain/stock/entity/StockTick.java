@@ -0,0 +1,45 @@
+package com.investory.backend.domain.stock.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 시세 틱 원장 (append-only).
+ * <p>
+ * 시세가 커밋될 때마다 움직인 종목당 한 행씩 쌓인다. 고치거나 지우는 경로는 보존 기간 정리뿐이다.
+ * 차트는 이 테이블이 아니라 {@link StockCandle} 을 읽는다. 원장은 열린 1분봉 복원과 사후 분석용이다.
+ * <p>
+ * 종목은 FK 없이 ID 만 든다. 행이 가장 빨리 느는 테이블이라 INSERT 마다 부모 행을 확인하는 비용을 피하고,
+ * 종목을 지워도 지난 시세는 남긴다.
+ */
+@Entity
+@Table(name = "stock_ticks", indexes = {
+    @Index(name = "idx_stock_tick_stock_time", columnList = "stock_id, traded_at"),
+    @Index(name = "idx_stock_tick_time", columnList = "traded_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class StockTick {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stock_id", nullable = false)
+    private Long stockId;
+
+    @Column(nullable = false, precision = 20, scale = 2)
+    private BigDecimal price;
+
+    /** 이 틱에서 체결된 거래량 (누적 거래량이 아님). */
+    @Column(nullable = false)
+    private Long volume;
+
+    @Column(name = "traded_at", nullable = false)
+    private LocalDateTime tradedAt;
+}
@@ -15,7 +15,12 @@ import java.util.List;
  */
 public record StockPriceUpdatedEvent(List<PriceTick> ticks) {
 
-    /** 한 종목의 갱신 결과 스냅샷 (엔티티가 아닌 값). */
+    /**
+     * 한 종목의 갱신 결과 스냅샷 (엔티티가 아닌 값).
+     * <p>
+     * {@code volume} 은 누적 거래량, {@code tradedVolume} 은 이번 틱에 더해진 거래량이다.
+     * 지정가 매처는 후자를 틱 단위 유동성으로 보고 부분 체결 수량을 정한다.
+     */
     public record PriceTick(
             Long stockId,
             String code,
@@ -23,9 +28,10 @@ public record StockPriceUpdatedEvent(List<PriceTick> ticks) {
             BigDecimal currentPrice,
             BigDecimal changeAmount,
             BigDecimal changeRate,
-            Long volume
+            Long volume,
+            long tradedVolume
     ) {
-        public static PriceTick from(Stock stock) {
+        public static PriceTick from(Stock stock, long tradedVolume) {
             return new PriceTick(
                     stock.getId(),
                     stock.getCode(),
@@ -33,7 +39,8 @@ public record StockPriceUpdatedEvent(List<PriceTick> ticks) {
                     stock.getCurrentPrice(),
                     stock.getChangeAmount(),
                     stock.getChangeRate(),
-                    stock.getVolume()
+                    stock.getVolume(),
+                    tradedVolume
             );
         }
     }
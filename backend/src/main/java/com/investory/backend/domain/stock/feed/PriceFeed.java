@@ -0,0 +1,27 @@
+package com.investory.backend.domain.stock.feed;
+
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+
+import java.util.List;
+
+/**
+ * 가격 피드. "다음 시세가 무엇인가"만 정한다.
+ * <p>
+ * 종목을 어디서 읽고 어떻게 쓰는지({@code write-mode}), 이벤트를 언제 발행하는지는 {@code StockPriceSimulator} 가
+ * 맡는다. 피드는 넘겨받은 종목 중 이번 틱에 움직일 종목에만 {@link Stock#updatePrice(java.math.BigDecimal, long)} 를
+ * 부르고 그 틱을 돌려준다. 그래서 어느 피드를 쓰든 매칭·SSE·포트폴리오 평가는 같은 경로로 시세를 받는다.
+ * <p>
+ * {@code investory.stock.simulator.feed} 값으로 구현 하나만 빈으로 등록된다. ({@link PriceFeeds} 참고)
+ * 실서비스 시세(한국투자증권 오픈API) 연동도 이 인터페이스의 구현 하나로 붙이면 된다.
+ */
+public interface PriceFeed {
+
+    /**
+     * 한 틱만큼 시세를 움직인다. 스케줄러 스레드 하나에서만 호출된다.
+     *
+     * @param stocks 이번 틱의 전 종목. 엔티티 모드면 관리 상태 엔티티, 그 외에는 영속성 컨텍스트 밖의 사본
+     * @return 움직인 종목의 틱. 움직인 종목이 없으면 빈 목록
+     */
+    List<PriceTick> advance(List<Stock> stocks);
+}
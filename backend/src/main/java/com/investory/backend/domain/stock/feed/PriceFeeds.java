@@ -0,0 +1,253 @@
+package com.investory.backend.domain.stock.feed;
+
+import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.feed.ReplayTickFile.RecordedTick;
+import com.investory.backend.global.common.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@link PriceFeed} 구현 모음.
+ * {@code SseBroadcasters} 와 같은 구성으로, {@code investory.stock.simulator.feed} 값 하나에 구현 하나만 등록된다.
+ */
+public final class PriceFeeds {
+
+    private PriceFeeds() {
+    }
+
+    /**
+     * random-walk 피드 (기본): 전 종목을 매 틱 랜덤워크 한 스텝씩 움직인다.
+     * <p>
+     * <b>샤드</b><br>
+     * 종목은 ID 로 샤드에 고정되고({@code id mod shards}), 샤드마다 자기 난수 스트림으로 ID 순서대로 계산한다.
+     * 샤드가 둘 이상이면 공용 ForkJoin 풀에서 병렬로 돌린다. 가격 계산은 CPU 만 쓰므로 코어 수만큼 빨라진다.
+     * 엔티티 모드에서 다른 스레드가 관리 상태 엔티티의 필드를 고치지만, 영속성 컨텍스트에는 손대지 않고
+     * 모든 샤드가 끝난 뒤(join 이 가시성을 보장) 호출 스레드가 커밋하므로 안전하다.
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnExpression("'${investory.stock.simulator.feed:random-walk}' != 'replay'")
+    public static class RandomWalk implements PriceFeed {
+
+        private final StockSimulatorProperties properties;
+
+        /**
+         * 샤드별 난수 생성기.
+         * 시드 하나에서 {@link SplittableRandom#split()} 으로 샤드 수만큼 독립 스트림을 뽑는다. 샤드 하나는 한 번에
+         * 한 스레드만 계산하므로 동기화가 필요 없다. 시드가 주어지면 같은 샤드 수에서 재현 가능한 시퀀스가 만들어진다.
+         * (샤드 수가 바뀌면 종목과 스트림의 짝이 바뀌므로 시퀀스도 달라진다.)
+         */
+        private SplittableRandom[] randoms;
+
+        @Override
+        public List<PriceTick> advance(List<Stock> stocks) {
+            SplittableRandom[] shardRandoms = randoms();
+            List<List<Stock>> shards = partition(stocks, shardRandoms.length);
+            if (shards.size() == 1) {
+                return advanceShard(shards.get(0), shardRandoms[0]);
+            }
+            return IntStream.range(0, shards.size())
+                    .parallel()
+                    .mapToObj(i -> advanceShard(shards.get(i), shardRandoms[i]))
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+        }
+
+        private SplittableRandom[] randoms() {
+            if (randoms == null) {
+                SplittableRandom root = properties.getSeed() != null
+                        ? new SplittableRandom(properties.getSeed())
+                        : new SplittableRandom();
+                SplittableRandom[] created = new SplittableRandom[Math.max(1, properties.getShards())];
+                for (int i = 0; i < created.length; i++) {
+                    created[i] = root.split();
+                }
+                randoms = created;
+            }
+            return randoms;
+        }
+
+        private static List<List<Stock>> partition(List<Stock> stocks, int shardCount) {
+            List<List<Stock>> shards = new ArrayList<>(shardCount);
+            for (int i = 0; i < shardCount; i++) {
+                shards.add(new ArrayList<>());
+            }
+            for (Stock stock : stocks) {
+                shards.get((int) Math.floorMod(stock.getId(), (long) shardCount)).add(stock);
+            }
+            // findAll 은 순서를 보장하지 않는다. 같은 시드에서 같은 종목이 같은 난수를 받도록 정렬한다.
+            shards.forEach(shard -> shard.sort(Comparator.comparing(Stock::getId)));
+            return shards;
+        }
+
+        private List<PriceTick> advanceShard(List<Stock> stocks, SplittableRandom random) {
+            List<PriceTick> ticks = new ArrayList<>(stocks.size());
+            for (Stock stock : stocks) {
+                long newPrice = nextPrice(Money.of(stock.getCurrentPrice()), random);
+                long addedVolume = (long) (random.nextDouble() * properties.getMaxVolumePerTick());
+
+                stock.updatePrice(Money.toBigDecimal(newPrice), addedVolume);
+                ticks.add(PriceTick.from(stock, addedVolume));
+            }
+            return ticks;
+        }
+
+        /**
+         * 랜덤워크 한 스텝.
+         * 변동률을 {@code [-volatility, +volatility]} 균등분포에서 뽑아 현재가에 곱한다.
+         * 가격은 원 단위로 반올림하고, 0 이하로 내려가지 않도록 하한을 1원으로 둔다.
+         * 종목마다 매 틱 도는 계산이라 정수화한 금액({@link Money})으로 곱한다.
+         */
+        private long nextPrice(long currentPrice, SplittableRandom random) {
+            double delta = (random.nextDouble() * 2 - 1) * properties.getVolatility();
+            return Math.max(Money.timesToWon(currentPrice, 1 + delta), Money.ONE_WON);
+        }
+    }
+
+    /**
+     * replay 피드: 녹화된 틱 파일({@link ReplayTickFile})을 정해진 배속으로 다시 튼다.
+     * <p>
+     * <b>배속</b><br>
+     * 피드는 녹화 시각 기준의 재생 시계를 들고 있다. 틱마다 시계를 "지난 틱 이후 흐른 벽시계 시간 × {@code replay-speed}"
+     * 만큼 앞으로 돌리고, 그 사이에 녹화된 틱을 모두 적용한다. 흐른 시간은 {@code interval-ms} 보다 짧게 치지 않아,
+     * 테스트처럼 틱을 직접 연달아 불러도 한 번에 {@code interval-ms × replay-speed} 씩 결정적으로 나아간다.
+     * 예를 들어 {@code interval-ms=100, replay-speed=100} 이면 틱 하나가 녹화 10초를 재생한다.
+     * <p>
+     * <b>한 틱 안의 여러 녹화 틱</b><br>
+     * 같은 종목이 한 창에 여러 번 녹화돼 있으면 가격은 마지막 값, 거래량은 합을 쓴다. 발행되는 틱 수는 종목 수를
+     * 넘지 않으므로, 배속을 올려도 매칭·SSE 가 받는 부하는 "움직인 종목 수"로 묶인다.
+     * 파일에는 있지만 DB 에 없는 종목 코드는 건너뛰고 센다.
+     * <p>
+     * 파일 끝에 닿으면 {@code replay-loop} 이 켜져 있을 때 처음으로 되감고, 아니면 더는 시세를 움직이지 않는다.
+     */
+    @Slf4j
+    @Component
+    @ConditionalOnProperty(name = "investory.stock.simulator.feed", havingValue = "replay")
+    public static class Replay implements PriceFeed {
+
+        private final StockSimulatorProperties properties;
+        private final ReplayTickFile file;
+
+        /** 재생 시계 (녹화 시각 epoch ms). 이 시각 이하의 녹화 틱은 적용됐다. */
+        private long replayClock;
+        /** 마지막 {@link #advance} 의 벽시계(nanoTime). 0 이면 아직 재생 전. */
+        private long lastAdvanceNanos;
+        private boolean finished;
+
+        /** 실험용: 적용한 녹화 틱 수와 종목을 몰라 건너뛴 녹화 틱 수. {@code OrderService} 의 시도 카운터와 같은 이유로 LongAdder 다. */
+        private final LongAdder replayedTicks = new LongAdder();
+        private final LongAdder skippedTicks = new LongAdder();
+
+        public Replay(StockSimulatorProperties properties) {
+            if (!StringUtils.hasText(properties.getReplayFile())) {
+                throw new IllegalStateException("feed=replay 면 investory.stock.simulator.replay-file 을 지정해야 한다");
+            }
+            if (properties.getReplaySpeed() <= 0) {
+                throw new IllegalStateException("replay-speed 는 0 보다 커야 한다: " + properties.getReplaySpeed());
+            }
+            this.properties = properties;
+            this.file = ReplayTickFile.open(Path.of(properties.getReplayFile()));
+            this.replayClock = file.getFirstTimestamp();
+            log.info("시세 리플레이 준비: file={}, 틱={}, 녹화 구간={}ms, 배속={}x",
+                    file.getPath(), file.getTickCount(),
+                    file.getLastTimestamp() - file.getFirstTimestamp(), properties.getReplaySpeed());
+        }
+
+        @Override
+        public List<PriceTick> advance(List<Stock> stocks) {
+            if (finished || file.getTickCount() == 0) {
+                return List.of();
+            }
+            replayClock += step();
+
+            Map<String, Move> moves = new LinkedHashMap<>();
+            for (RecordedTick recorded = file.peek();
+                 recorded != null && recorded.timestamp() <= replayClock;
+                 recorded = file.peek()) {
+                file.next();
+                moves.merge(recorded.code(), new Move(recorded.price(), recorded.volume()),
+                        (before, after) -> new Move(after.price(), before.volume() + after.volume()));
+                replayedTicks.increment();
+            }
+            if (file.peek() == null) {
+                rewindOrFinish();
+            }
+            if (moves.isEmpty()) {
+                return List.of();
+            }
+
+            Map<String, Stock> byCode = new HashMap<>(stocks.size() * 2);
+            stocks.forEach(stock -> byCode.put(stock.getCode(), stock));
+            List<PriceTick> ticks = new ArrayList<>(moves.size());
+            for (Map.Entry<String, Move> entry : moves.entrySet()) {
+                Stock stock = byCode.get(entry.getKey());
+                if (stock == null) {
+                    skippedTicks.increment();
+                    continue;
+                }
+                Move move = entry.getValue();
+                stock.updatePrice(move.price(), move.volume());
+                ticks.add(PriceTick.from(stock, move.volume()));
+            }
+            return ticks;
+        }
+
+        /** 이번 틱에 재생 시계를 돌릴 양(ms). */
+        private long step() {
+            long now = System.nanoTime();
+            long elapsedMs = lastAdvanceNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(now - lastAdvanceNanos);
+            lastAdvanceNanos = now;
+            return (long) (Math.max(properties.getIntervalMs(), elapsedMs) * properties.getReplaySpeed());
+        }
+
+        private void rewindOrFinish() {
+            if (properties.isReplayLoop()) {
+                file.rewind();
+                replayClock = file.getFirstTimestamp();
+                log.info("시세 리플레이 되감기: file={}", file.getPath());
+            } else {
+                finished = true;
+                log.info("시세 리플레이 종료: file={}, 적용={}, 건너뜀={}",
+                        file.getPath(), replayedTicks.sum(), skippedTicks.sum());
+            }
+        }
+
+        /** 실험용: 적용한 녹화 틱 수. */
+        public long getReplayedTicks() {
+            return replayedTicks.sum();
+        }
+
+        /** 실험용: DB 에 없는 종목이라 건너뛴 녹화 틱 수. 같은 창에서 합쳐진 틱은 한 번으로 센다. */
+        public long getSkippedTicks() {
+            return skippedTicks.sum();
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        /** 한 창 안에서 합친 종목 하나의 움직임. */
+        private record Move(BigDecimal price, long volume) {
+        }
+    }
+}
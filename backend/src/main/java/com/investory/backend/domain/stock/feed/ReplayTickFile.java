@@ -0,0 +1,182 @@
+package com.investory.backend.domain.stock.feed;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 리플레이용 녹화 틱 파일 (CSV, 읽기 전용 메모리 매핑).
+ * <p>
+ * <b>형식</b><br>
+ * 한 줄에 틱 하나: {@code epochMillis,종목코드,가격,거래량}. 시각은 줄 순서대로 줄지 않아야 한다.
+ * 숫자로 시작하지 않는 줄(헤더, {@code #} 주석)과 빈 줄은 건너뛴다. 줄 끝은 LF 와 CRLF 를 모두 받는다.
+ * <pre>
+ * timestamp,code,price,volume
+ * 1735693200000,005930,70100,1200
+ * 1735693200350,000660,120500,300
+ * </pre>
+ * <p>
+ * <b>왜 메모리 매핑인가</b><br>
+ * 하루치 전 종목 틱은 수백 MB 가 된다. 힙에 올리지 않고 OS 페이지 캐시를 그대로 읽으므로, 반복 리플레이에서도
+ * 두 번째부터는 디스크를 읽지 않고 GC 부담도 없다. 매핑 하나가 2GB 까지라 그보다 큰 파일은 나눠서 쓴다.
+ * <p>
+ * 열 때 한 번 끝까지 훑어 형식과 시각 순서를 검사한다. 리플레이 도중이 아니라 기동 시점에 실패하게 하려는 것이다.
+ * 스케줄러 스레드 하나만 읽으므로 동기화하지 않는다.
+ */
+public final class ReplayTickFile {
+
+    /** 녹화된 틱 한 건. */
+    public record RecordedTick(long timestamp, String code, BigDecimal price, long volume) {
+    }
+
+    @Getter
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    @Getter
+    private final long tickCount;
+    @Getter
+    private final long firstTimestamp;
+    @Getter
+    private final long lastTimestamp;
+
+    /** {@link #peek} 으로 미리 읽어 둔 틱. */
+    private RecordedTick pending;
+
+    private ReplayTickFile(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+
+        long count = 0;
+        long first = 0;
+        long previous = Long.MIN_VALUE;
+        for (RecordedTick tick = readNext(); tick != null; tick = readNext()) {
+            if (tick.timestamp() < previous) {
+                throw new IllegalStateException(
+                        "리플레이 파일의 시각이 거꾸로 간다: " + path + " (" + (count + 1) + "번째 틱)");
+            }
+            if (count == 0) {
+                first = tick.timestamp();
+            }
+            previous = tick.timestamp();
+            count++;
+        }
+        this.tickCount = count;
+        this.firstTimestamp = first;
+        this.lastTimestamp = count == 0 ? 0 : previous;
+        rewind();
+    }
+
+    public static ReplayTickFile open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("리플레이 파일은 2GB 이하여야 한다: " + path + " (" + size + " bytes)");
+            }
+            // 매핑은 채널을 닫아도 유지된다.
+            return new ReplayTickFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException e) {
+            throw new IllegalStateException("리플레이 파일을 열 수 없다: " + path, e);
+        }
+    }
+
+    /** 다음 틱을 소비하지 않고 본다. 끝이면 null. */
+    public RecordedTick peek() {
+        if (pending == null) {
+            pending = readNext();
+        }
+        return pending;
+    }
+
+    /** 다음 틱을 꺼낸다. 끝이면 null. */
+    public RecordedTick next() {
+        RecordedTick tick = peek();
+        pending = null;
+        return tick;
+    }
+
+    /** 처음으로 되감는다. */
+    public void rewind() {
+        buffer.position(0);
+        pending = null;
+    }
+
+    private RecordedTick readNext() {
+        int limit = buffer.limit();
+        while (buffer.position() < limit) {
+            int start = buffer.position();
+            int end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            buffer.position(Math.min(end + 1, limit));
+            int lineEnd = end > start && buffer.get(end - 1) == '\r' ? end - 1 : end;
+            if (lineEnd > start && isDigit(buffer.get(start))) {
+                return parse(start, lineEnd);
+            }
+        }
+        return null;
+    }
+
+    private RecordedTick parse(int start, int end) {
+        int first = indexOf(',', start, end);
+        int second = first < 0 ? -1 : indexOf(',', first + 1, end);
+        int third = second < 0 ? -1 : indexOf(',', second + 1, end);
+        if (third < 0) {
+            throw malformed(start, end);
+        }
+        try {
+            return new RecordedTick(
+                    parseLong(start, first),
+                    ascii(first + 1, second),
+                    new BigDecimal(ascii(second + 1, third)),
+                    parseLong(third + 1, end));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw malformed(start, end);
+        }
+    }
+
+    private int indexOf(char c, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** 음수 없는 10진 정수. 줄마다 String 을 만들지 않으려고 바이트에서 바로 읽는다. */
+    private long parseLong(int from, int end) {
+        if (from >= end) {
+            throw new NumberFormatException();
+        }
+        long value = 0;
+        for (int i = from; i < end; i++) {
+            byte b = buffer.get(i);
+            if (!isDigit(b)) {
+                throw new NumberFormatException();
+            }
+            value = Math.multiplyExact(value, 10) + (b - '0');
+        }
+        return value;
+    }
+
+    private String ascii(int from, int end) {
+        byte[] bytes = new byte[end - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII).trim();
+    }
+
+    private IllegalStateException malformed(int start, int end) {
+        return new IllegalStateException("리플레이 파일 형식 오류: " + path + " @" + start + " [" + ascii(start, end) + "]");
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,36 @@
+package com.investory.backend.domain.stock.repository;
+
+import com.investory.backend.domain.stock.entity.StockCandle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockCandleRepository extends JpaRepository<StockCandle, Long> {
+
+    /** 차트 조회. 유니크 키 (stock_id, candle_interval, open_time) 인덱스를 그대로 탄다. */
+    @Query("""
+            SELECT c FROM StockCandle c
+            WHERE c.stockId = :stockId AND c.interval = :interval
+              AND c.openTime BETWEEN :from AND :to
+            ORDER BY c.openTime
+            """)
+    List<StockCandle> findRange(@Param("stockId") Long stockId,
+                                @Param("interval") StockCandle.Interval interval,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+
+    /** 기동 시 열린 캔들 복원용. 전 종목의 한 구간 캔들을 시각 순으로 읽는다. */
+    @Query("""
+            SELECT c FROM StockCandle c
+            WHERE c.interval = :interval AND c.openTime >= :from AND c.openTime < :until
+            ORDER BY c.openTime
+            """)
+    List<StockCandle> findAllOpenedBetween(@Param("interval") StockCandle.Interval interval,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,43 @@
+package com.investory.backend.domain.stock.repository;
+
+import com.investory.backend.domain.stock.entity.StockCandle;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 캔들 쓰기 전용 JDBC 저장소. 틱 원장은 {@code TickStore} 가 맡는다.
+ * <p>
+ * IDENTITY 키라 {@code saveAll} 은 행마다 INSERT 를 따로 보낸다(Hibernate 가 생성 키를 받아야 해서
+ * 배치를 끈다). 여기서는 키를 돌려받을 필요가 없으므로 JDBC 배치 INSERT 한 번으로 쓴다.
+ * 테이블·컬럼 이름은 엔티티에 명시해 둔 이름을 그대로 쓴다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockHistoryJdbcRepository {
+
+    private static final String INSERT_CANDLE =
+            "INSERT INTO stock_candles (stock_id, candle_interval, open_time, open_price, high_price, low_price, close_price, volume) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertCandles(List<StockCandle> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_CANDLE, candles, candles.size(), (ps, candle) -> {
+            ps.setLong(1, candle.getStockId());
+            ps.setString(2, candle.getInterval().name());
+            ps.setTimestamp(3, Timestamp.valueOf(candle.getOpenTime()));
+            ps.setBigDecimal(4, candle.getOpenPrice());
+            ps.setBigDecimal(5, candle.getHighPrice());
+            ps.setBigDecimal(6, candle.getLowPrice());
+            ps.setBigDecimal(7, candle.getClosePrice());
+            ps.setLong(8, candle.getVolume());
+        });
+    }
+}
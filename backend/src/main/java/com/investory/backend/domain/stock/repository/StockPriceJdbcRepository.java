@@ -0,0 +1,125 @@
+package com.investory.backend.domain.stock.repository;
+
+import com.investory.backend.domain.stock.dto.StockQuote;
+import com.investory.backend.domain.stock.entity.Stock;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 시세 시뮬레이터의 bulk / write-behind 모드 전용 JDBC 저장소.
+ * <p>
+ * <b>왜 dirty checking 이 아닌가</b><br>
+ * 엔티티 모드에서는 틱마다 전 종목을 영속성 컨텍스트에 올리고, 커밋 때 Hibernate 가 스냅샷과 비교해
+ * {@code @Version} 조건이 붙은 UPDATE 를 행마다 한 번씩 보낸다. 종목이 1만 개면 비교·UPDATE 가 1만 번이고,
+ * 그동안 한 트랜잭션이 커넥션을 쥐고 있다. 여기서는 메모리에 든 가격을 JDBC 배치 UPDATE 한 번으로 쓴다.
+ * MySQL 에서는 {@code rewriteBatchedStatements=true} 로 드라이버가 배치를 몇 개의 패킷으로 묶는다.
+ * <p>
+ * <b>버전 컬럼</b><br>
+ * 버전 조건 없이 쓰되 {@code version = version + 1} 은 한다. 시뮬레이터가 시세 컬럼의 유일한 작성자라
+ * 충돌 검사는 필요 없지만, 다른 경로가 엔티티로 종목을 고치려 할 때 시세가 바뀐 줄 모르고 덮어쓰는 일은 막는다.
+ * <p>
+ * 컬럼 이름은 하드코딩하지 않고 엔티티 매핑에서 읽는다. {@code high52Week} 같은 필드는 물리 네이밍 전략에 따라
+ * 이름이 달라지므로, 손으로 쓴 SQL 이 DDL 과 어긋나지 않게 하려는 것이다.
+ * 감사 컬럼({@code updated_at})은 엔티티 리스너를 타지 않으므로 여기서 채운다.
+ */
+@Repository
+public class StockPriceJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String selectSql;
+    private final String updateSql;
+
+    public StockPriceJdbcRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Stock.class);
+        String table = persister.getTableName();
+        String id = persister.getIdentifierColumnNames()[0];
+        this.selectSql = "SELECT " + String.join(", ", id,
+                column(persister, "code"), column(persister, "name"),
+                column(persister, "currentPrice"), column(persister, "previousClose"),
+                column(persister, "changeAmount"), column(persister, "changeRate"),
+                column(persister, "high52Week"), column(persister, "low52Week"),
+                column(persister, "volume"))
+                + " FROM " + table;
+        this.updateSql = "UPDATE " + table + " SET "
+                + column(persister, "currentPrice") + " = ?, "
+                + column(persister, "changeAmount") + " = ?, "
+                + column(persister, "changeRate") + " = ?, "
+                + column(persister, "high52Week") + " = ?, "
+                + column(persister, "low52Week") + " = ?, "
+                + column(persister, "volume") + " = ?, "
+                + column(persister, "version") + " = " + column(persister, "version") + " + 1, "
+                + column(persister, "updatedAt") + " = ? "
+                + "WHERE " + id + " = ?";
+    }
+
+    private static String column(AbstractEntityPersister persister, String property) {
+        return persister.getPropertyColumnNames(property)[0];
+    }
+
+    /**
+     * 전 종목의 시세 관련 값만 읽는다. 엔티티를 영속성 컨텍스트에 올리지 않으므로,
+     * 값을 바꿔 쓰려면 반드시 {@link #batchUpdatePrices} 로 한다.
+     */
+    public List<StockQuote> findAllQuotes() {
+        return jdbcTemplate.query(selectSql, (rs, rowNum) -> new StockQuote(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getBigDecimal(4),
+                orZero(rs.getBigDecimal(5)),
+                orZero(rs.getBigDecimal(6)),
+                orZero(rs.getBigDecimal(7)),
+                orZero(rs.getBigDecimal(8)),
+                orZero(rs.getBigDecimal(9)),
+                rs.getLong(10)));
+    }
+
+    /** nullable 시세 컬럼이 비어 있으면 엔티티 기본값과 같이 0 으로 본다. */
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * 시세 컬럼을 배치 UPDATE 한다. 호출자 트랜잭션에 그대로 참여한다.
+     *
+     * @return 반영되지 않은 행 수. 그사이 삭제된 종목이 있으면 0 보다 크다.
+     */
+    public int batchUpdatePrices(List<StockQuote> quotes) {
+        if (quotes.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(updateSql, quotes, quotes.size(), (ps, quote) -> {
+            ps.setBigDecimal(1, quote.currentPrice());
+            ps.setBigDecimal(2, quote.changeAmount());
+            ps.setBigDecimal(3, quote.changeRate());
+            ps.setBigDecimal(4, quote.high52Week());
+            ps.setBigDecimal(5, quote.low52Week());
+            ps.setLong(6, quote.volume());
+            ps.setTimestamp(7, now);
+            ps.setLong(8, quote.stockId());
+        });
+        int missing = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // 배치를 다시 쓰는 드라이버는 행 수 대신 SUCCESS_NO_INFO(-2)를 준다. 0 만 누락으로 본다.
+                if (count == 0) {
+                    missing++;
+                }
+            }
+        }
+        return missing;
+    }
+}
@@ -34,6 +34,12 @@ public interface StockRepository extends JpaRepository<Stock, Long> {
     
     @Query("SELECT s FROM Stock s WHERE s.changeRate < 0 ORDER BY s.changeRate ASC")
     List<Stock> findTopLosers(Pageable pageable);
+
+    @Query("SELECT s FROM Stock s WHERE s.market = :market AND s.changeRate > 0 ORDER BY s.changeRate DESC")
+    List<Stock> findTopGainersByMarket(@Param("market") Stock.Market market, Pageable pageable);
+
+    @Query("SELECT s FROM Stock s WHERE s.market = :market AND s.changeRate < 0 ORDER BY s.changeRate ASC")
+    List<Stock> findTopLosersByMarket(@Param("market") Stock.Market market, Pageable pageable);
     
     List<Stock> findBySector(String sector);
     
@@ -0,0 +1,34 @@
+package com.investory.backend.domain.stock.search;
+
+/**
+ * 검색용 한글 처리.
+ */
+final class Hangul {
+
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    /** 중성 21 × 종성 28. 초성 하나가 차지하는 음절 수. */
+    private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+
+    /** 초성 순서대로의 호환 자모. 사용자가 키보드로 치는 자음이 이 문자들이다. */
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private Hangul() {
+    }
+
+    /** 음절은 초성으로 바꾸고 나머지 문자는 그대로 둔다. {@code "SK하이닉스"} → {@code "SKㅎㅇㄴㅅ"}. */
+    static String choseong(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            builder.append(isSyllable(c) ? CHOSEONG[(c - SYLLABLE_FIRST) / SYLLABLES_PER_CHOSEONG] : c);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
+}
@@ -0,0 +1,236 @@
+package com.investory.backend.domain.stock.search;
+
+import com.investory.backend.domain.stock.cache.StockProfile;
+import com.investory.backend.domain.stock.config.StockSearchProperties;
+import com.investory.backend.domain.stock.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 종목 검색용 메모리 색인 (이름·영문명·코드·한글 초성).
+ * <p>
+ * <b>왜 필요한가</b><br>
+ * DB 검색은 {@code LIKE %keyword%} 라 인덱스를 못 타고 매번 전 종목을 훑는다. 검색창은 글자를 칠 때마다 부르므로
+ * 종목 수천 개를 메모리에 두고 여기서 찾는다. 종목 목록은 거의 바뀌지 않아 색인을 통째로 다시 만들어도 싸다.
+ * <p>
+ * <b>구조</b><br>
+ * 필드마다 공백을 지우고 소문자로 맞춘 뒤, 글자 하나(unigram)와 연속한 두 글자(bigram)를 키로 하는 역색인을 만든다.
+ * 질의도 같은 방식으로 쪼개 bigram 목록을 교집합한 뒤, 후보만 실제로 포함하는지 확인한다. 그래서 결과는
+ * 예전 {@code LIKE} 와 같은 "어디든 포함" 이고(공백 무시, 대소문자 무시), 후보 수는 전체가 아니라 질의에 비례한다.
+ * <p>
+ * <b>초성</b><br>
+ * 이름의 초성 문자열({@code 삼성전자} → {@code ㅅㅅㅈㅈ})을 필드 하나로 같이 색인한다. 초성은 호환 자모라 다른 필드
+ * 글자와 섞이지 않으므로 {@code ㅅㅅㅈ} 같은 질의가 따로 분기하지 않고 같은 경로로 찾아진다.
+ * <p>
+ * <b>순서</b><br>
+ * 어떤 필드와 같으면 먼저, 그다음 앞부분이 같은 것, 나머지 순이다. 같은 순위는 종목 ID 순.
+ * <p>
+ * <b>갱신</b><br>
+ * 기동 시와 {@code refresh-interval-ms} 마다 DB 에서 다시 만들어 통째로 갈아 끼운다. 검색은 갈아 끼운 색인을 락 없이 읽는다.
+ * 종목 추가·수정은 관리 경로로만 일어나 별도 이벤트가 없으므로 주기 갱신으로 따라간다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockSearchIndex {
+
+    private final StockRepository stockRepository;
+    private final StockSearchProperties properties;
+
+    private volatile Index index = Index.EMPTY;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /** 색인을 DB 에서 다시 만든다. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            fixedDelayString = "${investory.stock.search.refresh-interval-ms:60000}",
+            initialDelayString = "${investory.stock.search.refresh-interval-ms:60000}"
+    )
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        List<StockProfile> profiles = stockRepository.findAll().stream()
+                .map(StockProfile::from)
+                .sorted(Comparator.comparing(StockProfile::id))
+                .toList();
+        index = new Index(profiles);
+        log.debug("종목 검색 색인 갱신: {}종목, {}µs", profiles.size(), (System.nanoTime() - startedAt) / 1_000);
+    }
+
+    /** 키워드를 포함하는 종목. 관련도 순. */
+    public List<StockProfile> search(String keyword) {
+        return index.search(normalize(keyword));
+    }
+
+    public int size() {
+        return index.docs.length;
+    }
+
+    /** 공백을 지우고 소문자로. */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /** 만든 뒤에는 바뀌지 않는 색인. */
+    private static final class Index {
+
+        static final Index EMPTY = new Index(List.of());
+
+        private static final int EXACT = 0;
+        private static final int PREFIX = 1;
+        private static final int CONTAINS = 2;
+        private static final int NO_MATCH = -1;
+
+        private final StockProfile[] docs;
+        /** 문서별 검색 필드: 코드, 이름, 영문명, 이름 초성. */
+        private final String[][] fields;
+        /** gram → 그 gram 을 가진 문서 번호(오름차순, 중복 없음). */
+        private final Map<String, int[]> postings;
+
+        Index(List<StockProfile> profiles) {
+            this.docs = profiles.toArray(StockProfile[]::new);
+            this.fields = new String[docs.length][];
+            Map<String, IntList> building = new HashMap<>();
+            for (int doc = 0; doc < docs.length; doc++) {
+                StockProfile profile = docs[doc];
+                String name = normalize(profile.name());
+                fields[doc] = new String[]{
+                        normalize(profile.code()), name, normalize(profile.englishName()), Hangul.choseong(name)
+                };
+                for (String field : fields[doc]) {
+                    for (int i = 0; i < field.length(); i++) {
+                        building.computeIfAbsent(field.substring(i, i + 1), gram -> new IntList()).add(doc);
+                        if (i + 1 < field.length()) {
+                            building.computeIfAbsent(field.substring(i, i + 2), gram -> new IntList()).add(doc);
+                        }
+                    }
+                }
+            }
+            Map<String, int[]> built = new HashMap<>(building.size() * 2);
+            building.forEach((gram, docs) -> built.put(gram, docs.toArray()));
+            this.postings = built;
+        }
+
+        List<StockProfile> search(String query) {
+            if (query.isEmpty()) {
+                return List.of();
+            }
+            int[] candidates = candidates(query);
+            List<int[]> matches = new ArrayList<>();
+            for (int doc : candidates) {
+                int rank = rank(fields[doc], query);
+                if (rank != NO_MATCH) {
+                    matches.add(new int[]{rank, doc});
+                }
+            }
+            // 문서 번호가 ID 순이므로 같은 순위는 ID 순이 된다
+            matches.sort(Comparator.<int[]>comparingInt(match -> match[0]).thenComparingInt(match -> match[1]));
+            List<StockProfile> found = new ArrayList<>(matches.size());
+            matches.forEach(match -> found.add(docs[match[1]]));
+            return found;
+        }
+
+        /** 질의의 모든 gram 을 가진 문서. 가장 짧은 목록부터 교집합한다. */
+        private int[] candidates(String query) {
+            if (query.length() == 1) {
+                return postings.getOrDefault(query, new int[0]);
+            }
+            int[][] lists = new int[query.length() - 1][];
+            for (int i = 0; i + 1 < query.length(); i++) {
+                int[] list = postings.get(query.substring(i, i + 2));
+                if (list == null) {
+                    return new int[0];
+                }
+                lists[i] = list;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+            int[] result = lists[0];
+            for (int i = 1; i < lists.length && result.length > 0; i++) {
+                result = intersect(result, lists[i]);
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        /** gram 이 모두 있어도 떨어져 있을 수 있으므로 실제로 포함하는지 본다. */
+        private static int rank(String[] fields, String query) {
+            int best = NO_MATCH;
+            for (String field : fields) {
+                int rank = field.equals(query) ? EXACT
+                        : field.startsWith(query) ? PREFIX
+                        : field.contains(query) ? CONTAINS
+                        : NO_MATCH;
+                if (rank != NO_MATCH && (best == NO_MATCH || rank < best)) {
+                    best = rank;
+                }
+            }
+            return best;
+        }
+    }
+
+    /** 색인을 만들 때만 쓰는 int 목록. 같은 문서가 연달아 들어오면 한 번만 넣는다. */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.investory.backend.domain.stock.service;
+
+import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.dto.StockQuote;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.repository.StockPriceJdbcRepository;
+import com.investory.backend.domain.stock.repository.StockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 인메모리 시세 원본. {@code investory.stock.simulator.write-mode=write-behind} 일 때만 원본 역할을 한다.
+ * <p>
+ * <b>왜 필요한가</b><br>
+ * 다른 모드에서는 {@code stocks} 테이블이 시세의 원본이자 조회 경로다. 틱마다 전 종목 UPDATE 가 나가고,
+ * 종목 목록·인기 종목·포트폴리오 평가·시장가 주문이 모두 그 테이블을 다시 읽는다. 여기서는 종목별 최신
+ * {@link StockQuote} 를 메모리에 두고 시뮬레이터가 틱마다 갈아 끼운다. 틱은 DB 를 전혀 건드리지 않는다.
+ * <p>
+ * <b>write-behind</b><br>
+ * 틱에서 바뀐 종목 ID 만 모아 두었다가 {@code flush-interval-ms} 마다 JDBC 배치 하나로 내려 쓴다.
+ * 한 주기 안에서 여러 번 바뀐 종목도 마지막 값 한 번만 쓴다. 쓰기가 실패하면 ID 를 다시 넣어 다음 주기에 쓴다.
+ * <p>
+ * <b>복구</b><br>
+ * 기동 시 DB 에서 전 종목 시세를 읽어 채운다. 비정상 종료 때는 마지막 플러시 이후의 틱(최대 한 주기)을 잃고
+ * 그 시점 시세에서 다시 시작한다. 가상 시세라 이 정도 손실은 받아들인다. 정상 종료 때는 남은 변경을 모두 쓴다.
+ * <p>
+ * <b>종목 추가·삭제</b><br>
+ * 종목은 관리 경로로 DB 에 직접 들어온다. 플러시 때 종목 수가 어긋나거나 쓰기에서 빠진 행이 있으면
+ * DB 와 종목 목록만 맞춘다. 이미 든 종목의 시세는 메모리 값이 이긴다.
+ * <p>
+ * 원본이 아닐 때 {@link #find} 는 항상 비어 있어, 호출자는 엔티티 값을 그대로 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketState {
+
+    private final StockPriceJdbcRepository stockPriceJdbcRepository;
+    private final StockRepository stockRepository;
+    private final StockSimulatorProperties properties;
+
+    /** 종목 ID → 최신 시세. */
+    private final Map<Long, StockQuote> quotes = new ConcurrentHashMap<>();
+    /** 마지막 플러시 이후 바뀐 종목 ID. */
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    /** 실험용: 플러시로 내려 쓴 행 수. {@code OrderService} 의 시도 카운터와 같은 이유로 LongAdder 다. */
+    private final LongAdder flushedRows = new LongAdder();
+
+    /** 메모리 시세가 원본인지. 시뮬레이터가 write-behind 모드로 돌 때만 true. */
+    public boolean isAuthoritative() {
+        return properties.isEnabled() && properties.isWriteBehind();
+    }
+
+    /** 기동 시 DB 의 시세로 채운다. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!isAuthoritative()) {
+            return;
+        }
+        reconcile(stockPriceJdbcRepository.findAllQuotes());
+        log.info("인메모리 시세 복원 완료: {}종목", quotes.size());
+    }
+
+    /** 메모리 시세. 원본이 아니거나 아직 모르는 종목이면 비어 있다. */
+    public Optional<StockQuote> find(Long stockId) {
+        if (!isAuthoritative()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(quotes.get(stockId));
+    }
+
+    /** 종목의 현재가. 메모리 시세가 없으면 엔티티 값. */
+    public BigDecimal currentPriceOf(Stock stock) {
+        return find(stock.getId()).map(StockQuote::currentPrice).orElse(stock.getCurrentPrice());
+    }
+
+    /** 종목의 전일 종가. 메모리 시세가 없으면 엔티티 값. */
+    public BigDecimal previousCloseOf(Stock stock) {
+        return find(stock.getId()).map(StockQuote::previousClose).orElse(stock.getPreviousClose());
+    }
+
+    /** 전 종목 메모리 시세. 원본이 아니면 비어 있다. */
+    public Collection<StockQuote> quotes() {
+        return isAuthoritative() ? List.copyOf(quotes.values()) : List.of();
+    }
+
+    public int size() {
+        return quotes.size();
+    }
+
+    /** 시뮬레이터가 다음 틱을 계산할 영속성 컨텍스트 밖의 종목 목록. */
+    public List<Stock> detachedStocks() {
+        return quotes.values().stream().map(StockQuote::toDetachedStock).collect(Collectors.toList());
+    }
+
+    /** 틱 결과를 반영한다. 시뮬레이터 스레드에서만 호출된다. */
+    public void update(List<Stock> stocks) {
+        for (Stock stock : stocks) {
+            quotes.put(stock.getId(), StockQuote.from(stock));
+            dirty.add(stock.getId());
+        }
+    }
+
+    /** 바뀐 종목을 DB 로 내려 쓴다. */
+    @Transactional
+    @Scheduled(
+            fixedDelayString = "${investory.stock.simulator.flush-interval-ms:1000}",
+            initialDelayString = "${investory.stock.simulator.flush-interval-ms:1000}"
+    )
+    public void flush() {
+        if (!isAuthoritative()) {
+            return;
+        }
+        List<StockQuote> pending = new ArrayList<>();
+        for (Long stockId : dirty) {
+            // 먼저 빼고 읽는다. 그사이 틱이 다시 표시하면 다음 주기에 한 번 더 쓸 뿐 변경을 잃지 않는다.
+            dirty.remove(stockId);
+            StockQuote quote = quotes.get(stockId);
+            if (quote != null) {
+                pending.add(quote);
+            }
+        }
+        try {
+            int missing = stockPriceJdbcRepository.batchUpdatePrices(pending);
+            flushedRows.add(pending.size() - missing);
+            if (missing > 0 || stockRepository.count() != quotes.size()) {
+                reconcile(stockPriceJdbcRepository.findAllQuotes());
+            }
+        } catch (RuntimeException e) {
+            pending.forEach(quote -> dirty.add(quote.stockId()));
+            log.warn("인메모리 시세 플러시 실패 - 다음 주기에 재시도: {}종목, cause={}", pending.size(), e.getMessage());
+        }
+    }
+
+    /** 정상 종료 시 남은 변경을 쓴다. 프록시를 거치지 않으므로 문장마다 자동 커밋된다. */
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (isAuthoritative() && !dirty.isEmpty()) {
+            flush();
+        }
+    }
+
+    /** 실험용: 누적 플러시 행 수. */
+    public long getFlushedRows() {
+        return flushedRows.sum();
+    }
+
+    /** DB 에 새로 생긴 종목은 넣고, 사라진 종목은 뺀다. 이미 든 종목의 시세는 건드리지 않는다. */
+    private void reconcile(List<StockQuote> persisted) {
+        Set<Long> ids = persisted.stream().map(StockQuote::stockId).collect(Collectors.toSet());
+        quotes.keySet().retainAll(ids);
+        dirty.retainAll(ids);
+        for (StockQuote quote : persisted) {
+            quotes.putIfAbsent(quote.stockId(), quote);
+        }
+    }
+}
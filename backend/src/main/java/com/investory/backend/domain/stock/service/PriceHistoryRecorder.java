@@ -0,0 +1,220 @@
+package com.investory.backend.domain.stock.service;
+
+import com.investory.backend.domain.stock.config.StockHistoryProperties;
+import com.investory.backend.domain.stock.entity.StockCandle;
+import com.investory.backend.domain.stock.entity.StockCandle.Interval;
+import com.investory.backend.domain.stock.entity.StockTick;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.repository.StockCandleRepository;
+import com.investory.backend.domain.stock.repository.StockHistoryJdbcRepository;
+import com.investory.backend.domain.stock.tickstore.TickStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시세 이력 기록기: 틱 원장 적재와 OHLCV 캔들 집계.
+ * <p>
+ * 원장은 {@link TickStore} 에 쌓는다. 저장소가 JDBC 든 컬럼형 파일이든 캔들 집계와 복원은 똑같이 동작한다.
+ * <p>
+ * <b>스트리밍 집계</b><br>
+ * 구간(1m/5m/1h/1d)마다 종목별 열린 캔들 하나를 메모리에 들고, 틱이 올 때마다 고가·저가·종가·거래량만 고친다.
+ * 틱의 구간이 열린 캔들보다 뒤면 열린 캔들을 닫아 {@code stock_candles} 에 한 번 INSERT 하고 새 캔들을 연다.
+ * 차트 조회는 닫힌 캔들을 인덱스로 읽고 열린 캔들 하나를 덧붙일 뿐이라, 원장 크기와 무관하게 캔들 수에 비례한다.
+ * <p>
+ * <b>시각</b><br>
+ * 틱 시각은 시세가 커밋된 서버 시각이다. 리플레이 피드도 녹화 시각이 아니라 재생 시각으로 쌓인다.
+ * 종목이 한동안 움직이지 않으면 그 종목의 캔들은 다음 틱이 올 때 닫힌다. 그 사이 조회에는 열린 캔들로 나간다.
+ * <p>
+ * <b>복원</b><br>
+ * 기동 시 열린 캔들을 작은 구간부터 다시 만든다. 1분봉은 원장의 이번 분 틱에서, 그보다 큰 구간은 바로 아래 구간의
+ * 닫힌 캔들과 방금 만든 열린 캔들을 합쳐서 만든다. 원장 전체를 다시 훑지 않으므로 복원 비용도 캔들 수에 비례한다.
+ * 닫기 전에 멈춘 종목의 마지막 작은 구간 캔들은 잃을 수 있다.
+ * <p>
+ * 시세 커밋 이후에만 기록한다. 이력 쓰기가 실패해도 시세·매칭에는 영향을 주지 않고, 닫힌 캔들은 다음 틱에 다시 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceHistoryRecorder {
+
+    private static final Interval[] INTERVALS = Interval.values();
+
+    private final StockHistoryJdbcRepository historyJdbcRepository;
+    private final TickStore tickStore;
+    private final StockCandleRepository candleRepository;
+    private final StockHistoryProperties properties;
+
+    /** 구간별 종목 ID → 열린 캔들. 기록은 한 스레드가 하고, 조회 스레드는 불변 값을 락 없이 읽는다. */
+    private final Map<Interval, Map<Long, OpenCandle>> openCandles = newOpenCandles();
+
+    /** 닫혔지만 아직 쓰지 못한 캔들. 다음 기록 때 다시 쓴다. */
+    private final List<StockCandle> unsavedCandles = new ArrayList<>();
+
+    /** 실험용: 닫혀서 저장된 캔들 수. {@code OrderService} 의 시도 카운터와 같은 이유로 LongAdder 다. */
+    private final LongAdder closedCandles = new LongAdder();
+
+    private static Map<Interval, Map<Long, OpenCandle>> newOpenCandles() {
+        Map<Interval, Map<Long, OpenCandle>> candles = new EnumMap<>(Interval.class);
+        for (Interval interval : INTERVALS) {
+            candles.put(interval, new ConcurrentHashMap<>());
+        }
+        return candles;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceUpdated(StockPriceUpdatedEvent event) {
+        try {
+            record(event.ticks(), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("시세 이력 기록 실패: {}종목, cause={}", event.ticks().size(), e.getMessage());
+        }
+    }
+
+    /** 틱 묶음을 {@code at} 시각으로 기록한다. 캔들은 메모리에서 먼저 고치고, 원장·닫힌 캔들 쓰기는 그 뒤에 한다. */
+    public synchronized void record(List<PriceTick> ticks, LocalDateTime at) {
+        for (Interval interval : INTERVALS) {
+            LocalDateTime openTime = interval.openTimeOf(at);
+            Map<Long, OpenCandle> candles = openCandles.get(interval);
+            for (PriceTick tick : ticks) {
+                OpenCandle current = candles.get(tick.stockId());
+                if (current != null && openTime.isAfter(current.openTime())) {
+                    unsavedCandles.add(current.toEntity(tick.stockId(), interval));
+                    current = null;
+                }
+                candles.put(tick.stockId(), current == null
+                        ? OpenCandle.first(openTime, tick.currentPrice(), tick.tradedVolume())
+                        : current.add(tick.currentPrice(), tick.tradedVolume()));
+            }
+        }
+
+        if (properties.isRecordTicks()) {
+            tickStore.append(ticks, at);
+        }
+        if (!unsavedCandles.isEmpty()) {
+            try {
+                historyJdbcRepository.insertCandles(unsavedCandles);
+                closedCandles.add(unsavedCandles.size());
+            } catch (DataIntegrityViolationException e) {
+                // 같은 구간 캔들이 이미 있다(시계가 되돌아간 경우 등). 다시 써도 같은 결과라 버린다.
+                log.warn("닫힌 캔들 저장 건너뜀 - 이미 있는 구간: {}건, cause={}", unsavedCandles.size(), e.getMessage());
+            }
+            unsavedCandles.clear();
+        }
+    }
+
+    /** 종목의 지금 열린 캔들. 아직 틱이 없었으면 비어 있다. 반환 값은 저장되지 않은 엔티티다. */
+    public Optional<StockCandle> findOpenCandle(Long stockId, Interval interval) {
+        return Optional.ofNullable(openCandles.get(interval).get(stockId))
+                .map(candle -> candle.toEntity(stockId, interval));
+    }
+
+    /** 기동 시 열린 캔들을 작은 구간부터 복원한다. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        LocalDateTime now = LocalDateTime.now();
+
+        LocalDateTime minuteOpen = INTERVALS[0].openTimeOf(now);
+        Map<Long, OpenCandle> finer = new HashMap<>();
+        for (StockTick tick : tickStore.findSince(minuteOpen)) {
+            finer.merge(tick.getStockId(), OpenCandle.first(minuteOpen, tick.getPrice(), tick.getVolume()),
+                    OpenCandle::combine);
+        }
+        restore(INTERVALS[0], finer);
+
+        for (int i = 1; i < INTERVALS.length; i++) {
+            Interval interval = INTERVALS[i];
+            Interval below = INTERVALS[i - 1];
+            LocalDateTime openTime = interval.openTimeOf(now);
+            Map<Long, OpenCandle> merged = new HashMap<>();
+            for (StockCandle closed : candleRepository.findAllOpenedBetween(below, openTime, below.openTimeOf(now))) {
+                merged.merge(closed.getStockId(), OpenCandle.of(openTime, closed), OpenCandle::combine);
+            }
+            finer.forEach((stockId, candle) ->
+                    merged.merge(stockId, candle.withOpenTime(openTime), OpenCandle::combine));
+            restore(interval, merged);
+            finer = merged;
+        }
+        log.info("열린 캔들 복원 완료: 1분봉 {}종목, 일봉 {}종목",
+                openCandles.get(INTERVALS[0]).size(), openCandles.get(INTERVALS[INTERVALS.length - 1]).size());
+    }
+
+    /** 복원 중에 벌써 틱이 들어온 종목은 건드리지 않는다. */
+    private void restore(Interval interval, Map<Long, OpenCandle> recovered) {
+        Map<Long, OpenCandle> candles = openCandles.get(interval);
+        recovered.forEach(candles::putIfAbsent);
+    }
+
+    /** 보존 기간이 지난 틱 원장을 정리한다. 캔들은 지우지 않는다. */
+    @Scheduled(cron = "${investory.stock.history.purge-cron:0 0 * * * *}")
+    public void purgeTicks() {
+        long deleted = tickStore.purgeBefore(LocalDateTime.now().minusDays(properties.getTickRetentionDays()));
+        if (deleted > 0) {
+            log.info("틱 원장 정리: {}건", deleted);
+        }
+    }
+
+    /** 실험용: 닫혀서 저장된 캔들 수. */
+    public long getClosedCandles() {
+        return closedCandles.sum();
+    }
+
+    /** 열린 캔들 하나. 틱마다 새 값으로 갈아 끼운다. */
+    private record OpenCandle(LocalDateTime openTime, BigDecimal open, BigDecimal high, BigDecimal low,
+                              BigDecimal close, long volume) {
+
+        static OpenCandle first(LocalDateTime openTime, BigDecimal price, long volume) {
+            return new OpenCandle(openTime, price, price, price, price, volume);
+        }
+
+        static OpenCandle of(LocalDateTime openTime, StockCandle candle) {
+            return new OpenCandle(openTime, candle.getOpenPrice(), candle.getHighPrice(), candle.getLowPrice(),
+                    candle.getClosePrice(), candle.getVolume());
+        }
+
+        OpenCandle add(BigDecimal price, long addedVolume) {
+            return new OpenCandle(openTime, open, high.max(price), low.min(price), price, volume + addedVolume);
+        }
+
+        /** 시간상 뒤에 오는 캔들을 합친다. */
+        OpenCandle combine(OpenCandle later) {
+            return new OpenCandle(openTime, open, high.max(later.high), low.min(later.low), later.close,
+                    volume + later.volume);
+        }
+
+        OpenCandle withOpenTime(LocalDateTime time) {
+            return new OpenCandle(time, open, high, low, close, volume);
+        }
+
+        StockCandle toEntity(Long stockId, Interval interval) {
+            return StockCandle.builder()
+                    .stockId(stockId)
+                    .interval(interval)
+                    .openTime(openTime)
+                    .openPrice(open)
+                    .highPrice(high)
+                    .lowPrice(low)
+                    .closePrice(close)
+                    .volume(volume)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.investory.backend.domain.stock.service;
+
+import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.dto.StockResponse;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 인기 종목(거래량·상승률·하락률) 순위를 틱마다 증분으로 유지한다.
+ * <p>
+ * <b>왜 필요한가</b><br>
+ * 홈 화면이 인기 종목을 계속 부르는데, DB 경로는 호출마다 인덱스 없는 {@code volume}·{@code change_rate} 로
+ * 전 종목을 정렬한다. 값은 틱에만 바뀌므로 정렬도 틱에 한 번이면 된다.
+ * <p>
+ * <b>구조</b><br>
+ * 전체와 시장별로 정렬 집합 두 개(거래량순, 등락률순)를 둔다. 틱이 오면 움직인 종목만 옛 항목을 빼고 새 항목을
+ * 넣는다(종목당 O(log n)). 상승률은 등락률 집합의 앞에서, 하락률은 뒤에서 읽으므로 집합은 두 개면 된다.
+ * 한 종목이 순위 밖으로 밀려났다 다시 올라올 수 있어 상위 k 개만 든 힙으로는 유지할 수 없고, 전 종목을 든다.
+ * <p>
+ * 갱신이 끝나면 범위·유형마다 상위 {@code leaderboard-size} 개를 불변 목록으로 만들어 통째로 갈아 끼운다.
+ * 조회는 그 목록의 앞부분을 잘라 줄 뿐이라 O(k) 이고 락을 잡지 않는다.
+ * <p>
+ * 틱으로만 갱신되므로 시뮬레이터가 켜져 있을 때만 쓴다. 꺼져 있으면 {@link #isActive} 가 false 이고
+ * 호출자는 DB 정렬로 간다. 순위가 같으면 종목 ID 순이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLeaderboard {
+
+    /** 인기 종목 유형. */
+    public enum Type {
+        VOLUME, GAINERS, LOSERS;
+
+        /** 모르는 값은 기존 API 와 같이 거래량으로 본다. */
+        public static Type from(String value) {
+            return switch (value.toLowerCase()) {
+                case "gainers" -> GAINERS;
+                case "losers" -> LOSERS;
+                default -> VOLUME;
+            };
+        }
+    }
+
+    private static final Comparator<Row> BY_VOLUME =
+            Comparator.comparingLong(Row::volume).reversed().thenComparing(Row::stockId);
+    private static final Comparator<Row> BY_CHANGE_RATE =
+            Comparator.comparing(Row::changeRate).reversed().thenComparing(Row::stockId);
+
+    private final StockRepository stockRepository;
+    private final StockSimulatorProperties properties;
+
+    /** 종목 ID → 순위 계산에 쓰는 현재 값. */
+    private final Map<Long, Row> rows = new HashMap<>();
+    private final Board global = new Board();
+    private final Map<Stock.Market, Board> byMarket = newBoards();
+
+    /** 조회용 스냅샷. 갱신 스레드가 통째로 갈아 끼운다. */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /** 실험용: 순위 집합에 반영한 종목 갱신 수. {@code OrderService} 의 시도 카운터와 같은 이유로 LongAdder 다. */
+    private final LongAdder updatedRows = new LongAdder();
+
+    private static Map<Stock.Market, Board> newBoards() {
+        Map<Stock.Market, Board> boards = new EnumMap<>(Stock.Market.class);
+        for (Stock.Market market : Stock.Market.values()) {
+            boards.put(market, new Board());
+        }
+        return boards;
+    }
+
+    /** 틱으로 유지되는 순위를 쓸 수 있는지. */
+    public boolean isActive() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 상위 {@code limit} 개. {@code market} 이 null 이면 전체.
+     * {@code leaderboard-size} 보다 많이 달라고 하면 그만큼만 준다.
+     */
+    public List<StockResponse.Summary> top(Type type, Stock.Market market, int limit) {
+        List<StockResponse.Summary> ranked = snapshot.of(market, type);
+        return ranked.subList(0, Math.max(0, Math.min(limit, ranked.size())));
+    }
+
+    /** 기동 시 DB 의 값으로 채운다. 그사이 틱으로 먼저 들어온 종목은 건드리지 않는다. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!isActive()) {
+            return;
+        }
+        List<Stock> stocks = stockRepository.findAll();
+        synchronized (this) {
+            for (Stock stock : stocks) {
+                if (!rows.containsKey(stock.getId())) {
+                    put(Row.from(stock));
+                }
+            }
+            publish();
+        }
+        log.info("인기 종목 순위 적재 완료: {}종목", stocks.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceUpdated(StockPriceUpdatedEvent event) {
+        if (!isActive()) {
+            return;
+        }
+        try {
+            apply(event.ticks());
+        } catch (RuntimeException e) {
+            log.warn("인기 종목 순위 갱신 실패: {}종목, cause={}", event.ticks().size(), e.getMessage());
+        }
+    }
+
+    /** 틱 묶음을 반영하고 스냅샷을 갈아 끼운다. 처음 보는 종목(기동 직후·새로 추가된 종목)은 DB 에서 한 번 읽는다. */
+    synchronized void apply(List<PriceTick> ticks) {
+        List<Long> unknown = ticks.stream()
+                .map(PriceTick::stockId)
+                .filter(id -> !rows.containsKey(id))
+                .toList();
+        if (!unknown.isEmpty()) {
+            stockRepository.findAllById(unknown).forEach(stock -> put(Row.from(stock)));
+        }
+        for (PriceTick tick : ticks) {
+            Row previous = rows.get(tick.stockId());
+            if (previous != null) {
+                put(previous.with(tick));
+            }
+        }
+        updatedRows.add(ticks.size());
+        publish();
+    }
+
+    private void put(Row row) {
+        Row previous = rows.put(row.stockId(), row);
+        if (previous != null) {
+            global.remove(previous);
+            byMarket.get(previous.market()).remove(previous);
+        }
+        global.add(row);
+        byMarket.get(row.market()).add(row);
+    }
+
+    private void publish() {
+        int size = properties.getLeaderboardSize();
+        Map<Stock.Market, Map<Type, List<StockResponse.Summary>>> markets = new EnumMap<>(Stock.Market.class);
+        byMarket.forEach((market, board) -> markets.put(market, board.top(size)));
+        snapshot = new Snapshot(global.top(size), markets);
+    }
+
+    /** 실험용: 순위 집합에 반영한 종목 갱신 수. */
+    public long getUpdatedRows() {
+        return updatedRows.sum();
+    }
+
+    /** 한 범위(전체 또는 시장 하나)의 정렬 집합 두 개. */
+    private static final class Board {
+
+        private final NavigableSet<Row> byVolume = new TreeSet<>(BY_VOLUME);
+        private final NavigableSet<Row> byChangeRate = new TreeSet<>(BY_CHANGE_RATE);
+
+        void add(Row row) {
+            byVolume.add(row);
+            byChangeRate.add(row);
+        }
+
+        void remove(Row row) {
+            byVolume.remove(row);
+            byChangeRate.remove(row);
+        }
+
+        Map<Type, List<StockResponse.Summary>> top(int size) {
+            Map<Type, List<StockResponse.Summary>> top = new EnumMap<>(Type.class);
+            top.put(Type.VOLUME, take(byVolume.iterator(), size, row -> true));
+            top.put(Type.GAINERS, take(byChangeRate.iterator(), size, row -> row.changeRate().signum() > 0));
+            top.put(Type.LOSERS, take(byChangeRate.descendingIterator(), size, row -> row.changeRate().signum() < 0));
+            return top;
+        }
+
+        /** 조건을 만족하는 동안 앞에서부터 최대 size 개. 등락률 집합은 부호가 바뀌는 지점에서 멈춘다. */
+        private static List<StockResponse.Summary> take(Iterator<Row> iterator, int size,
+                                                        Predicate<Row> condition) {
+            List<StockResponse.Summary> taken = new ArrayList<>(Math.min(size, 16));
+            while (iterator.hasNext() && taken.size() < size) {
+                Row row = iterator.next();
+                if (!condition.test(row)) {
+                    break;
+                }
+                taken.add(row.toSummary());
+            }
+            return List.copyOf(taken);
+        }
+    }
+
+    private record Snapshot(Map<Type, List<StockResponse.Summary>> global,
+                            Map<Stock.Market, Map<Type, List<StockResponse.Summary>>> markets) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        List<StockResponse.Summary> of(Stock.Market market, Type type) {
+            Map<Type, List<StockResponse.Summary>> scope = market == null ? global : markets.get(market);
+            return scope == null ? List.of() : scope.getOrDefault(type, List.of());
+        }
+    }
+
+    /** 순위 계산용 종목 값. 집합 안에서 정렬 키가 바뀌면 안 되므로 불변이고, 틱마다 새 값으로 갈아 끼운다. */
+    private record Row(Long stockId, String code, String name, Stock.Market market, String logoUrl,
+                       BigDecimal currentPrice, BigDecimal changeAmount, BigDecimal changeRate, long volume) {
+
+        static Row from(Stock stock) {
+            // 시세 컬럼은 nullable 이라 비어 있으면 엔티티 기본값과 같이 0 으로 본다
+            return new Row(stock.getId(), stock.getCode(), stock.getName(), stock.getMarket(), stock.getLogoUrl(),
+                    stock.getCurrentPrice(), orZero(stock.getChangeAmount()), orZero(stock.getChangeRate()),
+                    stock.getVolume() != null ? stock.getVolume() : 0L);
+        }
+
+        private static BigDecimal orZero(BigDecimal value) {
+            return value != null ? value : BigDecimal.ZERO;
+        }
+
+        Row with(PriceTick tick) {
+            return new Row(stockId, code, name, market, logoUrl,
+                    tick.currentPrice(), tick.changeAmount(), tick.changeRate(), tick.volume());
+        }
+
+        StockResponse.Summary toSummary() {
+            return StockResponse.Summary.builder()
+                    .id(stockId)
+                    .code(code)
+                    .name(name)
+                    .market(market.name())
+                    .currentPrice(currentPrice)
+                    .changeRate(changeRate)
+                    .changeAmount(changeAmount)
+                    .volume(volume)
+                    .logoUrl(logoUrl)
+                    .build();
+        }
+    }
+}
@@ -1,34 +1,55 @@
 package com.investory.backend.domain.stock.service;
 
 import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.dto.StockQuote;
 import com.investory.backend.domain.stock.entity.Stock;
 import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.feed.PriceFeed;
+import com.investory.backend.domain.stock.repository.StockPriceJdbcRepository;
 import com.investory.backend.domain.stock.repository.StockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
- * 시세 시뮬레이터.
+ * 시세 시뮬레이터 (틱 엔진).
  * <p>
- * 실제 거래소 시세가 아니라 <b>랜덤워크로 생성한 가상 시세</b>다.
- * 실서비스 연동(한국투자증권 오픈API)은 로드맵 항목이며, 그때 이 컴포넌트는
- * 가격 피드 인터페이스의 한 구현으로 내려가면 된다.
+ * 주기마다 종목을 읽어 {@link PriceFeed} 로 다음 시세를 매기고, {@code write-mode} 대로 쓴 뒤 이벤트를 발행한다.
+ * 시세 자체는 피드가 정한다. 기본은 랜덤워크로 만든 가상 시세이고({@code feed=random-walk}),
+ * {@code feed=replay} 면 녹화된 틱 파일을 배속으로 다시 튼다. 실서비스 연동(한국투자증권 오픈API)도 피드 구현 하나로 붙는다.
  * <p>
  * <b>왜 fixedRate 가 아니라 fixedDelay 인가</b><br>
  * {@code fixedRate} 는 이전 실행이 끝나지 않아도 다음 실행을 예약한다. 종목 수가 늘어
  * 한 틱이 주기보다 오래 걸리면 실행이 밀려서 누적되고, 결국 DB 커넥션을 다 먹는다.
  * {@code fixedDelay} 는 이전 실행이 끝난 시점부터 다시 세므로 그런 폭주가 없다.
+ * <p>
+ * <b>쓰기 방식</b><br>
+ * 기본({@code write-mode=entity})은 틱마다 {@code findAll} 로 전 종목 엔티티를 올려 고치고, 커밋 때
+ * dirty checking 이 {@code @Version} 조건이 붙은 UPDATE 를 행마다 보낸다. 종목 수에 비례해 틱이 길어진다.
+ * {@code write-mode=bulk} 면 시세를 영속성 컨텍스트 밖의 스냅샷으로 들고 있다가
+ * {@link StockPriceJdbcRepository#batchUpdatePrices} 배치 하나로 쓴다. 스냅샷은 종목 수가 바뀌었거나
+ * 쓰기에서 빠진 행이 있을 때만 다시 읽는다. 이 모드에서는 시뮬레이터가 시세 컬럼의 유일한 작성자라고 가정한다.
+ * {@code write-mode=write-behind} 면 틱은 {@link MarketState} 만 고치고 DB 를 건드리지 않는다.
+ * <p>
+ * <b>샤드</b><br>
+ * random-walk 피드는 {@code shards} 가 2 이상이면 종목을 샤드로 나눠 병렬로 가격을 매긴다.
+ * 매칭도 {@code investory.order.matching.parallelism} 으로 종목 단위 병렬화할 수 있다.
+ * <p>
+ * 트랜잭션은 {@link TransactionTemplate} 으로 연다. write-behind 모드의 틱은 DB 를 쓰지 않으므로
+ * 커넥션을 잡을 이유가 없어, 메서드 전체에 {@code @Transactional} 을 거는 대신 모드별로 가른다.
+ * <p>
+ * 틱 하나의 시간은 {@code investory.simulator.tick} 으로 나간다. 커밋 뒤 리스너(매칭, SSE 중계)가 같은 스레드에서 돌므로
+ * 그 시간도 들어간다. 매칭만 따로 보려면 {@code investory.matching.tick} 을 본다.
  */
 @Slf4j
 @Component
@@ -37,41 +58,43 @@ import java.util.Random;
 public class StockPriceSimulator {
 
     private final StockRepository stockRepository;
+    private final StockPriceJdbcRepository stockPriceJdbcRepository;
     private final StockSimulatorProperties properties;
+    private final MarketState marketState;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceFeed priceFeed;
     private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
-    /**
-     * 난수 생성기.
-     * 스케줄러 스레드 하나만 접근하므로 동기화가 필요 없다.
-     * 시드가 주어지면 재현 가능한 시퀀스가 만들어져 테스트/디버깅이 쉬워진다.
-     */
-    private Random random;
-
-    private Random random() {
-        if (random == null) {
-            random = properties.getSeed() != null ? new Random(properties.getSeed()) : new Random();
-        }
-        return random;
-    }
+    /** bulk·write-behind 모드의 시세 스냅샷. 스케줄러 스레드만 접근한다. null 이면 다음 틱에 다시 읽는다. */
+    private List<Stock> snapshot;
 
     @Scheduled(
             fixedDelayString = "${investory.stock.simulator.interval-ms:5000}",
             initialDelayString = "${investory.stock.simulator.interval-ms:5000}"
     )
-    @Transactional
     public void tick() {
-        List<Stock> stocks = stockRepository.findAll();
-        if (stocks.isEmpty()) {
-            return;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (properties.isWriteBehind()) {
+                // 메모리 시세가 원본이라 기다릴 커밋이 없다. 이벤트는 트랜잭션 밖에서 발행되고
+                // 리스너는 fallbackExecution 으로 바로 실행된다.
+                publish(tickWriteBehind());
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    publish(properties.isBulkWrite() ? tickBulk() : tickEntities()));
+        } finally {
+            sample.stop(Timer.builder("investory.simulator.tick")
+                    .description("시세 틱 하나의 시간 (쓰기와 커밋 뒤 리스너 포함)")
+                    .tag("write-mode", properties.getWriteMode())
+                    .register(meterRegistry));
         }
+    }
 
-        List<StockPriceUpdatedEvent.PriceTick> ticks = new ArrayList<>(stocks.size());
-        for (Stock stock : stocks) {
-            BigDecimal newPrice = nextPrice(stock.getCurrentPrice());
-            long addedVolume = (long) (random().nextDouble() * properties.getMaxVolumePerTick());
-
-            stock.updatePrice(newPrice, addedVolume);
-            ticks.add(StockPriceUpdatedEvent.PriceTick.from(stock));
+    private void publish(List<StockPriceUpdatedEvent.PriceTick> ticks) {
+        if (ticks.isEmpty()) {
+            return;
         }
 
         // 매칭과 SSE 전송은 시세가 커밋된 뒤에 일어나야 한다.
@@ -81,17 +104,43 @@ public class StockPriceSimulator {
         log.debug("시세 갱신 완료: {}종목", ticks.size());
     }
 
-    /**
-     * 랜덤워크 한 스텝.
-     * 변동률을 {@code [-volatility, +volatility]} 균등분포에서 뽑아 현재가에 곱한다.
-     * 가격은 원 단위로 반올림하고, 0 이하로 내려가지 않도록 하한을 1로 둔다.
-     */
-    private BigDecimal nextPrice(BigDecimal currentPrice) {
-        double delta = (random().nextDouble() * 2 - 1) * properties.getVolatility();
-        BigDecimal next = currentPrice
-                .multiply(BigDecimal.valueOf(1 + delta))
-                .setScale(0, RoundingMode.HALF_UP);
+    /** 엔티티 모드: 관리 상태의 엔티티를 고치고 UPDATE 는 커밋 때 dirty checking 에 맡긴다. */
+    private List<StockPriceUpdatedEvent.PriceTick> tickEntities() {
+        return priceFeed.advance(stockRepository.findAll());
+    }
+
+    /** bulk 모드: 스냅샷을 고치고 배치 UPDATE 한 번으로 쓴다. */
+    private List<StockPriceUpdatedEvent.PriceTick> tickBulk() {
+        if (snapshot == null || snapshot.size() != stockRepository.count()) {
+            snapshot = stockPriceJdbcRepository.findAllQuotes().stream()
+                    .map(StockQuote::toDetachedStock)
+                    .collect(Collectors.toList());
+        }
+        List<StockPriceUpdatedEvent.PriceTick> ticks = priceFeed.advance(snapshot);
+        List<StockQuote> quotes = moved(snapshot, ticks).stream().map(StockQuote::from).collect(Collectors.toList());
+        if (stockPriceJdbcRepository.batchUpdatePrices(quotes) > 0) {
+            // 그사이 삭제된 종목이 있다. 이번 틱은 그대로 내보내고 다음 틱에 스냅샷을 다시 읽는다.
+            snapshot = null;
+        }
+        return ticks;
+    }
+
+    /** write-behind 모드: 메모리 시세만 고친다. DB 쓰기는 {@link MarketState#flush} 가 주기적으로 한다. */
+    private List<StockPriceUpdatedEvent.PriceTick> tickWriteBehind() {
+        if (snapshot == null || snapshot.size() != marketState.size()) {
+            snapshot = marketState.detachedStocks();
+        }
+        List<StockPriceUpdatedEvent.PriceTick> ticks = priceFeed.advance(snapshot);
+        marketState.update(moved(snapshot, ticks));
+        return ticks;
+    }
 
-        return next.compareTo(BigDecimal.ONE) < 0 ? BigDecimal.ONE : next;
+    /** 피드가 움직인 종목만 추린다. 랜덤워크처럼 전 종목이 움직였으면 그대로 돌려준다. */
+    private static List<Stock> moved(List<Stock> stocks, List<StockPriceUpdatedEvent.PriceTick> ticks) {
+        if (ticks.size() == stocks.size()) {
+            return stocks;
+        }
+        Set<Long> ids = ticks.stream().map(StockPriceUpdatedEvent.PriceTick::stockId).collect(Collectors.toSet());
+        return stocks.stream().filter(stock -> ids.contains(stock.getId())).collect(Collectors.toList());
     }
 }
@@ -1,10 +1,20 @@
 package com.investory.backend.domain.stock.service;
 
+import com.investory.backend.domain.order.service.LimitOrderBook;
+import com.investory.backend.domain.stock.cache.CachedStock;
+import com.investory.backend.domain.stock.cache.StockProfile;
+import com.investory.backend.domain.stock.cache.StockReadCache;
+import com.investory.backend.domain.stock.config.StockHistoryProperties;
 import com.investory.backend.domain.stock.dto.StockResponse;
 import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.entity.StockCandle;
 import com.investory.backend.domain.stock.entity.Watchlist;
+import com.investory.backend.domain.stock.repository.StockCandleRepository;
 import com.investory.backend.domain.stock.repository.StockRepository;
 import com.investory.backend.domain.stock.repository.WatchlistRepository;
+import com.investory.backend.domain.stock.search.StockSearchIndex;
+import com.investory.backend.domain.stock.tickstore.TickSeries;
+import com.investory.backend.domain.stock.tickstore.TickStore;
 import com.investory.backend.domain.user.entity.User;
 import com.investory.backend.domain.user.repository.UserRepository;
 import com.investory.backend.global.exception.BusinessException;
@@ -12,12 +22,16 @@ import com.investory.backend.global.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,92 +41,167 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StockService {
 
+    /** 캔들 조회에서 from 을 생략했을 때 돌려줄 캔들 수. */
+    private static final int DEFAULT_CANDLES = 200;
+    /** 호가 조회·호가 스트림에서 매도·매수 각각 보여 줄 가격대 수. */
+    public static final int ORDERBOOK_LEVELS = 5;
+
     private final StockRepository stockRepository;
     private final WatchlistRepository watchlistRepository;
     private final UserRepository userRepository;
+    private final MarketState marketState;
+    private final StockCandleRepository candleRepository;
+    private final PriceHistoryRecorder priceHistoryRecorder;
+    private final StockHistoryProperties historyProperties;
+    private final TickStore tickStore;
+    private final StockReadCache stockReadCache;
+    private final StockLeaderboard stockLeaderboard;
+    private final StockSearchIndex stockSearchIndex;
+    private final LimitOrderBook limitOrderBook;
 
-    @Transactional(readOnly = true)
+    /**
+     * 종목 목록·상세·섹터는 {@link StockReadCache} 에서 읽는다. 캐시가 적중하면 DB 커넥션을 잡지 않도록
+     * 트랜잭션을 걸지 않는다. (적중 실패 시의 로드는 리포지토리 트랜잭션으로 충분하다)
+     */
     public List<StockResponse.Summary> getAllStocks(Stock.Market market) {
-        List<Stock> stocks = market != null 
-                ? stockRepository.findByMarket(market)
-                : stockRepository.findAll();
-        return stocks.stream()
+        return stockReadCache.findAll().stream()
+                .filter(cached -> market == null || cached.profile().market() == market)
                 .map(StockResponse.Summary::from)
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public StockResponse.Detail getStockDetail(String code) {
-        Stock stock = getStockByCode(code);
-        return StockResponse.Detail.from(stock);
+        return stockReadCache.find(code)
+                .map(StockResponse.Detail::from)
+                .orElseThrow(() -> new BusinessException(ErrorCode.STOCK_NOT_FOUND));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 종목 검색. 색인({@link StockSearchIndex})을 쓰면 DB 를 훑지 않고 찾아 그 페이지의 종목에만 시세를 붙인다.
+     * 이때 순서는 관련도(일치 → 앞부분 일치 → 포함)이고 {@code pageable} 의 정렬은 보지 않는다.
+     */
     public Page<StockResponse.Summary> searchStocks(String keyword, Pageable pageable) {
-        return stockRepository.searchByKeyword(keyword, pageable)
-                .map(StockResponse.Summary::from);
+        if (!stockSearchIndex.isEnabled()) {
+            return stockRepository.searchByKeyword(keyword, pageable)
+                    .map(this::summaryOf);
+        }
+        List<StockProfile> matches = stockSearchIndex.search(keyword);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<StockResponse.Summary> content = stockReadCache.withQuotes(matches.subList(from, to)).stream()
+                .map(StockResponse.Summary::from)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, matches.size());
     }
 
-    @Transactional(readOnly = true)
-    public List<StockResponse.Summary> getTopStocks(String type, int limit) {
+    /**
+     * 인기 종목. {@code market} 이 null 이면 전체.
+     * <p>
+     * 시뮬레이터가 돌면 틱마다 미리 매겨 둔 순위({@link StockLeaderboard})의 앞부분을 잘라 준다.
+     * write-behind 모드에서도 순위가 틱 값으로 매겨지므로 응답 안의 값과 순서가 어긋나지 않는다.
+     * 시뮬레이터가 꺼져 있으면 시세가 바뀌지 않으므로 DB 정렬로 충분하다.
+     */
+    public List<StockResponse.Summary> getTopStocks(String type, Stock.Market market, int limit) {
+        StockLeaderboard.Type rankType = StockLeaderboard.Type.from(type);
+        if (stockLeaderboard.isActive()) {
+            return stockLeaderboard.top(rankType, market, limit);
+        }
         Pageable pageable = PageRequest.of(0, limit);
-        List<Stock> stocks = switch (type.toLowerCase()) {
-            case "volume" -> stockRepository.findTopByVolume(pageable);
-            case "gainers" -> stockRepository.findTopGainers(pageable);
-            case "losers" -> stockRepository.findTopLosers(pageable);
-            default -> stockRepository.findTopByVolume(pageable);
+        List<Stock> stocks = switch (rankType) {
+            case VOLUME -> market != null
+                    ? stockRepository.findTopByMarketOrderByVolume(market, pageable)
+                    : stockRepository.findTopByVolume(pageable);
+            case GAINERS -> market != null
+                    ? stockRepository.findTopGainersByMarket(market, pageable)
+                    : stockRepository.findTopGainers(pageable);
+            case LOSERS -> market != null
+                    ? stockRepository.findTopLosersByMarket(market, pageable)
+                    : stockRepository.findTopLosers(pageable);
         };
         return stocks.stream()
-                .map(StockResponse.Summary::from)
+                .map(this::summaryOf)
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public List<String> getAllSectors() {
-        return stockRepository.findAllSectors();
+        return stockReadCache.sectors();
     }
 
-    @Transactional(readOnly = true)
     public List<StockResponse.Summary> getStocksBySector(String sector) {
-        return stockRepository.findBySector(sector).stream()
+        return stockReadCache.findAll().stream()
+                .filter(cached -> sector.equals(cached.profile().sector()))
                 .map(StockResponse.Summary::from)
                 .collect(Collectors.toList());
     }
 
-    // 호가 조회 (모의 데이터)
+    /**
+     * 캔들 조회. {@code [from, to]} 에 시작하는 닫힌 캔들을 읽고, 열린 캔들이 범위 안이면 끝에 붙인다.
+     * from 이 구간 중간이면 그 시각을 품은 캔들부터 준다. 생략하면 to 는 지금, from 은 to 에서 기본 개수만큼 앞이다.
+     */
     @Transactional(readOnly = true)
-    public StockResponse.Orderbook getOrderbook(String code) {
+    public List<StockResponse.Candle> getCandles(String code, String intervalCode,
+                                                 LocalDateTime from, LocalDateTime to) {
         Stock stock = getStockByCode(code);
-        BigDecimal basePrice = stock.getCurrentPrice();
-
-        List<StockResponse.OrderbookEntry> asks = new ArrayList<>();
-        List<StockResponse.OrderbookEntry> bids = new ArrayList<>();
-
-        // 매도 호가 (현재가 위로 5단계)
-        for (int i = 5; i >= 1; i--) {
-            BigDecimal price = basePrice.add(basePrice.multiply(BigDecimal.valueOf(0.01 * i)));
-            asks.add(StockResponse.OrderbookEntry.builder()
-                    .price(price.setScale(0, java.math.RoundingMode.HALF_UP))
-                    .quantity((long) (Math.random() * 10000) + 100)
-                    .count((int) (Math.random() * 50) + 1)
-                    .build());
+        StockCandle.Interval interval = StockCandle.Interval.fromCode(intervalCode);
+        int maxCandles = historyProperties.getMaxCandles();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = interval.openTimeOf(from != null
+                ? from
+                : end.minus(interval.getDuration().multipliedBy(DEFAULT_CANDLES)));
+        if (start.isAfter(end) || Duration.between(start, end).dividedBy(interval.getDuration()) >= maxCandles) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
         }
 
-        // 매수 호가 (현재가 아래로 5단계)
-        for (int i = 1; i <= 5; i++) {
-            BigDecimal price = basePrice.subtract(basePrice.multiply(BigDecimal.valueOf(0.01 * i)));
-            bids.add(StockResponse.OrderbookEntry.builder()
-                    .price(price.setScale(0, java.math.RoundingMode.HALF_UP))
-                    .quantity((long) (Math.random() * 10000) + 100)
-                    .count((int) (Math.random() * 50) + 1)
-                    .build());
+        List<StockResponse.Candle> candles = candleRepository.findRange(stock.getId(), interval, start, end).stream()
+                .map(candle -> StockResponse.Candle.from(candle, true))
+                .collect(Collectors.toList());
+        LocalDateTime lastClosed = candles.isEmpty() ? null : candles.get(candles.size() - 1).getOpenTime();
+        priceHistoryRecorder.findOpenCandle(stock.getId(), interval)
+                .filter(open -> !open.getOpenTime().isBefore(start) && !open.getOpenTime().isAfter(end))
+                .filter(open -> lastClosed == null || open.getOpenTime().isAfter(lastClosed))
+                .ifPresent(open -> candles.add(StockResponse.Candle.from(open, false)));
+        return candles;
+    }
+
+    /**
+     * 틱 원장을 {@code stepSeconds} 폭 막대로 줄여 조회한다. 캔들 구간에 없는 폭(예: 10초, 15분)이나 백테스트용이다.
+     * 막대 경계는 epoch 기준으로 나눈다. 지금 시각을 품은 마지막 막대는 closed=false 다.
+     */
+    public List<StockResponse.Candle> getTickBars(String code, LocalDateTime from, LocalDateTime to, long stepSeconds) {
+        Stock stock = getStockByCode(code);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusSeconds(stepSeconds * DEFAULT_CANDLES);
+        if (stepSeconds <= 0 || start.isAfter(end)
+                || Duration.between(start, end).toSeconds() / stepSeconds >= historyProperties.getMaxCandles()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
         }
 
-        return StockResponse.Orderbook.builder()
-                .stockCode(code)
-                .asks(asks)
-                .bids(bids)
-                .build();
+        long stepMillis = stepSeconds * 1000;
+        long now = System.currentTimeMillis();
+        TickSeries.Bars bars = tickStore.scan(stock.getId(), start, end).downsample(stepMillis);
+        List<StockResponse.Candle> candles = new ArrayList<>(bars.size());
+        for (int i = 0; i < bars.size(); i++) {
+            long openTime = bars.openTimeAt(i);
+            candles.add(StockResponse.Candle.from(bars, i,
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(openTime), ZoneId.systemDefault()),
+                    openTime + stepMillis <= now));
+        }
+        return candles;
+    }
+
+    /**
+     * 호가 조회. 미체결 지정가 주문을 가격대별로 모아 둔 {@link LimitOrderBook} 에서 바로 읽는다.
+     * 현재가 양쪽으로 가까운 {@value #ORDERBOOK_LEVELS} 개 가격대씩이고, 주문이 없는 쪽은 비어 있다.
+     */
+    public StockResponse.Orderbook getOrderbook(String code) {
+        return StockResponse.Orderbook.from(code, limitOrderBook.depth(getStockId(code), ORDERBOOK_LEVELS));
+    }
+
+    /** 종목 코드의 ID. 종목 조회 캐시에서 찾으므로 캐시가 켜져 있으면 DB 를 읽지 않는다. */
+    public Long getStockId(String code) {
+        return stockReadCache.find(code)
+                .map(CachedStock::id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.STOCK_NOT_FOUND));
     }
 
     // 관심 종목
@@ -120,7 +209,7 @@ public class StockService {
     public List<StockResponse.WatchlistItem> getWatchlist(String loginId) {
         User user = getUserByLoginId(loginId);
         return watchlistRepository.findByUserIdOrderBySortOrderAsc(user.getId()).stream()
-                .map(StockResponse.WatchlistItem::from)
+                .map(this::watchlistItemOf)
                 .collect(Collectors.toList());
     }
 
@@ -128,7 +217,19 @@ public class StockService {
     public List<StockResponse.WatchlistItem> getWatchlistByGroup(String loginId, String groupName) {
         User user = getUserByLoginId(loginId);
         return watchlistRepository.findByUserIdAndGroupNameOrderBySortOrderAsc(user.getId(), groupName).stream()
-                .map(StockResponse.WatchlistItem::from)
+                .map(this::watchlistItemOf)
+                .collect(Collectors.toList());
+    }
+
+    /** 관심 종목 코드만 정렬 순서대로. 그룹을 주면 그 그룹만. (종목별 시세 스트림 구독용) */
+    @Transactional(readOnly = true)
+    public List<String> getWatchlistCodes(String loginId, String groupName) {
+        User user = getUserByLoginId(loginId);
+        List<Watchlist> watchlist = groupName != null
+                ? watchlistRepository.findByUserIdAndGroupNameOrderBySortOrderAsc(user.getId(), groupName)
+                : watchlistRepository.findByUserIdOrderBySortOrderAsc(user.getId());
+        return watchlist.stream()
+                .map(item -> item.getStock().getCode())
                 .collect(Collectors.toList());
     }
 
@@ -159,7 +260,7 @@ public class StockService {
         Watchlist saved = watchlistRepository.save(watchlist);
         log.info("관심종목 추가: {} - {}", loginId, stockCode);
 
-        return StockResponse.WatchlistItem.from(saved);
+        return watchlistItemOf(saved);
     }
 
     @Transactional
@@ -178,6 +279,15 @@ public class StockService {
         return watchlistRepository.existsByUserIdAndStockId(user.getId(), stock.getId());
     }
 
+    /** 시세 필드는 메모리 시세가 있으면 그것으로 채운다. ({@link MarketState}) */
+    private StockResponse.Summary summaryOf(Stock stock) {
+        return StockResponse.Summary.from(stock, marketState.find(stock.getId()).orElse(null));
+    }
+
+    private StockResponse.WatchlistItem watchlistItemOf(Watchlist watchlist) {
+        return StockResponse.WatchlistItem.from(watchlist, summaryOf(watchlist.getStock()));
+    }
+
     private Stock getStockByCode(String code) {
         return stockRepository.findByCode(code)
                 .orElseThrow(() -> new BusinessException(ErrorCode.STOCK_NOT_FOUND));
@@ -0,0 +1,220 @@
+package com.investory.backend.domain.stock.tickstore;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 종목 하나의 틱 세그먼트 파일 (컬럼형, 메모리 매핑).
+ * <p>
+ * <b>배치</b><br>
+ * {@code [헤더 64B][시각 영역][가격 영역][거래량 영역]}. 세 영역은 같은 크기로 미리 잡아 두고 각자 앞에서부터 채운다.
+ * 한 컬럼을 읽을 때 다른 컬럼 바이트를 건너뛸 필요가 없고, 값의 성질이 비슷한 것끼리 붙어 있다.
+ * <p>
+ * <b>압축</b><br>
+ * 시각과 가격은 직전 값과의 차이를 zigzag 로 부호를 접은 뒤 varint 로, 거래량은 그대로 varint 로 쓴다.
+ * 5초 간격 시각은 2바이트, 호가 단위 몇 개만큼 움직인 가격은 1~2바이트라 점 하나가 대개 6바이트 안팎이다.
+ * (JPA 행 하나는 인덱스까지 합쳐 100바이트가 넘는다.)
+ * <p>
+ * <b>동시성과 내구성</b><br>
+ * 값을 먼저 쓰고 헤더의 개수·위치를 나중에 고친다. 쓰기와 읽기 스냅샷은 이 객체의 모니터로 묶어, 읽는 쪽은
+ * 스냅샷 시점의 개수까지만 디코딩한다. 매핑된 쓰기는 OS 페이지 캐시에 남으므로 프로세스가 죽어도 사라지지 않고,
+ * 머신이 죽으면 마지막 {@link #force} 이후의 점을 잃을 수 있다. 헤더가 늦게 쓰였다면 그 점들은 보이지 않을 뿐 깨지지 않는다.
+ */
+final class ColumnarSegment {
+
+    private static final int MAGIC = 0x5449_4B31; // "TIK1"
+    static final int HEADER_BYTES = 64;
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_REGION = 4;
+    private static final int OFF_COUNT = 8;
+    private static final int OFF_TS_POS = 12;
+    private static final int OFF_PX_POS = 16;
+    private static final int OFF_VOL_POS = 20;
+    private static final int OFF_FIRST_TS = 24;
+    private static final int OFF_LAST_TS = 32;
+    private static final int OFF_LAST_PX = 40;
+
+    @Getter
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int regionBytes;
+    private final boolean readOnly;
+
+    private int count;
+    private int tsPos;
+    private int pxPos;
+    private int volPos;
+    @Getter
+    private final long firstTimestamp;
+    private long lastTimestamp;
+    private long lastPrice;
+
+    private ColumnarSegment(Path path, MappedByteBuffer buffer, boolean readOnly) {
+        this.path = path;
+        this.buffer = buffer;
+        this.readOnly = readOnly;
+        if (buffer.getInt(OFF_MAGIC) != MAGIC) {
+            throw new IllegalStateException("틱 세그먼트 파일이 아니다: " + path);
+        }
+        this.regionBytes = buffer.getInt(OFF_REGION);
+        this.count = buffer.getInt(OFF_COUNT);
+        this.tsPos = buffer.getInt(OFF_TS_POS);
+        this.pxPos = buffer.getInt(OFF_PX_POS);
+        this.volPos = buffer.getInt(OFF_VOL_POS);
+        this.firstTimestamp = buffer.getLong(OFF_FIRST_TS);
+        this.lastTimestamp = buffer.getLong(OFF_LAST_TS);
+        this.lastPrice = buffer.getLong(OFF_LAST_PX);
+    }
+
+    /** 새 세그먼트를 만든다. 파일은 처음부터 전체 크기로 잡히지만 쓰지 않은 페이지는 디스크를 차지하지 않는다. */
+    static ColumnarSegment create(Path path, int regionBytes, long firstTimestamp) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(regionBytes));
+            buffer.putInt(OFF_MAGIC, MAGIC);
+            buffer.putInt(OFF_REGION, regionBytes);
+            buffer.putLong(OFF_FIRST_TS, firstTimestamp);
+            buffer.putLong(OFF_LAST_TS, firstTimestamp);
+            return new ColumnarSegment(path, buffer, false);
+        }
+    }
+
+    /** 기존 세그먼트를 연다. 읽기 전용이면 {@link #append} 를 부를 수 없다. */
+    static ColumnarSegment open(Path path, boolean readOnly) throws IOException {
+        StandardOpenOption[] options = readOnly
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            MappedByteBuffer buffer = channel.map(
+                    readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            return new ColumnarSegment(path, buffer, readOnly);
+        }
+    }
+
+    static long fileSize(int regionBytes) {
+        return HEADER_BYTES + 3L * regionBytes;
+    }
+
+    /**
+     * 점 하나를 덧붙인다.
+     *
+     * @return 어느 영역이든 남은 자리가 모자라 쓰지 못했으면 false. 호출자는 새 세그먼트로 넘어간다.
+     */
+    synchronized boolean append(long timestamp, long unscaledPrice, long volume) {
+        if (readOnly) {
+            throw new IllegalStateException("읽기 전용 세그먼트: " + path);
+        }
+        if (!hasRoom(tsPos) || !hasRoom(pxPos) || !hasRoom(volPos)) {
+            return false;
+        }
+        tsPos = writeVarint(tsBase() + tsPos, zigzag(timestamp - lastTimestamp)) - tsBase();
+        pxPos = writeVarint(pxBase() + pxPos, zigzag(unscaledPrice - lastPrice)) - pxBase();
+        volPos = writeVarint(volBase() + volPos, volume) - volBase();
+        lastTimestamp = timestamp;
+        lastPrice = unscaledPrice;
+        count++;
+
+        buffer.putInt(OFF_TS_POS, tsPos);
+        buffer.putInt(OFF_PX_POS, pxPos);
+        buffer.putInt(OFF_VOL_POS, volPos);
+        buffer.putLong(OFF_LAST_TS, lastTimestamp);
+        buffer.putLong(OFF_LAST_PX, lastPrice);
+        buffer.putInt(OFF_COUNT, count);
+        return true;
+    }
+
+    /** {@code [from, to]} 의 점을 {@code out} 에 덧붙인다. */
+    void scan(long from, long to, TickSeries out) {
+        int n;
+        ByteBuffer view;
+        synchronized (this) {
+            n = count;
+            view = buffer.duplicate();
+        }
+        int ts = tsBase();
+        int px = pxBase();
+        int vol = volBase();
+        long timestamp = firstTimestamp;
+        long price = 0;
+        long[] cursor = new long[1];
+        for (int i = 0; i < n; i++) {
+            ts = readVarint(view, ts, cursor);
+            timestamp += unzigzag(cursor[0]);
+            px = readVarint(view, px, cursor);
+            price += unzigzag(cursor[0]);
+            vol = readVarint(view, vol, cursor);
+            if (timestamp >= from && timestamp <= to) {
+                out.add(timestamp, price, cursor[0]);
+            }
+        }
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    void force() {
+        if (!readOnly) {
+            buffer.force();
+        }
+    }
+
+    private boolean hasRoom(int position) {
+        return regionBytes - position >= MAX_VARINT_BYTES;
+    }
+
+    private int tsBase() {
+        return HEADER_BYTES;
+    }
+
+    private int pxBase() {
+        return HEADER_BYTES + regionBytes;
+    }
+
+    private int volBase() {
+        return HEADER_BYTES + 2 * regionBytes;
+    }
+
+    private int writeVarint(int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put(position++, (byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put(position++, (byte) value);
+        return position;
+    }
+
+    /** varint 하나를 읽어 {@code out[0]} 에 담고 다음 위치를 돌려준다. */
+    private static int readVarint(ByteBuffer view, int position, long[] out) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = view.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        out[0] = value;
+        return position;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
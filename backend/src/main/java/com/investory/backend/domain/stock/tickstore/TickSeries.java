@@ -0,0 +1,166 @@
+package com.investory.backend.domain.stock.tickstore;
+
+import com.investory.backend.global.common.Money;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * 한 종목의 틱 구간. 시각·가격·거래량을 박싱 없이 원시 배열 세 개로 든다.
+ * <p>
+ * 가격은 {@code stocks.current_price} 와 같은 소수 둘째 자리까지를 정수로 올린 값(원 × 100)이다.
+ * 점마다 {@link BigDecimal} 을 만들지 않으므로 백테스트처럼 수십만 점을 훑어도 할당이 배열 세 개로 끝난다.
+ * 값이 필요할 때만 {@link #priceAt} 으로 꺼낸다. 시각은 epoch ms.
+ */
+public final class TickSeries {
+
+    /** 가격 정수화 자릿수. {@link Money#SCALE} 와 같다. */
+    public static final int PRICE_SCALE = Money.SCALE;
+
+    private long[] timestamps;
+    private long[] prices;
+    private long[] volumes;
+    private int size;
+
+    public TickSeries() {
+        this(64);
+    }
+
+    public TickSeries(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.timestamps = new long[capacity];
+        this.prices = new long[capacity];
+        this.volumes = new long[capacity];
+    }
+
+    /** 가격을 정수화한다. 자릿수를 넘는 값은 반올림한다. */
+    public static long toUnscaled(BigDecimal price) {
+        return Money.of(price);
+    }
+
+    public static BigDecimal toPrice(long unscaled) {
+        return Money.toBigDecimal(unscaled);
+    }
+
+    public void add(long timestamp, long unscaledPrice, long volume) {
+        if (size == timestamps.length) {
+            int capacity = size * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+        timestamps[size] = timestamp;
+        prices[size] = unscaledPrice;
+        volumes[size] = volume;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timestampAt(int index) {
+        return timestamps[checked(index)];
+    }
+
+    public long unscaledPriceAt(int index) {
+        return prices[checked(index)];
+    }
+
+    public BigDecimal priceAt(int index) {
+        return toPrice(prices[checked(index)]);
+    }
+
+    public long volumeAt(int index) {
+        return volumes[checked(index)];
+    }
+
+    private int checked(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return index;
+    }
+
+    /**
+     * 시각 순으로 든 틱을 {@code bucketMillis} 폭의 OHLCV 막대로 줄인다. 틱이 없는 구간은 막대를 만들지 않는다.
+     * 구간 경계는 epoch 기준이라 하루보다 짧은 폭에 쓴다. (일봉은 캔들 API 를 쓴다)
+     */
+    public Bars downsample(long bucketMillis) {
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("bucketMillis must be positive: " + bucketMillis);
+        }
+        Bars bars = new Bars();
+        for (int i = 0; i < size; i++) {
+            bars.accept(Math.floorDiv(timestamps[i], bucketMillis) * bucketMillis, prices[i], volumes[i]);
+        }
+        return bars;
+    }
+
+    /** 다운샘플 결과. 가격은 {@link TickSeries} 와 같이 정수화돼 있다. */
+    public static final class Bars {
+
+        private long[] openTimes = new long[16];
+        private long[] opens = new long[16];
+        private long[] highs = new long[16];
+        private long[] lows = new long[16];
+        private long[] closes = new long[16];
+        private long[] volumes = new long[16];
+        private int size;
+
+        private void accept(long openTime, long price, long volume) {
+            int last = size - 1;
+            if (size > 0 && openTimes[last] == openTime) {
+                highs[last] = Math.max(highs[last], price);
+                lows[last] = Math.min(lows[last], price);
+                closes[last] = price;
+                volumes[last] += volume;
+                return;
+            }
+            if (size == openTimes.length) {
+                int capacity = size * 2;
+                openTimes = Arrays.copyOf(openTimes, capacity);
+                opens = Arrays.copyOf(opens, capacity);
+                highs = Arrays.copyOf(highs, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                closes = Arrays.copyOf(closes, capacity);
+                volumes = Arrays.copyOf(volumes, capacity);
+            }
+            openTimes[size] = openTime;
+            opens[size] = price;
+            highs[size] = price;
+            lows[size] = price;
+            closes[size] = price;
+            volumes[size] = volume;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long openTimeAt(int index) {
+            return openTimes[index];
+        }
+
+        public BigDecimal openAt(int index) {
+            return toPrice(opens[index]);
+        }
+
+        public BigDecimal highAt(int index) {
+            return toPrice(highs[index]);
+        }
+
+        public BigDecimal lowAt(int index) {
+            return toPrice(lows[index]);
+        }
+
+        public BigDecimal closeAt(int index) {
+            return toPrice(closes[index]);
+        }
+
+        public long volumeAt(int index) {
+            return volumes[index];
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.investory.backend.domain.stock.tickstore;
+
+import com.investory.backend.domain.stock.entity.StockTick;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 틱 원장 저장소.
+ * <p>
+ * {@code investory.stock.history.tick-store} 값으로 구현 하나만 빈으로 등록된다. ({@link TickStores} 참고)
+ * 캔들 집계({@code PriceHistoryRecorder})는 어느 구현이든 같은 방식으로 쓰고, 차트·백테스트용 원시 틱은
+ * {@link #scan} 으로 읽는다.
+ */
+public interface TickStore {
+
+    /** 한 틱 묶음을 같은 시각으로 덧붙인다. 거래량은 이 틱의 체결량({@link PriceTick#tradedVolume()})이다. */
+    void append(List<PriceTick> ticks, LocalDateTime tradedAt);
+
+    /** 종목 하나의 {@code [from, to]} 틱을 시각 순으로 읽는다. */
+    TickSeries scan(Long stockId, LocalDateTime from, LocalDateTime to);
+
+    /** 전 종목의 {@code since} 이후 틱. 열린 1분봉 복원용이라 읽는 구간은 1분을 넘지 않는다. */
+    List<StockTick> findSince(LocalDateTime since);
+
+    /**
+     * 보존 기간이 지난 틱을 지운다. 구현에 따라 경계 근처는 덜 지워질 수 있다.
+     *
+     * @return 지운 틱 수
+     */
+    long purgeBefore(LocalDateTime before);
+}
@@ -0,0 +1,320 @@
+package com.investory.backend.domain.stock.tickstore;
+
+import com.investory.backend.domain.stock.config.StockHistoryProperties;
+import com.investory.backend.domain.stock.entity.StockTick;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link TickStore} 구현 모음.
+ * {@code SseBroadcasters} 와 같은 구성으로, {@code investory.stock.history.tick-store} 값 하나에 구현 하나만 등록된다.
+ */
+public final class TickStores {
+
+    private TickStores() {
+    }
+
+    /**
+     * jdbc 모드 (기본): {@code stock_ticks} 테이블에 JDBC 배치 INSERT 로 쌓는다.
+     * <p>
+     * 행 하나가 틱 하나라 종목 수 × 틱 수만큼 행과 인덱스가 는다. 데모 규모에서는 충분하고 별도 볼륨이 필요 없다.
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnExpression("'${investory.stock.history.tick-store:jdbc}' != 'columnar'")
+    public static class Jdbc implements TickStore {
+
+        private static final String INSERT_TICK =
+                "INSERT INTO stock_ticks (stock_id, price, volume, traded_at) VALUES (?, ?, ?, ?)";
+        private static final String SELECT_RANGE =
+                "SELECT traded_at, price, volume FROM stock_ticks "
+                        + "WHERE stock_id = ? AND traded_at BETWEEN ? AND ? ORDER BY traded_at, id";
+        private static final String SELECT_SINCE =
+                "SELECT stock_id, price, volume, traded_at FROM stock_ticks WHERE traded_at >= ? ORDER BY traded_at, id";
+        private static final String DELETE_BEFORE =
+                "DELETE FROM stock_ticks WHERE traded_at < ?";
+
+        private final JdbcTemplate jdbcTemplate;
+
+        @Override
+        public void append(List<PriceTick> ticks, LocalDateTime tradedAt) {
+            if (ticks.isEmpty()) {
+                return;
+            }
+            Timestamp at = Timestamp.valueOf(tradedAt);
+            jdbcTemplate.batchUpdate(INSERT_TICK, ticks, ticks.size(), (ps, tick) -> {
+                ps.setLong(1, tick.stockId());
+                ps.setBigDecimal(2, tick.currentPrice());
+                ps.setLong(3, tick.tradedVolume());
+                ps.setTimestamp(4, at);
+            });
+        }
+
+        @Override
+        public TickSeries scan(Long stockId, LocalDateTime from, LocalDateTime to) {
+            TickSeries series = new TickSeries();
+            jdbcTemplate.query(SELECT_RANGE, rs -> {
+                series.add(epochMillis(rs.getTimestamp(1).toLocalDateTime()),
+                        TickSeries.toUnscaled(rs.getBigDecimal(2)), rs.getLong(3));
+            }, stockId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+            return series;
+        }
+
+        @Override
+        public List<StockTick> findSince(LocalDateTime since) {
+            return jdbcTemplate.query(SELECT_SINCE, (rs, rowNum) -> StockTick.builder()
+                    .stockId(rs.getLong(1))
+                    .price(rs.getBigDecimal(2))
+                    .volume(rs.getLong(3))
+                    .tradedAt(rs.getTimestamp(4).toLocalDateTime())
+                    .build(), Timestamp.valueOf(since));
+        }
+
+        @Override
+        public long purgeBefore(LocalDateTime before) {
+            return jdbcTemplate.update(DELETE_BEFORE, Timestamp.valueOf(before));
+        }
+    }
+
+    /**
+     * columnar 모드: 종목별 디렉터리에 {@link ColumnarSegment} 파일을 이어 쓴다.
+     * <p>
+     * <b>배치</b><br>
+     * {@code {columnar-dir}/{stockId}/{첫 틱 epoch ms}.seg}. 종목마다 쓰기용 세그먼트 하나를 매핑해 두고,
+     * 자리가 차면 새 파일로 넘어간다. 재기동하면 종목의 마지막 세그먼트를 다시 열어 이어 쓴다.
+     * 지난 세그먼트는 조회 때만 읽기 전용으로 매핑한다.
+     * <p>
+     * <b>조회</b><br>
+     * 세그먼트 파일 이름이 첫 틱 시각이라, 범위 조회는 이름과 헤더의 마지막 시각만 보고 겹치지 않는 파일을 건너뛴다.
+     * <p>
+     * <b>정리</b><br>
+     * 파일 단위로 지운다. 마지막 틱까지 보존 기간을 넘긴 세그먼트만 지우므로 경계의 세그먼트 하나는 남는다.
+     * <p>
+     * 쓰기와 정리는 스케줄러에서, 조회는 요청 스레드에서 온다. 쓰기용 세그먼트 교체는 이 객체의 모니터로 묶고,
+     * 세그먼트 안의 읽기·쓰기는 세그먼트가 직접 맞춘다.
+     */
+    @Slf4j
+    @Component
+    @ConditionalOnProperty(name = "investory.stock.history.tick-store", havingValue = "columnar")
+    public static class Columnar implements TickStore {
+
+        private static final String SUFFIX = ".seg";
+
+        private final Path baseDir;
+        private final int regionBytes;
+
+        /** 종목 ID → 쓰기용 세그먼트. */
+        private final Map<Long, ColumnarSegment> writers = new ConcurrentHashMap<>();
+
+        public Columnar(StockHistoryProperties properties) {
+            this.baseDir = Path.of(properties.getColumnarDir());
+            this.regionBytes = properties.getColumnarRegionBytes();
+            try {
+                Files.createDirectories(baseDir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("틱 저장 디렉터리를 만들 수 없다: " + baseDir, e);
+            }
+            log.info("컬럼형 틱 저장소: dir={}, 세그먼트={}KB", baseDir.toAbsolutePath(),
+                    ColumnarSegment.fileSize(regionBytes) / 1024);
+        }
+
+        @Override
+        public synchronized void append(List<PriceTick> ticks, LocalDateTime tradedAt) {
+            long timestamp = epochMillis(tradedAt);
+            for (PriceTick tick : ticks) {
+                long price = TickSeries.toUnscaled(tick.currentPrice());
+                ColumnarSegment segment = writerOf(tick.stockId(), timestamp);
+                if (!segment.append(timestamp, price, tick.tradedVolume())) {
+                    segment.force();
+                    segment = roll(tick.stockId(), timestamp);
+                    segment.append(timestamp, price, tick.tradedVolume());
+                }
+            }
+        }
+
+        @Override
+        public TickSeries scan(Long stockId, LocalDateTime from, LocalDateTime to) {
+            return scan(stockId, epochMillis(from), epochMillis(to));
+        }
+
+        private TickSeries scan(Long stockId, long fromMillis, long toMillis) {
+            TickSeries series = new TickSeries();
+            List<Path> files = segmentsOf(stockId);
+            for (int i = 0; i < files.size(); i++) {
+                Path file = files.get(i);
+                // 다음 파일이 from 이전에 시작했으면 이 파일은 통째로 from 이전이다
+                if (i + 1 < files.size() && firstTimestampOf(files.get(i + 1)) < fromMillis) {
+                    continue;
+                }
+                if (firstTimestampOf(file) > toMillis) {
+                    break;
+                }
+                readable(stockId, file).ifPresent(segment -> segment.scan(fromMillis, toMillis, series));
+            }
+            return series;
+        }
+
+        @Override
+        public List<StockTick> findSince(LocalDateTime since) {
+            long sinceMillis = epochMillis(since);
+            List<StockTick> ticks = new ArrayList<>();
+            for (Long stockId : stockIds()) {
+                TickSeries series = scan(stockId, sinceMillis, Long.MAX_VALUE);
+                for (int i = 0; i < series.size(); i++) {
+                    ticks.add(StockTick.builder()
+                            .stockId(stockId)
+                            .price(series.priceAt(i))
+                            .volume(series.volumeAt(i))
+                            .tradedAt(toLocalDateTime(series.timestampAt(i)))
+                            .build());
+                }
+            }
+            ticks.sort(Comparator.comparing(StockTick::getTradedAt));
+            return ticks;
+        }
+
+        @Override
+        public synchronized long purgeBefore(LocalDateTime before) {
+            long cutoff = epochMillis(before);
+            long deleted = 0;
+            for (Long stockId : stockIds()) {
+                for (Path file : segmentsOf(stockId)) {
+                    Optional<ColumnarSegment> segment = readable(stockId, file);
+                    if (segment.isEmpty() || segment.get().lastTimestamp() >= cutoff) {
+                        continue;
+                    }
+                    ColumnarSegment writer = writers.get(stockId);
+                    if (writer != null && writer.getPath().equals(file)) {
+                        writers.remove(stockId);
+                    }
+                    deleted += segment.get().count();
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.warn("틱 세그먼트 삭제 실패: {}, cause={}", file, e.getMessage());
+                    }
+                }
+            }
+            return deleted;
+        }
+
+        /** 정상 종료 시 쓰기용 세그먼트를 디스크로 내린다. */
+        @PreDestroy
+        public synchronized void close() {
+            writers.values().forEach(ColumnarSegment::force);
+            writers.clear();
+        }
+
+        private ColumnarSegment writerOf(Long stockId, long timestamp) {
+            ColumnarSegment writer = writers.get(stockId);
+            if (writer != null) {
+                return writer;
+            }
+            List<Path> files = segmentsOf(stockId);
+            try {
+                writer = files.isEmpty()
+                        ? roll(stockId, timestamp)
+                        : ColumnarSegment.open(files.get(files.size() - 1), false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("틱 세그먼트를 열 수 없다: stockId=" + stockId, e);
+            }
+            writers.put(stockId, writer);
+            return writer;
+        }
+
+        private ColumnarSegment roll(Long stockId, long timestamp) {
+            Path dir = baseDir.resolve(String.valueOf(stockId));
+            try {
+                Files.createDirectories(dir);
+                long name = timestamp;
+                // 같은 ms 에 두 번 넘어가는 일은 드물지만, 파일 이름이 곧 시작 시각이라 겹치지 않게 민다
+                while (Files.exists(dir.resolve(name + SUFFIX))) {
+                    name++;
+                }
+                ColumnarSegment segment = ColumnarSegment.create(dir.resolve(name + SUFFIX), regionBytes, timestamp);
+                writers.put(stockId, segment);
+                return segment;
+            } catch (IOException e) {
+                throw new UncheckedIOException("틱 세그먼트를 만들 수 없다: stockId=" + stockId, e);
+            }
+        }
+
+        /** 쓰기용이면 그 세그먼트를, 아니면 읽기 전용으로 연다. 그사이 정리로 지워졌으면 비어 있다. */
+        private Optional<ColumnarSegment> readable(Long stockId, Path file) {
+            ColumnarSegment writer = writers.get(stockId);
+            if (writer != null && writer.getPath().equals(file)) {
+                return Optional.of(writer);
+            }
+            try {
+                return Optional.of(ColumnarSegment.open(file, true));
+            } catch (NoSuchFileException e) {
+                return Optional.empty();
+            } catch (IOException e) {
+                throw new UncheckedIOException("틱 세그먼트를 읽을 수 없다: " + file, e);
+            }
+        }
+
+        /** 종목의 세그먼트 파일. 이름(첫 틱 시각) 순. */
+        private List<Path> segmentsOf(Long stockId) {
+            Path dir = baseDir.resolve(String.valueOf(stockId));
+            if (!Files.isDirectory(dir)) {
+                return List.of();
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                        .sorted(Comparator.comparingLong(Columnar::firstTimestampOf))
+                        .toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException("틱 저장 디렉터리를 읽을 수 없다: " + dir, e);
+            }
+        }
+
+        private List<Long> stockIds() {
+            try (Stream<Path> dirs = Files.list(baseDir)) {
+                return dirs.filter(Files::isDirectory)
+                        .map(dir -> dir.getFileName().toString())
+                        .filter(name -> name.chars().allMatch(Character::isDigit))
+                        .map(Long::valueOf)
+                        .toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException("틱 저장 디렉터리를 읽을 수 없다: " + baseDir, e);
+            }
+        }
+
+        private static long firstTimestampOf(Path file) {
+            String name = file.getFileName().toString();
+            return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        }
+    }
+
+    static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -23,6 +23,8 @@ public class UserResponse {
         private String phone;
         private String profileImage;
         private BigDecimal cash;
+        /** 주문 가능 금액. 미체결 지정가 매수에 묶인 금액을 뺀 값이다. */
+        private BigDecimal availableCash;
         private Integer level;
         private Integer experience;
         private Integer requiredExp;
@@ -44,6 +46,7 @@ public class UserResponse {
                     .phone(user.getPhone())
                     .profileImage(user.getProfileImage())
                     .cash(user.getCash())
+                    .availableCash(user.getAvailableCash())
                     .level(level)
                     .experience(user.getExperience())
                     .requiredExp(requiredExp)
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * 현금 잔액 변동 이력 (Audit Log).
@@ -43,7 +44,7 @@ public class CashHistory extends BaseEntity {
     @Column(nullable = false, length = 20)
     private TransactionType type;
 
-    /** 변동액. 부호 없는 절대값이 아니라 부호를 포함한다 (매수 = 음수, 매도/입금 = 양수). */
+    /** 변동액. 부호 없는 절대값이 아니라 부호를 포함한다 (매수·예약 = 음수, 매도/입금·해제 = 양수). */
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
 
@@ -72,6 +73,13 @@ public class CashHistory extends BaseEntity {
         /** 매수 체결로 인한 출금 */
         BUY,
         /** 매도 체결로 인한 입금 */
-        SELL
+        SELL,
+        /** 지정가 매수 접수로 주문 금액을 묶음 (잔액 불변, amount 는 음수, balanceAfter 는 주문 가능 금액) */
+        RESERVE,
+        /** 취소·거부로 묶었던 금액을 풂 (잔액 불변, amount 는 양수, balanceAfter 는 주문 가능 금액) */
+        RELEASE;
+
+        /** 잔액을 움직이지 않는 예약 이력 유형. 잔액 재생(replay) 시 제외해야 한다. */
+        public static final List<TransactionType> RESERVATION_TYPES = List.of(RESERVE, RELEASE);
     }
 }
@@ -69,6 +69,17 @@ public class User extends BaseEntity {
     @Builder.Default
     private BigDecimal cash = BigDecimal.ZERO;
 
+    /**
+     * 미체결 지정가 매수에 묶인 금액(증거금).
+     * <p>
+     * {@code cash} 에서 빠져나간 돈이 아니라 {@code cash} 중 "이미 쓰기로 한" 부분이다.
+     * 실제 차감은 체결 시점에 일어나고, 그때 묶인 금액도 같이 풀린다.
+     * 주문 가능 금액은 {@code cash - reservedCash} 이며, 항상 {@code 0 <= reservedCash <= cash} 를 지킨다.
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Builder.Default
+    private BigDecimal reservedCash = BigDecimal.ZERO;
+
     @Column(nullable = false)
     @Builder.Default
     private Integer level = 1;
@@ -101,12 +112,18 @@ public class User extends BaseEntity {
         this.lastLoginAt = LocalDateTime.now();
     }
 
+    /** 주문 가능 금액 (잔액 - 미체결 지정가 매수에 묶인 금액). */
+    public BigDecimal getAvailableCash() {
+        return this.cash.subtract(this.reservedCash);
+    }
+
     /**
-     * 잔액이 요청 금액을 감당할 수 있는지 확인한다.
+     * 주문 가능 금액이 요청 금액을 감당할 수 있는지 확인한다.
      * 상태를 바꾸지 않는 순수 조회 메서드이므로 주문 검증 단계에서 부담 없이 호출할 수 있다.
+     * 다른 지정가 주문에 묶인 금액은 쓸 수 없으므로 잔액이 아니라 주문 가능 금액과 비교한다.
      */
     public boolean canAfford(BigDecimal amount) {
-        return this.cash.compareTo(amount) >= 0;
+        return getAvailableCash().compareTo(amount) >= 0;
     }
 
     /**
@@ -137,6 +154,53 @@ public class User extends BaseEntity {
         return this.cash;
     }
 
+    /**
+     * 지정가 매수 접수 시 주문 금액을 묶는다. 잔액은 그대로이고 주문 가능 금액만 줄어든다.
+     *
+     * @return 예약 후 주문 가능 금액
+     */
+    public BigDecimal reserve(BigDecimal amount) {
+        validatePositive(amount);
+        if (!canAfford(amount)) {
+            throw new BusinessException(ErrorCode.INSUFFICIENT_CASH);
+        }
+        this.reservedCash = this.reservedCash.add(amount);
+        return getAvailableCash();
+    }
+
+    /**
+     * 묶어 둔 금액을 풀어 다시 주문 가능하게 한다. (주문 취소 / 거부)
+     *
+     * @return 해제 후 주문 가능 금액
+     */
+    public BigDecimal release(BigDecimal amount) {
+        validatePositive(amount);
+        if (this.reservedCash.compareTo(amount) < 0) {
+            throw new IllegalStateException("예약 금액보다 많이 해제할 수 없습니다.");
+        }
+        this.reservedCash = this.reservedCash.subtract(amount);
+        return getAvailableCash();
+    }
+
+    /**
+     * 예약된 지정가 매수의 체결. 묶어 둔 금액을 풀면서 실제 체결 금액을 차감한다.
+     * <p>
+     * 매수는 지정가 이하에서만 체결되므로 {@code spentAmount <= reservedAmount} 이고,
+     * 그 차이(가격 개선분)는 자연스럽게 주문 가능 금액으로 돌아간다. 예약 시점에 이미 잔액을 확인했으므로
+     * 여기서는 잔액 부족이 일어날 수 없다. 매처가 재검증할 필요가 없는 이유다.
+     *
+     * @return 차감 후 잔액
+     */
+    public BigDecimal settleReserved(BigDecimal reservedAmount, BigDecimal spentAmount) {
+        validatePositive(spentAmount);
+        if (this.reservedCash.compareTo(reservedAmount) < 0 || spentAmount.compareTo(reservedAmount) > 0) {
+            throw new IllegalStateException("예약 금액을 넘어서는 체결입니다.");
+        }
+        this.reservedCash = this.reservedCash.subtract(reservedAmount);
+        this.cash = this.cash.subtract(spentAmount);
+        return this.cash;
+    }
+
     private void validatePositive(BigDecimal amount) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BusinessException(ErrorCode.INVALID_CASH_AMOUNT);
@@ -0,0 +1,55 @@
+package com.investory.backend.domain.user.repository;
+
+import com.investory.backend.domain.user.entity.CashHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 현금 이력 대량 적재 전용 JDBC 저장소.
+ * <p>
+ * <b>왜 JPA saveAll 이 아닌가</b><br>
+ * {@link CashHistory} 의 ID 전략은 {@code IDENTITY} 라서, Hibernate 는 INSERT 직후 생성된 키를
+ * 받아와야 하고 그 때문에 {@code hibernate.jdbc.batch_size} 를 켜도 INSERT 를 묶지 못한다.
+ * 이력은 append-only 이고 저장 후 엔티티로 다시 쓸 일이 없으므로, 키를 돌려받지 않는
+ * JDBC 배치로 한 번에 보낸다.
+ * <p>
+ * JPA 트랜잭션 매니저가 같은 커넥션을 바인딩해 두므로 호출자 트랜잭션에 그대로 참여한다.
+ * 감사 컬럼({@code created_at}/{@code updated_at})은 엔티티 리스너를 타지 않으므로 여기서 채운다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CashHistoryJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO cash_histories (user_id, type, amount, balance_after, order_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<CashHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, histories, histories.size(), (ps, history) -> {
+            ps.setLong(1, history.getUser().getId());
+            ps.setString(2, history.getType().name());
+            ps.setBigDecimal(3, history.getAmount());
+            ps.setBigDecimal(4, history.getBalanceAfter());
+            if (history.getOrderId() != null) {
+                ps.setLong(5, history.getOrderId());
+            } else {
+                ps.setNull(5, Types.BIGINT);
+            }
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,12 +22,19 @@ public interface CashHistoryRepository extends JpaRepository<CashHistory, Long>
     List<CashHistory> findByOrderId(Long orderId);
 
     /**
-     * 유저의 전체 변동액 합계.
+     * 유저의 잔액 변동액 합계.
      * 동시성 테스트에서 "이력 합계 == 실제 잔액 변화" 정합성을 검증하는 데 사용한다.
-     * 이력이 하나도 없으면 null 이 아니라 0 이 나오도록 COALESCE 로 감싼다.
+     * 예약(RESERVE/RELEASE) 이력은 잔액을 움직이지 않으므로 합계에서 뺀다.
+     * 중첩 enum 을 JPQL 리터럴로 쓰지 않는 이유는 {@code UserRepository#findUsersWithoutDepositHistory} 참고.
      */
-    @Query("SELECT COALESCE(SUM(c.amount), 0) FROM CashHistory c WHERE c.user.id = :userId")
-    BigDecimal sumAmountByUserId(@Param("userId") Long userId);
+    default BigDecimal sumAmountByUserId(Long userId) {
+        return sumAmountByUserIdExcludingTypes(userId, CashHistory.TransactionType.RESERVATION_TYPES);
+    }
+
+    /** 이력이 하나도 없으면 null 이 아니라 0 이 나오도록 COALESCE 로 감싼다. */
+    @Query("SELECT COALESCE(SUM(c.amount), 0) FROM CashHistory c WHERE c.user.id = :userId AND c.type NOT IN :excludedTypes")
+    BigDecimal sumAmountByUserIdExcludingTypes(@Param("userId") Long userId,
+                                               @Param("excludedTypes") Collection<CashHistory.TransactionType> excludedTypes);
 
     long countByUserId(Long userId);
 }
@@ -2,6 +2,7 @@ package com.investory.backend.domain.user.service;
 
 import com.investory.backend.domain.user.entity.CashHistory;
 import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.domain.user.repository.CashHistoryJdbcRepository;
 import com.investory.backend.domain.user.repository.CashHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * 현금 잔액 변동을 담당하는 도메인 서비스.
@@ -21,6 +23,10 @@ import java.math.BigDecimal;
  * 모든 메서드는 {@code MANDATORY} 가 아닌 기본 전파 속성({@code REQUIRED})을 쓴다.
  * 호출자(주문 체결 트랜잭션)의 트랜잭션에 참여해서, 체결이 롤백되면 잔액 변동과 이력도
  * 함께 롤백되어야 하기 때문이다.
+ * <p>
+ * {@code ...Deferred} 메서드는 여러 체결을 한 트랜잭션으로 묶는 배치 경로용이다. 잔액은 즉시 바꾸되
+ * 이력은 저장하지 않고 돌려주며, 호출자가 모아 두었다가 {@link #saveAllHistories} 로 한 번에 쓴다.
+ * 잔액 변경과 이력 생성이 여전히 이 클래스 안에서 한 쌍으로 일어난다는 점은 같다.
  */
 @Slf4j
 @Service
@@ -28,6 +34,7 @@ import java.math.BigDecimal;
 public class CashService {
 
     private final CashHistoryRepository cashHistoryRepository;
+    private final CashHistoryJdbcRepository cashHistoryJdbcRepository;
 
     /**
      * 매수 체결에 따른 출금.
@@ -35,18 +42,77 @@ public class CashService {
      */
     @Transactional
     public void withdrawForBuy(User user, BigDecimal amount, Long orderId) {
-        BigDecimal balanceAfter = user.withdraw(amount);
-        // 매수는 잔액이 줄어드는 방향이므로 이력에는 음수로 남긴다.
-        record(user, CashHistory.TransactionType.BUY, amount.negate(), balanceAfter, orderId);
-        log.debug("매수 출금: userId={}, amount={}, balanceAfter={}", user.getId(), amount, balanceAfter);
+        cashHistoryRepository.save(withdrawForBuyDeferred(user, amount, orderId));
     }
 
     /** 매도 체결에 따른 입금. */
     @Transactional
     public void depositForSell(User user, BigDecimal amount, Long orderId) {
+        cashHistoryRepository.save(depositForSellDeferred(user, amount, orderId));
+    }
+
+    /** {@link #withdrawForBuy} 의 배치용 변형. 저장되지 않은 이력을 돌려준다. */
+    public CashHistory withdrawForBuyDeferred(User user, BigDecimal amount, Long orderId) {
+        BigDecimal balanceAfter = user.withdraw(amount);
+        log.debug("매수 출금: userId={}, amount={}, balanceAfter={}", user.getId(), amount, balanceAfter);
+        // 매수는 잔액이 줄어드는 방향이므로 이력에는 음수로 남긴다.
+        return CashHistory.of(user, CashHistory.TransactionType.BUY, amount.negate(), balanceAfter, orderId);
+    }
+
+    /** {@link #depositForSell} 의 배치용 변형. 저장되지 않은 이력을 돌려준다. */
+    public CashHistory depositForSellDeferred(User user, BigDecimal amount, Long orderId) {
         BigDecimal balanceAfter = user.deposit(amount);
-        record(user, CashHistory.TransactionType.SELL, amount, balanceAfter, orderId);
         log.debug("매도 입금: userId={}, amount={}, balanceAfter={}", user.getId(), amount, balanceAfter);
+        return CashHistory.of(user, CashHistory.TransactionType.SELL, amount, balanceAfter, orderId);
+    }
+
+    /**
+     * 지정가 매수 접수 시 주문 금액을 묶는다. 잔액은 그대로이고 주문 가능 금액만 줄어든다.
+     * 주문 가능 금액이 모자라면 {@link User#reserve} 가 INSUFFICIENT_CASH 예외를 던진다.
+     */
+    @Transactional
+    public void reserveForBuy(User user, BigDecimal amount, Long orderId) {
+        BigDecimal availableAfter = user.reserve(amount);
+        record(user, CashHistory.TransactionType.RESERVE, amount.negate(), availableAfter, orderId);
+        log.debug("매수 예약: userId={}, amount={}, availableAfter={}", user.getId(), amount, availableAfter);
+    }
+
+    /** 취소·거부된 지정가 매수의 남은 예약을 푼다. */
+    @Transactional
+    public void releaseForBuy(User user, BigDecimal amount, Long orderId) {
+        cashHistoryRepository.save(releaseForBuyDeferred(user, amount, orderId));
+    }
+
+    /** {@link #releaseForBuy} 의 배치용 변형. 저장되지 않은 이력을 돌려준다. */
+    public CashHistory releaseForBuyDeferred(User user, BigDecimal amount, Long orderId) {
+        BigDecimal availableAfter = user.release(amount);
+        log.debug("매수 예약 해제: userId={}, amount={}, availableAfter={}", user.getId(), amount, availableAfter);
+        return CashHistory.of(user, CashHistory.TransactionType.RELEASE, amount, availableAfter, orderId);
+    }
+
+    /**
+     * 예약된 지정가 매수의 체결 정산. 묶어 둔 {@code reservedAmount} 를 풀고 {@code spentAmount} 를 차감한다.
+     * 예약 시점에 이미 잔액을 확인했으므로 잔액 부족으로 실패하지 않는다.
+     * 예약 소진은 별도 RELEASE 이력 없이 이 BUY 이력(orderId)으로 추적한다.
+     */
+    public CashHistory settleReservedBuyDeferred(User user, BigDecimal reservedAmount, BigDecimal spentAmount,
+                                                 Long orderId) {
+        BigDecimal balanceAfter = user.settleReserved(reservedAmount, spentAmount);
+        log.debug("예약 매수 정산: userId={}, reserved={}, spent={}, balanceAfter={}",
+                user.getId(), reservedAmount, spentAmount, balanceAfter);
+        return CashHistory.of(user, CashHistory.TransactionType.BUY, spentAmount.negate(), balanceAfter, orderId);
+    }
+
+    /** {@link #settleReservedBuyDeferred} 의 단건 저장 버전. */
+    @Transactional
+    public void settleReservedBuy(User user, BigDecimal reservedAmount, BigDecimal spentAmount, Long orderId) {
+        cashHistoryRepository.save(settleReservedBuyDeferred(user, reservedAmount, spentAmount, orderId));
+    }
+
+    /** Deferred 메서드로 모은 이력을 JDBC 배치 한 번으로 저장한다. */
+    @Transactional
+    public void saveAllHistories(List<CashHistory> histories) {
+        cashHistoryJdbcRepository.batchInsert(histories);
     }
 
     /** 시드머니 등 주문과 무관한 입금. */
@@ -0,0 +1,98 @@
+package com.investory.backend.global.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 정수화한 금액(원 × 100) 연산.
+ * <p>
+ * 가격·금액 컬럼은 모두 소수 둘째 자리까지({@code scale = 2})라, 원 × 100 을 {@code long} 하나로 들면 값을 잃지 않는다.
+ * 틱마다 종목 수 × 보유자 수만큼 도는 경로(시세 계산, 호가창, 포트폴리오 평가)는 {@link BigDecimal} 대신
+ * 이 값으로 계산하고, 엔티티·JSON 에 닿을 때만 {@link #toBigDecimal} 으로 바꾼다.
+ * <p>
+ * 값 객체로 감싸지 않고 원시 {@code long} 을 그대로 쓴다. 감싸면 연산마다 객체가 생겨 {@code BigDecimal} 을 걷어낸 의미가 없다.
+ * 대신 모든 연산은 이 클래스를 거치고, 넘치면 {@link ArithmeticException} 을 던진다(조용히 틀린 값이 나오지 않는다).
+ * 반올림은 {@code BigDecimal} 쪽과 같은 HALF_UP 이다. {@code long} 범위는 약 92조 원이다.
+ */
+public final class Money {
+
+    /** 정수화 자릿수. {@code stocks.current_price} 등의 {@code scale} 과 같다. */
+    public static final int SCALE = 2;
+
+    /** 1원. */
+    public static final long ONE_WON = 100L;
+
+    /** {@link #percentOf} 의 배율. 비율 × 100(퍼센트) × 100(소수 둘째 자리). */
+    private static final long PERCENT_SCALED = 10_000L;
+
+    private Money() {
+    }
+
+    /** 금액을 정수화한다. 소수 둘째 자리를 넘으면 HALF_UP 으로 반올림한다. */
+    public static long of(BigDecimal amount) {
+        // setScale 은 자릿수가 같으면 그대로 돌려주고, scaleByPowerOfTen 뒤 scale 0 인 값의 longValueExact 는
+        // BigInteger 를 만들지 않는다. unscaledValue() 로 꺼내는 것보다 할당이 적다.
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).scaleByPowerOfTen(SCALE).longValueExact();
+    }
+
+    /** 원 단위 정수를 정수화한다. */
+    public static long won(long won) {
+        return Math.multiplyExact(won, ONE_WON);
+    }
+
+    /** 엔티티·응답용 {@link BigDecimal}. 자릿수는 항상 {@link #SCALE} 이다. */
+    public static BigDecimal toBigDecimal(long amount) {
+        return BigDecimal.valueOf(amount, SCALE);
+    }
+
+    public static long plus(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long minus(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /** 단가 × 수량. */
+    public static long times(long amount, long quantity) {
+        return Math.multiplyExact(amount, quantity);
+    }
+
+    /**
+     * 금액에 배율을 곱해 원 단위로 반올림한다(HALF_UP). 랜덤워크처럼 배율이 원래 {@code double} 인 계산용이다.
+     * <p>
+     * 곱셈이 {@code double} 이라 .5 경계에 아주 가까운 값은 {@code BigDecimal} 로 곱했을 때와 1원 다를 수 있다.
+     * 배율 자체가 {@code double} 에서 왔으므로 그 이상의 정확도는 원래 없다.
+     */
+    public static long timesToWon(long amount, double factor) {
+        double won = (double) amount / ONE_WON * factor;
+        if (!(Math.abs(won) < Long.MAX_VALUE / ONE_WON)) {
+            throw new ArithmeticException("금액 범위를 넘었다: " + amount + " × " + factor);
+        }
+        long rounded = won >= 0 ? (long) Math.floor(won + 0.5) : -(long) Math.floor(-won + 0.5);
+        return rounded * ONE_WON;
+    }
+
+    /**
+     * {@code part / base} 를 퍼센트로, 소수 둘째 자리까지 정수화해 돌려준다. 예: 1.23% → 123.
+     * 비율을 소수 넷째 자리에서 HALF_UP 으로 자르고 100 을 곱하던 {@code Stock#updatePrice} 의 계산과 같은 값이다.
+     * 기준이 0 이하면 0.
+     */
+    public static long percentOf(long part, long base) {
+        if (base <= 0) {
+            return 0L;
+        }
+        return divideHalfUp(Math.multiplyExact(part, PERCENT_SCALED), base);
+    }
+
+    /** 양수로 나누고 HALF_UP 으로 반올림한다. 음수는 0 에서 먼 쪽으로 올린다. */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        // remainder * 2 >= divisor 를 넘침 없이 쓴 것
+        if (remainder >= divisor - remainder) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
@@ -1,12 +1,17 @@
 package com.investory.backend.global.config;
 
+import com.investory.backend.global.sse.SseBroadcasters;
+import com.investory.backend.global.sse.SseProperties;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -41,4 +46,19 @@ public class RedisConfig {
         template.setHashValueSerializer(new Jackson2JsonRedisSerializer<>(Object.class));
         return template;
     }
+
+    /**
+     * SSE 다중 인스턴스 중계용 구독 컨테이너. {@code investory.sse.fan-out=redis} 일 때만 뜬다.
+     * 모든 인스턴스가 같은 채널을 구독해 다른 인스턴스에서 발행된 이벤트를 자기 연결로 내보낸다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "investory.sse.fan-out", havingValue = "redis")
+    public RedisMessageListenerContainer sseListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                              SseBroadcasters.Redis sseBroadcaster,
+                                                              SseProperties sseProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(sseBroadcaster, new ChannelTopic(sseProperties.getChannel()));
+        return container;
+    }
 }
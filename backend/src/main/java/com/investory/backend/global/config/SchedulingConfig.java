@@ -13,18 +13,28 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
  * {@code investory.stock.simulator.enabled=false} 로 스케줄 대상 빈 자체를 등록하지 않는다.
  * <p>
  * <b>왜 스케줄러 풀을 직접 정의했는가</b><br>
- * 스프링 기본 {@code TaskScheduler} 는 스레드 1개다. 시세 갱신 하나만 있을 때는 문제없지만,
- * 나중에 스케줄 작업이 하나만 더 늘어도 서로 실행을 막는다.
- * 지금 명시해 두면 나중에 원인 모를 지연을 디버깅할 일이 없다.
+ * 스프링 기본 {@code TaskScheduler} 는 스레드 1개다. 스레드가 작업 수보다 적으면 한 작업이 도는 동안
+ * 다른 작업이 제때 시작하지 못한다. 시세 틱은 커밋 뒤 리스너(매칭, 캐시, 순위, 캔들 등)까지 같은 스레드에서
+ * 돌아 길어질 수 있어, 200ms 주기의 호가 푸시 같은 짧은 작업이 그 뒤에 밀리면 안 된다.
+ * 그래서 풀 크기를 스케줄 작업 수({@link #JOBS})에 맞춰 작업마다 스레드 하나가 돌아가게 한다.
+ * {@code @Scheduled} 작업을 더하거나 빼면 {@link #JOBS} 도 같이 고친다.
  */
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
 
+    /**
+     * {@code @Scheduled} 작업 수.
+     * 시세 틱({@code StockPriceSimulator}), 시세 write-behind 플러시({@code MarketState}),
+     * 검색 색인 갱신({@code StockSearchIndex}), 틱 원장 정리({@code PriceHistoryRecorder}),
+     * 호가 푸시({@code OrderbookDepthStream}), 포트폴리오 평가 푸시({@code PortfolioValuationStream}).
+     */
+    static final int JOBS = 6;
+
     @Bean
     public ThreadPoolTaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(2);
+        scheduler.setPoolSize(JOBS);
         scheduler.setThreadNamePrefix("investory-sched-");
         // 종료 시 진행 중인 시세 갱신 트랜잭션이 잘려서 커넥션이 새지 않도록 대기시킨다.
         scheduler.setWaitForTasksToCompleteOnShutdown(true);
@@ -2,6 +2,8 @@ package com.investory.backend.global.config;
 
 import com.investory.backend.global.security.JwtAuthenticationFilter;
 import com.investory.backend.global.security.JwtTokenProvider;
+import com.investory.backend.global.security.MetricsScrapeAccess;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -41,6 +43,10 @@ public class SecurityConfig {
     @Value("${cors.allowed-origins}")
     private List<String> allowedOrigins;
 
+    /** 토큰 없이 Prometheus 스크레이프를 받을 주소(CIDR). 기본은 없음. {@link MetricsScrapeAccess} 참고. */
+    @Value("${investory.metrics.scrape-allowed-ips:}")
+    private List<String> scrapeAllowedIps;
+
     
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -50,6 +56,12 @@ public class SecurityConfig {
                 .sessionManagement(session -> 
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // 비동기 응답(CompletableFuture, SSE)의 재디스패치는 최초 요청에서 이미 인가를 통과했다.
+                        // JWT 필터는 재디스패치에서 다시 돌지 않으므로 여기서 막으면 정상 응답이 401 로 바뀐다.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // 관심 종목은 /stocks 아래에 있지만 본인 데이터라 인증이 필요하다. 아래 공개 규칙보다 먼저 걸어야 한다.
+                        .requestMatchers("/stocks/watchlist/**").authenticated()
+                        .requestMatchers("/actuator/prometheus").access(MetricsScrapeAccess.of(scrapeAllowedIps))
                         // Public endpoints
                         .requestMatchers(
                                 "/auth/**",
@@ -44,6 +44,7 @@ public enum ErrorCode {
     INSUFFICIENT_CASH(HttpStatus.BAD_REQUEST, "O005", "주문 가능 금액이 부족합니다."),
     ORDER_ALREADY_PROCESSED(HttpStatus.BAD_REQUEST, "O006", "이미 처리된 주문입니다."),
     ORDER_CONFLICT(HttpStatus.CONFLICT, "O007", "주문이 동시에 처리되어 실패했습니다. 잠시 후 다시 시도해 주세요."),
+    ORDER_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "O008", "주문이 몰려 접수 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요."),
     
     // Holding
     HOLDING_NOT_FOUND(HttpStatus.NOT_FOUND, "H001", "보유 종목을 찾을 수 없습니다."),
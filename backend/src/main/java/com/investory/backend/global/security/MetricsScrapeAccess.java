@@ -0,0 +1,50 @@
+package com.investory.backend.global.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * Prometheus 스크레이프 엔드포인트 접근 규칙.
+ * <p>
+ * 주문량·재시도·연결 수 같은 내부 지표라 공개하지 않는다. 기본은 ADMIN 만 받는다.
+ * Prometheus 는 만료되는 JWT 를 들고 다니기 어려우므로, 운영자가 대역({@code investory.metrics.scrape-allowed-ips})을
+ * 지정하면 그 대역에서 <b>직접</b> 온 요청은 토큰 없이 받는다.
+ * <p>
+ * <b>왜 기본 대역이 비어 있고, 프록시 헤더가 있으면 대역을 보지 않는가</b><br>
+ * 같은 호스트의 nginx 가 {@code localhost:8080} 으로 넘기는 배포(docs/DEPLOYMENT.md 4.3)에서는 인터넷에서 온 요청도
+ * 애플리케이션에는 127.0.0.1 로 보인다. 루프백을 기본으로 열면 스크레이프가 사실상 공개된다.
+ * 그래서 기본은 비워 두고, 대역을 열더라도 {@code X-Forwarded-For}·{@code X-Real-IP}·{@code Forwarded} 가
+ * 붙은 요청은 프록시를 거친 것으로 보고 대역 규칙을 적용하지 않는다(ADMIN 이면 여전히 통과).
+ */
+public final class MetricsScrapeAccess {
+
+    private static final List<String> PROXY_HEADERS = List.of("X-Forwarded-For", "X-Real-IP", "Forwarded");
+
+    private MetricsScrapeAccess() {
+    }
+
+    /** 허용 대역에서 직접 온 요청 또는 ADMIN. */
+    public static AuthorizationManager<RequestAuthorizationContext> of(List<String> allowedIps) {
+        List<IpAddressMatcher> allowed = allowedIps.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .map(IpAddressMatcher::new)
+                .toList();
+        AuthorizationManager<RequestAuthorizationContext> fromAllowedNetwork = (authentication, context) ->
+                new AuthorizationDecision(isDirect(context.getRequest())
+                        && allowed.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+        return AuthorizationManagers.anyOf(fromAllowedNetwork, AuthorityAuthorizationManager.hasRole("ADMIN"));
+    }
+
+    private static boolean isDirect(HttpServletRequest request) {
+        return PROXY_HEADERS.stream().noneMatch(header -> request.getHeader(header) != null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investory.backend.domain.order.service.LimitOrderBook;
+import com.investory.backend.domain.stock.dto.StockResponse;
+import com.investory.backend.domain.stock.service.StockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 호가 스트림 ({@code /stocks/{code}/orderbook/stream}).
+ * <p>
+ * 호가는 주문 접수·체결·취소마다 바뀐다. 바뀔 때마다 보내면 주문이 몰릴 때 같은 종목의 프레임이 연달아 나가므로,
+ * {@link LimitOrderBook} 이 바뀐 종목만 모아 두고 {@code orderbook-interval-ms} 마다 그중 구독자가 있는 종목만
+ * 호가 한 장({@code orderbook})을 만들어 보낸다. 구독자가 없는 종목은 호가를 읽지도 않는다.
+ * <p>
+ * 새 구독자는 현재 호가를 첫 프레임으로 받는다. {@code orderbook} 은 병합 대상이라 밀린 연결에는 최신 호가 하나만 남는다.
+ * 호가창은 인스턴스마다 따로 있으므로 {@link SseBroadcaster} 를 거치지 않고 이 인스턴스의 연결에만 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderbookDepthStream {
+
+    static final String EVENT_ORDERBOOK = "orderbook";
+    private static final String CHANNEL_PREFIX = "orderbook:";
+
+    private final SseEmitterRepository emitterRepository;
+    private final LimitOrderBook limitOrderBook;
+    private final ObjectMapper objectMapper;
+
+    /** 구독한 적 있는 종목 ID → 코드. 프레임에 코드를 싣는 데 쓴다. 종목 수 이상으로 늘지 않는다. */
+    private final Map<Long, String> codes = new ConcurrentHashMap<>();
+
+    /** 종목 하나의 호가를 구독한다. 현재 호가가 첫 프레임이다. */
+    public SseEmitter subscribe(SseEmitter emitter, Long stockId, String code) {
+        codes.put(stockId, code);
+        try {
+            return emitterRepository.add(key(stockId), emitter, EVENT_ORDERBOOK, null,
+                    objectMapper.writeValueAsString(snapshot(stockId, code)));
+        } catch (JsonProcessingException e) {
+            log.error("호가 첫 프레임 직렬화 실패: code={}", code, e);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+    }
+
+    /** 마지막 전송 뒤로 호가가 바뀐 종목 중 구독자가 있는 종목에 새 호가를 보낸다. */
+    @Scheduled(fixedDelayString = "${investory.sse.orderbook-interval-ms:200}")
+    public void flush() {
+        for (Long stockId : limitOrderBook.drainChanged()) {
+            String code = codes.get(stockId);
+            String key = key(stockId);
+            if (code != null && emitterRepository.hasSubscribers(key)) {
+                emitterRepository.send(key, EVENT_ORDERBOOK, snapshot(stockId, code));
+            }
+        }
+    }
+
+    private StockResponse.Orderbook snapshot(Long stockId, String code) {
+        return StockResponse.Orderbook.from(code, limitOrderBook.depth(stockId, StockService.ORDERBOOK_LEVELS));
+    }
+
+    private static String key(Long stockId) {
+        return CHANNEL_PREFIX + stockId;
+    }
+}
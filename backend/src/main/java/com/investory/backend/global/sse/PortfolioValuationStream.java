@@ -0,0 +1,63 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investory.backend.domain.portfolio.service.PortfolioService;
+import com.investory.backend.domain.portfolio.service.PortfolioValuations;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 사용자별 포트폴리오 평가 스트림 ({@code /portfolio/stream}).
+ * <p>
+ * 첫 프레임은 현재 평가이고, 이후에는 {@link PortfolioValuations} 가 틱·체결로 고친 사용자만
+ * {@code push-interval-ms} 마다 평가 한 장({@code portfolio})씩 받는다. 구독자가 없는 사용자는 응답을 만들지도 않는다.
+ * {@code portfolio} 는 병합 대상이라 밀린 연결에는 최신 평가 하나만 남는다.
+ * <p>
+ * 평가가 인스턴스 메모리에 있으므로 {@link SseBroadcaster} 를 거치지 않고 이 인스턴스의 연결에만 보낸다.
+ * 평가 집계를 끄면 첫 프레임만 나간다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PortfolioValuationStream {
+
+    static final String EVENT_PORTFOLIO = "portfolio";
+    private static final String CHANNEL_PREFIX = "portfolio:";
+
+    private final SseEmitterRepository emitterRepository;
+    private final PortfolioService portfolioService;
+    private final PortfolioValuations portfolioValuations;
+    private final ObjectMapper objectMapper;
+
+    /** 내 평가를 구독한다. 현재 평가가 첫 프레임이다. */
+    public SseEmitter subscribe(SseEmitter emitter, String loginId) {
+        try {
+            return emitterRepository.add(key(loginId), emitter, EVENT_PORTFOLIO, null,
+                    objectMapper.writeValueAsString(portfolioService.getPortfolio(loginId)));
+        } catch (JsonProcessingException e) {
+            log.error("포트폴리오 첫 프레임 직렬화 실패: loginId={}", loginId, e);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+    }
+
+    /** 마지막 전송 뒤로 평가가 바뀐 사용자 중 구독자가 있는 사용자에게 새 평가를 보낸다. */
+    @Scheduled(fixedDelayString = "${investory.portfolio.valuation.push-interval-ms:1000}")
+    public void flush() {
+        for (String loginId : portfolioValuations.drainChanged()) {
+            String key = key(loginId);
+            if (emitterRepository.hasSubscribers(key)) {
+                portfolioValuations.peek(loginId)
+                        .ifPresent(summary -> emitterRepository.send(key, EVENT_PORTFOLIO, summary));
+            }
+        }
+    }
+
+    private static String key(String loginId) {
+        return CHANNEL_PREFIX + loginId;
+    }
+}
@@ -0,0 +1,214 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 델타 시세 스트림 ({@code /stocks/stream/delta}).
+ * <p>
+ * <b>왜 필요한가</b><br>
+ * 스냅샷 스트림({@code price-update})은 틱마다 전 종목의 {@code PriceTick} 을 통째로 보낸다.
+ * 종목이 늘수록 대역폭과 클라이언트 파싱 비용이 종목 수에 비례해 늘지만, 실제로 값이 바뀐 종목은 일부다.
+ * 여기서는 틱마다 시퀀스 번호를 붙이고, 가격이나 거래량이 바뀐 종목만 필드 순서가 고정된 배열로 보낸다.
+ * <p>
+ * <b>프레임</b>
+ * <ul>
+ *   <li>{@code price-keyframe}: 전 종목. 종목 코드·이름 같은 정적 정보는 여기에만 싣는다.
+ *       {@code investory.sse.delta-keyframe-interval} 틱마다 한 번, 그리고 새로 붙거나 이어 받기가 불가능한 클라이언트에게 보낸다.</li>
+ *   <li>{@code price-delta}: 직전 시퀀스({@code base}) 이후 바뀐 종목만. 행은 {@link #FIELDS} 순서의 배열이다.</li>
+ * </ul>
+ * 이벤트 ID 는 {@code {epoch}-{seq}} 다. 클라이언트가 재연결하며 {@code Last-Event-ID} 를 보내면 그 시퀀스 이후에
+ * 바뀐 종목만 모은 델타 하나로 따라잡게 한다. epoch 는 인스턴스 기동 시각이라, 재기동했거나 다른 인스턴스로
+ * 붙은 경우에는 시퀀스를 비교할 수 없으므로 키프레임을 보낸다.
+ * <p>
+ * <b>누락 감지</b><br>
+ * 느린 연결은 대기열이 차면 오래된 프레임을 잃는다(drop-oldest). 델타는 병합할 수 없으므로 클라이언트는
+ * 받은 델타의 {@code base} 가 마지막으로 받은 {@code seq} 와 다르면 재연결해 이어 받는다.
+ * <p>
+ * 상태(종목별 마지막 값과 마지막으로 바뀐 시퀀스)는 이 객체의 모니터로 보호한다. 새 구독자 등록도 같은 모니터
+ * 안에서 해서, 첫 프레임(키프레임/따라잡기 델타)과 이후 브로드캐스트 델타 사이에 틈이나 역전이 생기지 않게 한다.
+ */
+@Slf4j
+@Component
+public class PriceDeltaStream {
+
+    static final String CHANNEL = "stock-delta";
+    static final String EVENT_KEYFRAME = "price-keyframe";
+    static final String EVENT_DELTA = "price-delta";
+
+    /** 델타·키프레임 행의 필드 순서: 종목 ID, 현재가, 전일 대비, 등락률(%), 누적 거래량 */
+    static final List<String> FIELDS = List.of("id", "p", "c", "r", "v");
+
+    private final SseEmitterRepository emitterRepository;
+    private final ObjectMapper objectMapper;
+    private final int keyframeInterval;
+    /** 인스턴스 기동 시각. 시퀀스는 인스턴스마다 따로 세므로 이어 받기 가능 여부를 여기로 가른다. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, StockState> states = new LinkedHashMap<>();
+    /** 반영한 틱 묶음 수. */
+    private long seq;
+    /** 마지막으로 내보낸 프레임의 시퀀스. 다음 델타의 {@code base} 가 된다. */
+    private long lastSentSeq;
+
+    public PriceDeltaStream(SseEmitterRepository emitterRepository, ObjectMapper objectMapper,
+                            SseProperties sseProperties) {
+        this.emitterRepository = emitterRepository;
+        this.objectMapper = objectMapper;
+        this.keyframeInterval = Math.max(1, sseProperties.getDeltaKeyframeInterval());
+    }
+
+    /**
+     * 이 인스턴스에 도착한 시세 틱 묶음을 반영하고 구독자에게 델타(또는 주기 키프레임)를 보낸다.
+     * 시세 스트림 구독자가 없어도 상태는 갱신해야 나중에 붙는 클라이언트에게 올바른 키프레임을 줄 수 있다.
+     */
+    public synchronized void accept(List<PriceTick> ticks) {
+        seq++;
+        List<Object[]> changed = new ArrayList<>();
+        for (PriceTick tick : ticks) {
+            StockState state = states.get(tick.stockId());
+            if (state == null) {
+                states.put(tick.stockId(), new StockState(tick, seq));
+                changed.add(row(tick));
+            } else if (state.update(tick, seq)) {
+                changed.add(row(tick));
+            }
+        }
+
+        // 바뀐 종목이 없는 틱은 보내지 않는다. base 를 "직전 시퀀스"가 아니라 "마지막으로 보낸 시퀀스"로 두는 이유다.
+        if (seq % keyframeInterval == 0) {
+            send(EVENT_KEYFRAME, keyframe(seq));
+        } else if (!changed.isEmpty()) {
+            send(EVENT_DELTA, new Delta(seq, lastSentSeq, changed));
+        }
+    }
+
+    /**
+     * 델타 스트림 구독. 첫 프레임으로 키프레임 또는 따라잡기 델타를 대기열 맨 앞에 넣고 등록한다.
+     *
+     * @param lastEventId 재연결한 클라이언트가 보낸 {@code Last-Event-ID} (없으면 null)
+     */
+    public synchronized SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Long resumeFrom = resumableSeq(lastEventId);
+        try {
+            if (resumeFrom == null) {
+                Keyframe keyframe = keyframe(lastSentSeq);
+                return emitterRepository.add(CHANNEL, emitter, EVENT_KEYFRAME, eventId(lastSentSeq), json(keyframe));
+            }
+            List<Object[]> changed = new ArrayList<>();
+            states.values().forEach(state -> {
+                if (state.changedSeq > resumeFrom) {
+                    changed.add(row(state.tick));
+                }
+            });
+            // lastSentSeq 이후로는 바뀐 것이 없으므로, 따라잡기 델타는 마지막 전송 시퀀스로 찍는다.
+            // 그래야 다음 브로드캐스트 델타의 base 와 이어진다.
+            Delta catchUp = new Delta(lastSentSeq, resumeFrom, changed);
+            return emitterRepository.add(CHANNEL, emitter, EVENT_DELTA, eventId(lastSentSeq), json(catchUp));
+        } catch (JsonProcessingException e) {
+            log.error("델타 시세 첫 프레임 직렬화 실패", e);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+    }
+
+    /** 이어 받을 수 있으면 클라이언트가 마지막으로 받은 시퀀스, 아니면 null (→ 키프레임). */
+    private Long resumableSeq(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+            return null;
+        }
+        try {
+            long lastSeq = Long.parseLong(lastEventId.substring(dash + 1));
+            return lastSeq >= 0 && lastSeq <= lastSentSeq ? lastSeq : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void send(String eventName, Object frame) {
+        try {
+            emitterRepository.sendJson(CHANNEL, eventName, eventId(seq), json(frame));
+            lastSentSeq = seq;
+        } catch (JsonProcessingException e) {
+            log.error("델타 시세 직렬화 실패: event={}", eventName, e);
+        }
+    }
+
+    private Keyframe keyframe(long frameSeq) {
+        List<Meta> meta = new ArrayList<>(states.size());
+        List<Object[]> rows = new ArrayList<>(states.size());
+        for (StockState state : states.values()) {
+            meta.add(new Meta(state.tick.stockId(), state.tick.code(), state.tick.name()));
+            rows.add(row(state.tick));
+        }
+        return new Keyframe(frameSeq, FIELDS, meta, rows);
+    }
+
+    private String eventId(long frameSeq) {
+        return epoch + "-" + frameSeq;
+    }
+
+    private String json(Object frame) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(frame);
+    }
+
+    private static Object[] row(PriceTick tick) {
+        return new Object[]{tick.stockId(), tick.currentPrice(), tick.changeAmount(), tick.changeRate(), tick.volume()};
+    }
+
+    /** 실험용: 현재 시퀀스. */
+    public synchronized long currentSeq() {
+        return seq;
+    }
+
+    private static final class StockState {
+        private PriceTick tick;
+        private long changedSeq;
+
+        private StockState(PriceTick tick, long changedSeq) {
+            this.tick = tick;
+            this.changedSeq = changedSeq;
+        }
+
+        /** 가격이나 거래량이 바뀌었으면 반영하고 true. */
+        private boolean update(PriceTick next, long seq) {
+            boolean changed = !sameNumber(tick.currentPrice(), next.currentPrice())
+                    || !Objects.equals(tick.volume(), next.volume());
+            tick = next;
+            if (changed) {
+                changedSeq = seq;
+            }
+            return changed;
+        }
+
+        private static boolean sameNumber(BigDecimal a, BigDecimal b) {
+            return a == null ? b == null : b != null && a.compareTo(b) == 0;
+        }
+    }
+
+    /** 키프레임: 필드 순서, 종목 정적 정보, 전 종목 행. */
+    record Keyframe(long seq, List<String> f, List<Meta> s, List<Object[]> d) {
+    }
+
+    /** 델타: {@code base} 이후 바뀐 종목 행만. */
+    record Delta(long seq, long base, List<Object[]> d) {
+    }
+
+    record Meta(Long id, String code, String name) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.investory.backend.global.sse;
+
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+
+import java.util.List;
+
+/**
+ * SSE 이벤트 발행 경로.
+ * <p>
+ * {@link SseService} 는 "어느 채널에 어떤 이벤트를 보낼지"만 정하고, 그 이벤트가 이 인스턴스의 연결에만
+ * 가는지 모든 인스턴스의 연결에 가는지는 이 인터페이스 구현이 정한다.
+ * {@code investory.sse.fan-out} 값으로 구현 하나만 빈으로 등록된다. ({@link SseBroadcasters} 참고)
+ */
+public interface SseBroadcaster {
+
+    /**
+     * 채널 키에 연결된 모든 클라이언트에 이벤트를 보낸다.
+     *
+     * @param key       채널 키 ("stock-price", "user:{loginId}" 또는 "stock:{code}")
+     * @param eventName SSE event 이름
+     * @param payload   JSON 으로 직렬화될 본문
+     */
+    void broadcast(String key, String eventName, Object payload);
+
+    /**
+     * 시세 틱 묶음을 퍼뜨린다. 틱이 도착한 각 인스턴스는 스냅샷 채널({@code price-update})과
+     * 종목별 구독자({@link SymbolPriceStream})에게 내보내고, 델타 스트림({@link PriceDeltaStream}) 상태도 함께 갱신한다.
+     * 델타 시퀀스는 인스턴스마다 따로 센다.
+     */
+    void broadcastPrices(List<PriceTick> ticks);
+}
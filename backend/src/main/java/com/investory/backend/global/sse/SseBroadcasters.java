@@ -0,0 +1,144 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * {@link SseBroadcaster} 구현 모음.
+ * 주문 쪽 {@code OrderSubmitters} 와 같은 구성으로, 설정값 하나에 구현 하나만 등록된다.
+ */
+public final class SseBroadcasters {
+
+    private SseBroadcasters() {
+    }
+
+    /**
+     * local 모드: 이 인스턴스의 연결에만 바로 보낸다. 단일 인스턴스 배포 전제.
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnExpression("'${investory.sse.fan-out:local}' != 'redis'")
+    public static class Local implements SseBroadcaster {
+
+        private final SseEmitterRepository emitterRepository;
+        private final PriceDeltaStream priceDeltaStream;
+        private final SymbolPriceStream symbolPriceStream;
+
+        @Override
+        public void broadcast(String key, String eventName, Object payload) {
+            emitterRepository.send(key, eventName, payload);
+        }
+
+        @Override
+        public void broadcastPrices(List<PriceTick> ticks) {
+            emitterRepository.send(SseService.CHANNEL_STOCK_PRICE, SseService.EVENT_PRICE_UPDATE, ticks);
+            symbolPriceStream.accept(ticks);
+            priceDeltaStream.accept(ticks);
+        }
+    }
+
+    /**
+     * redis 모드: Redis Pub/Sub 로 모든 인스턴스에 퍼뜨린다.
+     * <p>
+     * <b>흐름</b><br>
+     * 이벤트가 난 인스턴스는 자기 연결에 직접 보내지 않고 채널에 발행만 한다. 발행한 인스턴스 자신을 포함해
+     * 채널을 구독 중인 모든 인스턴스가 {@link #onMessage} 에서 메시지를 받아 자기 연결에 보낸다.
+     * 어느 인스턴스에 붙은 클라이언트든 같은 경로로 한 번씩 받으므로 중복 전송이 없다.
+     * <p>
+     * <b>직렬화</b><br>
+     * 본문은 발행 시점에 JSON 문자열로 한 번 직렬화해 봉투({@link Envelope})에 담는다. 받는 쪽은
+     * 본문을 다시 객체로 되살리지 않고 문자열 그대로 내보낸다. 받는 쪽이 이벤트 타입을 알 필요가 없고,
+     * 클라이언트가 받는 바이트는 local 모드와 같다.
+     * <p>
+     * <b>한계</b><br>
+     * Pub/Sub 는 전달을 보장하지 않는다. 구독이 잠깐 끊긴 사이의 메시지는 사라진다.
+     * 시세는 다음 틱이 덮어쓰고, 체결 알림은 주문 내역 API 로 다시 확인할 수 있어 이 정도 손실은 받아들인다.
+     * Redis 가 죽으면 발행이 실패하고 이벤트는 버려지지만, 주문·시세 트랜잭션은 이미 커밋된 뒤라 영향이 없다.
+     */
+    @Slf4j
+    @Component
+    @ConditionalOnProperty(name = "investory.sse.fan-out", havingValue = "redis")
+    public static class Redis implements SseBroadcaster, MessageListener {
+
+        private static final TypeReference<List<PriceTick>> TICKS = new TypeReference<>() {
+        };
+
+        private final SseEmitterRepository emitterRepository;
+        private final PriceDeltaStream priceDeltaStream;
+        private final SymbolPriceStream symbolPriceStream;
+        private final SseProperties sseProperties;
+        private final ObjectMapper objectMapper;
+        /** 본문이 이미 JSON 문자열이므로 공용 {@code RedisTemplate<String, Object>} 의 JSON 직렬화기를 거치지 않는다. */
+        private final StringRedisTemplate redisTemplate;
+
+        public Redis(SseEmitterRepository emitterRepository, PriceDeltaStream priceDeltaStream,
+                     SymbolPriceStream symbolPriceStream, SseProperties sseProperties, ObjectMapper objectMapper,
+                     RedisConnectionFactory redisConnectionFactory) {
+            this.emitterRepository = emitterRepository;
+            this.priceDeltaStream = priceDeltaStream;
+            this.symbolPriceStream = symbolPriceStream;
+            this.sseProperties = sseProperties;
+            this.objectMapper = objectMapper;
+            this.redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+        }
+
+        @Override
+        public void broadcast(String key, String eventName, Object payload) {
+            try {
+                Envelope envelope = new Envelope(key, eventName, objectMapper.writeValueAsString(payload));
+                redisTemplate.convertAndSend(sseProperties.getChannel(), objectMapper.writeValueAsString(envelope));
+            } catch (JsonProcessingException e) {
+                log.error("SSE 이벤트 직렬화 실패: key={}, event={}", key, eventName, e);
+            } catch (RuntimeException e) {
+                // SSE 는 최선 노력 전달이다. 발행 실패가 호출자(커밋 후 리스너)로 번지지 않게 한다.
+                log.warn("SSE 이벤트 발행 실패: key={}, event={}, cause={}", key, eventName, e.getMessage());
+            }
+        }
+
+        @Override
+        public void broadcastPrices(List<PriceTick> ticks) {
+            broadcast(SseService.CHANNEL_STOCK_PRICE, SseService.EVENT_PRICE_UPDATE, ticks);
+        }
+
+        @Override
+        public void onMessage(Message message, byte[] pattern) {
+            try {
+                Envelope envelope = objectMapper.readValue(
+                        new String(message.getBody(), StandardCharsets.UTF_8), Envelope.class);
+                emitterRepository.sendJson(envelope.key(), envelope.event(), envelope.data());
+                // 종목별 스트림과 델타 스트림은 받은 쪽 연결 기준으로 나뉘므로, 시세만은 틱으로 되살려 반영한다.
+                if (SseService.EVENT_PRICE_UPDATE.equals(envelope.event())) {
+                    List<PriceTick> ticks = objectMapper.readValue(envelope.data(), TICKS);
+                    symbolPriceStream.accept(ticks);
+                    priceDeltaStream.accept(ticks);
+                }
+            } catch (JsonProcessingException e) {
+                log.warn("SSE 메시지 해석 실패 - 버림: {}", e.getMessage());
+            }
+        }
+
+        /**
+         * 인스턴스 간에 오가는 메시지.
+         *
+         * @param key   채널 키
+         * @param event SSE event 이름
+         * @param data  이미 직렬화된 JSON 본문
+         */
+        public record Envelope(String key, String event, String data) {
+        }
+    }
+}
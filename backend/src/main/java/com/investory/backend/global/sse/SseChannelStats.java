@@ -0,0 +1,79 @@
+package com.investory.backend.global.sse;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채널 종류별 송신 계측. ("stock-price", "user" 처럼 사용자 ID 를 뗀 단위로 묶는다.)
+ * <p>
+ * 주문 쪽 실험 카운터와 같은 이유로 LongAdder 를 쓴다. 여러 연결의 송신 스레드가 동시에 올린다.
+ */
+public class SseChannelStats {
+
+    private final LongAdder encoded = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    /** 카운터 초기화 이후 관측된 최대 송신 지연(ns) — 큐에 들어간 뒤 소켓에 써지기까지. */
+    private final LongAccumulator maxDeliveryNanos = new LongAccumulator(Math::max, 0L);
+
+    void encoded() {
+        encoded.increment();
+    }
+
+    void sent(long deliveryNanos) {
+        sent.increment();
+        maxDeliveryNanos.accumulate(deliveryNanos);
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+
+    void failed() {
+        failed.increment();
+    }
+
+    /** 직렬화한 프레임 수. 구독자 수와 관계없이 브로드캐스트 1건당 1이어야 한다. */
+    public long getEncodedCount() {
+        return encoded.sum();
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    /** 대기열이 가득 차 버려진 프레임 수. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** 최신 스냅샷으로 바꿔 끼워진 프레임 수. */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /** 소켓 쓰기가 실패해 정리된 연결 수. 대부분 클라이언트가 먼저 끊은 경우다. */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getMaxDeliveryNanos() {
+        return maxDeliveryNanos.get();
+    }
+
+    /** 실험용: 카운터 초기화. */
+    public void reset() {
+        encoded.reset();
+        sent.reset();
+        dropped.reset();
+        coalesced.reset();
+        failed.reset();
+        maxDeliveryNanos.reset();
+    }
+}
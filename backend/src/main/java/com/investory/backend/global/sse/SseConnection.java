@@ -0,0 +1,152 @@
+package com.investory.backend.global.sse;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SSE 연결 하나와 그 연결 전용 송신 대기열.
+ * <p>
+ * <b>왜 연결마다 대기열을 두는가</b><br>
+ * 브로드캐스트하는 쪽(커밋 후 리스너 = 시뮬레이터 스케줄러 스레드)이 {@code emitter.send} 를 직접 부르면,
+ * 네트워크가 느린 클라이언트 하나의 소켓 쓰기가 끝날 때까지 시세 갱신과 지정가 매칭이 함께 멈춘다.
+ * 브로드캐스트는 프레임을 대기열에 넣기만 하고, 실제 쓰기는 {@link SseEmitterRepository} 의 송신 스레드가 한다.
+ * <p>
+ * <b>대기열이 가득 차면</b><br>
+ * <ul>
+ *   <li>병합(coalesce) 대상 이벤트(시세 스냅샷)는 병합 키가 같은 대기 프레임을 최신 것으로 바꿔 끼운다.
+ *       스냅샷은 새 것이 옛 것을 완전히 덮으므로 밀린 클라이언트는 최신 상태 하나만 받으면 된다.
+ *       병합 키는 이벤트 이름과 채널 키의 조합이라, 종목별 구독 연결에서는 종목마다 최신 프레임이 하나씩 남는다.</li>
+ *   <li>그 밖의 이벤트는 가장 오래된 프레임을 버리고(drop-oldest) 새 프레임을 넣는다.
+ *       느린 클라이언트 때문에 메모리가 끝없이 늘지 않게 하는 것이 우선이다.</li>
+ * </ul>
+ * 대기열 접근은 이 객체 모니터로 보호한다. 연결 하나에 생산자(브로드캐스트)와 소비자(송신 작업)가
+ * 각각 하나씩인 짧은 임계 구역이라 락 경합이 문제가 되지 않는다.
+ */
+class SseConnection {
+
+    /**
+     * 이 연결이 등록된 채널 키. 대부분 하나지만, 종목별 구독은 종목마다 {@code stock:{code}} 키에 같은 연결이 걸린다.
+     */
+    @Getter
+    private final Set<String> keys;
+    @Getter
+    private final SseEmitter emitter;
+    @Getter
+    private final SseChannelStats stats;
+    private final int capacity;
+
+    private final Deque<Frame> queue = new ArrayDeque<>();
+    /** 송신 작업이 이미 예약·실행 중인지. 연결 하나에 송신 작업은 항상 하나라서 프레임 순서가 유지된다. */
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    SseConnection(Set<String> keys, SseEmitter emitter, SseChannelStats stats, int capacity) {
+        this.keys = Set.copyOf(keys);
+        this.emitter = emitter;
+        this.stats = stats;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * 프레임을 대기열에 넣는다. 절대 블로킹하지 않는다.
+     *
+     * @return 송신 작업을 새로 예약해야 하면 true
+     */
+    boolean offer(Frame frame) {
+        if (closed) {
+            return false;
+        }
+        synchronized (this) {
+            if (frame.coalesceKey() != null && replaceQueued(frame)) {
+                stats.coalesced();
+            } else {
+                if (queue.size() >= capacity) {
+                    queue.pollFirst();
+                    stats.dropped();
+                }
+                queue.addLast(frame);
+            }
+        }
+        return draining.compareAndSet(false, true);
+    }
+
+    private boolean replaceQueued(Frame frame) {
+        Iterator<Frame> it = queue.iterator();
+        while (it.hasNext()) {
+            Frame queued = it.next();
+            if (frame.coalesceKey().equals(queued.coalesceKey())) {
+                it.remove();
+                // 순서는 새 프레임 기준으로 맨 뒤에 둔다. 지연 측정은 밀려 있던 프레임의 시각을 이어받는다.
+                queue.addLast(frame.withEnqueuedAt(queued.enqueuedAt()));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 대기열을 비울 때까지 보낸다. 송신 스레드에서만 호출된다.
+     *
+     * @throws IOException 클라이언트가 끊긴 경우. 호출자가 연결을 정리한다.
+     */
+    void drain() throws IOException {
+        while (true) {
+            Frame frame;
+            synchronized (this) {
+                frame = queue.pollFirst();
+                if (frame == null) {
+                    draining.set(false);
+                    return;
+                }
+            }
+            emitter.send(frame.encoded());
+            stats.sent(System.nanoTime() - frame.enqueuedAt());
+        }
+    }
+
+    /** 드레인 종료 직후 다른 스레드가 넣은 프레임이 있으면 송신 작업을 다시 잡는다. */
+    boolean needsReschedule() {
+        synchronized (this) {
+            return !queue.isEmpty() && draining.compareAndSet(false, true);
+        }
+    }
+
+    void close() {
+        closed = true;
+        synchronized (this) {
+            queue.clear();
+        }
+    }
+
+    synchronized int queuedFrames() {
+        return queue.size();
+    }
+
+    /** 가장 오래 기다린 프레임의 대기 시간(ns). 대기열이 비었으면 0. */
+    synchronized long lagNanos(long now) {
+        Frame oldest = queue.peekFirst();
+        return oldest == null ? 0L : now - oldest.enqueuedAt();
+    }
+
+    /**
+     * 보낼 이벤트 하나. SSE 프레임 전체({@code event:..\ndata:..\n\n})를 바이트로 미리 인코딩해 두고,
+     * 같은 채널의 모든 연결이 이 배열 하나를 그대로 쓴다. ({@link SseFrameEncoder} 참고)
+     *
+     * @param coalesceKey 대기 중인 프레임 중 이 키가 같은 것을 이 프레임으로 바꿔 끼워도 된다. null 이면 병합하지 않는다.
+     */
+    record Frame(String eventName, Set<ResponseBodyEmitter.DataWithMediaType> encoded, String coalesceKey,
+                 long enqueuedAt) {
+
+        Frame withEnqueuedAt(long enqueuedAt) {
+            return new Frame(eventName, encoded, coalesceKey, enqueuedAt);
+        }
+    }
+}
@@ -7,9 +7,14 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
+
 /**
  * 서버 전송 이벤트(SSE) 엔드포인트.
  * <p>
@@ -34,6 +39,46 @@ public class SseController {
         return sseService.subscribeStockPrice();
     }
 
+    @Operation(summary = "델타 시세 스트림 구독",
+            description = "틱마다 가격·거래량이 바뀐 종목만 필드 순서가 고정된 배열로 push 합니다. "
+                    + "주기적으로 전 종목 키프레임을 보내며, 재연결 시 Last-Event-ID 로 놓친 변경분만 이어 받습니다. 인증 불필요.")
+    @GetMapping(value = "/stocks/stream/delta", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockPriceDeltas(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return sseService.subscribeStockDelta(lastEventId);
+    }
+
+    @Operation(summary = "종목별 시세 스트림 구독",
+            description = "지정한 종목의 틱만 종목당 price-tick 이벤트로 push 합니다. codes 는 쉼표로 구분합니다. 인증 불필요.")
+    @GetMapping(value = "/stocks/stream/symbols", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSymbolPrices(@RequestParam List<String> codes) {
+        return sseService.subscribeSymbols(codes);
+    }
+
+    @Operation(summary = "호가 스트림 구독",
+            description = "미체결 지정가 주문으로 모은 호가(가격대별 잔량·주문 수)를 바뀔 때마다 orderbook 이벤트로 push 합니다. "
+                    + "첫 프레임은 현재 호가입니다. 인증 불필요.")
+    @GetMapping(value = "/stocks/{code}/orderbook/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderbook(@PathVariable String code) {
+        return sseService.subscribeOrderbook(code);
+    }
+
+    @Operation(summary = "관심 종목 시세 스트림 구독",
+            description = "내 관심 종목(group 을 주면 그 그룹)의 틱만 price-tick 이벤트로 push 합니다. 인증 필요.")
+    @GetMapping(value = "/stocks/watchlist/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWatchlistPrices(@AuthenticationPrincipal UserDetails userDetails,
+                                            @RequestParam(required = false) String group) {
+        return sseService.subscribeWatchlist(userDetails.getUsername(), group);
+    }
+
+    @Operation(summary = "내 포트폴리오 평가 스트림 구독",
+            description = "시세가 움직이거나 체결이 나서 평가금액·손익이 바뀔 때마다 portfolio 이벤트로 push 합니다. "
+                    + "첫 프레임은 현재 평가입니다. 인증 필요.")
+    @GetMapping(value = "/portfolio/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPortfolio(@AuthenticationPrincipal UserDetails userDetails) {
+        return sseService.subscribePortfolio(userDetails.getUsername());
+    }
+
     @Operation(summary = "내 주문 체결 알림 구독",
             description = "본인 주문이 체결될 때마다 체결 내역을 push 합니다. 인증 필요.")
     @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -1,92 +1,329 @@
 package com.investory.backend.global.sse;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * SSE 연결(Emitter) 인메모리 저장소.
+ * SSE 연결(Emitter) 인메모리 저장소이자 송신 엔진.
  * <p>
- * <b>인메모리의 한계를 먼저 적어 둔다</b><br>
- * 이 구현은 <b>단일 인스턴스에서만</b> 동작한다. 서버를 2대 이상으로 스케일 아웃하면
- * A 서버에 붙은 클라이언트는 B 서버에서 발생한 체결 알림을 받지 못한다.
- * 해결하려면 Redis Pub/Sub 으로 인스턴스 간 이벤트를 브로드캐스트해야 한다
- * (이 프로젝트는 이미 Redis 를 쓰므로 전환 비용이 크지 않다 — README 로드맵 참고).
- * 무료 티어 단일 인스턴스 배포가 전제라 지금은 인메모리로 충분하다.
+ * <b>이 저장소는 자기 인스턴스의 연결만 안다</b><br>
+ * 서버를 2대 이상으로 스케일 아웃하면 A 서버에 붙은 클라이언트는 B 서버에서 발생한 체결 알림을
+ * 이 저장소만으로는 받지 못한다. 그래서 인스턴스 간 전파는 {@link SseBroadcaster} 에 맡긴다.
+ * {@code investory.sse.fan-out=redis} 면 모든 인스턴스가 Redis Pub/Sub 채널을 구독해, 어디서 난 이벤트든
+ * 각자 자기 연결에 보낸다. 무료 티어 단일 인스턴스 배포가 기본 전제라 기본값은 {@code local} 이다.
+ * <p>
+ * <b>송신은 비동기다</b><br>
+ * {@link #send} 는 각 연결의 대기열({@link SseConnection})에 프레임을 넣고 바로 돌아온다.
+ * 소켓 쓰기는 연결마다 하나씩 예약되는 송신 작업이 가상 스레드에서 한다. 느린 클라이언트는 자기 대기열만
+ * 밀리고(가득 차면 병합·drop-oldest), 브로드캐스트를 호출한 시세 스케줄러 스레드는 기다리지 않는다.
+ * 연결 수만큼 작업이 동시에 소켓 I/O 에서 멈춰 있을 수 있어 플랫폼 스레드 풀보다 가상 스레드가 맞다.
  * <p>
  * <b>자료구조 선택</b><br>
- * 한 사용자가 여러 탭을 열 수 있으므로 키당 여러 Emitter 를 담는다.
+ * 한 사용자가 여러 탭을 열 수 있으므로 키당 여러 연결을 담는다.
  * 읽기(브로드캐스트)가 쓰기(연결/해제)보다 압도적으로 잦아 {@link CopyOnWriteArrayList} 가 적합하다.
+ * <p>
+ * <b>종목 → 구독자 색인</b><br>
+ * 종목별 구독({@link #addSymbols})은 연결 하나를 종목마다 {@code stock:{code}} 키에 건다. 같은 맵이 곧
+ * 종목에서 구독자로 가는 색인이라, 틱 하나를 보낼 때 그 종목을 원하는 연결만 훑는다. 구독자가 없는 종목은
+ * 맵 조회 한 번으로 끝나고 직렬화도 하지 않는다.
+ * <p>
+ * <b>지표</b><br>
+ * 전체 연결 수({@code investory.sse.connections})와 채널 종류별 송신·드롭·병합·실패 수, 대기 프레임, 지연,
+ * 팬아웃 시간({@code investory.sse.fanout}: 직렬화부터 모든 연결의 대기열에 넣기까지)이 나간다.
+ * 팬아웃은 브로드캐스트를 부른 스레드(대개 시세 스케줄러)가 쓰는 시간이고, 소켓 쓰기는 {@code investory.sse.lag} 쪽에 드러난다.
  */
 @Slf4j
 @Repository
 public class SseEmitterRepository {
 
-    /** 채널 키 → 연결 목록. 키는 "stock" 같은 공용 채널이거나 "user:{loginId}" 형태다. */
-    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private static final String USER_CHANNEL_PREFIX = "user:";
+    private static final String SYMBOL_CHANNEL_PREFIX = "stock:";
+    private static final String ORDERBOOK_CHANNEL_PREFIX = "orderbook:";
+    private static final String PORTFOLIO_CHANNEL_PREFIX = "portfolio:";
+
+    /** 채널 키 → 연결 목록. 키는 "stock-price" 같은 공용 채널이거나 "user:{loginId}", "stock:{code}", "orderbook:{stockId}", "portfolio:{loginId}" 형태다. */
+    private final Map<String, List<SseConnection>> connections = new ConcurrentHashMap<>();
+    /** 채널 종류 → 계측. 사용자별로 나누면 지표 수가 사용자 수만큼 늘어나므로 종류 단위로 묶는다. */
+    private final Map<String, SseChannelStats> stats = new ConcurrentHashMap<>();
+    /** 채널 종류 → 팬아웃 타이머. {@link #stats} 와 같은 시점에 등록된다. */
+    private final Map<String, Timer> fanOuts = new ConcurrentHashMap<>();
+
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("sse-send-", 0).factory());
+    private final SseProperties sseProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public SseEmitterRepository(SseProperties sseProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.sseProperties = sseProperties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("investory.sse.connections", this, SseEmitterRepository::connectionCount)
+                .description("유지 중인 SSE 연결 (여러 채널에 걸린 연결도 하나)").register(meterRegistry);
+    }
 
     public SseEmitter add(String key, SseEmitter emitter) {
-        emitters.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(emitter);
+        SseConnection connection = new SseConnection(Set.of(key), emitter, statsOf(key), sseProperties.getQueueCapacity());
+        register(connection);
+        return emitter;
+    }
+
+    /**
+     * 연결 하나를 여러 종목의 채널({@code stock:{code}})에 한꺼번에 건다. 연결이 끊기면 모든 종목에서 빠진다.
+     * 대기열은 연결당 하나라, 느린 클라이언트가 종목을 많이 구독해도 메모리는 대기열 용량을 넘지 않는다.
+     */
+    public SseEmitter addSymbols(Collection<String> codes, SseEmitter emitter) {
+        Set<String> keys = codes.stream().map(SseEmitterRepository::symbolKey).collect(Collectors.toSet());
+        SseConnection connection = new SseConnection(keys, emitter, statsOf(SYMBOL_CHANNEL_PREFIX),
+                sseProperties.getQueueCapacity());
+        register(connection);
+        return emitter;
+    }
+
+    /** 종목 코드의 채널 키. */
+    public static String symbolKey(String code) {
+        return SYMBOL_CHANNEL_PREFIX + code;
+    }
+
+    /**
+     * 첫 프레임을 대기열 맨 앞에 넣은 채로 등록한다. 등록 직후 들어오는 브로드캐스트는 반드시 이 프레임 뒤에 나간다.
+     * (델타 시세의 키프레임/따라잡기 프레임용. {@link PriceDeltaStream} 참고)
+     */
+    public SseEmitter add(String key, SseEmitter emitter, String eventName, String id, String json) {
+        SseChannelStats channelStats = statsOf(key);
+        SseConnection connection = new SseConnection(Set.of(key), emitter, channelStats, sseProperties.getQueueCapacity());
+        channelStats.encoded();
+        boolean needsDrain = connection.offer(new SseConnection.Frame(
+                eventName, SseFrameEncoder.encodeJson(eventName, id, json), null, System.nanoTime()));
+        register(connection);
+        if (needsDrain) {
+            schedule(connection);
+        }
+        return emitter;
+    }
+
+    private void register(SseConnection connection) {
+        SseEmitter emitter = connection.getEmitter();
+        for (String key : connection.getKeys()) {
+            connections.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(connection);
+        }
 
         // 정상 종료 / 타임아웃 / 에러 모두에서 반드시 제거해야 한다.
-        // 누락되면 죽은 Emitter 가 계속 쌓여 메모리 누수가 된다.
-        emitter.onCompletion(() -> remove(key, emitter));
+        // 누락되면 죽은 연결이 계속 쌓여 메모리 누수가 된다.
+        emitter.onCompletion(() -> remove(connection));
         emitter.onTimeout(() -> {
             emitter.complete();
-            remove(key, emitter);
+            remove(connection);
         });
         emitter.onError(e -> {
             emitter.complete();
-            remove(key, emitter);
+            remove(connection);
         });
+    }
 
-        return emitter;
+    private void remove(SseConnection connection) {
+        connection.close();
+        for (String key : connection.getKeys()) {
+            List<SseConnection> list = connections.get(key);
+            if (list == null) {
+                continue;
+            }
+            list.remove(connection);
+            // 빈 리스트를 남겨 두면 키가 무한히 늘어난다. 비면 키까지 정리한다.
+            // remove(key, value) 2-인자 버전을 쓰는 이유: 같은 순간 다른 스레드가
+            // 이 키에 새 연결을 넣었다면 그 리스트를 통째로 날려선 안 되기 때문이다.
+            if (list.isEmpty()) {
+                connections.remove(key, list);
+            }
+        }
     }
 
-    private void remove(String key, SseEmitter emitter) {
-        List<SseEmitter> list = emitters.get(key);
-        if (list == null) {
+    /**
+     * 해당 키에 연결된 모든 클라이언트의 대기열에 이벤트를 넣는다. 소켓 쓰기를 기다리지 않는다.
+     * 본문은 연결 수와 관계없이 한 번만 직렬화된다.
+     * {@code investory.sse.coalesced-events} 에 든 이벤트는 밀려 있으면 최신 것 하나로 병합된다.
+     */
+    public void send(String key, String eventName, Object payload) {
+        List<SseConnection> list = connections.get(key);
+        if (list == null || list.isEmpty()) {
             return;
         }
-        list.remove(emitter);
-        // 빈 리스트를 남겨 두면 키가 무한히 늘어난다. 비면 키까지 정리한다.
-        // remove(key, value) 2-인자 버전을 쓰는 이유: 같은 순간 다른 스레드가
-        // 이 키에 새 Emitter 를 넣었다면 그 리스트를 통째로 날려선 안 되기 때문이다.
-        if (list.isEmpty()) {
-            emitters.remove(key, list);
+        long startedAt = System.nanoTime();
+        try {
+            enqueue(key, list, eventName, SseFrameEncoder.encode(objectMapper, eventName, payload), startedAt);
+        } catch (JsonProcessingException e) {
+            log.error("SSE 이벤트 직렬화 실패: key={}, event={}", key, eventName, e);
         }
     }
 
     /**
-     * 해당 키에 연결된 모든 클라이언트에 이벤트를 보낸다.
-     * 전송에 실패한 연결은 이미 끊긴 것으로 보고 정리한다.
+     * 이미 JSON 으로 직렬화된 본문을 그대로 보낸다. 다른 인스턴스에서 Redis 로 건너온 이벤트용이다.
+     * ({@link SseBroadcasters.Redis} 참고)
      */
-    public void send(String key, String eventName, Object payload) {
-        List<SseEmitter> list = emitters.get(key);
+    public void sendJson(String key, String eventName, String json) {
+        sendJson(key, eventName, null, json);
+    }
+
+    /** {@link #sendJson(String, String, String)} 에 SSE 이벤트 ID 를 붙인 버전. */
+    public void sendJson(String key, String eventName, String id, String json) {
+        List<SseConnection> list = connections.get(key);
         if (list == null || list.isEmpty()) {
             return;
         }
+        long startedAt = System.nanoTime();
+        enqueue(key, list, eventName, SseFrameEncoder.encodeJson(eventName, id, json), startedAt);
+    }
+
+    /** 해당 키에 구독자가 하나라도 있는지. 보낼 본문을 만드는 비용 자체를 아끼고 싶을 때 먼저 묻는다. */
+    public boolean hasSubscribers(String key) {
+        List<SseConnection> list = connections.get(key);
+        return list != null && !list.isEmpty();
+    }
+
+    /**
+     * 한 번 인코딩한 프레임을 모든 연결의 대기열에 같이 넣는다. 연결마다 복사하지 않는다.
+     * 병합 키에 채널 키를 넣어, 여러 종목을 구독한 연결에서 한 종목의 틱이 다른 종목의 틱을 덮지 않게 한다.
+     */
+    private void enqueue(String key, List<SseConnection> list, String eventName,
+                         Set<ResponseBodyEmitter.DataWithMediaType> encoded, long startedAt) {
+        statsOf(key).encoded();
+        String coalesceKey = sseProperties.getCoalescedEvents().contains(eventName) ? eventName + "@" + key : null;
+        SseConnection.Frame frame = new SseConnection.Frame(eventName, encoded, coalesceKey, System.nanoTime());
+        for (SseConnection connection : list) {
+            if (connection.offer(frame)) {
+                schedule(connection);
+            }
+        }
+        fanOuts.get(channelOf(key)).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
 
-        for (SseEmitter emitter : list) {
-            try {
-                emitter.send(SseEmitter.event().name(eventName).data(payload));
-            } catch (IOException | IllegalStateException e) {
-                // 클라이언트가 탭을 닫으면 여기서 IOException 이 난다. 정상 상황이므로 debug 레벨.
-                log.debug("SSE 전송 실패 - 연결 정리: key={}", key);
-                emitter.complete();
-                remove(key, emitter);
+    private void schedule(SseConnection connection) {
+        try {
+            sender.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            // 종료 중. 남은 프레임은 버린다.
+            connection.close();
+        }
+    }
+
+    private void drain(SseConnection connection) {
+        try {
+            connection.drain();
+            if (connection.needsReschedule()) {
+                schedule(connection);
             }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 탭을 닫으면 여기서 IOException 이 난다. 정상 상황이므로 debug 레벨.
+            log.debug("SSE 전송 실패 - 연결 정리: keys={}", connection.getKeys());
+            connection.getStats().failed();
+            connection.getEmitter().complete();
+            remove(connection);
         }
     }
 
-    /** 모니터링용: 현재 유지 중인 연결 수. */
+    /** 모니터링용: 현재 유지 중인 연결 수. 여러 종목에 걸린 연결도 하나로 센다. */
     public int connectionCount() {
-        return emitters.values().stream().mapToInt(List::size).sum();
+        return (int) connections.values().stream().flatMap(List::stream).distinct().count();
+    }
+
+    /** 모니터링용: 채널 종류별 송신 계측. */
+    public Map<String, SseChannelStats> channelStats() {
+        return Map.copyOf(stats);
+    }
+
+    /** 모니터링용: 채널 종류에 속한 연결들의 대기 프레임 합계. */
+    public int queuedFrames(String channel) {
+        return connectionsOf(channel).mapToInt(SseConnection::queuedFrames).sum();
+    }
+
+    /** 모니터링용: 채널 종류에서 가장 오래 기다린 프레임의 대기 시간(ms). 클라이언트가 얼마나 뒤처졌는지 본다. */
+    public double lagMillis(String channel) {
+        long now = System.nanoTime();
+        long lag = connectionsOf(channel).mapToLong(c -> c.lagNanos(now)).max().orElse(0L);
+        return lag / 1_000_000d;
+    }
+
+    private Stream<SseConnection> connectionsOf(String channel) {
+        return connections.entrySet().stream()
+                .filter(entry -> channelOf(entry.getKey()).equals(channel))
+                .flatMap(entry -> entry.getValue().stream())
+                .distinct();
+    }
+
+    private SseChannelStats statsOf(String key) {
+        return stats.computeIfAbsent(channelOf(key), this::register);
+    }
+
+    /** 채널 종류마다 한 번만 지표를 등록한다. 값은 조회 시점에 계산된다. */
+    private SseChannelStats register(String channel) {
+        SseChannelStats channelStats = new SseChannelStats();
+        FunctionCounter.builder("investory.sse.encoded", channelStats, SseChannelStats::getEncodedCount)
+                .description("직렬화한 프레임 (브로드캐스트당 1)").tag("channel", channel).register(meterRegistry);
+        FunctionCounter.builder("investory.sse.sent", channelStats, SseChannelStats::getSentCount)
+                .tag("channel", channel).register(meterRegistry);
+        FunctionCounter.builder("investory.sse.dropped", channelStats, SseChannelStats::getDroppedCount)
+                .description("대기열이 가득 차 버려진 프레임").tag("channel", channel).register(meterRegistry);
+        FunctionCounter.builder("investory.sse.coalesced", channelStats, SseChannelStats::getCoalescedCount)
+                .description("최신 스냅샷으로 병합된 프레임").tag("channel", channel).register(meterRegistry);
+        FunctionCounter.builder("investory.sse.send.failures", channelStats, SseChannelStats::getFailedCount)
+                .description("소켓 쓰기가 실패해 정리된 연결").tag("channel", channel).register(meterRegistry);
+        Gauge.builder("investory.sse.queued", this, repo -> repo.queuedFrames(channel))
+                .tag("channel", channel).register(meterRegistry);
+        TimeGauge.builder("investory.sse.lag", this, TimeUnit.MILLISECONDS, repo -> repo.lagMillis(channel))
+                .description("가장 오래 기다린 프레임의 대기 시간").tag("channel", channel).register(meterRegistry);
+        fanOuts.put(channel, Timer.builder("investory.sse.fanout")
+                .description("브로드캐스트 하나를 직렬화해 모든 연결의 대기열에 넣기까지").tag("channel", channel)
+                .register(meterRegistry));
+        return channelStats;
+    }
+
+    /**
+     * 사용자별·종목별·호가·평가 키는 각각 "user", "stock-symbol", "orderbook", "portfolio" 하나로 묶는다.
+     * 지표 태그 수가 사용자·종목 수를 따라가지 않게 한다.
+     */
+    private static String channelOf(String key) {
+        if (key.startsWith(USER_CHANNEL_PREFIX)) {
+            return "user";
+        }
+        if (key.startsWith(PORTFOLIO_CHANNEL_PREFIX)) {
+            return "portfolio";
+        }
+        if (key.startsWith(ORDERBOOK_CHANNEL_PREFIX)) {
+            return "orderbook";
+        }
+        return key.startsWith(SYMBOL_CHANNEL_PREFIX) ? "stock-symbol" : key;
+    }
+
+    /** 진행 중인 송신은 잠깐 기다려 주고 내려간다. */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sender.shutdown();
+        if (!sender.awaitTermination(5, TimeUnit.SECONDS)) {
+            sender.shutdownNow();
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * SSE 프레임을 브로드캐스트당 한 번만 인코딩한다.
+ * <p>
+ * <b>왜 필요한가</b><br>
+ * {@code emitter.send(SseEmitter.event().data(payload))} 는 연결마다 메시지 컨버터를 거쳐 Jackson 직렬화를
+ * 다시 한다. 시세 채널 구독자가 1만 명이면 틱마다 똑같은 {@code List<PriceTick>} JSON 을 1만 번 만든다.
+ * 여기서 {@code event:이름\ndata:JSON\n\n} 프레임 전체를 바이트 배열 하나로 만들어 두면,
+ * 연결마다 하는 일은 그 배열을 소켓에 쓰는 것뿐이다. byte[] 는 {@code ByteArrayHttpMessageConverter} 가
+ * 복사·변환 없이 그대로 쓴다.
+ * <p>
+ * Jackson 기본 출력은 줄바꿈을 넣지 않으므로 {@code data:} 한 줄로 충분하다.
+ * 본문 안에 줄바꿈이 있으면 SSE 규격상 줄마다 {@code data:} 를 붙여야 하지만, 이 경로로 들어오는 본문은
+ * 모두 Jackson 이 만든 JSON 이라 그럴 일이 없다.
+ */
+final class SseFrameEncoder {
+
+    private SseFrameEncoder() {
+    }
+
+    /** 객체를 JSON 으로 직렬화해 프레임을 만든다. 채널의 연결 수와 관계없이 한 번만 호출된다. */
+    static Set<ResponseBodyEmitter.DataWithMediaType> encode(ObjectMapper objectMapper, String eventName,
+                                                             Object payload) throws JsonProcessingException {
+        return frame(eventName, null, objectMapper.writeValueAsBytes(payload));
+    }
+
+    /**
+     * 이미 직렬화된 JSON 으로 프레임을 만든다. (Redis 로 건너온 이벤트, 델타 시세)
+     *
+     * @param id SSE 이벤트 ID. 클라이언트가 재연결할 때 {@code Last-Event-ID} 로 돌려준다. 없으면 null
+     */
+    static Set<ResponseBodyEmitter.DataWithMediaType> encodeJson(String eventName, String id, String json) {
+        return frame(eventName, id, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> frame(String eventName, String id, byte[] json) {
+        String idLine = id == null ? "" : "id:" + id + "\n";
+        byte[] head = (idLine + "event:" + eventName + "\ndata:").getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[head.length + json.length + 2];
+        System.arraycopy(head, 0, frame, 0, head.length);
+        System.arraycopy(json, 0, frame, head.length, json.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        return Set.of(new ResponseBodyEmitter.DataWithMediaType(frame, MediaType.TEXT_EVENT_STREAM));
+    }
+}
@@ -0,0 +1,49 @@
+package com.investory.backend.global.sse;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * SSE 중계 설정.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "investory.sse")
+public class SseProperties {
+
+    /**
+     * 이벤트를 어느 범위로 퍼뜨릴지.
+     * <ul>
+     *   <li>{@code local}: 이 인스턴스에 붙은 연결에만 보낸다. (단일 인스턴스 배포, 기본)</li>
+     *   <li>{@code redis}: Redis Pub/Sub 채널로 발행하고, 모든 인스턴스가 구독해 자기 연결에 보낸다.</li>
+     * </ul>
+     */
+    private String fanOut = "local";
+
+    /** {@code fan-out=redis} 일 때 쓰는 Redis 채널 이름. 같은 Redis 를 쓰는 다른 환경과 겹치지 않게 한다. */
+    private String channel = "investory:sse";
+
+    /** 연결별 송신 대기열 용량. 가득 차면 병합 대상 이벤트는 병합하고, 나머지는 가장 오래된 프레임을 버린다. */
+    private int queueCapacity = 64;
+
+    /**
+     * 밀려 있으면 최신 것 하나로 병합해도 되는 이벤트 이름. 새 프레임이 옛 프레임을 완전히 덮는 스냅샷류만 넣는다.
+     * 체결 알림처럼 건마다 의미가 있는 이벤트는 넣지 않는다.
+     */
+    private Set<String> coalescedEvents = new HashSet<>(Set.of("price-update", "price-tick", "orderbook", "portfolio"));
+
+    /** 종목별 시세 스트림에서 연결 하나가 구독할 수 있는 종목 수 상한. */
+    private int maxSymbols = 50;
+
+    /** 델타 시세 스트림에서 전 종목 키프레임을 보내는 주기(틱 수). 델타를 놓친 클라이언트도 이 주기 안에 다시 맞춰진다. */
+    private int deltaKeyframeInterval = 12;
+
+    /** 호가 스트림 전송 주기(ms). 그사이 여러 번 바뀐 호가는 마지막 모습 한 장으로 나간다. */
+    private long orderbookIntervalMs = 200L;
+}
@@ -2,6 +2,7 @@ package com.investory.backend.global.sse;
 
 import com.investory.backend.domain.order.event.OrderFilledEvent;
 import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.service.StockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -9,12 +10,17 @@ import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collection;
+
 /**
  * SSE 구독 및 이벤트 중계.
  * <p>
  * 도메인 이벤트({@link StockPriceUpdatedEvent}, {@link OrderFilledEvent})를 구독해
  * 연결된 클라이언트에 전달한다. 도메인 서비스가 SSE 를 직접 알지 못하게 하려는 배치다.
  * 나중에 전송 수단을 WebSocket 이나 FCM 으로 바꿔도 도메인 코드는 그대로다.
+ * <p>
+ * 구독(연결 등록)은 항상 이 인스턴스의 {@link SseEmitterRepository} 에 하고, 발행은 {@link SseBroadcaster} 를
+ * 거친다. 다중 인스턴스에서는 발행이 Redis 를 한 바퀴 돌아 모든 인스턴스의 저장소에 도착한다.
  */
 @Slf4j
 @Service
@@ -22,7 +28,9 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 public class SseService {
 
     /** 시세 브로드캐스트 채널 (전체 공용) */
-    private static final String CHANNEL_STOCK_PRICE = "stock-price";
+    static final String CHANNEL_STOCK_PRICE = "stock-price";
+    /** 전 종목 스냅샷 이벤트 이름 */
+    static final String EVENT_PRICE_UPDATE = "price-update";
     /** 사용자별 체결 알림 채널 접두사 */
     private static final String CHANNEL_USER_PREFIX = "user:";
 
@@ -34,12 +42,58 @@ public class SseService {
     private static final long TIMEOUT_MS = 30L * 60 * 1000;
 
     private final SseEmitterRepository emitterRepository;
+    private final SseBroadcaster broadcaster;
+    private final PriceDeltaStream priceDeltaStream;
+    private final SymbolPriceStream symbolPriceStream;
+    private final OrderbookDepthStream orderbookDepthStream;
+    private final PortfolioValuationStream portfolioValuationStream;
+    private final StockService stockService;
 
     /** 시세 스트림 구독 (인증 불필요) */
     public SseEmitter subscribeStockPrice() {
         return subscribe(CHANNEL_STOCK_PRICE);
     }
 
+    /**
+     * 델타 시세 스트림 구독 (인증 불필요).
+     * 첫 프레임은 키프레임이거나, {@code Last-Event-ID} 로 이어 받을 수 있으면 그 뒤로 바뀐 종목만 담은 델타다.
+     */
+    public SseEmitter subscribeStockDelta(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        sendConnected(emitter);
+        return priceDeltaStream.subscribe(emitter, lastEventId);
+    }
+
+    /** 지정한 종목의 시세만 구독 (인증 불필요) */
+    public SseEmitter subscribeSymbols(Collection<String> codes) {
+        SseEmitter emitter = symbolPriceStream.subscribe(new SseEmitter(TIMEOUT_MS), codes);
+        sendConnected(emitter);
+        return emitter;
+    }
+
+    /** 종목 하나의 호가 구독 (인증 불필요). 없는 종목이면 거절한다. */
+    public SseEmitter subscribeOrderbook(String code) {
+        Long stockId = stockService.getStockId(code);
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        sendConnected(emitter);
+        return orderbookDepthStream.subscribe(emitter, stockId, code);
+    }
+
+    /**
+     * 내 관심 종목(그룹을 주면 그 그룹)의 시세만 구독 (인증 필요).
+     * 종목 목록은 구독 시점에 한 번 읽는다. 관심 종목을 바꾸면 클라이언트가 다시 구독한다.
+     */
+    public SseEmitter subscribeWatchlist(String loginId, String groupName) {
+        return subscribeSymbols(stockService.getWatchlistCodes(loginId, groupName));
+    }
+
+    /** 내 포트폴리오 평가 구독 (인증 필요) */
+    public SseEmitter subscribePortfolio(String loginId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        sendConnected(emitter);
+        return portfolioValuationStream.subscribe(emitter, loginId);
+    }
+
     /** 내 주문 체결 알림 구독 (인증 필요) */
     public SseEmitter subscribeOrderFilled(String loginId) {
         return subscribe(CHANNEL_USER_PREFIX + loginId);
@@ -47,7 +101,11 @@ public class SseService {
 
     private SseEmitter subscribe(String key) {
         SseEmitter emitter = emitterRepository.add(key, new SseEmitter(TIMEOUT_MS));
+        sendConnected(emitter);
+        return emitter;
+    }
 
+    private void sendConnected(SseEmitter emitter) {
         // 최초 더미 이벤트를 즉시 보낸다.
         // 이걸 안 보내면 첫 데이터가 나갈 때까지 프록시(nginx 등)가 응답을 버퍼링해서
         // 클라이언트가 연결 성공을 인지하지 못하고 타임아웃으로 끊는 일이 생긴다.
@@ -56,22 +114,21 @@ public class SseService {
         } catch (Exception e) {
             emitter.completeWithError(e);
         }
-        return emitter;
     }
 
     /**
      * 시세 갱신 중계.
      * 시세 트랜잭션이 커밋된 뒤에만 내보낸다. 롤백된 시세를 클라이언트가 먼저 보면
-     * 화면과 DB 가 어긋난다.
+     * 화면과 DB 가 어긋난다. 트랜잭션 없이 발행되는 write-behind 모드의 틱은 바로 내보낸다.
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onPriceUpdated(StockPriceUpdatedEvent event) {
-        emitterRepository.send(CHANNEL_STOCK_PRICE, "price-update", event.ticks());
+        broadcaster.broadcastPrices(event.ticks());
     }
 
     /** 체결 알림 중계. 주문자 본인 채널로만 보낸다. */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void onOrderFilled(OrderFilledEvent event) {
-        emitterRepository.send(CHANNEL_USER_PREFIX + event.loginId(), "order-filled", event);
+        broadcaster.broadcast(CHANNEL_USER_PREFIX + event.loginId(), "order-filled", event);
     }
 }
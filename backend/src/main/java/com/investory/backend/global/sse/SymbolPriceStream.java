@@ -0,0 +1,57 @@
+package com.investory.backend.global.sse;
+
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 종목별 시세 스트림 ({@code /stocks/stream/symbols}, {@code /stocks/watchlist/stream}).
+ * <p>
+ * 스냅샷 스트림({@code price-update})은 관심 종목 몇 개만 보는 화면에도 틱마다 전 종목을 보낸다.
+ * 여기서는 구독한 종목의 틱만 종목당 {@code price-tick} 프레임 하나로 보낸다.
+ * 틱 하나를 보낼 때는 {@link SseEmitterRepository} 의 종목 → 구독자 색인에서 그 종목의 연결 목록만 꺼내므로,
+ * 비용이 전체 연결 수가 아니라 그 종목 구독자 수에 비례한다. 아무도 구독하지 않은 종목은 직렬화도 하지 않는다.
+ * <p>
+ * {@code price-tick} 은 병합 대상이다. 병합 키에 종목이 들어가 있어, 밀린 연결에는 종목마다 최신 틱 하나씩 남는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SymbolPriceStream {
+
+    static final String EVENT_PRICE_TICK = "price-tick";
+
+    private final SseEmitterRepository emitterRepository;
+    private final SseProperties sseProperties;
+
+    /** 이 인스턴스에 도착한 시세 틱을 종목별 구독자에게 보낸다. */
+    public void accept(List<PriceTick> ticks) {
+        for (PriceTick tick : ticks) {
+            emitterRepository.send(SseEmitterRepository.symbolKey(tick.code()), EVENT_PRICE_TICK, tick);
+        }
+    }
+
+    /**
+     * 종목 코드 목록으로 구독한다. 공백·중복은 걸러 내고, 비었거나 {@code investory.sse.max-symbols} 를 넘으면 거절한다.
+     * 존재하지 않는 종목 코드는 따로 확인하지 않는다. 그 키로는 틱이 오지 않을 뿐이다.
+     */
+    public SseEmitter subscribe(SseEmitter emitter, Collection<String> codes) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String code : codes) {
+            if (code != null && !code.isBlank()) {
+                normalized.add(code.trim());
+            }
+        }
+        if (normalized.isEmpty() || normalized.size() > sseProperties.getMaxSymbols()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+        return emitterRepository.addSymbols(normalized, emitter);
+    }
+}
@@ -0,0 +1,80 @@
+package com.investory.backend.domain.order;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.dto.OrderResponse;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.LimitOrderMatcher;
+import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 배치 체결과 방향별 유동성 검증.
+ * <p>
+ * 후보는 매수 뒤에 매도가 온다. 배치 크기를 작게 두고 교차 매수를 배치보다 많이 걸어, 매수 유동성이 바닥난 뒤
+ * 매수만 든 배치가 비어도 뒤 배치의 교차 매도가 같은 틱에 체결되는지 본다.
+ */
+@DisplayName("지정가 배치 체결 유동성 테스트")
+@TestPropertySource(properties = "investory.order.matching.batch-size=2")
+class LimitOrderBatchLiquidityTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private LimitOrderMatcher limitOrderMatcher;
+
+    @Test
+    @DisplayName("매수 유동성이 바닥나도 뒤 배치의 교차 매도는 같은 틱에 방향별 유동성만큼 체결된다")
+    void asksStillFillAfterBuyLiquidityRunsOut() {
+        User bidder = createUser("bidder", won(1_000_000));
+        User asker = createUser("asker", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        orderService.createOrder(asker.getLoginId(), order(stock, Order.OrderType.MARKET, Order.OrderSide.BUY, 2, null));
+
+        // 교차 매수 5건(배치 2개 반) 뒤에 교차 매도 2건
+        List<OrderResponse.Detail> bids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bids.add(orderService.createOrder(bidder.getLoginId(),
+                    order(stock, Order.OrderType.LIMIT, Order.OrderSide.BUY, 1, won(66_000))));
+        }
+        List<OrderResponse.Detail> asks = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            asks.add(orderService.createOrder(asker.getLoginId(),
+                    order(stock, Order.OrderType.LIMIT, Order.OrderSide.SELL, 1, won(64_000))));
+        }
+
+        // when: 현재가 65,000, 방향별 유동성 2주
+        int filled = limitOrderMatcher.match(stock.getId(), won(65_000), 2);
+
+        // then: 매수는 앞선 2건만, 매도는 2건 모두
+        assertThat(filled).isEqualTo(4);
+        assertThat(bids).extracting(this::statusOf).containsExactly(
+                Order.OrderStatus.FILLED, Order.OrderStatus.FILLED,
+                Order.OrderStatus.PENDING, Order.OrderStatus.PENDING, Order.OrderStatus.PENDING);
+        assertThat(asks).extracting(this::statusOf).containsOnly(Order.OrderStatus.FILLED);
+        assertThat(limitOrderBook.size(stock.getId())).isEqualTo(3);
+    }
+
+    private Order.OrderStatus statusOf(OrderResponse.Detail detail) {
+        return orderRepository.findById(detail.getId()).orElseThrow().getStatus();
+    }
+
+    private OrderRequest.Create order(Stock stock, Order.OrderType type, Order.OrderSide side,
+                                      int quantity, BigDecimal price) {
+        return OrderRequest.Create.builder()
+                .stockCode(stock.getCode()).orderType(type)
+                .side(side).quantity(quantity).price(price).build();
+    }
+}
@@ -3,10 +3,16 @@ package com.investory.backend.domain.order;
 import com.investory.backend.domain.order.dto.OrderRequest;
 import com.investory.backend.domain.order.dto.OrderResponse;
 import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.LimitOrderBook;
 import com.investory.backend.domain.order.service.LimitOrderMatcher;
 import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.portfolio.entity.Holding;
+import com.investory.backend.domain.stock.dto.StockResponse;
 import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.service.StockService;
 import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
 import com.investory.backend.support.IntegrationTestSupport;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.math.BigDecimal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Phase 4-4 검증: 지정가 주문 매칭.
@@ -32,8 +39,11 @@ class LimitOrderMatchingTest extends IntegrationTestSupport {
     @Autowired
     private LimitOrderMatcher limitOrderMatcher;
 
+    @Autowired
+    private StockService stockService;
+
     @Test
-    @DisplayName("지정가 매수 주문은 접수 시 체결되지 않고 PENDING 으로 남는다")
+    @DisplayName("지정가 매수 주문은 접수 시 체결되지 않고 PENDING 으로 남되, 주문 금액은 묶인다")
     void limitOrderStaysPendingOnPlacement() {
         User user = createUser("limiter", won(1_000_000));
         Stock stock = createStock("005930", "삼성전자", won(70_000));
@@ -43,9 +53,13 @@ class LimitOrderMatchingTest extends IntegrationTestSupport {
                 user.getLoginId(), buyLimit(stock.getCode(), 1, won(65_000)));
 
         assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PENDING.name());
-        // 아직 체결 전이므로 잔액도 그대로여야 한다
-        assertThat(reload(user).getCash()).isEqualByComparingTo(won(1_000_000));
-        assertThat(cashHistoryRepository.countByUserId(user.getId())).isZero();
+        // 아직 체결 전이므로 잔액은 그대로고, 주문 가능 금액만 지정가만큼 줄어든다
+        User reloaded = reload(user);
+        assertThat(reloaded.getCash()).isEqualByComparingTo(won(1_000_000));
+        assertThat(reloaded.getAvailableCash()).isEqualByComparingTo(won(935_000));
+        // 이력은 RESERVE 한 건이고, 잔액 정합성 합계에는 잡히지 않는다
+        assertThat(cashHistoryRepository.countByUserId(user.getId())).isEqualTo(1);
+        assertThat(cashHistoryRepository.sumAmountByUserId(user.getId())).isEqualByComparingTo(BigDecimal.ZERO);
     }
 
     @Test
@@ -72,7 +86,10 @@ class LimitOrderMatchingTest extends IntegrationTestSupport {
         assertThat(executed.getStatus()).isEqualTo(Order.OrderStatus.FILLED);
         // 체결가는 지정가가 아니라 실제 시장 현재가다
         assertThat(executed.getFilledPrice()).isEqualByComparingTo(won(65_000));
-        assertThat(reload(user).getCash()).isEqualByComparingTo(won(870_000));
+        // 남은 3주분(195,000)의 예약이 풀려 잔액 전부를 다시 쓸 수 있다
+        User reloaded = reload(user);
+        assertThat(reloaded.getCash()).isEqualByComparingTo(won(870_000));
+        assertThat(reloaded.getAvailableCash()).isEqualByComparingTo(won(870_000));
     }
 
     @Test
@@ -99,6 +116,50 @@ class LimitOrderMatchingTest extends IntegrationTestSupport {
         assertThat(reload(user).getCash()).isEqualByComparingTo(won(802_000));
     }
 
+    @Test
+    @DisplayName("지정가 매도에 묶인 수량은 다른 매도 주문에 쓸 수 없고, 체결되면 보유와 함께 빠진다")
+    void sellLimitReservesHolding() {
+        User user = createUser("reserver", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        orderService.createOrder(user.getLoginId(), buyMarket(stock.getCode(), 5));
+
+        OrderResponse.Detail order = orderService.createOrder(
+                user.getLoginId(), sellLimit(stock.getCode(), 3, won(75_000)));
+
+        // 5주 중 3주가 묶여 매도 가능 수량은 2주
+        Holding holding = holdingRepository.findByUserIdAndStockId(user.getId(), stock.getId()).orElseThrow();
+        assertThat(holding.getQuantity()).isEqualTo(5);
+        assertThat(holding.getAvailableQuantity()).isEqualTo(2);
+        assertThatThrownBy(() -> orderService.createOrder(user.getLoginId(), sellMarket(stock.getCode(), 3)))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INSUFFICIENT_HOLDING);
+
+        assertThat(limitOrderMatcher.match(stock.getId(), won(76_000))).isEqualTo(1);
+
+        assertThat(findOrder(order).getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+        Holding after = holdingRepository.findByUserIdAndStockId(user.getId(), stock.getId()).orElseThrow();
+        assertThat(after.getQuantity()).isEqualTo(2);
+        assertThat(after.getReservedQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("지정가보다 싸게 체결되면 묶어 둔 금액 중 차액은 주문 가능 금액으로 돌아온다")
+    void priceImprovementReturnsToAvailableCash() {
+        User user = createUser("improver", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+
+        orderService.createOrder(user.getLoginId(), buyLimit(stock.getCode(), 2, won(65_000)));
+
+        assertThat(limitOrderMatcher.match(stock.getId(), won(60_000))).isEqualTo(1);
+
+        // 130,000 을 묶었지만 120,000 에 체결 → 1,000,000 - 120,000
+        User reloaded = reload(user);
+        assertThat(reloaded.getCash()).isEqualByComparingTo(won(880_000));
+        assertThat(reloaded.getReservedCash()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(cashHistoryRepository.sumAmountByUserId(user.getId())).isEqualByComparingTo(won(-120_000));
+    }
+
     @Test
     @DisplayName("취소된 지정가 주문은 조건을 만족해도 체결되지 않는다")
     void cancelledLimitOrderIsNotMatched() {
@@ -115,32 +176,250 @@ class LimitOrderMatchingTest extends IntegrationTestSupport {
         // then
         assertThat(filled).isZero();
         assertThat(findOrder(order).getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
-        assertThat(reload(user).getCash()).isEqualByComparingTo(won(1_000_000));
+        // 취소하면 묶였던 금액이 풀린다 (RESERVE + RELEASE 이력)
+        User reloaded = reload(user);
+        assertThat(reloaded.getCash()).isEqualByComparingTo(won(1_000_000));
+        assertThat(reloaded.getAvailableCash()).isEqualByComparingTo(won(1_000_000));
+        assertThat(cashHistoryRepository.countByUserId(user.getId())).isEqualTo(2);
     }
 
     @Test
-    @DisplayName("접수 후 잔액이 모자라진 지정가 매수는 PENDING 이 아니라 REJECTED 로 종료된다")
-    void insufficientCashAtFillTimeRejectsOrder() {
+    @DisplayName("지정가 매수에 묶인 금액은 다른 주문에 쓸 수 없으므로, 체결 시점에 잔액 부족이 일어나지 않는다")
+    void reservedCashCannotBeSpentElsewhere() {
         // given: 딱 1주치 잔액
         User user = createUser("edge", won(70_000));
         Stock stock = createStock("005930", "삼성전자", won(70_000));
 
-        // 지정가 매수 1주 접수 (아직 차감 안 됨)
+        // 지정가 매수 1주 접수 → 70,000 이 묶인다
         OrderResponse.Detail limitOrder = orderService.createOrder(
                 user.getLoginId(), buyLimit(stock.getCode(), 1, won(70_000)));
 
-        // 그 사이 시장가로 잔액을 다 써 버린다
-        orderService.createOrder(user.getLoginId(), buyMarket(stock.getCode(), 1));
-        assertThat(reload(user).getCash()).isEqualByComparingTo(won(0));
+        // 그 사이 시장가로 같은 돈을 쓰려 하면 접수 단계에서 막힌다
+        assertThatThrownBy(() -> orderService.createOrder(user.getLoginId(), buyMarket(stock.getCode(), 1)))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INSUFFICIENT_CASH);
 
-        // when: 체결 조건을 만족하는 시세가 와도 잔액이 없다
-        int filled = limitOrderMatcher.match(stock.getId(), won(70_000));
+        // when: 체결 조건을 만족하는 시세가 오면 그대로 체결된다
+        assertThat(limitOrderMatcher.match(stock.getId(), won(70_000))).isEqualTo(1);
 
-        // then: 영원히 체결 안 되는 좀비 주문으로 남기지 않고 REJECTED 로 닫는다
-        assertThat(filled).isZero();
-        Order rejected = findOrder(limitOrder);
+        // then
+        assertThat(findOrder(limitOrder).getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+        User reloaded = reload(user);
+        assertThat(reloaded.getCash()).isEqualByComparingTo(won(0));
+        assertThat(reloaded.getReservedCash()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("호가창은 현재가를 넘어선 주문만 가격 우선 순서로 후보에 올리고, 체결되면 내린다")
+    void orderBookReturnsOnlyCrossingOrdersInPricePriority() {
+        User user = createUser("booker", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+
+        OrderResponse.Detail low = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 1, won(64_000)));
+        OrderResponse.Detail high = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 1, won(66_000)));
+        OrderResponse.Detail far = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 1, won(60_000)));
+
+        // 65,000 에서는 66,000 매수만 체결 조건을 만족한다. 나머지는 후보로도 잡히지 않는다.
+        assertThat(limitOrderBook.findCrossing(stock.getId(), won(65_000), 100))
+                .extracting(LimitOrderBook.RestingOrder::orderId)
+                .containsExactly(high.getId());
+
+        // 63,000 에서는 지정가가 높은 주문부터 나온다 (가격 우선)
+        assertThat(limitOrderBook.findCrossing(stock.getId(), won(63_000), 100))
+                .extracting(LimitOrderBook.RestingOrder::orderId)
+                .containsExactly(high.getId(), low.getId());
+
+        limitOrderMatcher.match(stock.getId(), won(65_000));
+
+        assertThat(findOrder(high).getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+        assertThat(limitOrderBook.size(stock.getId())).isEqualTo(2);
+
+        // 취소도 호가창에 반영된다
+        orderService.cancelOrder(user.getLoginId(), far.getId(), null);
+        assertThat(limitOrderBook.size(stock.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("후보 상한은 방향별로 반씩 나누고, 한쪽이 남긴 자리는 다른 쪽이 쓴다")
+    void crossingLimitIsSharedBetweenSides() {
+        User user = createUser("sharer", won(10_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        orderService.createOrder(user.getLoginId(), buyMarket(stock.getCode(), 5));
+
+        for (int i = 0; i < 5; i++) {
+            orderService.createOrder(user.getLoginId(), buyLimit(stock.getCode(), 1, won(66_000)));
+        }
+        for (int i = 0; i < 3; i++) {
+            orderService.createOrder(user.getLoginId(), sellLimit(stock.getCode(), 1, won(64_000)));
+        }
+
+        // 교차 매수가 상한보다 많아도 교차 매도가 제 몫(절반)만큼 후보에 오른다
+        assertThat(limitOrderBook.findCrossing(stock.getId(), won(65_000), 4))
+                .extracting(LimitOrderBook.RestingOrder::side)
+                .containsExactly(Order.OrderSide.BUY, Order.OrderSide.BUY,
+                        Order.OrderSide.SELL, Order.OrderSide.SELL);
+
+        // 매수가 남긴 자리는 매도가 쓴다: 66,000 매수는 67,000 에서 교차하지 않는다
+        orderService.createOrder(user.getLoginId(), buyLimit(stock.getCode(), 1, won(68_000)));
+        assertThat(limitOrderBook.findCrossing(stock.getId(), won(67_000), 4))
+                .extracting(LimitOrderBook.RestingOrder::side)
+                .containsExactly(Order.OrderSide.BUY,
+                        Order.OrderSide.SELL, Order.OrderSide.SELL, Order.OrderSide.SELL);
+    }
+
+    @Test
+    @DisplayName("재기동 시 DB 의 PENDING 지정가 주문으로 호가창이 복원된다")
+    void orderBookIsRebuiltFromPendingOrders() {
+        User user = createUser("restorer", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+
+        OrderResponse.Detail order = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 1, won(65_000)));
+
+        // 재기동을 흉내 낸다: 메모리를 비우고 DB 에서 다시 읽는다
+        limitOrderBook.clear();
+        assertThat(limitOrderMatcher.match(stock.getId(), won(65_000))).isZero();
+
+        limitOrderBook.loadPendingOrders();
+
+        assertThat(limitOrderMatcher.match(stock.getId(), won(65_000))).isEqualTo(1);
+        assertThat(findOrder(order).getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+    }
+
+    @Test
+    @DisplayName("틱 유동성이 모자라면 앞선 주문부터 채우고, 남은 잔량은 PARTIALLY_FILLED 로 자리를 지킨다")
+    void partialFillFollowsPriceTimePriority() {
+        User user = createUser("partial", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+
+        OrderResponse.Detail first = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 3, won(65_000)));
+        OrderResponse.Detail second = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 2, won(65_000)));
+
+        // when 1: 유동성 4주 → 먼저 들어온 주문 3주 전량, 다음 주문은 1주만
+        assertThat(limitOrderMatcher.match(stock.getId(), won(65_000), 4)).isEqualTo(2);
+
+        assertThat(findOrder(first).getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+        Order partial = findOrder(second);
+        assertThat(partial.getStatus()).isEqualTo(Order.OrderStatus.PARTIALLY_FILLED);
+        assertThat(partial.getFilledQuantity()).isEqualTo(1);
+        assertThat(limitOrderBook.findCrossing(stock.getId(), won(65_000), 100))
+                .extracting(LimitOrderBook.RestingOrder::remainingQuantity)
+                .containsExactly(1);
+
+        // when 2: 다음 틱은 더 싼 가격에 잔량 1주가 체결된다 → 체결가는 가중 평균
+        assertThat(limitOrderMatcher.match(stock.getId(), won(64_000), 4)).isEqualTo(1);
+
+        Order done = findOrder(second);
+        assertThat(done.getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+        assertThat(done.getTotalAmount()).isEqualByComparingTo(won(129_000));
+        assertThat(done.getFilledPrice()).isEqualByComparingTo(won(64_500));
+        assertThat(limitOrderBook.size(stock.getId())).isZero();
+        // 1,000,000 - 65,000×4 - 64,000 = 676,000
+        assertThat(reload(user).getCash()).isEqualByComparingTo(won(676_000));
+    }
+
+    @Test
+    @DisplayName("부분 체결된 주문은 남은 잔량만 취소된다")
+    void partiallyFilledOrderCanBeCancelled() {
+        User user = createUser("halfway", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+
+        OrderResponse.Detail order = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 5, won(65_000)));
+        limitOrderMatcher.match(stock.getId(), won(65_000), 2);
+
+        assertThat(orderService.getPendingOrders(user.getLoginId())).hasSize(1);
+
+        orderService.cancelOrder(user.getLoginId(), order.getId(), null);
+
+        Order cancelled = findOrder(order);
+        assertThat(cancelled.getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(cancelled.getFilledQuantity()).isEqualTo(2);
+        assertThat(limitOrderBook.size(stock.getId())).isZero();
+        assertThat(reload(user).getCash()).isEqualByComparingTo(won(870_000));
+    }
+
+    @Test
+    @DisplayName("한 배치에 묶인 주문들은 같은 사용자 건이 겹쳐도 잔액·보유·이력이 누적 반영되고, 거부 건만 REJECTED 된다")
+    void batchedFillsAccumulatePerUserAndIsolateRejections() {
+        User alice = createUser("alice", won(1_000_000));
+        User bob = createUser("bob", won(70_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+
+        OrderResponse.Detail first = orderService.createOrder(
+                alice.getLoginId(), buyLimit(stock.getCode(), 1, won(65_000)));
+        OrderResponse.Detail second = orderService.createOrder(
+                alice.getLoginId(), buyLimit(stock.getCode(), 2, won(65_000)));
+        // 130,000 이 필요한데 잔액은 70,000. 접수 검증에서 막히므로,
+        // 접수 뒤 잔액이 줄어든 주문을 흉내 내 호가창에 직접 건다.
+        Order poor = orderRepository.save(Order.builder()
+                .user(bob).stock(stock)
+                .orderType(Order.OrderType.LIMIT).side(Order.OrderSide.BUY)
+                .quantity(2).price(won(65_000))
+                .build());
+        limitOrderBook.add(poor);
+
+        assertThat(limitOrderMatcher.match(stock.getId(), won(65_000))).isEqualTo(2);
+
+        assertThat(findOrder(first).getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+        assertThat(findOrder(second).getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+        Order rejected = orderRepository.findById(poor.getId()).orElseThrow();
         assertThat(rejected.getStatus()).isEqualTo(Order.OrderStatus.REJECTED);
         assertThat(rejected.getCancelReason()).contains("부족");
+
+        // 1,000,000 - 65,000 × 3 = 805,000, 보유는 한 행에 3주
+        assertThat(reload(alice).getCash()).isEqualByComparingTo(won(805_000));
+        assertThat(holdingRepository.findByUserIdAndStockId(alice.getId(), stock.getId()))
+                .get().extracting(Holding::getQuantity).isEqualTo(3);
+        // RESERVE 2건 + BUY 2건
+        assertThat(cashHistoryRepository.countByUserId(alice.getId())).isEqualTo(4);
+        assertThat(reload(alice).getReservedCash()).isEqualByComparingTo(BigDecimal.ZERO);
+
+        assertThat(reload(bob).getCash()).isEqualByComparingTo(won(70_000));
+        assertThat(cashHistoryRepository.countByUserId(bob.getId())).isZero();
+        assertThat(limitOrderBook.size(stock.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("호가는 미체결 지정가 주문을 가격대별로 모은 것이고, 부분 체결·취소가 잔량에 그대로 반영된다")
+    void orderbookAggregatesRestingLimitOrders() {
+        User user = createUser("depth", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        orderService.createOrder(user.getLoginId(), buyMarket(stock.getCode(), 5));
+
+        OrderResponse.Detail near = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 3, won(65_000)));
+        orderService.createOrder(user.getLoginId(), buyLimit(stock.getCode(), 2, won(65_000)));
+        OrderResponse.Detail far = orderService.createOrder(
+                user.getLoginId(), buyLimit(stock.getCode(), 1, won(60_000)));
+        orderService.createOrder(user.getLoginId(), sellLimit(stock.getCode(), 4, won(75_000)));
+
+        StockResponse.Orderbook orderbook = stockService.getOrderbook(stock.getCode());
+
+        assertThat(orderbook.getBids()).extracting(StockResponse.OrderbookEntry::getQuantity).containsExactly(5L, 1L);
+        assertThat(orderbook.getBids()).extracting(StockResponse.OrderbookEntry::getCount).containsExactly(2, 1);
+        assertThat(orderbook.getAsks()).singleElement().satisfies(ask -> {
+            assertThat(ask.getPrice()).isEqualByComparingTo(won(75_000));
+            assertThat(ask.getQuantity()).isEqualTo(4L);
+        });
+
+        // when: 65,000 가격대에서 2주 체결, 60,000 주문 취소
+        limitOrderMatcher.match(stock.getId(), won(65_000), 2);
+        orderService.cancelOrder(user.getLoginId(), far.getId(), null);
+
+        orderbook = stockService.getOrderbook(stock.getCode());
+        assertThat(findOrder(near).getStatus()).isEqualTo(Order.OrderStatus.PARTIALLY_FILLED);
+        assertThat(orderbook.getBids()).singleElement().satisfies(bid -> {
+            assertThat(bid.getPrice()).isEqualByComparingTo(won(65_000));
+            assertThat(bid.getQuantity()).isEqualTo(3L);
+            assertThat(bid.getCount()).isEqualTo(2);
+        });
     }
 
     @Test
@@ -173,6 +452,12 @@ class LimitOrderMatchingTest extends IntegrationTestSupport {
                 .side(Order.OrderSide.BUY).quantity(quantity).build();
     }
 
+    private OrderRequest.Create sellMarket(String stockCode, int quantity) {
+        return OrderRequest.Create.builder()
+                .stockCode(stockCode).orderType(Order.OrderType.MARKET)
+                .side(Order.OrderSide.SELL).quantity(quantity).build();
+    }
+
     private OrderRequest.Create buyLimit(String stockCode, int quantity, BigDecimal price) {
         return OrderRequest.Create.builder()
                 .stockCode(stockCode).orderType(Order.OrderType.LIMIT)
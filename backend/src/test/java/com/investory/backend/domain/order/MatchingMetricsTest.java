@@ -0,0 +1,80 @@
+package com.investory.backend.domain.order;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.LimitOrderMatcher;
+import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.support.IntegrationTestSupport;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매칭 지표 검증. 종목을 샤드에 나눠 병렬로 매칭해도 틱당 체결 수가 그 틱의 체결만 센다.
+ * <p>
+ * 지표 저장소는 컨텍스트 전체가 공유하므로 값은 항상 테스트 전후의 차이로 본다.
+ */
+@DisplayName("매칭 지표 테스트")
+@TestPropertySource(properties = "investory.order.matching.parallelism=2")
+class MatchingMetricsTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private LimitOrderMatcher limitOrderMatcher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("병렬 매칭 틱의 틱당 체결 수는 샤드별 결과의 합이고, 틱 밖의 매칭은 섞이지 않는다")
+    void fillsPerTickCountOnlyThatTick() {
+        User user = createUser("metered", won(10_000_000));
+        Stock first = createStock("005930", "삼성전자", won(70_000));
+        Stock second = createStock("000660", "SK하이닉스", won(70_000));
+        Stock outside = createStock("035420", "NAVER", won(70_000));
+        orderService.createOrder(user.getLoginId(), buyLimit(first, 2));
+        orderService.createOrder(user.getLoginId(), buyLimit(first, 1));
+        orderService.createOrder(user.getLoginId(), buyLimit(second, 1));
+        orderService.createOrder(user.getLoginId(), buyLimit(outside, 1));
+
+        DistributionSummary fillsPerTick = meterRegistry.get("investory.matching.tick.fills").summary();
+        long ticksBefore = fillsPerTick.count();
+        double tickFillsBefore = fillsPerTick.totalAmount();
+        double fillsBefore = meterRegistry.counter("investory.matching.fills").count();
+        long matchesBefore = meterRegistry.get("investory.matching.match").timer().count();
+
+        // when: 틱 밖에서 한 종목을 직접 매칭한 뒤, 두 종목을 담은 틱 하나
+        assertThat(limitOrderMatcher.match(outside.getId(), won(65_000))).isEqualTo(1);
+        limitOrderMatcher.onPriceUpdated(new StockPriceUpdatedEvent(List.of(tick(first), tick(second))));
+
+        // then: 틱당 체결 수는 틱에 든 두 종목의 3건뿐, 누적 카운터는 4건
+        assertThat(fillsPerTick.count() - ticksBefore).isEqualTo(1);
+        assertThat(fillsPerTick.totalAmount() - tickFillsBefore).isEqualTo(3d);
+        assertThat(meterRegistry.counter("investory.matching.fills").count() - fillsBefore).isEqualTo(4d);
+        assertThat(meterRegistry.get("investory.matching.match").timer().count() - matchesBefore).isEqualTo(3);
+    }
+
+    private StockPriceUpdatedEvent.PriceTick tick(Stock stock) {
+        return new StockPriceUpdatedEvent.PriceTick(stock.getId(), stock.getCode(), stock.getName(),
+                won(65_000), BigDecimal.ZERO, BigDecimal.ZERO, 0L, 1_000L);
+    }
+
+    private OrderRequest.Create buyLimit(Stock stock, int quantity) {
+        return OrderRequest.Create.builder()
+                .stockCode(stock.getCode()).orderType(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY).quantity(quantity).price(won(65_000)).build();
+    }
+}
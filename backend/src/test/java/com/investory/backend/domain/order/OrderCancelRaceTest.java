@@ -0,0 +1,129 @@
+package com.investory.backend.domain.order;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.dto.OrderResponse;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.LimitOrderMatcher;
+import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 취소와 지정가 체결의 경합 검증.
+ * <p>
+ * 취소는 증거금 예약을 풀며 주문자의 User 행을 고친다. 같은 사용자의 주문 여러 건을 동시에 취소하면서
+ * 매처가 나머지를 체결하면 취소끼리, 취소와 체결이 같은 행에서 부딪힌다.
+ * 재시도가 없으면 {@code ObjectOptimisticLockingFailureException} 이 그대로 500 으로 나간다.
+ * <p>
+ * 충돌이 반드시 난다고 볼 수는 없으므로 {@link OptimisticLockConflictTest} 처럼 "어떤 순서로 끝나든
+ * 호출자는 도메인 예외만 보고, 예약 장부는 맞는다"를 검증한다.
+ */
+@DisplayName("주문 취소-체결 경합 테스트")
+class OrderCancelRaceTest extends IntegrationTestSupport {
+
+    private static final int ORDER_COUNT = 8;
+    private static final int CANCEL_COUNT = 4;
+    private static final BigDecimal INITIAL_CASH = BigDecimal.valueOf(1_000_000);
+    private static final BigDecimal LIMIT_PRICE = BigDecimal.valueOf(65_000);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private LimitOrderMatcher limitOrderMatcher;
+
+    @Test
+    @DisplayName("같은 사용자의 주문을 동시에 취소하며 체결해도 취소는 도메인 예외로만 실패하고 예약 금액이 모두 정리된다")
+    void concurrentCancelAndFillKeepReservationConsistent() throws Exception {
+        // given: 지정가 매수 8건, 앞의 4건을 취소하는 동안 매처가 전체를 체결하려 한다
+        User user = createUser("racer", INITIAL_CASH);
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        List<OrderResponse.Detail> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orders.add(orderService.createOrder(user.getLoginId(), buyLimit(stock.getCode())));
+        }
+
+        AtomicInteger cancelled = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(CANCEL_COUNT + 1)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CANCEL_COUNT; i++) {
+                Long orderId = orders.get(i).getId();
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        orderService.cancelOrder(user.getLoginId(), orderId, null);
+                        cancelled.incrementAndGet();
+                    } catch (BusinessException e) {
+                        // 체결이 먼저 끝났거나(ORDER_CANNOT_CANCEL) 재시도를 소진한(ORDER_CONFLICT) 경우
+                        if (e.getErrorCode() != ErrorCode.ORDER_CANNOT_CANCEL
+                                && e.getErrorCode() != ErrorCode.ORDER_CONFLICT) {
+                            unexpected.add(e);
+                        }
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                return limitOrderMatcher.match(stock.getId(), LIMIT_PRICE);
+            }));
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // 충돌로 이번 틱에 밀린 주문은 다음 틱에 체결된다
+        limitOrderMatcher.match(stock.getId(), LIMIT_PRICE);
+
+        // then
+        assertThat(unexpected).isEmpty();
+
+        List<Order> finished = orders.stream()
+                .map(order -> orderRepository.findById(order.getId()).orElseThrow())
+                .toList();
+        assertThat(finished).extracting(Order::getStatus)
+                .containsOnly(Order.OrderStatus.FILLED, Order.OrderStatus.CANCELLED);
+        long filledCount = finished.stream().filter(order -> order.getStatus() == Order.OrderStatus.FILLED).count();
+        assertThat(ORDER_COUNT - filledCount).isEqualTo(cancelled.get());
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(reloaded.getReservedCash()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(reloaded.getCash())
+                .isEqualByComparingTo(INITIAL_CASH.subtract(LIMIT_PRICE.multiply(BigDecimal.valueOf(filledCount))));
+        assertThat(cashHistoryRepository.sumAmountByUserId(user.getId()))
+                .isEqualByComparingTo(LIMIT_PRICE.multiply(BigDecimal.valueOf(filledCount)).negate());
+        assertThat(limitOrderBook.size(stock.getId())).isZero();
+    }
+
+    private OrderRequest.Create buyLimit(String stockCode) {
+        return OrderRequest.Create.builder()
+                .stockCode(stockCode).orderType(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY).quantity(1).price(LIMIT_PRICE).build();
+    }
+}
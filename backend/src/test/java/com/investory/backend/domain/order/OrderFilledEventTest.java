@@ -4,6 +4,7 @@ import com.investory.backend.domain.order.dto.OrderRequest;
 import com.investory.backend.domain.order.dto.OrderResponse;
 import com.investory.backend.domain.order.entity.Order;
 import com.investory.backend.domain.order.event.OrderFilledEvent;
+import com.investory.backend.domain.order.service.LimitOrderMatcher;
 import com.investory.backend.domain.order.service.OrderService;
 import com.investory.backend.domain.stock.entity.Stock;
 import com.investory.backend.domain.user.entity.User;
@@ -16,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.event.ApplicationEvents;
 import org.springframework.test.context.event.RecordApplicationEvents;
 
+import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.List;
 
@@ -36,6 +38,9 @@ class OrderFilledEventTest extends IntegrationTestSupport {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private LimitOrderMatcher limitOrderMatcher;
+
     @Autowired
     private ApplicationEvents applicationEvents;
 
@@ -61,6 +66,7 @@ class OrderFilledEventTest extends IntegrationTestSupport {
         assertThat(event.side()).isEqualTo(Order.OrderSide.BUY);
         assertThat(event.quantity()).isEqualTo(2);
         assertThat(event.totalAmount()).isEqualByComparingTo(won(140_000));
+        assertThat(event.completed()).isTrue();
     }
 
     @Test
@@ -99,6 +105,35 @@ class OrderFilledEventTest extends IntegrationTestSupport {
                 });
     }
 
+    @Test
+    @DisplayName("여러 틱에 나뉘어 체결된 주문은 전량 체결된 마지막 체결에서만 경험치를 한 번 받는다")
+    void partiallyFilledOrderGrantsExperienceOnce() {
+        // given: 5주 지정가 매수, 틱마다 2주씩만 체결된다
+        User user = createUser("splitter", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        int before = user.getExperience();
+        orderService.createOrder(user.getLoginId(), buyLimit(stock.getCode(), 5, won(65_000)));
+
+        // when: 2주, 2주, 1주
+        for (int tick = 0; tick < 3; tick++) {
+            limitOrderMatcher.match(stock.getId(), won(65_000), 2);
+        }
+
+        // then: 체결 이벤트는 3건이지만 전량 체결 표시는 마지막 1건뿐이다
+        assertThat(applicationEvents.stream(OrderFilledEvent.class))
+                .extracting(OrderFilledEvent::completed)
+                .containsExactly(false, false, true);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> {
+                    User reloaded = userRepository.findById(user.getId()).orElseThrow();
+                    assertThat(reloaded.getExperience()).isEqualTo(before + 20);
+                });
+        // 더 체결될 잔량이 없으니 이후에도 그대로다
+        limitOrderMatcher.match(stock.getId(), won(65_000), 2);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getExperience()).isEqualTo(before + 20);
+    }
+
     private OrderRequest.Create buyMarket(String stockCode, int quantity) {
         return OrderRequest.Create.builder()
                 .stockCode(stockCode)
@@ -107,4 +142,14 @@ class OrderFilledEventTest extends IntegrationTestSupport {
                 .quantity(quantity)
                 .build();
     }
+
+    private OrderRequest.Create buyLimit(String stockCode, int quantity, BigDecimal price) {
+        return OrderRequest.Create.builder()
+                .stockCode(stockCode)
+                .orderType(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY)
+                .quantity(quantity)
+                .price(price)
+                .build();
+    }
 }
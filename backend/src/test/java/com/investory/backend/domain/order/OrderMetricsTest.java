@@ -0,0 +1,111 @@
+package com.investory.backend.domain.order;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.order.service.OrderSubmitter;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import com.investory.backend.support.IntegrationTestSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 주문 지표 검증. 접수 지연은 결과별로 나뉘고, 재시도·소진 카운터는 실험용 시도 카운터와 맞아야 한다.
+ * <p>
+ * 지표 저장소는 컨텍스트 전체가 공유하므로 값은 항상 테스트 전후의 차이로 본다.
+ */
+@DisplayName("주문 지표 테스트")
+class OrderMetricsTest extends IntegrationTestSupport {
+
+    private static final int THREAD_COUNT = 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderSubmitter orderSubmitter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("주문 접수 지연은 주문 유형·매매 구분·결과별로 기록된다")
+    void placementIsTimedByTypeSideAndResult() {
+        User user = createUser("timed", won(100_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        long successBefore = placements("success");
+        long rejectedBefore = placements(ErrorCode.INSUFFICIENT_CASH.name());
+
+        orderSubmitter.submit(user.getLoginId(), buyMarket(stock.getCode(), 1)).join();
+        assertThatThrownBy(() -> orderSubmitter.submit(user.getLoginId(), buyMarket(stock.getCode(), 1)).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(BusinessException.class);
+
+        assertThat(placements("success") - successBefore).isEqualTo(1);
+        assertThat(placements(ErrorCode.INSUFFICIENT_CASH.name()) - rejectedBefore).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재시도 카운터는 최초 시도를 뺀 시도 수와 같고, 소진 카운터는 ORDER_CONFLICT 로 끝난 주문 수와 같다")
+    void retryCountersMatchAttempts() throws Exception {
+        User user = createUser("retried", won(10_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        orderService.resetAttemptCount();
+        double retriesBefore = meterRegistry.counter("investory.order.retries").count();
+        double exhaustedBefore = meterRegistry.counter("investory.order.retries.exhausted").count();
+
+        AtomicInteger conflicts = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        orderService.createOrder(user.getLoginId(), buyMarket(stock.getCode(), 1));
+                    } catch (BusinessException e) {
+                        if (e.getErrorCode() == ErrorCode.ORDER_CONFLICT) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(meterRegistry.counter("investory.order.retries").count() - retriesBefore)
+                .isEqualTo((double) (orderService.getAttemptCount() - THREAD_COUNT));
+        assertThat(meterRegistry.counter("investory.order.retries.exhausted").count() - exhaustedBefore)
+                .isEqualTo((double) conflicts.get());
+    }
+
+    private long placements(String result) {
+        Timer timer = meterRegistry.find("investory.order.placement")
+                .tags("type", "MARKET", "side", "BUY", "result", result)
+                .timer();
+        return timer != null ? timer.count() : 0L;
+    }
+
+    private OrderRequest.Create buyMarket(String stockCode, int quantity) {
+        return OrderRequest.Create.builder()
+                .stockCode(stockCode).orderType(Order.OrderType.MARKET)
+                .side(Order.OrderSide.BUY).quantity(quantity).build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.investory.backend.domain.order;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.dto.OrderResponse;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.OrderSequencer;
+import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.order.service.OrderSubmitter;
+import com.investory.backend.domain.portfolio.entity.Holding;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.support.IntegrationTestSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code lock-mode=sequenced} 검증.
+ * <p>
+ * {@link ConcurrentOrderIntegrationTest} 와 같은 시나리오(한 유저에게 주문 32건이 한꺼번에 몰림)를
+ * 시퀀서 경로로 흘려 보낸다. 정합성은 같아야 하고, 차이는 "재시도가 0회"라는 점이다.
+ * 프로퍼티가 달라 별도 스프링 컨텍스트가 뜬다.
+ */
+@Slf4j
+@DisplayName("시퀀서 주문 통합 테스트")
+@TestPropertySource(properties = "investory.order.lock-mode=sequenced")
+class SequencedOrderIntegrationTest extends IntegrationTestSupport {
+
+    private static final int ORDER_COUNT = 32;
+    private static final BigDecimal STOCK_PRICE = BigDecimal.valueOf(70_000);
+
+    @Autowired
+    private OrderSubmitter orderSubmitter;
+
+    @Autowired
+    private OrderSequencer orderSequencer;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    @DisplayName("한 유저의 주문이 몰려도 재시도 없이 순서대로 처리되고 잔액·보유가 정합하다")
+    void sequencedOrdersNeedNoRetry() {
+        BigDecimal initialCash = STOCK_PRICE.multiply(BigDecimal.valueOf(ORDER_COUNT * 2L));
+        User user = createUser("sequenced", initialCash);
+        Stock stock = createStock("005930", "삼성전자", STOCK_PRICE);
+
+        orderService.resetAttemptCount();
+        orderSequencer.resetCounters();
+
+        // when: HTTP 스레드처럼 future 만 받고 바로 다음 주문을 넣는다
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<OrderResponse.Detail>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            futures.add(orderSubmitter.submit(user.getLoginId(), buyMarket(stock.getCode())));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(60, TimeUnit.SECONDS).join();
+        long elapsedMs = System.currentTimeMillis() - start;
+
+        // then
+        assertThat(futures).allSatisfy(future ->
+                assertThat(future.join().getStatus()).isEqualTo(Order.OrderStatus.FILLED.name()));
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        BigDecimal spent = STOCK_PRICE.multiply(BigDecimal.valueOf(ORDER_COUNT));
+        assertThat(reloaded.getCash()).isEqualByComparingTo(initialCash.subtract(spent));
+        assertThat(cashHistoryRepository.sumAmountByUserId(user.getId()).negate()).isEqualByComparingTo(spent);
+
+        Holding holding = holdingRepository.findByUserIdAndStockId(user.getId(), stock.getId()).orElseThrow();
+        assertThat(holding.getQuantity()).isEqualTo(ORDER_COUNT);
+
+        // 같은 유저 행을 동시에 고치는 트랜잭션이 없으므로 시도 횟수 == 주문 수
+        assertThat(orderService.getAttemptCount()).isEqualTo(ORDER_COUNT);
+        assertThat(orderSequencer.getCompletedCount()).isEqualTo(ORDER_COUNT);
+        assertThat(orderSequencer.getRejectedCount()).isZero();
+
+        log.info("""
+
+                        ===== 시퀀서 실험 리포트 =====
+                        주문 수        : {}
+                        총 소요 시간   : {} ms
+                        처리량         : {} 건/s
+                        최대 대기열    : {}
+                        ============================""",
+                ORDER_COUNT, elapsedMs, String.format("%.1f", orderSequencer.getThroughputPerSecond()),
+                orderSequencer.getMaxQueueDepth());
+    }
+
+    @Test
+    @DisplayName("시퀀서 경로의 실패는 예외가 아니라 실패한 future 로 돌아온다")
+    void failureIsDeliveredThroughFuture() {
+        User user = createUser("poor", won(10_000));
+        Stock stock = createStock("005930", "삼성전자", STOCK_PRICE);
+
+        CompletableFuture<OrderResponse.Detail> future =
+                orderSubmitter.submit(user.getLoginId(), buyMarket(stock.getCode()));
+
+        assertThat(future).failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableThat()
+                .havingRootCause()
+                .hasMessageContaining("부족");
+    }
+
+    private OrderRequest.Create buyMarket(String stockCode) {
+        return OrderRequest.Create.builder()
+                .stockCode(stockCode)
+                .orderType(Order.OrderType.MARKET)
+                .side(Order.OrderSide.BUY)
+                .quantity(1)
+                .build();
+    }
+}
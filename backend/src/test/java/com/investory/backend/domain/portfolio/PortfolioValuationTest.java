@@ -0,0 +1,144 @@
+package com.investory.backend.domain.portfolio;
+
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.LimitOrderMatcher;
+import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.portfolio.dto.PortfolioResponse;
+import com.investory.backend.domain.portfolio.service.PortfolioService;
+import com.investory.backend.domain.portfolio.service.PortfolioValuations;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.user.entity.User;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포트폴리오 평가 집계 검증.
+ * <p>
+ * 틱은 DB 에 쓰지 않고 이벤트로만 넘겨, 조회 값이 DB 가 아니라 틱으로 고친 메모리 평가에서 나오는지 본다.
+ * 테스트 프로파일은 평가 집계를 끄므로 이 클래스만 켠다.
+ */
+@DisplayName("포트폴리오 평가 집계 테스트")
+@TestPropertySource(properties = "investory.portfolio.valuation.enabled=true")
+class PortfolioValuationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private PortfolioValuations portfolioValuations;
+
+    @Autowired
+    private LimitOrderMatcher limitOrderMatcher;
+
+    @AfterEach
+    void clearValuations() {
+        portfolioValuations.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("틱은 보유자의 합계에 차이만 더하고, 체결은 그 사용자의 보유를 다시 읽는다")
+    void appliesTicksIncrementallyAndReloadsOnFill() {
+        User user = createUser("valuer", won(1_000_000));
+        Stock samsung = createStock("005930", "삼성전자", won(10_000));
+        Stock hynix = createStock("000660", "SK하이닉스", won(20_000));
+        Stock naver = createStock("035420", "NAVER", won(30_000));
+        orderService.createOrder(user.getLoginId(), buyMarket(samsung.getCode(), 10));
+        orderService.createOrder(user.getLoginId(), buyMarket(hynix.getCode(), 5));
+
+        PortfolioResponse.Summary before = portfolioService.getPortfolio(user.getLoginId());
+        assertThat(before.getTotalValue()).isEqualByComparingTo(won(200_000));
+        assertThat(before.getDailyProfitLoss()).isEqualByComparingTo(won(0));
+        assertThat(portfolioValuations.drainChanged()).isEmpty();
+
+        // when: 삼성전자 10,000 → 11,000 틱. DB 에는 쓰지 않는다. 보유하지 않은 NAVER 틱은 무시된다.
+        long appliedBefore = portfolioValuations.getAppliedTicks();
+        tick(move(samsung, 11_000), move(naver, 31_000));
+
+        PortfolioResponse.Summary ticked = portfolioService.getPortfolio(user.getLoginId());
+        assertThat(portfolioValuations.getAppliedTicks() - appliedBefore).isEqualTo(1);
+        assertThat(ticked.getTotalValue()).isEqualByComparingTo(won(210_000));
+        assertThat(ticked.getTotalProfitLoss()).isEqualByComparingTo(won(10_000));
+        assertThat(ticked.getDailyProfitLoss()).isEqualByComparingTo(won(10_000));
+        assertThat(ticked.getHoldings()).filteredOn(item -> item.getStockCode().equals("005930"))
+                .singleElement().satisfies(item -> {
+                    assertThat(item.getCurrentPrice()).isEqualByComparingTo(won(11_000));
+                    assertThat(item.getProfitLossRate()).isEqualByComparingTo("10.00");
+                });
+        assertThat(portfolioValuations.drainChanged()).containsExactly(user.getLoginId());
+        // 바뀐 것이 없으면 만들어 둔 응답을 그대로 준다
+        assertThat(portfolioService.getPortfolio(user.getLoginId())).isSameAs(ticked);
+
+        // when: 하이닉스 5주 추가 매수 → 체결 커밋 뒤 보유를 다시 읽는다
+        Stock stored = stockRepository.findById(samsung.getId()).orElseThrow();
+        stored.updatePrice(won(11_000), 0L);
+        stockRepository.saveAndFlush(stored);
+        orderService.createOrder(user.getLoginId(), buyMarket(hynix.getCode(), 5));
+
+        PortfolioResponse.Summary filled = portfolioService.getPortfolio(user.getLoginId());
+        assertThat(filled.getTotalInvestment()).isEqualByComparingTo(won(300_000));
+        assertThat(filled.getTotalValue()).isEqualByComparingTo(won(310_000));
+        assertThat(filled.getHoldings()).filteredOn(item -> item.getStockCode().equals("000660"))
+                .singleElement().extracting(PortfolioResponse.HoldingItem::getQuantity).isEqualTo(10);
+        assertThat(portfolioService.getPortfolioByMarket(user.getLoginId(), "foreign").getHoldingCount()).isZero();
+        assertThat(portfolioService.getPortfolioByMarket(user.getLoginId(), "domestic").getTotalValue())
+                .isEqualByComparingTo(won(310_000));
+    }
+
+    @Test
+    @DisplayName("한 배치 트랜잭션에서 같은 사용자 주문이 여러 건 체결돼도 보유는 커밋 뒤 한 번만 다시 읽는다")
+    void reloadsOncePerUserPerTransaction() {
+        User user = createUser("batcher", won(1_000_000));
+        Stock stock = createStock("005930", "삼성전자", won(10_000));
+        for (int i = 0; i < 3; i++) {
+            orderService.createOrder(user.getLoginId(), buyLimit(stock.getCode(), 2, won(9_000)));
+        }
+        assertThat(portfolioService.getPortfolio(user.getLoginId()).getHoldingCount()).isZero();
+
+        // when: 세 주문이 한 배치(트랜잭션)에서 체결된다
+        long reloadsBefore = portfolioValuations.getReloadCount();
+        assertThat(limitOrderMatcher.match(stock.getId(), won(9_000))).isEqualTo(3);
+
+        // then
+        assertThat(portfolioValuations.getReloadCount() - reloadsBefore).isEqualTo(1);
+        PortfolioResponse.Summary filled = portfolioService.getPortfolio(user.getLoginId());
+        assertThat(filled.getHoldings()).singleElement()
+                .extracting(PortfolioResponse.HoldingItem::getQuantity).isEqualTo(6);
+        assertThat(filled.getTotalInvestment()).isEqualByComparingTo(won(54_000));
+    }
+
+    private static PriceTick move(Stock stock, long price) {
+        stock.updatePrice(won(price), 0L);
+        return PriceTick.from(stock, 0L);
+    }
+
+    private void tick(PriceTick... ticks) {
+        portfolioValuations.onPriceUpdated(new StockPriceUpdatedEvent(List.of(ticks)));
+    }
+
+    private OrderRequest.Create buyMarket(String stockCode, int quantity) {
+        return OrderRequest.Create.builder()
+                .stockCode(stockCode).orderType(Order.OrderType.MARKET)
+                .side(Order.OrderSide.BUY).quantity(quantity).build();
+    }
+
+    private OrderRequest.Create buyLimit(String stockCode, int quantity, BigDecimal price) {
+        return OrderRequest.Create.builder()
+                .stockCode(stockCode).orderType(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY).quantity(quantity).price(price).build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.investory.backend.domain.stock;
+
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.service.StockPriceSimulator;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code write-mode=bulk} 검증.
+ * <p>
+ * 스케줄러가 끼어들지 않도록 주기를 한 시간으로 두고 {@link StockPriceSimulator#tick()} 을 직접 부른다.
+ * 발행된 틱과 DB 에 쓰인 값이 같은지, 엔티티를 거치지 않았어도 버전이 틱마다 하나씩 오르는지 본다.
+ */
+@RecordApplicationEvents
+@DisplayName("시세 bulk 쓰기 테스트")
+@TestPropertySource(properties = {
+        "investory.stock.simulator.enabled=true",
+        "investory.stock.simulator.interval-ms=3600000",
+        "investory.stock.simulator.write-mode=bulk"
+})
+class BulkPriceTickTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockPriceSimulator simulator;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    @DisplayName("배치 UPDATE 로 쓴 시세가 발행된 틱과 같고, 버전은 틱마다 하나씩 오른다")
+    void bulkTickWritesPublishedPrices() {
+        List<Stock> stocks = List.of(
+                createStock("005930", "삼성전자", won(70_000)),
+                createStock("000660", "SK하이닉스", won(120_000)),
+                createStock("035720", "카카오", won(50_000)));
+
+        simulator.tick();
+        simulator.tick();
+
+        List<PriceTick> last = lastTicks();
+        assertThat(last).hasSize(3);
+        for (PriceTick tick : last) {
+            Stock reloaded = stockRepository.findById(tick.stockId()).orElseThrow();
+            assertThat(reloaded.getCurrentPrice()).isEqualByComparingTo(tick.currentPrice());
+            assertThat(reloaded.getChangeAmount()).isEqualByComparingTo(tick.changeAmount());
+            assertThat(reloaded.getVolume()).isEqualTo(tick.volume());
+        }
+        for (Stock stock : stocks) {
+            Stock reloaded = stockRepository.findById(stock.getId()).orElseThrow();
+            assertThat(reloaded.getVersion()).isEqualTo(stock.getVersion() + 2);
+        }
+    }
+
+    @Test
+    @DisplayName("쓰기에서 빠진 종목이 있으면 다음 틱에 스냅샷을 다시 읽는다")
+    void reloadsSnapshotWhenRowsGoMissing() {
+        createStock("005930", "삼성전자", won(70_000));
+        Stock removed = createStock("000660", "SK하이닉스", won(120_000));
+        simulator.tick();
+
+        // 종목 수는 그대로라 스냅샷이 낡은 줄은 쓰기 결과로만 알 수 있다
+        stockRepository.deleteById(removed.getId());
+        createStock("035720", "카카오", won(50_000));
+        simulator.tick();
+        simulator.tick();
+
+        assertThat(lastTicks()).extracting(PriceTick::code).containsExactlyInAnyOrder("005930", "035720");
+    }
+
+    private List<PriceTick> lastTicks() {
+        List<StockPriceUpdatedEvent> events = applicationEvents.stream(StockPriceUpdatedEvent.class).toList();
+        return events.get(events.size() - 1).ticks();
+    }
+}
@@ -0,0 +1,92 @@
+package com.investory.backend.domain.stock;
+
+import com.investory.backend.domain.stock.dto.StockResponse;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.service.PriceHistoryRecorder;
+import com.investory.backend.domain.stock.service.StockService;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 캔들 스트리밍 집계 검증.
+ * <p>
+ * 시각을 정해 {@link PriceHistoryRecorder#record} 를 직접 부른다. 구간이 바뀔 때 닫힌 캔들이 저장되고,
+ * 조회가 닫힌 캔들 뒤에 열린 캔들 하나를 붙이는지 본다.
+ */
+@DisplayName("OHLCV 캔들 집계 테스트")
+class CandleAggregationTest extends IntegrationTestSupport {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 1, 2, 9, 0);
+
+    @Autowired
+    private PriceHistoryRecorder priceHistoryRecorder;
+
+    @Autowired
+    private StockService stockService;
+
+    @Test
+    @DisplayName("구간이 바뀌면 캔들이 닫혀 저장되고, 조회는 닫힌 캔들 뒤에 열린 캔들을 붙인다")
+    void aggregatesTicksIntoCandles() {
+        Stock stock = createStock("005930", "삼성전자", won(100));
+
+        record(stock, NINE.plusSeconds(10), 100, 10);
+        record(stock, NINE.plusSeconds(40), 120, 5);
+        record(stock, NINE.plusSeconds(50), 90, 1);
+        record(stock, NINE.plusMinutes(1).plusSeconds(5), 110, 2);
+        record(stock, NINE.plusMinutes(5), 105, 3);
+
+        List<StockResponse.Candle> minutes = stockService.getCandles("005930", "1m", NINE, NINE.plusMinutes(10));
+        assertThat(minutes).extracting(StockResponse.Candle::getOpenTime)
+                .containsExactly(NINE, NINE.plusMinutes(1), NINE.plusMinutes(5));
+        assertThat(minutes).extracting(StockResponse.Candle::isClosed).containsExactly(true, true, false);
+        assertCandle(minutes.get(0), 100, 120, 90, 90, 16);
+
+        List<StockResponse.Candle> fiveMinutes = stockService.getCandles("005930", "5m", NINE, NINE.plusMinutes(10));
+        assertThat(fiveMinutes).hasSize(2);
+        assertCandle(fiveMinutes.get(0), 100, 120, 90, 110, 18);
+        assertCandle(fiveMinutes.get(1), 105, 105, 105, 105, 3);
+
+        // from 이 구간 중간이어도 그 시각을 품은 캔들부터 준다
+        List<StockResponse.Candle> hours = stockService.getCandles("005930", "1h", NINE.plusMinutes(30), NINE.plusHours(1));
+        assertThat(hours).singleElement().satisfies(candle -> {
+            assertThat(candle.isClosed()).isFalse();
+            assertCandle(candle, 100, 120, 90, 105, 21);
+        });
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 구간이나 거꾸로 된 기간은 거절한다")
+    void rejectsInvalidQuery() {
+        createStock("005930", "삼성전자", won(100));
+
+        assertThatThrownBy(() -> stockService.getCandles("005930", "2h", null, null))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> stockService.getCandles("005930", "1m", NINE.plusHours(1), NINE))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private void record(Stock stock, LocalDateTime at, long price, long tradedVolume) {
+        PriceTick tick = new PriceTick(stock.getId(), stock.getCode(), stock.getName(),
+                won(price), BigDecimal.ZERO, BigDecimal.ZERO, tradedVolume, tradedVolume);
+        priceHistoryRecorder.record(List.of(tick), at);
+    }
+
+    private static void assertCandle(StockResponse.Candle candle, long open, long high, long low, long close, long volume) {
+        assertThat(candle.getOpen()).isEqualByComparingTo(won(open));
+        assertThat(candle.getHigh()).isEqualByComparingTo(won(high));
+        assertThat(candle.getLow()).isEqualByComparingTo(won(low));
+        assertThat(candle.getClose()).isEqualByComparingTo(won(close));
+        assertThat(candle.getVolume()).isEqualTo(volume);
+    }
+}
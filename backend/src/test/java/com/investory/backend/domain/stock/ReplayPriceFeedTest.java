@@ -0,0 +1,106 @@
+package com.investory.backend.domain.stock;
+
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.feed.PriceFeeds;
+import com.investory.backend.domain.stock.service.StockPriceSimulator;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code feed=replay} 검증.
+ * <p>
+ * 주기를 한 시간, 배속을 1 로 두고 틱을 직접 부르면 틱 하나가 녹화 한 시간을 결정적으로 재생한다.
+ * 같은 창의 녹화 틱이 합쳐지는지, DB 에 없는 종목을 건너뛰는지, 파일 끝에서 멈추는지 본다.
+ */
+@RecordApplicationEvents
+@DisplayName("시세 리플레이 피드 테스트")
+@TestPropertySource(properties = {
+        "investory.stock.simulator.enabled=true",
+        "investory.stock.simulator.interval-ms=3600000",
+        "investory.stock.simulator.feed=replay",
+        "investory.stock.simulator.replay-speed=1"
+})
+class ReplayPriceFeedTest extends IntegrationTestSupport {
+
+    private static final long T0 = 1_735_693_200_000L;
+    private static final long MINUTE = 60_000L;
+
+    @DynamicPropertySource
+    static void replayFile(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempFile("replay-", ".csv");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, String.join("\r\n",
+                "timestamp,code,price,volume",
+                T0 + ",005930,71000,100",
+                (T0 + 30 * MINUTE) + ",005930,71500,50",
+                (T0 + 30 * MINUTE) + ",999999,1000,10",
+                "# 주석 줄은 건너뛴다",
+                (T0 + 90 * MINUTE) + ",000660,121000,20",
+                (T0 + 150 * MINUTE) + ",005930,72000,5",
+                ""));
+        registry.add("investory.stock.simulator.replay-file", file::toString);
+    }
+
+    @Autowired
+    private StockPriceSimulator simulator;
+
+    @Autowired
+    private PriceFeeds.Replay replayFeed;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    @DisplayName("틱마다 녹화 한 시간씩 재생하고, 같은 창의 틱은 마지막 가격·거래량 합으로 합치며, 파일 끝에서 멈춘다")
+    void replaysRecordedTicksWindowByWindow() {
+        Stock samsung = createStock("005930", "삼성전자", won(70_000));
+        Stock hynix = createStock("000660", "SK하이닉스", won(120_000));
+
+        // 1창 [T0, T0+60m]: 삼성전자 두 건이 하나로 합쳐지고, 모르는 종목은 건너뛴다
+        simulator.tick();
+        assertThat(lastTicks()).singleElement().satisfies(tick -> {
+            assertThat(tick.code()).isEqualTo("005930");
+            assertThat(tick.currentPrice()).isEqualByComparingTo(won(71_500));
+            assertThat(tick.tradedVolume()).isEqualTo(150);
+        });
+        assertThat(replayFeed.getSkippedTicks()).isEqualTo(1);
+        assertThat(stockRepository.findById(hynix.getId()).orElseThrow().getCurrentPrice())
+                .isEqualByComparingTo(won(120_000));
+
+        // 2창: SK하이닉스만
+        simulator.tick();
+        assertThat(lastTicks()).extracting(PriceTick::code).containsExactly("000660");
+
+        // 3창: 마지막 틱을 적용하고 파일 끝
+        simulator.tick();
+        assertThat(replayFeed.isFinished()).isTrue();
+        assertThat(stockRepository.findById(samsung.getId()).orElseThrow().getCurrentPrice())
+                .isEqualByComparingTo(won(72_000));
+
+        // 끝난 뒤에는 시세를 움직이지 않는다
+        simulator.tick();
+        assertThat(applicationEvents.stream(StockPriceUpdatedEvent.class)).hasSize(3);
+        assertThat(replayFeed.getReplayedTicks()).isEqualTo(5);
+    }
+
+    private List<PriceTick> lastTicks() {
+        List<StockPriceUpdatedEvent> events = applicationEvents.stream(StockPriceUpdatedEvent.class).toList();
+        return events.get(events.size() - 1).ticks();
+    }
+}
@@ -0,0 +1,78 @@
+package com.investory.backend.domain.stock;
+
+import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.dto.StockQuote;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.feed.PriceFeeds;
+import com.investory.backend.domain.stock.repository.StockPriceJdbcRepository;
+import com.investory.backend.domain.stock.service.MarketState;
+import com.investory.backend.domain.stock.service.StockPriceSimulator;
+import com.investory.backend.support.IntegrationTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code shards} 검증.
+ * <p>
+ * 샤드를 병렬로 계산해도 같은 시드면 같은 시세가 나오는지 본다. 난수 스트림은 피드 인스턴스가 들고 있으므로
+ * 같은 설정으로 새 인스턴스를 두 번 만들고, 두 번째 틱 전에 시세를 처음 값으로 되돌린다.
+ */
+@DisplayName("샤드 병렬 시세 틱 테스트")
+@TestPropertySource(properties = {
+        "investory.stock.simulator.enabled=true",
+        "investory.stock.simulator.interval-ms=3600000",
+        "investory.stock.simulator.write-mode=bulk",
+        "investory.stock.simulator.shards=4"
+})
+class ShardedPriceTickTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockPriceJdbcRepository stockPriceJdbcRepository;
+
+    @Autowired
+    private StockSimulatorProperties properties;
+
+    @Autowired
+    private MarketState marketState;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("같은 시드면 샤드를 병렬로 계산해도 종목마다 같은 시세가 나온다")
+    void shardedTickIsReproducible() {
+        for (int i = 0; i < 12; i++) {
+            createStock(String.format("%06d", i + 1), "종목" + i, won(10_000L * (i + 1)));
+        }
+        List<StockQuote> initial = stockPriceJdbcRepository.findAllQuotes();
+
+        List<PriceTick> first = tickOnce();
+        stockPriceJdbcRepository.batchUpdatePrices(initial);
+        List<PriceTick> second = tickOnce();
+
+        assertThat(first).hasSize(12);
+        assertThat(second).containsExactlyElementsOf(first);
+    }
+
+    private List<PriceTick> tickOnce() {
+        List<StockPriceUpdatedEvent> events = new ArrayList<>();
+        StockPriceSimulator simulator = new StockPriceSimulator(stockRepository, stockPriceJdbcRepository,
+                properties, marketState, transactionTemplate, new PriceFeeds.RandomWalk(properties), events::add,
+                new SimpleMeterRegistry());
+        simulator.tick();
+        List<PriceTick> ticks = new ArrayList<>(events.get(0).ticks());
+        ticks.sort(Comparator.comparing(PriceTick::stockId));
+        return ticks;
+    }
+}
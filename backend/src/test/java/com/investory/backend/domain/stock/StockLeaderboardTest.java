@@ -0,0 +1,80 @@
+package com.investory.backend.domain.stock;
+
+import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.dto.StockResponse;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.service.StockLeaderboard;
+import com.investory.backend.domain.stock.service.StockLeaderboard.Type;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인기 종목 순위 증분 갱신 검증.
+ * <p>
+ * 컨텍스트의 순위는 다른 테스트의 종목을 들고 있을 수 있으므로 새 인스턴스를 만들어 쓴다. ({@code MarketState} 복원 테스트와 같은 방식)
+ * 틱은 시뮬레이터를 돌리지 않고 이벤트를 직접 넘긴다.
+ */
+@DisplayName("인기 종목 순위 테스트")
+class StockLeaderboardTest extends IntegrationTestSupport {
+
+    @Test
+    @DisplayName("움직인 종목만 다시 자리를 잡고, 전체·시장별 상위 목록이 틱마다 바뀐다")
+    void reranksOnEachTick() {
+        Stock samsung = createStock("005930", "삼성전자", won(10_000));
+        Stock hynix = createStock("000660", "SK하이닉스", won(10_000));
+        Stock ecopro = stockRepository.saveAndFlush(Stock.builder()
+                .code("086520")
+                .name("에코프로")
+                .market(Stock.Market.KOSDAQ)
+                .currentPrice(won(10_000))
+                .previousClose(won(10_000))
+                .build());
+
+        StockSimulatorProperties properties = new StockSimulatorProperties();
+        properties.setLeaderboardSize(2);
+        StockLeaderboard leaderboard = new StockLeaderboard(stockRepository, properties);
+        leaderboard.load();
+        assertThat(leaderboard.top(Type.GAINERS, null, 10)).isEmpty();
+
+        tick(leaderboard, move(samsung, 10_500, 100), move(hynix, 9_700, 300), move(ecopro, 10_100, 50));
+
+        // 순위 길이(2)보다 많이 달라고 해도 그만큼만 준다
+        assertThat(codes(leaderboard.top(Type.VOLUME, null, 10))).containsExactly("000660", "005930");
+        assertThat(codes(leaderboard.top(Type.GAINERS, null, 10))).containsExactly("005930", "086520");
+        assertThat(codes(leaderboard.top(Type.LOSERS, null, 10))).containsExactly("000660");
+        assertThat(codes(leaderboard.top(Type.VOLUME, null, 1))).containsExactly("000660");
+        assertThat(codes(leaderboard.top(Type.GAINERS, Stock.Market.KOSDAQ, 10))).containsExactly("086520");
+        assertThat(codes(leaderboard.top(Type.LOSERS, Stock.Market.KOSPI, 10))).containsExactly("000660");
+
+        // when: 삼성전자만 움직여 상승 1위에서 하락 1위로 간다
+        tick(leaderboard, move(samsung, 9_000, 1_000));
+
+        assertThat(codes(leaderboard.top(Type.GAINERS, null, 10))).containsExactly("086520");
+        assertThat(codes(leaderboard.top(Type.LOSERS, null, 10))).containsExactly("005930", "000660");
+        assertThat(leaderboard.top(Type.VOLUME, null, 1)).singleElement().satisfies(summary -> {
+            assertThat(summary.getCode()).isEqualTo("005930");
+            assertThat(summary.getVolume()).isEqualTo(1_100L);
+            assertThat(summary.getCurrentPrice()).isEqualByComparingTo(won(9_000));
+        });
+    }
+
+    private static PriceTick move(Stock stock, long price, long tradedVolume) {
+        stock.updatePrice(won(price), tradedVolume);
+        return PriceTick.from(stock, tradedVolume);
+    }
+
+    private static void tick(StockLeaderboard leaderboard, PriceTick... ticks) {
+        leaderboard.onPriceUpdated(new StockPriceUpdatedEvent(List.of(ticks)));
+    }
+
+    private static List<String> codes(List<StockResponse.Summary> summaries) {
+        return summaries.stream().map(StockResponse.Summary::getCode).toList();
+    }
+}
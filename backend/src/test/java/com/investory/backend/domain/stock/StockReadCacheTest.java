@@ -0,0 +1,94 @@
+package com.investory.backend.domain.stock;
+
+import com.investory.backend.domain.stock.cache.StockReadCache;
+import com.investory.backend.domain.stock.dto.StockResponse;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.domain.stock.service.StockService;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.support.IntegrationTestSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 종목 조회 캐시 검증.
+ * <p>
+ * 캐시가 든 뒤 DB 를 직접 고쳐, 조회가 DB 가 아니라 캐시에서 나오는지와 시세 이벤트로만 시세가 바뀌는지 본다.
+ * 테스트 프로파일은 캐시를 끄므로 이 클래스만 켠다.
+ */
+@DisplayName("종목 조회 캐시 테스트")
+@TestPropertySource(properties = "investory.stock.cache.enabled=true")
+class StockReadCacheTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockReadCache stockReadCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 베이스의 정리가 종목을 지우므로, 다음 테스트가 지워진 종목 ID 를 캐시에서 보지 않게 먼저 비운다. */
+    @AfterEach
+    void invalidateCache() {
+        stockReadCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("시세는 DB 가 바뀌어도 캐시 값이 나가고, 시세 이벤트가 오면 틱 값으로 바뀐다")
+    void refreshesPriceOnlyByEvent() {
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        assertThat(stockService.getStockDetail("005930").getCurrentPrice()).isEqualByComparingTo(won(70_000));
+
+        // 이벤트 없이 DB 만 바뀐다 (캐시에 든 값이 그대로 나가야 한다)
+        stock.updatePrice(won(71_000), 10);
+        stockRepository.saveAndFlush(stock);
+        assertThat(stockService.getStockDetail("005930").getCurrentPrice()).isEqualByComparingTo(won(70_000));
+
+        eventPublisher.publishEvent(new StockPriceUpdatedEvent(List.of(PriceTick.from(stock, 10))));
+
+        StockResponse.Detail detail = stockService.getStockDetail("005930");
+        assertThat(detail.getCurrentPrice()).isEqualByComparingTo(won(71_000));
+        assertThat(detail.getChangeAmount()).isEqualByComparingTo(won(1_000));
+        assertThat(detail.getHigh52Week()).isEqualByComparingTo(won(71_000));
+        assertThat(detail.getVolume()).isEqualTo(10L);
+        assertThat(detail.getName()).isEqualTo("삼성전자");
+        assertThat(stockService.getAllStocks(null)).singleElement()
+                .satisfies(summary -> assertThat(summary.getCurrentPrice()).isEqualByComparingTo(won(71_000)));
+    }
+
+    @Test
+    @DisplayName("목록·섹터는 한 번 읽은 목록에서 나오고, 목록보다 늦게 추가된 종목도 코드로 찾는다")
+    void servesCatalogFromCache() {
+        createStock("005930", "삼성전자", won(70_000));
+        assertThat(stockService.getAllSectors()).containsExactly("테스트");
+        assertThat(stockService.getStocksBySector("테스트")).hasSize(1);
+
+        createStock("000660", "SK하이닉스", won(130_000));
+
+        // 목록은 아직 예전 것이지만 코드 조회는 DB 를 확인한다
+        assertThat(stockService.getStockDetail("000660").getName()).isEqualTo("SK하이닉스");
+        assertThat(stockService.getAllStocks(Stock.Market.KOSPI)).extracting(StockResponse.Summary::getCode)
+                .containsExactly("005930", "000660");
+        assertThatThrownBy(() -> stockService.getStockDetail("999999")).isInstanceOf(BusinessException.class);
+
+        double hits = meterRegistry.get("cache.gets").tag("cache", "stock.quotes").tag("result", "hit")
+                .functionCounter().count();
+        assertThat(hits).isPositive();
+    }
+}
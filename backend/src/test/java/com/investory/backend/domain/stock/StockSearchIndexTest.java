@@ -0,0 +1,93 @@
+package com.investory.backend.domain.stock;
+
+import com.investory.backend.domain.stock.cache.StockProfile;
+import com.investory.backend.domain.stock.dto.StockResponse;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.search.StockSearchIndex;
+import com.investory.backend.domain.stock.service.StockService;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 종목 검색 색인 검증.
+ * <p>
+ * 색인은 기동 시점 종목으로 만들어지므로 종목을 만든 뒤 직접 {@code refresh()} 한다.
+ * 테스트 프로파일은 색인을 끄므로 이 클래스만 켠다.
+ */
+@DisplayName("종목 검색 색인 테스트")
+@TestPropertySource(properties = "investory.stock.search.enabled=true")
+class StockSearchIndexTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockSearchIndex stockSearchIndex;
+
+    @Test
+    @DisplayName("이름·초성·코드·영문명으로 찾고, 일치 → 앞부분 일치 → 포함 순으로 준다")
+    void searchesByNameChoseongCodeAndEnglishName() {
+        // 우선주를 먼저 만들어 ID 순과 관련도 순이 어긋나게 한다
+        createStock("005935", "삼성전자우", won(60_000));
+        createStock("005930", "삼성전자", won(70_000));
+        createStock("006400", "삼성SDI", won(400_000));
+        createStock("028260", "삼성물산", won(120_000));
+        createStock("000660", "SK하이닉스", won(180_000));
+        stockRepository.saveAndFlush(Stock.builder()
+                .code("035420")
+                .name("NAVER")
+                .englishName("NAVER Corp")
+                .market(Stock.Market.KOSPI)
+                .currentPrice(won(200_000))
+                .previousClose(won(200_000))
+                .build());
+        stockSearchIndex.refresh();
+
+        assertThat(codes(stockSearchIndex.search("삼성"))).containsExactly("005935", "005930", "006400", "028260");
+        assertThat(codes(stockSearchIndex.search("성전"))).containsExactly("005935", "005930");
+        assertThat(codes(stockSearchIndex.search("ㅅㅅㅈㅈ"))).containsExactly("005930", "005935");
+        assertThat(codes(stockSearchIndex.search("ㅎㅇㄴ"))).containsExactly("000660");
+        assertThat(codes(stockSearchIndex.search("05930"))).containsExactly("005930");
+        // 공백·대소문자 무시
+        assertThat(codes(stockSearchIndex.search("naver corp"))).containsExactly("035420");
+        assertThat(codes(stockSearchIndex.search("sk 하이"))).containsExactly("000660");
+        assertThat(stockSearchIndex.search("없는종목")).isEmpty();
+        assertThat(stockSearchIndex.search("  ")).isEmpty();
+
+        // 이름이 같은 종목이 앞부분만 같은 종목보다, 앞부분이 같은 종목이 안에 든 종목보다 먼저다
+        assertThat(codes(stockSearchIndex.search("삼성전자"))).containsExactly("005930", "005935");
+        assertThat(codes(stockSearchIndex.search("sdi"))).containsExactly("006400");
+        assertThat(codes(stockSearchIndex.search("ㅎㅇ"))).containsExactly("000660");
+        assertThat(codes(stockSearchIndex.search("0006"))).containsExactly("000660");
+    }
+
+    @Test
+    @DisplayName("서비스 검색은 색인 결과를 페이지로 잘라 현재 시세를 붙인다")
+    void servicePagesIndexResults() {
+        createStock("005930", "삼성전자", won(70_000));
+        createStock("006400", "삼성SDI", won(400_000));
+        createStock("028260", "삼성물산", won(120_000));
+        stockSearchIndex.refresh();
+
+        Page<StockResponse.Summary> page = stockService.searchStocks("삼성", PageRequest.of(1, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).singleElement().satisfies(summary -> {
+            assertThat(summary.getCode()).isEqualTo("028260");
+            assertThat(summary.getCurrentPrice()).isEqualByComparingTo(won(120_000));
+        });
+    }
+
+    private static List<String> codes(List<StockProfile> profiles) {
+        return profiles.stream().map(StockProfile::code).toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.investory.backend.domain.stock;
+
+import com.investory.backend.domain.stock.config.StockSimulatorProperties;
+import com.investory.backend.domain.stock.dto.StockQuote;
+import com.investory.backend.domain.stock.dto.StockResponse;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.repository.StockPriceJdbcRepository;
+import com.investory.backend.domain.stock.service.MarketState;
+import com.investory.backend.domain.stock.service.StockPriceSimulator;
+import com.investory.backend.domain.stock.service.StockService;
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code write-mode=write-behind} 검증.
+ * <p>
+ * 틱과 플러시 모두 스케줄러가 끼어들지 않도록 주기를 한 시간으로 두고 직접 부른다.
+ * 틱은 DB 를 건드리지 않고, 조회는 메모리 시세를 보고, 플러시 뒤에야 DB 가 따라오는지 본다.
+ */
+@DisplayName("인메모리 시세 write-behind 테스트")
+@TestPropertySource(properties = {
+        "investory.stock.simulator.enabled=true",
+        "investory.stock.simulator.interval-ms=3600000",
+        "investory.stock.simulator.flush-interval-ms=3600000",
+        "investory.stock.simulator.write-mode=write-behind"
+})
+class WriteBehindMarketStateTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockPriceSimulator simulator;
+
+    @Autowired
+    private MarketState marketState;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockPriceJdbcRepository stockPriceJdbcRepository;
+
+    @Autowired
+    private StockSimulatorProperties properties;
+
+    @Test
+    @DisplayName("틱은 메모리만 바꾸고, 조회는 메모리 시세를 보며, 플러시 뒤에 DB 가 따라오고, 재기동하면 DB 에서 복원한다")
+    void ticksStayInMemoryUntilFlushed() {
+        Stock stock = createStock("005930", "삼성전자", won(70_000));
+        // 컨텍스트 기동 시점에는 종목이 없었으므로 테스트 픽스처로 다시 채운다
+        marketState.load();
+
+        simulator.tick();
+
+        StockQuote quote = marketState.find(stock.getId()).orElseThrow();
+        Stock persisted = stockRepository.findById(stock.getId()).orElseThrow();
+        assertThat(quote.volume()).isPositive();
+        assertThat(persisted.getVolume()).isZero();
+        assertThat(persisted.getVersion()).isEqualTo(stock.getVersion());
+
+        StockResponse.Detail detail = stockService.getStockDetail(stock.getCode());
+        assertThat(detail.getCurrentPrice()).isEqualByComparingTo(quote.currentPrice());
+        assertThat(detail.getVolume()).isEqualTo(quote.volume());
+
+        // when: 플러시
+        marketState.flush();
+
+        Stock flushed = stockRepository.findById(stock.getId()).orElseThrow();
+        assertThat(flushed.getCurrentPrice()).isEqualByComparingTo(quote.currentPrice());
+        assertThat(flushed.getVolume()).isEqualTo(quote.volume());
+
+        // when: 플러시 전에 한 틱 더 가고 "비정상 종료"한 뒤 새 인스턴스로 복원
+        simulator.tick();
+        MarketState restarted = new MarketState(stockPriceJdbcRepository, stockRepository, properties);
+        restarted.load();
+
+        // then: 마지막 플러시 시점의 시세에서 다시 시작한다
+        StockQuote recovered = restarted.find(stock.getId()).orElseThrow();
+        assertThat(recovered.currentPrice()).isEqualByComparingTo(quote.currentPrice());
+        assertThat(recovered.volume()).isEqualTo(quote.volume());
+    }
+}
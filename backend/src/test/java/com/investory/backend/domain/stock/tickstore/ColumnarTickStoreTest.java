@@ -0,0 +1,135 @@
+package com.investory.backend.domain.stock.tickstore;
+
+import com.investory.backend.domain.stock.config.StockHistoryProperties;
+import com.investory.backend.domain.stock.entity.StockTick;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 컬럼형 틱 저장소 검증. 스프링 컨텍스트 없이 임시 디렉터리에 직접 만든다.
+ * <p>
+ * 세그먼트 영역을 아주 작게 잡아 롤오버가 여러 번 일어나게 한다.
+ */
+@DisplayName("컬럼형 틱 저장소 테스트")
+class ColumnarTickStoreTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 1, 2, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("세그먼트를 넘나들어도 범위 조회는 넣은 값을 시각 순으로 그대로 돌려준다")
+    void scansAcrossSegments() throws IOException {
+        TickStores.Columnar store = store();
+        for (int i = 0; i < 100; i++) {
+            // 가격은 오르내리고 소수점도 섞는다 (delta 가 음수인 경우)
+            store.append(List.of(tick(1L, 70_000 + (i % 2 == 0 ? i : -i) + 0.25, i)), NINE.plusSeconds(5L * i));
+        }
+        store.append(List.of(tick(2L, 100, 1)), NINE);
+
+        assertThat(segmentFiles(1L)).hasSizeGreaterThan(1);
+
+        TickSeries all = store.scan(1L, NINE, NINE.plusHours(1));
+        assertThat(all.size()).isEqualTo(100);
+        assertThat(all.priceAt(3)).isEqualByComparingTo("69997.25");
+        assertThat(all.volumeAt(99)).isEqualTo(99);
+        assertThat(all.timestampAt(99) - all.timestampAt(0)).isEqualTo(5_000L * 99);
+
+        TickSeries range = store.scan(1L, NINE.plusSeconds(50), NINE.plusSeconds(100));
+        assertThat(range.size()).isEqualTo(11);
+        assertThat(range.priceAt(0)).isEqualByComparingTo("70010.25");
+        assertThat(store.scan(2L, NINE, NINE.plusHours(1)).size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다운샘플은 구간마다 시가·고가·저가·종가·거래량을 만든다")
+    void downsamples() {
+        TickStores.Columnar store = store();
+        store.append(List.of(tick(1L, 100, 10)), NINE.plusSeconds(10));
+        store.append(List.of(tick(1L, 120, 5)), NINE.plusSeconds(40));
+        store.append(List.of(tick(1L, 90, 1)), NINE.plusSeconds(50));
+        store.append(List.of(tick(1L, 110, 2)), NINE.plusMinutes(1).plusSeconds(5));
+
+        TickSeries.Bars bars = store.scan(1L, NINE, NINE.plusMinutes(2)).downsample(60_000);
+
+        assertThat(bars.size()).isEqualTo(2);
+        assertThat(bars.openTimeAt(1) - bars.openTimeAt(0)).isEqualTo(60_000);
+        assertThat(bars.openAt(0)).isEqualByComparingTo("100");
+        assertThat(bars.highAt(0)).isEqualByComparingTo("120");
+        assertThat(bars.lowAt(0)).isEqualByComparingTo("90");
+        assertThat(bars.closeAt(0)).isEqualByComparingTo("90");
+        assertThat(bars.volumeAt(0)).isEqualTo(16);
+        assertThat(bars.closeAt(1)).isEqualByComparingTo("110");
+    }
+
+    @Test
+    @DisplayName("다시 열면 마지막 세그먼트에 이어 쓰고, 복원용 조회는 전 종목을 시각 순으로 준다")
+    void reopensAndContinues() {
+        TickStores.Columnar first = store();
+        first.append(List.of(tick(1L, 100, 1), tick(2L, 200, 2)), NINE);
+        first.close();
+
+        TickStores.Columnar second = store();
+        second.append(List.of(tick(1L, 101, 3)), NINE.plusSeconds(5));
+
+        assertThat(second.scan(1L, NINE, NINE.plusMinutes(1)).size()).isEqualTo(2);
+        List<StockTick> since = second.findSince(NINE);
+        assertThat(since).extracting(StockTick::getStockId).containsExactlyInAnyOrder(1L, 2L, 1L);
+        assertThat(since.get(since.size() - 1).getPrice()).isEqualByComparingTo("101");
+    }
+
+    @Test
+    @DisplayName("정리는 마지막 틱까지 보존 기간을 넘긴 세그먼트만 지운다")
+    void purgesWholeSegments() throws IOException {
+        TickStores.Columnar store = store();
+        for (int i = 0; i < 60; i++) {
+            store.append(List.of(tick(1L, 100 + i, 1)), NINE.plusMinutes(i));
+        }
+        int before = segmentFiles(1L).size();
+
+        long deleted = store.purgeBefore(NINE.plusMinutes(30));
+
+        assertThat(deleted).isPositive().isLessThanOrEqualTo(30);
+        assertThat(segmentFiles(1L)).hasSizeLessThan(before);
+        TickSeries rest = store.scan(1L, NINE, NINE.plusHours(1));
+        assertThat(rest.size()).isEqualTo(60 - (int) deleted);
+        assertThat(rest.timestampAt(0)).isLessThanOrEqualTo(TickStores.epochMillis(NINE.plusMinutes(30)));
+
+        // 쓰기용 세그먼트를 지운 뒤에도 새 세그먼트로 이어 쓴다
+        store.purgeBefore(NINE.plusHours(2));
+        store.append(List.of(tick(1L, 200, 1)), NINE.plusHours(3));
+        assertThat(store.scan(1L, NINE.plusHours(3), NINE.plusHours(3)).size()).isEqualTo(1);
+    }
+
+    private TickStores.Columnar store() {
+        StockHistoryProperties properties = new StockHistoryProperties();
+        properties.setColumnarDir(dir.toString());
+        // 영역 하나에 varint 몇 개만 들어가게 해 롤오버를 자주 일으킨다
+        properties.setColumnarRegionBytes(64);
+        return new TickStores.Columnar(properties);
+    }
+
+    private List<Path> segmentFiles(Long stockId) throws IOException {
+        try (Stream<Path> files = Files.list(dir.resolve(String.valueOf(stockId)))) {
+            return files.toList();
+        }
+    }
+
+    private static PriceTick tick(Long stockId, double price, long volume) {
+        return new PriceTick(stockId, "00000" + stockId, "종목" + stockId,
+                BigDecimal.valueOf(price), BigDecimal.ZERO, BigDecimal.ZERO, volume, volume);
+    }
+}
@@ -0,0 +1,65 @@
+package com.investory.backend.global.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 정수화한 금액 연산 검증. 핫패스에서 바꾼 계산이 기존 BigDecimal 계산과 같은 값을 내는지 본다.
+ */
+@DisplayName("정수화 금액 테스트")
+class MoneyTest {
+
+    @Test
+    @DisplayName("BigDecimal 과 오가도 값을 잃지 않고, 소수 둘째 자리를 넘으면 HALF_UP 으로 반올림한다")
+    void convertsToAndFromBigDecimal() {
+        assertThat(Money.of(new BigDecimal("65000"))).isEqualTo(6_500_000L);
+        assertThat(Money.of(new BigDecimal("65000.00"))).isEqualTo(6_500_000L);
+        assertThat(Money.of(new BigDecimal("1.005"))).isEqualTo(101L);
+        assertThat(Money.of(new BigDecimal("-1.005"))).isEqualTo(-101L);
+        assertThat(Money.toBigDecimal(6_500_012L)).isEqualTo(new BigDecimal("65000.12"));
+        assertThat(Money.won(65_000)).isEqualTo(Money.of(new BigDecimal("65000")));
+    }
+
+    @Test
+    @DisplayName("변동률은 Stock#updatePrice 의 기존 BigDecimal 계산과 같다")
+    void percentMatchesBigDecimalDivision() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 10_000; i++) {
+            long previous = Money.won(random.nextLong(1, 2_000_000));
+            long change = Money.won(random.nextLong(-1_000_000, 1_000_000));
+
+            BigDecimal expected = Money.toBigDecimal(change)
+                    .divide(Money.toBigDecimal(previous), 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            assertThat(Money.toBigDecimal(Money.percentOf(change, previous))).isEqualByComparingTo(expected);
+        }
+        assertThat(Money.percentOf(Money.won(10), 0L)).isZero();
+    }
+
+    @Test
+    @DisplayName("배율 곱은 원 단위 HALF_UP 반올림이다")
+    void multipliesAndRoundsToWon() {
+        assertThat(Money.timesToWon(Money.won(10_000), 1.00005)).isEqualTo(Money.won(10_001));
+        assertThat(Money.timesToWon(Money.won(10_000), 1.00004)).isEqualTo(Money.won(10_000));
+        assertThat(Money.timesToWon(Money.won(3), 0.5)).isEqualTo(Money.won(2));
+        assertThat(Money.timesToWon(Money.won(-3), 0.5)).isEqualTo(Money.won(-2));
+    }
+
+    @Test
+    @DisplayName("범위를 넘으면 조용히 틀린 값 대신 ArithmeticException 을 던진다")
+    void failsOnOverflow() {
+        assertThatThrownBy(() -> Money.times(Long.MAX_VALUE / 2, 3)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.plus(Long.MAX_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.timesToWon(Long.MAX_VALUE, 2.0)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1e30"))).isInstanceOf(ArithmeticException.class);
+    }
+}
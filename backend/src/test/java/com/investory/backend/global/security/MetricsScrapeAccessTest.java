@@ -0,0 +1,84 @@
+package com.investory.backend.global.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prometheus 스크레이프 접근 규칙 검증.
+ * <p>
+ * 같은 호스트의 nginx 를 거친 요청은 원격 주소가 루프백이다. 그런 요청이 토큰 없이 통과하지 않는지가 핵심이다.
+ */
+@DisplayName("Prometheus 스크레이프 접근 규칙 테스트")
+class MetricsScrapeAccessTest {
+
+    private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken(
+            "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+    private static final Authentication ADMIN = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+    @Test
+    @DisplayName("허용 대역이 기본값(없음)이면 루프백에서 온 요청도 토큰 없이는 거부된다")
+    void defaultAllowsAdminOnly() {
+        AuthorizationManager<RequestAuthorizationContext> access = MetricsScrapeAccess.of(List.of(""));
+
+        assertThat(granted(access, ANONYMOUS, request("127.0.0.1"))).isFalse();
+        assertThat(granted(access, ADMIN, request("127.0.0.1"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("루프백을 허용해도 프록시 헤더가 붙은 요청은 토큰 없이는 거부된다")
+    void proxiedLoopbackRequestIsRejected() {
+        AuthorizationManager<RequestAuthorizationContext> access =
+                MetricsScrapeAccess.of(List.of("127.0.0.1/32", "::1/128"));
+
+        // 프록시 없이 같은 호스트에서 직접 긁으면 통과
+        assertThat(granted(access, ANONYMOUS, request("127.0.0.1"))).isTrue();
+
+        // nginx(proxy_pass http://localhost:8080)를 거친 인터넷 요청
+        MockHttpServletRequest forwarded = request("127.0.0.1");
+        forwarded.addHeader("X-Forwarded-For", "203.0.113.7");
+        MockHttpServletRequest realIp = request("127.0.0.1");
+        realIp.addHeader("X-Real-IP", "203.0.113.7");
+        MockHttpServletRequest standard = request("127.0.0.1");
+        standard.addHeader("Forwarded", "for=203.0.113.7");
+
+        assertThat(granted(access, ANONYMOUS, forwarded)).isFalse();
+        assertThat(granted(access, ANONYMOUS, realIp)).isFalse();
+        assertThat(granted(access, ANONYMOUS, standard)).isFalse();
+        // ADMIN 토큰이면 프록시를 거쳐도 통과
+        assertThat(granted(access, ADMIN, forwarded)).isTrue();
+    }
+
+    @Test
+    @DisplayName("허용 대역 밖에서 직접 온 요청은 토큰 없이는 거부된다")
+    void directRequestOutsideAllowedNetworkIsRejected() {
+        AuthorizationManager<RequestAuthorizationContext> access = MetricsScrapeAccess.of(List.of("172.16.0.0/12"));
+
+        assertThat(granted(access, ANONYMOUS, request("172.18.0.5"))).isTrue();
+        assertThat(granted(access, ANONYMOUS, request("203.0.113.7"))).isFalse();
+    }
+
+    private static boolean granted(AuthorizationManager<RequestAuthorizationContext> access,
+                                   Authentication authentication, MockHttpServletRequest request) {
+        AuthorizationResult result = access.authorize(() -> authentication, new RequestAuthorizationContext(request));
+        return result != null && result.isGranted();
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/actuator/prometheus");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
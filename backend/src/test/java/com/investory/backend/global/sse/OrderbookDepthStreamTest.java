@@ -0,0 +1,110 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.LimitOrderBook;
+import com.investory.backend.domain.stock.entity.Stock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 호가 스트림 검증. 스프링 컨텍스트 없이 호가창·저장소·스트림만 직접 만든다.
+ */
+@DisplayName("호가 스트림 테스트")
+class OrderbookDepthStreamTest {
+
+    private static final long STOCK_ID = 1L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SseEmitterRepository repository =
+            new SseEmitterRepository(new SseProperties(), objectMapper, new SimpleMeterRegistry());
+    private final LimitOrderBook book = new LimitOrderBook(null);
+    private final OrderbookDepthStream stream = new OrderbookDepthStream(repository, book, objectMapper);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.shutdown();
+    }
+
+    @Test
+    @DisplayName("첫 프레임은 현재 호가이고, 이후에는 바뀐 종목의 호가만 전송 주기마다 한 장씩 나간다")
+    void sendsSnapshotThenChangedDepthPerFlush() throws Exception {
+        book.add(order(1, Order.OrderSide.BUY, 65_000, 3));
+        book.add(order(2, Order.OrderSide.SELL, 71_000, 2));
+
+        RecordingEmitter client = new RecordingEmitter();
+        stream.subscribe(client, STOCK_ID, "005930");
+        client.awaitFrames(1);
+
+        JsonNode first = client.frames.get(0);
+        assertThat(first.get("stockCode").asText()).isEqualTo("005930");
+        assertThat(first.get("bids").get(0).get("quantity").asLong()).isEqualTo(3);
+        assertThat(first.get("asks").get(0).get("price").decimalValue()).isEqualByComparingTo("71000");
+
+        // when: 같은 가격대에 두 건, 새 매도 가격대 하나가 들어오고 한 건이 빠진다 → 한 번의 전송으로 마지막 모습만 나간다
+        book.add(order(3, Order.OrderSide.BUY, 65_000, 4));
+        book.add(order(4, Order.OrderSide.BUY, 65_000, 1));
+        book.add(order(5, Order.OrderSide.SELL, 72_000, 7));
+        book.remove(STOCK_ID, 4L);
+        stream.flush();
+        client.awaitFrames(2);
+
+        JsonNode next = client.frames.get(1);
+        assertThat(next.get("bids")).hasSize(1);
+        assertThat(next.get("bids").get(0).get("quantity").asLong()).isEqualTo(7);
+        assertThat(next.get("bids").get(0).get("count").asInt()).isEqualTo(2);
+        // 매도는 높은 가격부터 그린다
+        assertThat(next.get("asks").get(0).get("price").decimalValue()).isEqualByComparingTo("72000");
+        assertThat(next.get("asks").get(1).get("price").decimalValue()).isEqualByComparingTo("71000");
+
+        // 바뀐 것이 없으면 보내지 않는다
+        stream.flush();
+        Thread.sleep(100);
+        assertThat(client.frames).hasSize(2);
+    }
+
+    private static Order order(long id, Order.OrderSide side, long price, int quantity) {
+        return Order.builder()
+                .id(id)
+                .stock(Stock.builder().id(STOCK_ID).build())
+                .orderType(Order.OrderType.LIMIT)
+                .side(side)
+                .quantity(quantity)
+                .price(BigDecimal.valueOf(price))
+                .build();
+    }
+
+    /** 받은 프레임의 data 를 기록하는 Emitter. */
+    private class RecordingEmitter extends SseEmitter {
+
+        private final List<JsonNode> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            try {
+                frames.add(objectMapper.readTree(SseFrames.dataOf(items)));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void awaitFrames(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (frames.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(frames).hasSizeGreaterThanOrEqualTo(count);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 델타 시세 스트림 검증. 스프링 컨텍스트 없이 저장소와 스트림만 직접 만든다.
+ */
+@DisplayName("델타 시세 스트림 테스트")
+class PriceDeltaStreamTest {
+
+    private static final int KEYFRAME_INTERVAL = 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SseProperties properties = properties();
+    private final SseEmitterRepository repository =
+            new SseEmitterRepository(properties, objectMapper, new SimpleMeterRegistry());
+    private final PriceDeltaStream stream = new PriceDeltaStream(repository, objectMapper, properties);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.shutdown();
+    }
+
+    @Test
+    @DisplayName("새 구독자는 키프레임을 먼저 받고, 이후에는 바뀐 종목만 담긴 델타를 받는다")
+    void newSubscriberGetsKeyframeThenDeltas() throws Exception {
+        stream.accept(List.of(tick(1, 70_000, 100), tick(2, 50_000, 100), tick(3, 10_000, 100)));
+
+        RecordingEmitter client = new RecordingEmitter();
+        stream.subscribe(client, null);
+        client.awaitFrames(1);
+
+        // when: 2번 종목만 바뀐다
+        stream.accept(List.of(tick(1, 70_000, 100), tick(2, 50_500, 130), tick(3, 10_000, 100)));
+        client.awaitFrames(2);
+
+        Frame keyframe = client.frames.get(0);
+        assertThat(keyframe.event()).isEqualTo(PriceDeltaStream.EVENT_KEYFRAME);
+        assertThat(keyframe.data().get("s")).hasSize(3);
+        assertThat(keyframe.data().get("s").get(0).get("code").asText()).isEqualTo("C1");
+        assertThat(keyframe.data().get("d")).hasSize(3);
+
+        Frame delta = client.frames.get(1);
+        assertThat(delta.event()).isEqualTo(PriceDeltaStream.EVENT_DELTA);
+        assertThat(delta.data().get("base").asLong()).isEqualTo(keyframe.data().get("seq").asLong());
+        assertThat(delta.data().get("d")).hasSize(1);
+        // 행은 [id, 현재가, 전일 대비, 등락률, 누적 거래량] 순서
+        JsonNode row = delta.data().get("d").get(0);
+        assertThat(row.get(0).asLong()).isEqualTo(2);
+        assertThat(row.get(1).decimalValue()).isEqualByComparingTo("50500");
+        assertThat(row.get(4).asLong()).isEqualTo(130);
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID 로 재연결하면 그 뒤로 바뀐 종목만 모은 델타 하나로 따라잡는다")
+    void resumeWithLastEventIdSendsOnlyMissedChanges() throws Exception {
+        stream.accept(List.of(tick(1, 70_000, 100), tick(2, 50_000, 100), tick(3, 10_000, 100)));
+        RecordingEmitter first = new RecordingEmitter();
+        stream.subscribe(first, null);
+        first.awaitFrames(1);
+        String lastEventId = first.frames.get(0).id();
+
+        // 연결이 끊긴 사이 1번, 2번 종목이 바뀐다
+        stream.accept(List.of(tick(1, 70_100, 110), tick(2, 50_000, 100), tick(3, 10_000, 100)));
+        stream.accept(List.of(tick(1, 70_100, 110), tick(2, 49_900, 120), tick(3, 10_000, 100)));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        stream.subscribe(resumed, lastEventId);
+        resumed.awaitFrames(1);
+
+        Frame catchUp = resumed.frames.get(0);
+        assertThat(catchUp.event()).isEqualTo(PriceDeltaStream.EVENT_DELTA);
+        assertThat(catchUp.data().get("base").asLong()).isEqualTo(1);
+        assertThat(catchUp.data().get("seq").asLong()).isEqualTo(3);
+        assertThat(ids(catchUp.data().get("d"))).containsExactly(1L, 2L);
+        assertThat(catchUp.id()).endsWith("-3");
+    }
+
+    @Test
+    @DisplayName("다른 epoch(재기동·다른 인스턴스)의 Last-Event-ID 로는 이어 받을 수 없어 키프레임을 받는다")
+    void foreignEventIdFallsBackToKeyframe() throws Exception {
+        stream.accept(List.of(tick(1, 70_000, 100)));
+
+        RecordingEmitter client = new RecordingEmitter();
+        stream.subscribe(client, "othernode-1");
+        client.awaitFrames(1);
+
+        assertThat(client.frames.get(0).event()).isEqualTo(PriceDeltaStream.EVENT_KEYFRAME);
+    }
+
+    @Test
+    @DisplayName("키프레임 주기마다 바뀐 종목이 없어도 전 종목 키프레임이 나간다")
+    void periodicKeyframe() throws Exception {
+        RecordingEmitter client = new RecordingEmitter();
+        stream.subscribe(client, null);
+        client.awaitFrames(1);
+
+        for (int i = 0; i < KEYFRAME_INTERVAL; i++) {
+            stream.accept(List.of(tick(1, 70_000, 100)));
+        }
+        // 1틱: 신규 종목 델타, 2~3틱: 변화 없음(전송 없음), 4틱: 키프레임
+        client.awaitFrames(3);
+
+        assertThat(client.frames).extracting(Frame::event).containsExactly(
+                PriceDeltaStream.EVENT_KEYFRAME, PriceDeltaStream.EVENT_DELTA, PriceDeltaStream.EVENT_KEYFRAME);
+        assertThat(client.frames.get(2).data().get("seq").asLong()).isEqualTo(KEYFRAME_INTERVAL);
+    }
+
+    private static List<Long> ids(JsonNode rows) {
+        return StreamSupport.stream(rows.spliterator(), false).map(row -> row.get(0).asLong()).toList();
+    }
+
+    private static PriceTick tick(long stockId, long price, long volume) {
+        return new PriceTick(stockId, "C" + stockId, "종목" + stockId, BigDecimal.valueOf(price),
+                BigDecimal.ZERO, BigDecimal.ZERO, volume, 0L);
+    }
+
+    private static SseProperties properties() {
+        SseProperties properties = new SseProperties();
+        properties.setDeltaKeyframeInterval(KEYFRAME_INTERVAL);
+        return properties;
+    }
+
+    private record Frame(String id, String event, JsonNode data) {
+    }
+
+    /** 받은 프레임을 id/event/data 로 풀어 기록하는 Emitter. */
+    private class RecordingEmitter extends SseEmitter {
+
+        private final List<Frame> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            try {
+                frames.add(new Frame(SseFrames.field(items, "id"), SseFrames.field(items, "event"),
+                        objectMapper.readTree(SseFrames.dataOf(items))));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void awaitFrames(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (frames.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(frames).hasSizeGreaterThanOrEqualTo(count);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.investory.backend.global.sse;
+
+import com.investory.backend.support.IntegrationTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code investory.sse.fan-out=redis} 검증.
+ * <p>
+ * 실제 Redis 컨테이너를 띄운다. Docker 가 없는 환경에서는 건너뛴다.
+ * 인스턴스를 두 개 띄우는 대신, "다른 인스턴스"는 같은 채널에 봉투를 직접 발행하는 것으로 흉내 낸다.
+ */
+@DisplayName("SSE Redis 중계 테스트")
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "investory.sse.fan-out=redis")
+class RedisSseFanOutTest extends IntegrationTestSupport {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private SseBroadcaster sseBroadcaster;
+
+    @Autowired
+    private SseEmitterRepository emitterRepository;
+
+    @Autowired
+    private SseProperties sseProperties;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Test
+    @DisplayName("이 인스턴스에서 발행한 이벤트는 Redis 를 거쳐 자기 연결로 돌아온다")
+    void localEventIsDeliveredThroughRedis() throws InterruptedException {
+        assertThat(sseBroadcaster).isInstanceOf(SseBroadcasters.Redis.class);
+        CapturingEmitter emitter = new CapturingEmitter(1);
+        emitterRepository.add("user:alice", emitter);
+
+        sseBroadcaster.broadcast("user:alice", "order-filled", Map.of("orderId", 1));
+
+        assertThat(emitter.await()).isTrue();
+        assertThat(emitter.received).containsExactly("{\"orderId\":1}");
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 발행한 이벤트도 이 인스턴스의 연결로 전달되고, 다른 채널 키로는 가지 않는다")
+    void remoteEventIsDeliveredToLocalConnections() throws InterruptedException {
+        CapturingEmitter alice = new CapturingEmitter(1);
+        CapturingEmitter bob = new CapturingEmitter(1);
+        emitterRepository.add("user:alice", alice);
+        emitterRepository.add("user:bob", bob);
+
+        // 다른 인스턴스 역할: 같은 채널에 봉투를 직접 발행
+        new StringRedisTemplate(redisConnectionFactory).convertAndSend(sseProperties.getChannel(),
+                "{\"key\":\"user:alice\",\"event\":\"order-filled\",\"data\":\"{\\\"orderId\\\":7}\"}");
+
+        assertThat(alice.await()).isTrue();
+        assertThat(alice.received).containsExactly("{\"orderId\":7}");
+        assertThat(bob.received).isEmpty();
+    }
+
+    /** 보낸 본문을 기록하는 Emitter. 실제 HTTP 응답 없이 전달 여부만 확인한다. */
+    private static class CapturingEmitter extends SseEmitter {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch;
+
+        CapturingEmitter(int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            received.add(SseFrames.dataOf(items));
+            latch.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return latch.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
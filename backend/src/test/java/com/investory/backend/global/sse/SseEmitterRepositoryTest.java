@@ -0,0 +1,236 @@
+package com.investory.backend.global.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SSE 송신 엔진 검증. 스프링 컨텍스트 없이 저장소만 직접 만든다.
+ * <p>
+ * 첫 프레임을 쓰는 도중 멈춰 서는 "느린 클라이언트"를 흉내 내, 그동안 브로드캐스트가 막히지 않고
+ * 대기열이 정책대로(병합 / drop-oldest) 유지되는지 본다.
+ */
+@DisplayName("SSE 송신 엔진 테스트")
+class SseEmitterRepositoryTest {
+
+    private static final int CAPACITY = 4;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SseEmitterRepository repository = new SseEmitterRepository(properties(), new ObjectMapper(), meterRegistry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.shutdown();
+    }
+
+    @Test
+    @DisplayName("느린 클라이언트가 있어도 브로드캐스트는 기다리지 않고, 밀린 시세는 최신 것 하나로 병합된다")
+    void slowClientDoesNotBlockAndPricesCoalesce() throws InterruptedException {
+        SlowEmitter slow = new SlowEmitter();
+        repository.add("stock-price", slow);
+
+        repository.send("stock-price", "price-update", "tick-0");
+        assertThat(slow.firstSendEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when: 첫 프레임이 소켓에서 멈춰 있는 동안 시세가 계속 온다
+        long start = System.nanoTime();
+        for (int i = 1; i <= 1_000; i++) {
+            repository.send("stock-price", "price-update", "tick-" + i);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then: 호출자는 블로킹되지 않았고, 대기열에는 최신 스냅샷 하나만 남는다
+        assertThat(elapsedMs).isLessThan(1_000);
+        assertThat(repository.queuedFrames("stock-price")).isEqualTo(1);
+        assertThat(repository.channelStats().get("stock-price").getCoalescedCount()).isEqualTo(999);
+        assertThat(repository.lagMillis("stock-price")).isPositive();
+
+        slow.release();
+        assertThat(slow.awaitReceived(2)).isTrue();
+        assertThat(slow.received).containsExactly("tick-0", "tick-1000");
+    }
+
+    @Test
+    @DisplayName("구독자가 여럿이어도 브로드캐스트 1건당 직렬화는 한 번이다")
+    void payloadIsEncodedOncePerBroadcast() throws InterruptedException {
+        List<SlowEmitter> clients = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            SlowEmitter client = new SlowEmitter();
+            client.release();
+            clients.add(client);
+            repository.add("stock-price", client);
+        }
+
+        repository.send("stock-price", "price-update", List.of("tick-0"));
+
+        for (SlowEmitter client : clients) {
+            assertThat(client.awaitReceived(1)).isTrue();
+            assertThat(client.received).containsExactly("[tick-0]");
+        }
+        SseChannelStats stats = repository.channelStats().get("stock-price");
+        assertThat(stats.getEncodedCount()).isEqualTo(1);
+        assertThat(stats.getSentCount()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("병합하지 않는 이벤트는 대기열이 가득 차면 가장 오래된 것부터 버리고 버린 수를 센다")
+    void nonCoalescedEventsDropOldest() throws InterruptedException {
+        SlowEmitter slow = new SlowEmitter();
+        repository.add("user:alice", slow);
+
+        repository.send("user:alice", "order-filled", "fill-1");
+        assertThat(slow.firstSendEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 2; i <= 10; i++) {
+            repository.send("user:alice", "order-filled", "fill-" + i);
+        }
+
+        // 9건 중 대기열 용량(4)만 남고 5건이 버려진다
+        SseChannelStats stats = repository.channelStats().get("user");
+        assertThat(stats.getDroppedCount()).isEqualTo(5);
+        assertThat(meterRegistry.get("investory.sse.dropped").tag("channel", "user").functionCounter().count())
+                .isEqualTo(5);
+
+        slow.release();
+        assertThat(slow.awaitReceived(5)).isTrue();
+        assertThat(slow.received).containsExactly("fill-1", "fill-7", "fill-8", "fill-9", "fill-10");
+    }
+
+    @Test
+    @DisplayName("한 연결이 느려도 같은 채널의 다른 연결은 제때 받는다")
+    void slowClientDoesNotDelayOthers() throws InterruptedException {
+        SlowEmitter slow = new SlowEmitter();
+        SlowEmitter fast = new SlowEmitter();
+        fast.release();
+        repository.add("stock-price", slow);
+        repository.add("stock-price", fast);
+
+        for (int i = 0; i < 3; i++) {
+            repository.send("stock-price", "price-update", "tick-" + i);
+            assertThat(fast.awaitReceived(i + 1)).isTrue();
+        }
+
+        assertThat(fast.received).containsExactly("tick-0", "tick-1", "tick-2");
+        slow.release();
+    }
+
+    @Test
+    @DisplayName("종목별 구독 연결은 구독한 종목의 틱만 받고, 밀리면 종목마다 최신 틱 하나씩 남는다")
+    void symbolSubscribersReceiveOnlyTheirSymbolsAndCoalescePerSymbol() throws InterruptedException {
+        SlowEmitter slow = new SlowEmitter();
+        repository.addSymbols(List.of("005930", "000660"), slow);
+
+        repository.send(SseEmitterRepository.symbolKey("005930"), "price-tick", "samsung-0");
+        assertThat(slow.firstSendEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i <= 100; i++) {
+            repository.send(SseEmitterRepository.symbolKey("005930"), "price-tick", "samsung-" + i);
+            repository.send(SseEmitterRepository.symbolKey("000660"), "price-tick", "hynix-" + i);
+            repository.send(SseEmitterRepository.symbolKey("035720"), "price-tick", "kakao-" + i);
+        }
+
+        // 구독자가 없는 종목은 직렬화조차 하지 않는다. 연결은 두 종목에 걸려 있어도 하나로 센다.
+        assertThat(repository.hasSubscribers(SseEmitterRepository.symbolKey("035720"))).isFalse();
+        assertThat(repository.channelStats().get("stock-symbol").getEncodedCount()).isEqualTo(201);
+        assertThat(repository.connectionCount()).isEqualTo(1);
+        assertThat(repository.queuedFrames("stock-symbol")).isEqualTo(2);
+
+        slow.release();
+        assertThat(slow.awaitReceived(3)).isTrue();
+        assertThat(slow.received).containsExactly("samsung-0", "samsung-100", "hynix-100");
+    }
+
+    @Test
+    @DisplayName("종목별 구독 연결이 끊기면 모든 종목 색인에서 빠진다")
+    void symbolConnectionIsRemovedFromEverySymbol() throws InterruptedException {
+        SseEmitter emitter = new SseEmitter();
+        repository.addSymbols(List.of("005930", "000660"), emitter);
+
+        emitter.completeWithError(new IllegalStateException("client gone"));
+        // 핸들러가 아직 초기화되지 않은 emitter 는 콜백을 바로 부르지 않으므로 송신 실패 경로로 정리되게 한다
+        repository.send(SseEmitterRepository.symbolKey("005930"), "price-tick", "samsung-1");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (repository.connectionCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(repository.connectionCount()).isZero();
+        assertThat(repository.hasSubscribers(SseEmitterRepository.symbolKey("000660"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("연결 수, 채널별 팬아웃 시간, 송신 실패가 지표로 나간다")
+    void connectionsFanOutAndFailuresAreExportedAsMeters() throws InterruptedException {
+        SlowEmitter alive = new SlowEmitter();
+        alive.release();
+        SseEmitter gone = new SseEmitter();
+        repository.add("stock-price", alive);
+        repository.add("stock-price", gone);
+        assertThat(meterRegistry.get("investory.sse.connections").gauge().value()).isEqualTo(2);
+
+        gone.completeWithError(new IllegalStateException("client gone"));
+        repository.send("stock-price", "price-update", "tick-0");
+        repository.send("stock-price", "price-update", "tick-1");
+
+        assertThat(alive.awaitReceived(2)).isTrue();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (repository.connectionCount() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get("investory.sse.connections").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("investory.sse.fanout").tag("channel", "stock-price").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("investory.sse.send.failures").tag("channel", "stock-price")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    private static SseProperties properties() {
+        SseProperties properties = new SseProperties();
+        properties.setQueueCapacity(CAPACITY);
+        return properties;
+    }
+
+    /** release 되기 전까지 send 에서 멈춰 있는 Emitter. 본문만 기록한다. */
+    private static class SlowEmitter extends SseEmitter {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstSendEntered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            firstSendEntered.countDown();
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // 본문은 JSON 문자열이라 따옴표를 벗겨 비교한다
+            received.add(SseFrames.dataOf(items).replace("\"", ""));
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        boolean awaitReceived(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (received.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return received.size() >= count;
+        }
+    }
+}
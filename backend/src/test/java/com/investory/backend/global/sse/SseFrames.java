@@ -0,0 +1,33 @@
+package com.investory.backend.global.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/** 테스트용: Emitter 에 넘어온 프레임 조각에서 필드 줄을 꺼낸다. */
+public final class SseFrames {
+
+    private SseFrames() {
+    }
+
+    public static String dataOf(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+        return field(items, "data");
+    }
+
+    /** 프레임에서 {@code name:} 으로 시작하는 줄의 값. (id, event, data) */
+    public static String field(Set<ResponseBodyEmitter.DataWithMediaType> items, String name) {
+        String frame = items.stream()
+                .map(item -> item.getData() instanceof byte[] bytes
+                        ? new String(bytes, StandardCharsets.UTF_8)
+                        : String.valueOf(item.getData()))
+                .collect(Collectors.joining());
+        String prefix = name + ":";
+        return Arrays.stream(frame.split("\n"))
+                .filter(line -> line.startsWith(prefix))
+                .map(line -> line.substring(prefix.length()))
+                .collect(Collectors.joining("\n"));
+    }
+}
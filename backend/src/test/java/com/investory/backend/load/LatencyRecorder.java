@@ -0,0 +1,92 @@
+package com.investory.backend.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 부하 시나리오의 작업별 지연 기록기.
+ * <p>
+ * 표본을 전부 들고 있다가 끝날 때 정렬해 백분위를 낸다. 한 번의 실행이 수십만 건 수준이라 배열로 충분하고,
+ * 히스토그램 라이브러리의 버킷 오차 없이 정확한 p50/p99 가 나온다. 실패도 지연에 넣고 따로 센다.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    /** 작업 하나를 재서 기록한다. 예외는 실패로 세고 그대로 던진다. */
+    <T> T record(String operation, Supplier<T> action) {
+        long startedAt = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = action.get();
+            failed = false;
+            return result;
+        } finally {
+            samplesOf(operation).add(System.nanoTime() - startedAt, failed);
+        }
+    }
+
+    /** 이미 잰 값을 기록한다. (SSE 전달 지연처럼 다른 스레드에서 잰 값) */
+    void recordNanos(String operation, long nanos) {
+        samplesOf(operation).add(nanos, false);
+    }
+
+    /** 작업별 요약. 이름 순서로 준다. */
+    Map<String, LoadReport.Operation> summarize(long elapsedNanos) {
+        Map<String, LoadReport.Operation> summary = new LinkedHashMap<>();
+        samples.keySet().stream().sorted()
+                .forEach(name -> summary.put(name, samples.get(name).summarize(elapsedNanos)));
+        return summary;
+    }
+
+    private Samples samplesOf(String operation) {
+        return samples.computeIfAbsent(operation, name -> new Samples());
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private final LongAdder errors = new LongAdder();
+
+        synchronized void add(long value, boolean failed) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        synchronized LoadReport.Operation summarize(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1_000_000_000d;
+            return new LoadReport.Operation(
+                    size,
+                    errors.sum(),
+                    seconds > 0 ? size / seconds : 0d,
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(size == 0 ? 0L : sorted[size - 1]));
+        }
+
+        /** nearest-rank 백분위. */
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0L;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000d) / 1_000d;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.investory.backend.load;
+
+import java.util.Map;
+
+/**
+ * 부하 시나리오 한 번의 결과. {@code build/reports/load/} 에 JSON 으로 남는다.
+ *
+ * @param scenario      시나리오 이름
+ * @param lockMode      {@code investory.order.lock-mode}
+ * @param virtualUsers  가상 사용자 수
+ * @param sseClients    시세 스트림 구독자 수
+ * @param elapsedMs     전체 소요 시간
+ * @param operations    작업별 지연·처리량. SSE 전달 지연도 {@code sse.delivery} 로 들어간다
+ * @param orders        주문 시도·재시도 집계
+ * @param sse           시세 스트림 집계
+ */
+record LoadReport(
+        String scenario,
+        String lockMode,
+        int virtualUsers,
+        int sseClients,
+        long elapsedMs,
+        Map<String, Operation> operations,
+        Orders orders,
+        Sse sse
+) {
+
+    /**
+     * @param count      건수 (실패 포함)
+     * @param errors     실패 건수
+     * @param throughput 초당 건수 (전체 소요 시간 기준)
+     * @param p50Ms      중앙값
+     * @param p99Ms      99 백분위
+     * @param maxMs      최댓값
+     */
+    record Operation(long count, long errors, double throughput, double p50Ms, double p99Ms, double maxMs) {
+    }
+
+    /**
+     * @param submitted 제출한 신규 주문 수
+     * @param attempts  {@code OrderService#createOrder} 본문이 실행된 횟수
+     * @param retries   낙관적 락 충돌로 다시 실행된 횟수 ({@code attempts - submitted})
+     * @param exhausted 재시도를 모두 소진해 {@code ORDER_CONFLICT} 로 끝난 주문 수
+     * @param errors    실패 원인별 건수 (ErrorCode 이름 또는 예외 클래스)
+     */
+    record Orders(long submitted, long attempts, long retries, long exhausted, Map<String, Long> errors) {
+    }
+
+    /**
+     * @param ticks          발행한 시세 틱 묶음 수
+     * @param framesReceived 구독자들이 받은 시세 프레임 합계
+     * @param dropped        대기열이 차서 버려진 프레임 (저장소 계측)
+     * @param coalesced      최신 스냅샷으로 병합된 프레임 (저장소 계측)
+     */
+    record Sse(long ticks, long framesReceived, long dropped, long coalesced) {
+    }
+}
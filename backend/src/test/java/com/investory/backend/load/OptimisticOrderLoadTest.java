@@ -0,0 +1,10 @@
+package com.investory.backend.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+/** {@code lock-mode=optimistic} 부하 시나리오. 결과는 {@code order-load-optimistic.json}. */
+@DisplayName("주문 부하 테스트 (optimistic)")
+@TestPropertySource(properties = "investory.order.lock-mode=optimistic")
+class OptimisticOrderLoadTest extends OrderLoadScenario {
+}
@@ -0,0 +1,348 @@
+package com.investory.backend.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.investory.backend.domain.auth.dto.AuthRequest;
+import com.investory.backend.domain.auth.service.AuthService;
+import com.investory.backend.domain.order.dto.OrderRequest;
+import com.investory.backend.domain.order.dto.OrderResponse;
+import com.investory.backend.domain.order.entity.Order;
+import com.investory.backend.domain.order.service.OrderService;
+import com.investory.backend.domain.order.service.OrderSubmitter;
+import com.investory.backend.domain.portfolio.service.PortfolioService;
+import com.investory.backend.domain.stock.entity.Stock;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent;
+import com.investory.backend.domain.stock.event.StockPriceUpdatedEvent.PriceTick;
+import com.investory.backend.global.exception.BusinessException;
+import com.investory.backend.global.exception.ErrorCode;
+import com.investory.backend.global.sse.SseChannelStats;
+import com.investory.backend.global.sse.SseEmitterRepository;
+import com.investory.backend.global.sse.SseFrames;
+import com.investory.backend.support.IntegrationTestSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 종단 부하 시나리오. 가상 사용자 수천 명이 가입 → 시장가 매수(동시에 여러 건) → 시장가 매도 → 지정가 주문 → 취소 →
+ * 포트폴리오 조회를 돌고, 그동안 시세 스트림 구독자들이 틱을 받는다.
+ * <p>
+ * <b>무엇을 재는가</b>
+ * <ul>
+ *   <li>작업별 p50/p99/최대 지연과 처리량 ({@link LatencyRecorder})</li>
+ *   <li>주문 시도 대비 재시도 수와 재시도 소진({@code ORDER_CONFLICT}) 수. {@code lock-mode} 마다 하위 클래스가 하나씩 있다.</li>
+ *   <li>SSE 전달 지연: 틱을 발행한 시각부터 구독자의 {@code send} 가 그 틱의 프레임을 받은 시각까지.
+ *       틱의 {@code tradedVolume} 에 틱 번호를 실어 보내고, 받은 프레임에서 번호를 읽어 발행 시각과 맞춘다.</li>
+ * </ul>
+ * <p>
+ * <b>환경</b><br>
+ * {@link IntegrationTestSupport} 그대로다. DB 는 MySQL 호환 모드 H2, Redis 는 빠지고 SSE 는 로컬 브로드캐스터로 돈다.
+ * HTTP 계층은 건너뛰고 컨트롤러가 부르는 서비스를 직접 부른다. 가상 사용자는 가상 스레드 하나씩이다.
+ * <p>
+ * {@code @Tag("load")} 라 {@code ./gradlew test} 에서는 빠지고 {@code ./gradlew loadTest} 로만 돈다.
+ * 규모는 시스템 프로퍼티({@code load.users} 등)로 바꾸고, 결과는 {@code load.report-dir} 에 JSON 으로 남는다.
+ */
+@Slf4j
+@Tag("load")
+@TestPropertySource(properties = {
+        // 가상 사용자 수천 명이 커넥션을 기다리므로 대기 시간을 넉넉히 둔다. 기다린 시간도 지연에 들어간다.
+        "spring.datasource.hikari.maximum-pool-size=64",
+        "spring.datasource.hikari.connection-timeout=120000"
+})
+abstract class OrderLoadScenario extends IntegrationTestSupport {
+
+    private static final int USERS = Integer.getInteger("load.users", 1_000);
+    private static final int ORDERS_PER_USER = Integer.getInteger("load.orders-per-user", 4);
+    private static final int SSE_CLIENTS = Integer.getInteger("load.sse-clients", 200);
+    private static final long TICK_INTERVAL_MS = Long.getLong("load.tick-interval-ms", 100L);
+    private static final String REPORT_DIR = System.getProperty("load.report-dir", "build/reports/load");
+
+    private static final int STOCK_COUNT = 20;
+    private static final long STOCK_PRICE = 10_000L;
+    private static final String PRICE_CHANNEL = "stock-price";
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private OrderSubmitter orderSubmitter;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private PortfolioService portfolioService;
+    @Autowired
+    private SseEmitterRepository emitterRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${investory.order.lock-mode:optimistic}")
+    private String lockMode;
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<String, LongAdder> orderErrors = new ConcurrentHashMap<>();
+    private final LongAdder submittedOrders = new LongAdder();
+    /** 틱 번호 → 발행 시각(nanoTime). */
+    private final Map<Long, Long> publishedAt = new ConcurrentHashMap<>();
+    private final LongAdder framesReceived = new LongAdder();
+
+    @Test
+    void run() throws Exception {
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < STOCK_COUNT; i++) {
+            stocks.add(createStock(String.format("9%05d", i), "부하" + i, won(STOCK_PRICE)));
+        }
+        List<PriceClient> clients = new ArrayList<>();
+        for (int i = 0; i < SSE_CLIENTS; i++) {
+            PriceClient client = new PriceClient();
+            emitterRepository.add(PRICE_CHANNEL, client);
+            clients.add(client);
+        }
+        orderService.resetAttemptCount();
+        SseChannelStats priceStats = emitterRepository.channelStats().get(PRICE_CHANNEL);
+        if (priceStats != null) {
+            priceStats.reset();
+        }
+
+        long startedAt = System.nanoTime();
+        long ticks;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Ticker ticker = new Ticker(stocks);
+            Thread tickerThread = Thread.ofVirtual().name("load-ticker").start(ticker);
+
+            List<Future<?>> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                int index = i;
+                users.add(executor.submit(() -> virtualUser(executor, index, stocks)));
+            }
+            for (Future<?> user : users) {
+                user.get();
+            }
+
+            ticker.stop();
+            tickerThread.join();
+            ticks = ticker.published;
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        // 받는 쪽이 끝낸 것처럼 닫고 틱을 하나 더 보내, 저장소가 전송 실패로 연결을 걷어 가게 한다
+        clients.forEach(PriceClient::close);
+        publishTick(stocks, -1L);
+
+        LoadReport report = report(elapsedNanos, ticks);
+        write(report);
+
+        assertThat(report.operations().get("signup").errors()).isZero();
+        // 재시도를 다 쓰고 충돌로 끝나는 것 말고는 실패가 없어야 한다
+        assertThat(report.orders().errors().keySet()).isSubsetOf(ErrorCode.ORDER_CONFLICT.name());
+        if (SSE_CLIENTS > 0 && ticks > 0) {
+            assertThat(report.sse().framesReceived()).isPositive();
+        }
+    }
+
+    /** 가상 사용자 한 명. 작업 하나가 실패해도 다음 작업으로 넘어간다. */
+    private void virtualUser(ExecutorService executor, int index, List<Stock> stocks) {
+        String loginId = "load" + index;
+        Stock stock = stocks.get(index % stocks.size());
+
+        boolean signedUp = attempt("signup", () -> authService.signUp(AuthRequest.SignUp.builder()
+                .loginId(loginId)
+                .password("password1!")
+                .email(loginId + "@load.test")
+                .nickname("lt" + index)
+                .build())) != null;
+        if (!signedUp) {
+            return;
+        }
+
+        // 같은 사용자의 주문이 한꺼번에 몰리는 경우. lock-mode 마다 여기서 차이가 난다.
+        List<Future<OrderResponse.Detail>> burst = new ArrayList<>(ORDERS_PER_USER);
+        for (int i = 0; i < ORDERS_PER_USER; i++) {
+            burst.add(executor.submit(() -> order("order.market-buy", loginId,
+                    request(stock, Order.OrderType.MARKET, Order.OrderSide.BUY, null))));
+        }
+        int bought = 0;
+        for (Future<OrderResponse.Detail> future : burst) {
+            try {
+                bought += future.get() != null ? 1 : 0;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // 매수가 모두 충돌로 끝났으면 팔 주식이 없다
+        if (bought > 0) {
+            order("order.market-sell", loginId, request(stock, Order.OrderType.MARKET, Order.OrderSide.SELL, null));
+        }
+
+        // 현재가보다 10% 낮은 지정가 매수는 틱에 체결되지 않고 호가창에 남았다가 취소된다
+        OrderResponse.Detail limit = order("order.limit-buy", loginId, request(stock, Order.OrderType.LIMIT,
+                Order.OrderSide.BUY, won(STOCK_PRICE * 9 / 10)));
+        if (limit != null) {
+            attempt("order.cancel", () -> orderService.cancelOrder(loginId, limit.getId(), "부하 테스트"));
+        }
+
+        attempt("portfolio.read", () -> portfolioService.getPortfolio(loginId));
+    }
+
+    private OrderResponse.Detail order(String operation, String loginId, OrderRequest.Create request) {
+        submittedOrders.increment();
+        return attempt(operation, () -> orderSubmitter.submit(loginId, request).join());
+    }
+
+    /** 작업을 재고, 실패하면 원인별로 센 뒤 null 을 돌려준다. */
+    private <T> T attempt(String operation, Supplier<T> action) {
+        try {
+            return recorder.record(operation, action);
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            String reason = cause instanceof BusinessException business
+                    ? business.getErrorCode().name()
+                    : cause.getClass().getSimpleName();
+            if (operation.startsWith("order.")) {
+                orderErrors.computeIfAbsent(reason, key -> new LongAdder()).increment();
+            } else {
+                log.warn("부하 작업 실패: operation={}, reason={}", operation, reason);
+            }
+            return null;
+        }
+    }
+
+    private static OrderRequest.Create request(Stock stock, Order.OrderType type, Order.OrderSide side,
+                                               BigDecimal price) {
+        return OrderRequest.Create.builder()
+                .stockCode(stock.getCode())
+                .orderType(type)
+                .side(side)
+                .quantity(1)
+                .price(price)
+                .build();
+    }
+
+    /**
+     * 시세는 그대로 두고 틱만 발행한다. 트랜잭션 밖이라 리스너들이 발행 스레드에서 바로 돈다.
+     * {@code tradedVolume} 은 틱 번호다. 부분 체결이 꺼져 있어 매칭에는 쓰이지 않는다.
+     */
+    private void publishTick(List<Stock> stocks, long seq) {
+        List<PriceTick> ticks = new ArrayList<>(stocks.size());
+        for (Stock stock : stocks) {
+            ticks.add(PriceTick.from(stock, seq));
+        }
+        publishedAt.put(seq, System.nanoTime());
+        eventPublisher.publishEvent(new StockPriceUpdatedEvent(ticks));
+    }
+
+    private LoadReport report(long elapsedNanos, long ticks) {
+        long attempts = orderService.getAttemptCount();
+        long submitted = submittedOrders.sum();
+        Map<String, Long> errors = new TreeMap<>();
+        orderErrors.forEach((reason, count) -> errors.put(reason, count.sum()));
+        SseChannelStats priceStats = emitterRepository.channelStats().get(PRICE_CHANNEL);
+        return new LoadReport(
+                getClass().getSimpleName(),
+                lockMode,
+                USERS,
+                SSE_CLIENTS,
+                elapsedNanos / 1_000_000,
+                recorder.summarize(elapsedNanos),
+                new LoadReport.Orders(submitted, attempts, Math.max(0L, attempts - submitted),
+                        errors.getOrDefault(ErrorCode.ORDER_CONFLICT.name(), 0L), errors),
+                new LoadReport.Sse(ticks, framesReceived.sum(),
+                        priceStats == null ? 0L : priceStats.getDroppedCount(),
+                        priceStats == null ? 0L : priceStats.getCoalescedCount()));
+    }
+
+    private void write(LoadReport report) throws IOException {
+        Path directory = Path.of(REPORT_DIR);
+        Files.createDirectories(directory);
+        Path file = directory.resolve("order-load-" + lockMode + ".json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        log.info("부하 테스트 결과: {}\n{}", file.toAbsolutePath(),
+                objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report));
+    }
+
+    /** {@code TICK_INTERVAL_MS} 마다 틱을 발행한다. 멈추라고 할 때까지 돈다. */
+    private final class Ticker implements Runnable {
+
+        private final List<Stock> stocks;
+        private volatile boolean running = true;
+        private long published;
+
+        private Ticker(List<Stock> stocks) {
+            this.stocks = stocks;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                publishTick(stocks, published++);
+                try {
+                    Thread.sleep(TICK_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        void stop() {
+            running = false;
+        }
+    }
+
+    /** 시세 스트림 구독자. 받은 프레임의 틱 번호로 전달 지연을 잰다. */
+    private final class PriceClient extends SseEmitter {
+
+        private volatile boolean closed;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (closed) {
+                throw new IOException("구독 종료");
+            }
+            long receivedAt = System.nanoTime();
+            try {
+                JsonNode ticks = objectMapper.readTree(SseFrames.dataOf(items));
+                if (!ticks.isArray() || ticks.isEmpty()) {
+                    return;
+                }
+                Long sentAt = publishedAt.get(ticks.get(0).get("tradedVolume").asLong());
+                if (sentAt != null) {
+                    framesReceived.increment();
+                    recorder.recordNanos("sse.delivery", receivedAt - sentAt);
+                }
+            } catch (IOException e) {
+                log.warn("시세 프레임 해석 실패: {}", e.getMessage());
+            }
+        }
+
+        void close() {
+            closed = true;
+        }
+    }
+}
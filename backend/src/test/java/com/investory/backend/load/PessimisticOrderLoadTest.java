@@ -0,0 +1,10 @@
+package com.investory.backend.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+/** {@code lock-mode=pessimistic} 부하 시나리오. 결과는 {@code order-load-pessimistic.json}. */
+@DisplayName("주문 부하 테스트 (pessimistic)")
+@TestPropertySource(properties = "investory.order.lock-mode=pessimistic")
+class PessimisticOrderLoadTest extends OrderLoadScenario {
+}
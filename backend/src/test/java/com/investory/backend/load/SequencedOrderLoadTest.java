@@ -0,0 +1,10 @@
+package com.investory.backend.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+/** {@code lock-mode=sequenced} 부하 시나리오. 결과는 {@code order-load-sequenced.json}. */
+@DisplayName("주문 부하 테스트 (sequenced)")
+@TestPropertySource(properties = "investory.order.lock-mode=sequenced")
+class SequencedOrderLoadTest extends OrderLoadScenario {
+}
@@ -1,6 +1,7 @@
 package com.investory.backend.support;
 
 import com.investory.backend.domain.order.repository.OrderRepository;
+import com.investory.backend.domain.order.service.LimitOrderBook;
 import com.investory.backend.domain.portfolio.repository.HoldingRepository;
 import com.investory.backend.domain.stock.entity.Stock;
 import com.investory.backend.domain.stock.repository.StockRepository;
@@ -36,13 +37,17 @@ public abstract class IntegrationTestSupport {
     protected HoldingRepository holdingRepository;
     @Autowired
     protected CashHistoryRepository cashHistoryRepository;
+    @Autowired
+    protected LimitOrderBook limitOrderBook;
 
     /**
      * FK 제약 때문에 삭제 순서가 중요하다.
      * 자식(이력/주문/보유) → 부모(유저/종목) 순으로 지운다.
+     * 인메모리 호가창은 DB 삭제를 모르므로 함께 비운다.
      */
     @AfterEach
     void cleanUp() {
+        limitOrderBook.clear();
         cashHistoryRepository.deleteAllInBatch();
         orderRepository.deleteAllInBatch();
         holdingRepository.deleteAllInBatch();